@@ -0,0 +1,241 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import domain.assembly_line.TaskType;
+import domain.car.CarModel;
+import domain.car.Model;
+import domain.car.Option;
+import domain.car.OptionCategory;
+import domain.car.Specification;
+import domain.car.TruckModel;
+import domain.order.SingleTaskOrder;
+import domain.order.StandardOrder;
+
+/**
+ * BenchmarkFixtures builds the domain objects shared by the benchmarks: a
+ * small catalogue of car and truck Models and deterministic streams of 
+ * Orders over them. All randomness is drawn from a seeded Random, such that
+ * every benchmark run measures exactly the same workload.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class BenchmarkFixtures {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct new BenchmarkFixtures with the given seed.
+	 * 
+	 * @param seed
+	 * 		The seed of all random choices of these BenchmarkFixtures.
+	 */
+	public BenchmarkFixtures(long seed) {
+		this.random = new Random(seed);
+		
+		this.bodyOptions = Arrays.asList(
+				new Option(TaskType.BODY, "Sedan Body", "Mount the Sedan body."),
+				new Option(TaskType.BODY, "Break Body", "Mount the Break body."));
+		this.engineOptions = Arrays.asList(
+				new Option(TaskType.DRIVETRAIN, "standard 2l v4", "Mount the standard engine."),
+				new Option(TaskType.DRIVETRAIN, "performance 2.5l v6", "Mount the performance engine."));
+		this.seatOptions = Arrays.asList(
+				new Option(TaskType.ACCESSORIES, "Gray Vinyl seats", "Mount grey Vinyl seats."),
+				new Option(TaskType.ACCESSORIES, "Black leather seats", "Mount black leather seats."));
+		this.certificationOption = new Option(TaskType.CERTIFICATION, 
+				"Certification", "Certify maximum cargo load.");
+		this.cargoOption = new Option(TaskType.CARGO, "Tool Storage", "Install tool storage.");
+		
+		List<OptionCategory> carCategories = new ArrayList<>();
+		carCategories.add(new OptionCategory(this.bodyOptions, "Body"));
+		carCategories.add(new OptionCategory(this.engineOptions, "Engine"));
+		carCategories.add(new OptionCategory(this.seatOptions, "Seats"));
+		
+		List<OptionCategory> truckCategories = new ArrayList<>(carCategories);
+		truckCategories.add(new OptionCategory(Arrays.asList(this.certificationOption), "Certification"));
+		truckCategories.add(new OptionCategory(Arrays.asList(this.cargoOption), "Cargo"));
+		
+		this.carModel = new CarModel("Model A", carCategories, 50);
+		this.otherCarModel = new CarModel("Model B", carCategories, 70);
+		this.truckModel = new TruckModel("Model X", truckCategories, 60, 90, 30);
+		this.absentModel = new CarModel("Model Z", carCategories, 60);
+	}
+	
+	//--------------------------------------------------------------------------
+	// Models
+	//--------------------------------------------------------------------------
+	/** The source of randomness of these BenchmarkFixtures. */
+	private final Random random;
+	
+	private final List<Option> bodyOptions;
+	private final List<Option> engineOptions;
+	private final List<Option> seatOptions;
+	private final Option certificationOption;
+	private final Option cargoOption;
+	
+	/**
+	 * Get a car Model that takes 50 minutes per WorkPost.
+	 * 
+	 * @return A car Model.
+	 */
+	public Model getCarModel() {
+		return this.carModel;
+	}
+	
+	private final Model carModel;
+	
+	/**
+	 * Get a second car Model that takes 70 minutes per WorkPost.
+	 * 
+	 * @return A second car Model.
+	 */
+	public Model getOtherCarModel() {
+		return this.otherCarModel;
+	}
+	
+	private final Model otherCarModel;
+	
+	/**
+	 * Get a truck Model with longer body and certification posts.
+	 * 
+	 * @return A truck Model.
+	 */
+	public Model getTruckModel() {
+		return this.truckModel;
+	}
+	
+	private final Model truckModel;
+	
+	/**
+	 * Get a Model of which these BenchmarkFixtures never make Orders.
+	 * 
+	 * @return A Model without Orders.
+	 */
+	public Model getAbsentModel() {
+		return this.absentModel;
+	}
+	
+	private final Model absentModel;
+	
+	/**
+	 * Get all Models of which these BenchmarkFixtures make Orders.
+	 * 
+	 * @return The car Models and the truck Model.
+	 */
+	public Model[] getOrderedModels() {
+		return new Model[] { this.getCarModel(), this.getOtherCarModel(), this.getTruckModel() };
+	}
+	
+	//--------------------------------------------------------------------------
+	// Orders
+	//--------------------------------------------------------------------------
+	/**
+	 * Make a random Specification for the given Model.
+	 * 
+	 * @param model
+	 * 		The Model to make a Specification for.
+	 * 
+	 * @return A Specification with one body, engine and seat Option, and the
+	 * 		truck Options if model is the truck Model.
+	 */
+	public Specification makeSpecification(Model model) {
+		List<Option> options = new ArrayList<>();
+		options.add(this.pick(this.bodyOptions));
+		options.add(this.pick(this.engineOptions));
+		options.add(this.pick(this.seatOptions));
+		if (model == this.getTruckModel()) {
+			options.add(this.certificationOption);
+			options.add(this.cargoOption);
+		}
+		return new Specification(options);
+	}
+	
+	/**
+	 * Make the given number of StandardOrders, submitted one minute apart, of
+	 * which one in truckRatio is a truck and the others are cars.
+	 * 
+	 * @param nbOfOrders
+	 * 		The number of StandardOrders to make.
+	 * @param truckRatio
+	 * 		One in truckRatio Orders is a truck Order.
+	 * 
+	 * @return The StandardOrders, in order of submission.
+	 */
+	public List<StandardOrder> makeStandardOrders(int nbOfOrders, int truckRatio) {
+		List<StandardOrder> result = new ArrayList<>(nbOfOrders);
+		for (int i = 0; i < nbOfOrders; i++) {
+			result.add(this.makeStandardOrder(i, truckRatio));
+		}
+		return result;
+	}
+	
+	/**
+	 * Make the StandardOrder with the given order number, submitted order 
+	 * number minutes after the start of the first day.
+	 * 
+	 * @param orderNumber
+	 * 		The order number of the new StandardOrder.
+	 * @param truckRatio
+	 * 		One in truckRatio Orders is a truck Order.
+	 * 
+	 * @return A new StandardOrder.
+	 */
+	public StandardOrder makeStandardOrder(int orderNumber, int truckRatio) {
+		Model model;
+		if (this.random.nextInt(truckRatio) == 0) {
+			model = this.getTruckModel();
+		} else if (this.random.nextBoolean()) {
+			model = this.getCarModel();
+		} else {
+			model = this.getOtherCarModel();
+		}
+		return new StandardOrder(model, this.makeSpecification(model), 
+				orderNumber, new DateTime(0, 0, orderNumber));
+	}
+	
+	/**
+	 * Make the given number of SingleTaskOrders, painting or fitting seats,
+	 * with deadlines spread over the coming days.
+	 * 
+	 * @param nbOfOrders
+	 * 		The number of SingleTaskOrders to make.
+	 * @param firstOrderNumber
+	 * 		The order number of the first SingleTaskOrder.
+	 * 
+	 * @return The SingleTaskOrders, in order of submission.
+	 */
+	public List<SingleTaskOrder> makeSingleTaskOrders(int nbOfOrders, int firstOrderNumber) {
+		List<SingleTaskOrder> result = new ArrayList<>(nbOfOrders);
+		for (int i = 0; i < nbOfOrders; i++) {
+			result.add(this.makeSingleTaskOrder(firstOrderNumber + i));
+		}
+		return result;
+	}
+	
+	/**
+	 * Make the SingleTaskOrder with the given order number.
+	 * 
+	 * @param orderNumber
+	 * 		The order number of the new SingleTaskOrder.
+	 * 
+	 * @return A new SingleTaskOrder with a random deadline in the coming days.
+	 */
+	public SingleTaskOrder makeSingleTaskOrder(int orderNumber) {
+		Option option = this.pick(this.seatOptions);
+		DateTime deadline = new DateTime(1 + this.random.nextInt(30), 
+				6 + this.random.nextInt(16), this.random.nextInt(60));
+		return new SingleTaskOrder(this.getCarModel(), new Specification(option),
+				orderNumber, new DateTime(0, 0, orderNumber), deadline);
+	}
+	
+	/**
+	 * Pick a random element of the given list.
+	 */
+	private <T> T pick(List<T> list) {
+		return list.get(this.random.nextInt(list.size()));
+	}
+}
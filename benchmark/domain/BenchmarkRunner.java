@@ -0,0 +1,40 @@
+package domain;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point that runs the benchmarks with the GC profiler attached, so
+ * every result reports gc.alloc.rate.norm (bytes allocated per operation)
+ * next to its time, and writes all results as JSON.
+ * 
+ * Usage: BenchmarkRunner [include regex] [result file]
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class BenchmarkRunner {
+	
+	/** The benchmarks that are run when no include regex is given. */
+	private static final String DEFAULT_INCLUDE = "domain\\..*Benchmark.*";
+	
+	/** The result file that is written when no result file is given. */
+	private static final String DEFAULT_RESULT = "jmh-result.json";
+	
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+		String result = args.length > 1 ? args[1] : DEFAULT_RESULT;
+		
+		Options options = new OptionsBuilder()
+				.include(include)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(result)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,123 @@
+package domain.assembly_line;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Optional;
+
+import domain.BenchmarkFixtures;
+import domain.DateTime;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Model;
+import domain.clock.Clock;
+import domain.order.Order;
+import domain.order.SingleTaskOrder;
+import domain.order.StandardOrder;
+import domain.production_schedule.SchedulerContext;
+import domain.production_schedule.strategy.FifoStrategy;
+
+/**
+ * Benchmarks of the what-if simulations an AssemblyLineController runs on 
+ * every advance of its AssemblyLine: VirtualAssemblyLine.timeToFinish and 
+ * AssemblyLineController.addSingleTaskOrders, on a car line and on a mixed
+ * car and truck line whose WorkPosts are all occupied.
+ * 
+ * Run with the GC profiler (-prof gc, or through BenchmarkRunner) to track
+ * the bytes allocated per operation.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VirtualAssemblyLineBenchmark {
+	
+	/** The Models accepted by the benchmarked line. */
+	@Param({ "CAR", "MIXED" })
+	public String lineType;
+	
+	/** The number of orders scheduled next. */
+	@Param({ "1", "3" })
+	public int nbOfInputOrders;
+	
+	private VirtualAssemblyLine virtualLine;
+	private AssemblyLineController controller;
+	private List<Order> inputOrders;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkFixtures fixtures = new BenchmarkFixtures(42);
+		Clock clock = new Clock(new DateTime(0, 6, 0));
+		SchedulerContext scheduler = new SchedulerContext(new FifoStrategy<StandardOrder>());
+		for (SingleTaskOrder order : fixtures.makeSingleTaskOrders(20, 1000)) {
+			scheduler.addNewSingleTaskOrder(order);
+		}
+		
+		boolean mixed = this.lineType.equals("MIXED");
+		AssemblyLineBuilder builder = new AssemblyLineBuilder();
+		builder.addToDesiredModels(fixtures.getCarModel());
+		builder.addToDesiredModels(fixtures.getOtherCarModel());
+		if (mixed) {
+			builder.addToDesiredModels(fixtures.getTruckModel());
+		}
+		AssemblyLine line = builder.buildAssemblyLine(clock);
+		this.controller = new AssemblyLineController(scheduler, clock);
+		new AssemblyLineFacade(line, this.controller);
+		
+		// Every other order on a mixed line is a truck.
+		List<TaskType> taskTypes = line.getTaskTypes();
+		List<Optional<Order>> curState = new ArrayList<>();
+		for (int i = 0; i < taskTypes.size(); i++) {
+			curState.add(Optional.<Order> of(this.makeOrder(fixtures, i, mixed)));
+		}
+		this.virtualLine = new VirtualAssemblyLine(
+				taskTypes.toArray(new TaskType[taskTypes.size()]), curState);
+		
+		this.inputOrders = new ArrayList<>();
+		for (int i = 0; i < this.nbOfInputOrders; i++) {
+			this.inputOrders.add(this.makeOrder(fixtures, taskTypes.size() + i, mixed));
+		}
+	}
+	
+	private Order makeOrder(BenchmarkFixtures fixtures, int orderNumber, boolean mixed) {
+		Model model = (mixed && orderNumber % 2 == 1) ? 
+				fixtures.getTruckModel() : fixtures.getCarModel();
+		return new StandardOrder(model, fixtures.makeSpecification(model), 
+				orderNumber, new DateTime(0, 0, orderNumber));
+	}
+	
+	/**
+	 * Simulate the occupied line finishing the next orders.
+	 */
+	@Benchmark
+	public DateTime timeToFinish() {
+		return this.virtualLine.timeToFinish(this.inputOrders);
+	}
+	
+	/**
+	 * Fill the gaps left by the next orders with SingleTaskOrders, which 
+	 * simulates the line once per TaskType of the line.
+	 */
+	@Benchmark
+	public List<Order> addSingleTaskOrders() {
+		return this.controller.addSingleTaskOrders(this.inputOrders, this.virtualLine);
+	}
+}
@@ -0,0 +1,56 @@
+package domain.assembly_line.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Replays a decision trace file, as written by the load driver, against the
+ * current decision rule of the AssemblyLineController. It reports every
+ * decision that is not reproduced and the time the rule needs per decision,
+ * so a change to the rule can be checked against a recorded incident and
+ * timed without running the plant.
+ *
+ * Usage: DecisionReplayTool <trace file> [repetitions]
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class DecisionReplayTool {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: DecisionReplayTool <trace file> [repetitions]");
+			System.exit(2);
+		}
+		int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REPETITIONS;
+
+		DecisionTrace trace = DecisionTrace.read(new File(args[0]));
+		List<DecisionRecord> records = trace.getRecords();
+		System.out.println(args[0] + ": " + trace.getRecordCount() + " decisions traced, " +
+				records.size() + " kept");
+
+		DecisionReplayer replayer = new DecisionReplayer();
+		replayer.replay(records);
+		System.out.print(replayer.getReport());
+
+		if (records.isEmpty()) {
+			return;
+		}
+		int reproduced = 0;
+		long begin = System.nanoTime();
+		for (int i = 0; i < repetitions; i++) {
+			reproduced += new DecisionReplayer().replay(records);
+		}
+		long nanos = System.nanoTime() - begin;
+		System.out.println(String.format("%.1f ns per decision over %d repetitions (%d reproduced)",
+				(double) nanos / ((long) repetitions * records.size()), repetitions, reproduced));
+
+		if (replayer.getNbOfMismatches() > 0) {
+			System.exit(1);
+		}
+	}
+
+	/** The number of times the trace is replayed to time the decision rule. */
+	private static final int DEFAULT_REPETITIONS = 100;
+}
@@ -0,0 +1,136 @@
+package domain.clock;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.DateTime;
+
+/**
+ * Benchmarks of the Clock event queue, which is used on every advance of
+ * every AssemblyLine.
+ * 
+ * Run with the GC profiler (-prof gc, or through BenchmarkRunner) to track
+ * the bytes allocated per operation.
+ * 
+ * @author Thomas Vochten
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClockBenchmark {
+	
+	/**
+	 * An EventActor that does nothing when activated.
+	 */
+	static class IdleActor implements EventActor {
+		@Override
+		public void activate() {
+		}
+	}
+	
+	//--------------------------------------------------------------------------
+	// constructEvent and checkFireEvent
+	//--------------------------------------------------------------------------
+	/**
+	 * The state of a Clock with a number of registered actors that all wait
+	 * for their next event.
+	 */
+	@State(Scope.Thread)
+	public static class FireState {
+		
+		/** The number of registered EventActors. */
+		@Param({ "1", "4", "16", "64", "256" })
+		public int nbOfActors;
+		
+		Clock clock;
+		EventActor[] actors;
+		DateTime step;
+		
+		@Setup(Level.Trial)
+		public void setUp() {
+			this.clock = new Clock(new DateTime(0, 6, 0));
+			this.actors = new EventActor[this.nbOfActors];
+			for (int i = 0; i < this.nbOfActors; i++) {
+				this.actors[i] = new IdleActor();
+				this.clock.register(this.actors[i]);
+			}
+			this.step = new DateTime(0, 0, 1);
+		}
+	}
+	
+	/**
+	 * Every registered actor constructs an event one minute from now. The 
+	 * last event makes checkFireEvent fire all of them at once, as happens 
+	 * when all AssemblyLines are at the barrier.
+	 */
+	@Benchmark
+	public DateTime constructEvent_fireAll(FireState state) {
+		for (EventActor actor : state.actors) {
+			state.clock.constructEvent(state.step, actor);
+		}
+		return state.clock.getCurrentTime();
+	}
+	
+	//--------------------------------------------------------------------------
+	// unregister
+	//--------------------------------------------------------------------------
+	/**
+	 * The state of a Clock with a deep event queue that never fires, because
+	 * one registered actor never constructs an event.
+	 */
+	@State(Scope.Thread)
+	public static class QueueState {
+		
+		/** The number of queued events. */
+		@Param({ "16", "256", "4096" })
+		public int queueDepth;
+		
+		Clock clock;
+		EventActor[] actors;
+		DateTime step;
+		int next;
+		
+		@Setup(Level.Trial)
+		public void setUp() {
+			this.clock = new Clock(new DateTime(0, 6, 0));
+			this.clock.register(new IdleActor());
+			this.actors = new EventActor[this.queueDepth];
+			this.step = new DateTime(0, 0, 1);
+			for (int i = 0; i < this.queueDepth; i++) {
+				this.actors[i] = new IdleActor();
+				this.clock.register(this.actors[i]);
+				this.clock.constructEvent(this.step, this.actors[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Unregister an actor with a queued event, which purges its event from 
+	 * the queue, then register it and queue its event again.
+	 */
+	@Benchmark
+	public boolean unregister_deepQueue(QueueState state) {
+		EventActor actor = state.actors[state.next];
+		state.next = (state.next + 1) % state.queueDepth;
+		
+		state.clock.unregister(actor);
+		state.clock.register(actor);
+		state.clock.constructEvent(state.step, actor);
+		return state.clock.hasEventForActor(actor);
+	}
+}
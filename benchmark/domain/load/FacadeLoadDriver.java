@@ -0,0 +1,409 @@
+package domain.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import domain.Manufacturer;
+import domain.assembly_line.AssemblyTaskView;
+import domain.assembly_line.WorkPostView;
+import domain.assembly_line.trace.DecisionTrace;
+import domain.car.Model;
+import domain.car.OptionCategory;
+import domain.handlers.DomainFacade;
+import domain.handlers.InitialisationHandler;
+import domain.metrics.MetricsRegistry;
+import domain.order.OrderView;
+import exceptions.OptionRestrictionException;
+
+/**
+ * End-to-end load driver of the whole plant model. It plays every actor of
+ * the system against a freshly initialised DomainFacade: garage holders
+ * placing standard orders and checking their orders, custom shop owners
+ * placing single task orders, mechanics completing the tasks at every work
+ * post of every line, and managers reading the statistics.
+ *
+ * Orders are placed at a configurable rate. Once all orders are placed the
+ * lines are drained, after which the number of completed orders per second
+ * of wall time and the latency percentiles of every facade method are
+ * reported.
+ *
+ * Usage: FacadeLoadDriver [orders] [orders per second, 0 for unlimited]
+ * 		[seed] [single task order every n orders] [decision trace file]
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class FacadeLoadDriver {
+
+	//--------------------------------------------------------------------------
+	// Main
+	//--------------------------------------------------------------------------
+	public static void main(String[] args) throws IOException {
+		int orders = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ORDERS;
+		double rate = args.length > 1 ? Double.parseDouble(args[1]) : 0;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+		int singleTaskInterval = args.length > 3 ?
+				Integer.parseInt(args[3]) : DEFAULT_SINGLE_TASK_INTERVAL;
+
+		FacadeLoadDriver driver = new FacadeLoadDriver(orders, rate,
+				singleTaskInterval, new Random(seed));
+		DecisionTrace trace = null;
+		if (args.length > 4) {
+			trace = DecisionTrace.spooledTo(new File(args[4]), TRACE_CAPACITY);
+			driver.setDecisionTrace(trace);
+		}
+		driver.run();
+		System.out.print(driver.getReport());
+		if (trace != null) {
+			trace.flush();
+			System.out.println(trace.getRecordCount() + " decisions traced to " + args[4]);
+		}
+	}
+
+	/** The number of scheduling decisions kept in a decision trace file. */
+	private static final int TRACE_CAPACITY = 1 << 16;
+
+	/** The number of standard orders placed when none is given. */
+	private static final int DEFAULT_ORDERS = 2000;
+
+	/** The seed used when none is given. */
+	private static final long DEFAULT_SEED = 17;
+
+	/** Every how many standard orders a single task order is placed by default. */
+	private static final int DEFAULT_SINGLE_TASK_INTERVAL = 10;
+
+	/** Every how many standard orders the statistics report is requested. */
+	private static final int STATISTICS_INTERVAL = 50;
+
+	/** The bounds on the minutes a mechanic spends on a single task. */
+	private static final int MIN_TASK_MINUTES = 30;
+	private static final int MAX_TASK_MINUTES = 70;
+
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Create a new FacadeLoadDriver on a new system with the default line
+	 * layout.
+	 *
+	 * @param orders
+	 * 		The number of standard orders to place.
+	 * @param rate
+	 * 		The number of standard orders to place per second, or 0 to place
+	 * 		them as fast as possible.
+	 * @param singleTaskInterval
+	 * 		Every how many standard orders a single task order is placed, or 0
+	 * 		to place no single task orders.
+	 * @param random
+	 * 		The source of all random choices of the driver.
+	 * @throws IllegalArgumentException
+	 * 		| orders < 0 || rate < 0 || singleTaskInterval < 0 || random == null
+	 */
+	public FacadeLoadDriver(int orders, double rate, int singleTaskInterval,
+			Random random) throws IllegalArgumentException {
+		if (orders < 0) {
+			throw new IllegalArgumentException("orders cannot be negative.");
+		}
+		if (rate < 0) {
+			throw new IllegalArgumentException("rate cannot be negative.");
+		}
+		if (singleTaskInterval < 0) {
+			throw new IllegalArgumentException("singleTaskInterval cannot be negative.");
+		}
+		if (random == null) {
+			throw new IllegalArgumentException("random cannot be null.");
+		}
+		this.orders = orders;
+		this.rate = rate;
+		this.singleTaskInterval = singleTaskInterval;
+		this.random = random;
+		InitialisationHandler init = new InitialisationHandler(
+				InitialisationHandler.getDefaultLineLayout(), random, MetricsRegistry.getDefault());
+		this.facade = init.getDomainFacade();
+		this.manufacturer = init.getManufacturer();
+		this.latencies = new LatencyRecorder();
+	}
+
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	private final int orders;
+	private final double rate;
+	private final int singleTaskInterval;
+	private final Random random;
+	private final DomainFacade facade;
+	private final Manufacturer manufacturer;
+	private final LatencyRecorder latencies;
+
+	/** The wall time of the last run in nanoseconds. */
+	private long wallNanos;
+
+	/** The number of orders completed at the end of the last run. */
+	private int completedOrders;
+
+	/** The number of single task orders placed during the last run. */
+	private int singleTaskOrders;
+
+	/**
+	 * Record every scheduling decision of the system in the given trace.
+	 *
+	 * @param trace
+	 * 		The DecisionTrace to record to.
+	 * @throws IllegalArgumentException
+	 * 		| trace == null
+	 */
+	public void setDecisionTrace(DecisionTrace trace) throws IllegalArgumentException {
+		this.manufacturer.setDecisionTrace(trace);
+	}
+
+	/**
+	 * @return The latencies recorded by this driver.
+	 */
+	public LatencyRecorder getLatencies() {
+		return this.latencies;
+	}
+
+	/**
+	 * @return The number of orders completed at the end of the last run.
+	 */
+	public int getCompletedOrders() {
+		return this.completedOrders;
+	}
+
+	/**
+	 * @return The completed orders per second of wall time of the last run.
+	 */
+	public double getThroughput() {
+		return this.wallNanos == 0 ? 0 : this.completedOrders / (this.wallNanos / 1e9);
+	}
+
+	//--------------------------------------------------------------------------
+	// Run
+	//--------------------------------------------------------------------------
+	/**
+	 * Place all orders at the configured rate while completing tasks and
+	 * checking statuses, and drain the lines afterwards.
+	 */
+	public void run() {
+		long begin = System.nanoTime();
+		for (int i = 0; i < this.orders; i++) {
+			this.awaitSlot(begin, i);
+			this.placeStandardOrder();
+			if (this.singleTaskInterval > 0 && i % this.singleTaskInterval == 0) {
+				this.placeSingleTaskOrder();
+			}
+			this.completeAllTasks();
+			this.checkOrders();
+			if (i % STATISTICS_INTERVAL == 0) {
+				this.checkStatistics();
+			}
+		}
+		this.drain();
+		this.wallNanos = System.nanoTime() - begin;
+		this.completedOrders = this.facade.getCompletedOrdersContainers().size();
+	}
+
+	/**
+	 * Wait until the given order is due according to the configured rate.
+	 */
+	private void awaitSlot(long begin, int order) {
+		if (this.rate == 0) {
+			return;
+		}
+		long due = begin + (long) (order * 1e9 / this.rate);
+		long wait = due - System.nanoTime();
+		if (wait > 0) {
+			try {
+				Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Place a random standard order the way a garage holder would, starting
+	 * over whenever the chosen options violate the restrictions.
+	 */
+	private void placeStandardOrder() {
+		boolean accepted = false;
+		while (!accepted) {
+			long start = System.nanoTime();
+			this.facade.startNewOrderSession();
+			this.record("startNewOrderSession", start);
+
+			start = System.nanoTime();
+			List<Model> models = this.facade.getVehicleModels();
+			this.record("getVehicleModels", start);
+
+			start = System.nanoTime();
+			this.facade.chooseModel(models.get(this.random.nextInt(models.size())));
+			this.record("chooseModel", start);
+
+			while (this.facade.orderHasUnfilledOptions()) {
+				start = System.nanoTime();
+				OptionCategory category = this.facade.getNextOptionCategory();
+				this.record("getNextOptionCategory", start);
+
+				start = System.nanoTime();
+				this.facade.selectOption(category.getOption(
+						this.random.nextInt(category.getAmountOfOptions())));
+				this.record("selectOption", start);
+			}
+
+			start = System.nanoTime();
+			try {
+				this.facade.submitOrder();
+				accepted = true;
+			} catch (OptionRestrictionException e) {
+				accepted = false;
+			}
+			this.record("submitOrder", start);
+		}
+		long start = System.nanoTime();
+		this.facade.getNewOrderETA();
+		this.record("getNewOrderETA", start);
+	}
+
+	/**
+	 * Place a random single task order the way a custom shop owner would.
+	 */
+	private void placeSingleTaskOrder() {
+		long start = System.nanoTime();
+		this.facade.startNewSingleTaskOrderSession();
+		this.record("startNewSingleTaskOrderSession", start);
+
+		start = System.nanoTime();
+		List<OptionCategory> tasks = this.facade.getPossibleTasks();
+		this.record("getPossibleTasks", start);
+
+		OptionCategory task = tasks.get(this.random.nextInt(tasks.size()));
+		start = System.nanoTime();
+		this.facade.selectSingleTaskOption(
+				task.getOption(this.random.nextInt(task.getAmountOfOptions())));
+		this.record("selectSingleTaskOption", start);
+
+		start = System.nanoTime();
+		this.facade.specifyDeadline(1 + this.random.nextInt(3), 0, 0);
+		this.record("specifyDeadline", start);
+
+		start = System.nanoTime();
+		this.facade.submitSingleTaskOrder();
+		this.record("submitSingleTaskOrder", start);
+		this.singleTaskOrders++;
+	}
+
+	/**
+	 * Let the mechanics complete every unfinished task at every work post of
+	 * every line once.
+	 *
+	 * @return The number of completed tasks.
+	 */
+	private int completeAllTasks() {
+		int completed = 0;
+		long start = System.nanoTime();
+		int lines = this.facade.getLineViews().size();
+		this.record("getLineViews", start);
+		for (int lineNb = 0; lineNb < lines; lineNb++) {
+			start = System.nanoTime();
+			List<WorkPostView> posts = this.facade.getWorkPosts(lineNb);
+			this.record("getWorkPosts", start);
+			for (WorkPostView post : posts) {
+				start = System.nanoTime();
+				List<AssemblyTaskView> tasks = this.facade.getAssemblyTasksAtWorkPost(
+						lineNb, post.getWorkPostNum());
+				this.record("getAssemblyTasksAtWorkPost", start);
+				for (AssemblyTaskView task : tasks) {
+					if (!task.isCompleted()) {
+						int minutes = MIN_TASK_MINUTES +
+								this.random.nextInt(MAX_TASK_MINUTES - MIN_TASK_MINUTES + 1);
+						start = System.nanoTime();
+						this.facade.completeWorkpostTask(lineNb, post.getWorkPostNum(),
+								task.getTaskNumber(), minutes);
+						this.record("completeWorkpostTask", start);
+						completed++;
+					}
+				}
+			}
+		}
+		return completed;
+	}
+
+	/**
+	 * Let a garage holder look up the estimated completion time of a random
+	 * pending order and the completion time of a random completed order.
+	 */
+	private void checkOrders() {
+		long start = System.nanoTime();
+		List<OrderView> pending = this.facade.getPendingOrdersContainers();
+		this.record("getPendingOrdersContainers", start);
+		if (!pending.isEmpty()) {
+			start = System.nanoTime();
+			this.facade.selectPendingOrder(this.random.nextInt(pending.size()));
+			this.record("selectPendingOrder", start);
+
+			start = System.nanoTime();
+			this.facade.getCurrentOrderEstimatedCompletionTime();
+			this.record("getCurrentOrderEstimatedCompletionTime", start);
+		}
+
+		start = System.nanoTime();
+		List<OrderView> completed = this.facade.getCompletedOrdersContainers();
+		this.record("getCompletedOrdersContainers", start);
+		if (!completed.isEmpty()) {
+			start = System.nanoTime();
+			this.facade.selectCompletedOrder(this.random.nextInt(completed.size()));
+			this.record("selectCompletedOrder", start);
+
+			start = System.nanoTime();
+			this.facade.getCurrentOrderCompletionTime();
+			this.record("getCurrentOrderCompletionTime", start);
+		}
+	}
+
+	/**
+	 * Let a manager read the production statistics.
+	 */
+	private void checkStatistics() {
+		long start = System.nanoTime();
+		this.facade.getStatisticsReport();
+		this.record("getStatisticsReport", start);
+	}
+
+	/**
+	 * Complete tasks until no task is left on any line.
+	 */
+	private void drain() {
+		while (this.completeAllTasks() > 0) {
+			this.checkOrders();
+		}
+		this.checkStatistics();
+	}
+
+	private void record(String method, long start) {
+		this.latencies.record(method, System.nanoTime() - start);
+	}
+
+	//--------------------------------------------------------------------------
+	// Report
+	//--------------------------------------------------------------------------
+	/**
+	 * @return A report of the throughput and latencies of the last run.
+	 */
+	public String getReport() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("Placed %d standard and %d single task orders%s%n",
+				this.orders, this.singleTaskOrders,
+				this.rate == 0 ? "" : String.format(" at %.1f/s", this.rate)));
+		report.append(String.format("Completed %d orders in %.3f s: %.1f orders/s%n",
+				this.completedOrders, this.wallNanos / 1e9, this.getThroughput()));
+		report.append(String.format("Pending at the end: %d%n%n",
+				this.facade.getPendingOrdersContainers().size()));
+		report.append(this.latencies.getReport());
+		report.append(String.format("%nDomain metrics:%n"));
+		report.append(MetricsRegistry.getDefault().dump());
+		return report.toString();
+	}
+}
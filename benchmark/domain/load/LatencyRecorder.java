@@ -0,0 +1,144 @@
+package domain.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the latencies of the calls made by the FacadeLoadDriver, grouped
+ * by the name of the called method, and summarises them as percentiles.
+ *
+ * Every sample is kept, such that the percentiles are exact.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class LatencyRecorder {
+
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Create a new empty LatencyRecorder.
+	 */
+	public LatencyRecorder() {
+		this.samples = new LinkedHashMap<String, Samples>();
+	}
+
+	//--------------------------------------------------------------------------
+	// Recording
+	//--------------------------------------------------------------------------
+	/** The samples of each method, in order of their first call. */
+	private final Map<String, Samples> samples;
+
+	/**
+	 * Record that a call of the given method took the given time.
+	 *
+	 * @param method
+	 * 		The name of the called method.
+	 * @param nanos
+	 * 		The duration of the call in nanoseconds.
+	 * @throws IllegalArgumentException
+	 * 		| method == null
+	 */
+	public void record(String method, long nanos) throws IllegalArgumentException {
+		if (method == null) {
+			throw new IllegalArgumentException("method cannot be null.");
+		}
+		Samples methodSamples = this.samples.get(method);
+		if (methodSamples == null) {
+			methodSamples = new Samples();
+			this.samples.put(method, methodSamples);
+		}
+		methodSamples.add(nanos);
+	}
+
+	/**
+	 * Get the number of recorded calls of the given method.
+	 *
+	 * @param method
+	 * 		The name of the method.
+	 * @return The number of calls recorded for method.
+	 */
+	public int getCount(String method) {
+		Samples methodSamples = this.samples.get(method);
+		return methodSamples == null ? 0 : methodSamples.size;
+	}
+
+	/**
+	 * Get the given percentile of the recorded latencies of the given method.
+	 *
+	 * @param method
+	 * 		The name of the method.
+	 * @param percentile
+	 * 		The percentile, between 0 and 100.
+	 * @return The smallest recorded latency in nanoseconds such that at least
+	 * 		percentile percent of the calls of method were as fast.
+	 * @throws IllegalArgumentException
+	 * 		| getCount(method) == 0 || percentile < 0 || percentile > 100
+	 */
+	public long getPercentile(String method, double percentile)
+			throws IllegalArgumentException {
+		if (this.getCount(method) == 0) {
+			throw new IllegalArgumentException("No calls recorded for " + method + ".");
+		}
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("percentile must lie between 0 and 100.");
+		}
+		long[] sorted = this.samples.get(method).sorted();
+		int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+		return sorted[Math.max(rank - 1, 0)];
+	}
+
+	//--------------------------------------------------------------------------
+	// Report
+	//--------------------------------------------------------------------------
+	/**
+	 * Get a table with the number of calls and the p50, p90, p99 and maximum
+	 * latency in microseconds of every recorded method.
+	 *
+	 * @return The latency table.
+	 */
+	public String getReport() {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%-42s %9s %10s %10s %10s %10s%n",
+				"method", "calls", "p50 us", "p90 us", "p99 us", "max us"));
+		for (String method : this.samples.keySet()) {
+			report.append(String.format("%-42s %9d %10.1f %10.1f %10.1f %10.1f%n",
+					method, this.getCount(method),
+					toMicros(this.getPercentile(method, 50)),
+					toMicros(this.getPercentile(method, 90)),
+					toMicros(this.getPercentile(method, 99)),
+					toMicros(this.getPercentile(method, 100))));
+		}
+		return report.toString();
+	}
+
+	private static double toMicros(long nanos) {
+		return nanos / 1000.0;
+	}
+
+	//--------------------------------------------------------------------------
+	// Samples
+	//--------------------------------------------------------------------------
+	/**
+	 * Growable array of the latencies of a single method.
+	 */
+	private static class Samples {
+		private long[] values = new long[64];
+		private int size = 0;
+
+		private void add(long value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		private long[] sorted() {
+			long[] result = Arrays.copyOf(this.values, this.size);
+			Arrays.sort(result);
+			return result;
+		}
+	}
+}
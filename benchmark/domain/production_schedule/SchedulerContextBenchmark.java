@@ -0,0 +1,143 @@
+package domain.production_schedule;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Optional;
+
+import domain.BenchmarkFixtures;
+import domain.assembly_line.TaskType;
+import domain.car.Model;
+import domain.car.Specification;
+import domain.order.Order;
+import domain.order.SingleTaskOrder;
+import domain.order.StandardOrder;
+import domain.production_schedule.strategy.FifoStrategy;
+
+/**
+ * Benchmarks of the SchedulerContext operations that run on every 
+ * activation of every AssemblyLineController, for queues of 10 up to one
+ * million pending StandardOrders.
+ * 
+ * Operations that change the queue are measured in pairs that leave the
+ * queue at its original size (submit one order and pop one order), so every
+ * invocation measures the same queue depth.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerContextBenchmark {
+	
+	/** The number of pending StandardOrders in the queue. */
+	@Param({ "10", "1000", "100000", "1000000" })
+	public int queueSize;
+	
+	/** One in truckRatio pending Orders is a truck Order. */
+	@Param({ "10" })
+	public int truckRatio;
+	
+	private BenchmarkFixtures fixtures;
+	private SchedulerContext scheduler;
+	
+	private OrderRequest allModelsRequest;
+	private OrderRequest absentModelRequest;
+	private OrderRequest taskTypeRequest;
+	
+	private int nextOrderNumber;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.fixtures = new BenchmarkFixtures(42);
+		this.scheduler = new SchedulerContext(new FifoStrategy<StandardOrder>());
+		for (StandardOrder order : this.fixtures.makeStandardOrders(this.queueSize, this.truckRatio)) {
+			this.scheduler.addNewStandardOrder(order);
+		}
+		for (SingleTaskOrder order : this.fixtures.makeSingleTaskOrders(100, this.queueSize)) {
+			this.scheduler.addNewSingleTaskOrder(order);
+		}
+		this.nextOrderNumber = this.queueSize + 100;
+		
+		this.allModelsRequest = new OrderRequest(this.fixtures.getOrderedModels());
+		this.absentModelRequest = new OrderRequest(new Model[] { this.fixtures.getAbsentModel() });
+		this.taskTypeRequest = new OrderRequest(TaskType.values());
+	}
+	
+	//--------------------------------------------------------------------------
+	// StandardOrders
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the next StandardOrder for a line that accepts every Model, which 
+	 * matches the head of the queue.
+	 */
+	@Benchmark
+	public Optional<Order> getOrder_standard_head() {
+		return this.scheduler.getOrder(this.allModelsRequest);
+	}
+	
+	/**
+	 * Get the next StandardOrder for a line whose Model is never ordered, 
+	 * which scans the complete queue.
+	 */
+	@Benchmark
+	public Optional<Order> getOrder_standard_fullScan() {
+		return this.scheduler.getOrder(this.absentModelRequest);
+	}
+	
+	/**
+	 * Submit a new StandardOrder and pop the head of the queue.
+	 */
+	@Benchmark
+	public Optional<Order> addNewStandardOrder_popOrder_standard() {
+		this.scheduler.addNewStandardOrder(
+				this.fixtures.makeStandardOrder(this.nextOrderNumber++, this.truckRatio));
+		return this.scheduler.popOrder(this.allModelsRequest);
+	}
+	
+	/**
+	 * Tally the pending StandardOrders per Specification.
+	 */
+	@Benchmark
+	public List<Specification> getEligibleBatches() {
+		return this.scheduler.getEligibleBatches();
+	}
+	
+	//--------------------------------------------------------------------------
+	// SingleTaskOrders
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the SingleTaskOrder with the closest deadline.
+	 */
+	@Benchmark
+	public Optional<Order> getOrder_singleTask() {
+		return this.scheduler.getOrder(this.taskTypeRequest);
+	}
+	
+	/**
+	 * Pop the SingleTaskOrder with the closest deadline and submit it again.
+	 */
+	@Benchmark
+	public Optional<Order> popOrder_singleTask_resubmit() {
+		Optional<Order> result = this.scheduler.popOrder(this.taskTypeRequest);
+		this.scheduler.addNewSingleTaskOrder((SingleTaskOrder) result.get());
+		return result;
+	}
+}
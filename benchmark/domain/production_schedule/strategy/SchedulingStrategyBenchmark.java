@@ -0,0 +1,130 @@
+package domain.production_schedule.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.BenchmarkFixtures;
+import domain.order.StandardOrder;
+
+/**
+ * Benchmarks of the SchedulingStrategy operations: inserting a single order
+ * in a sorted queue and sorting a complete queue when switching to a
+ * BatchStrategy, for queues of 10 up to one million StandardOrders.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulingStrategyBenchmark {
+	
+	/** The number of StandardOrders in the queue. */
+	@Param({ "10", "1000", "100000", "1000000" })
+	public int queueSize;
+	
+	private BenchmarkFixtures fixtures;
+	
+	private SchedulingStrategy<StandardOrder> fifoStrategy;
+	private SchedulingStrategy<StandardOrder> batchStrategy;
+	
+	/** The queue sorted by submission time. */
+	private List<StandardOrder> fifoQueue;
+	
+	/** The queue sorted by the batch strategy. */
+	private List<StandardOrder> batchQueue;
+	
+	/** The order inserted by the addTo benchmarks. */
+	private StandardOrder newOrder;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.fixtures = new BenchmarkFixtures(42);
+		this.fifoQueue = this.fixtures.makeStandardOrders(this.queueSize, 10);
+		
+		this.fifoStrategy = new FifoStrategy<StandardOrder>();
+		this.batchStrategy = new BatchStrategy<StandardOrder>(
+				this.fifoQueue.get(this.queueSize / 2).getSpecifications());
+		
+		this.batchQueue = new ArrayList<>(this.fifoQueue);
+		this.batchStrategy.sort(this.batchQueue);
+		
+		this.newOrder = this.fixtures.makeStandardOrder(this.queueSize, 10);
+	}
+	
+	/**
+	 * Insert a new, latest order in a FIFO queue and remove it again.
+	 */
+	@Benchmark
+	public StandardOrder addTo_fifo() {
+		this.fifoStrategy.addTo(this.newOrder, this.fifoQueue);
+		return this.fifoQueue.remove(this.fifoQueue.size() - 1);
+	}
+	
+	/**
+	 * Insert a new order in a batch-sorted queue and remove it again.
+	 */
+	@Benchmark
+	public boolean addTo_batch() {
+		this.batchStrategy.addTo(this.newOrder, this.batchQueue);
+		return this.batchQueue.remove(this.newOrder);
+	}
+	
+	/**
+	 * Sort a queue in submission order with a BatchStrategy, as happens
+	 * when the manager switches to a batch algorithm.
+	 */
+	@Benchmark
+	public List<StandardOrder> sort_batch(SortState state) {
+		state.strategy.sort(state.queue);
+		return state.queue;
+	}
+	
+	/**
+	 * The state of sort_batch, which restores the unsorted queue before 
+	 * every invocation. The restore is excluded from the measurement.
+	 */
+	@State(Scope.Thread)
+	public static class SortState {
+		
+		/** The number of StandardOrders in the queue. */
+		@Param({ "10", "1000", "100000", "1000000" })
+		public int queueSize;
+		
+		private List<StandardOrder> unsorted;
+		private List<StandardOrder> queue;
+		private SchedulingStrategy<StandardOrder> strategy;
+		
+		@Setup(Level.Trial)
+		public void setUp() {
+			this.unsorted = new BenchmarkFixtures(42).makeStandardOrders(this.queueSize, 10);
+			this.queue = new ArrayList<>(this.unsorted);
+			this.strategy = new BatchStrategy<StandardOrder>(
+					this.unsorted.get(this.queueSize / 2).getSpecifications());
+		}
+		
+		@Setup(Level.Invocation)
+		public void restore() {
+			for (int i = 0; i < this.queueSize; i++) {
+				this.queue.set(i, this.unsorted.get(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package domain.production_schedule.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import domain.DateTime;
+import domain.Manufacturer;
+import domain.assembly_line.AssemblyTaskView;
+import domain.assembly_line.WorkPostView;
+import domain.car.Model;
+import domain.handlers.DomainFacade;
+import domain.handlers.InitialisationHandler;
+import domain.initialdata.InitialDataLoader;
+import domain.order.OrderView;
+
+/**
+ * Compares the throughput of the FIFO and the lookahead scheduling strategy,
+ * each with and without cross-line dispatching, on simulated weeks. Every day
+ * the same random mix of car and truck orders is placed on identical systems,
+ * which then work until no task is left.
+ * Mechanics spend exactly the expected time of the Model of an order on each
+ * work post, so the difference between the configurations is the time work
+ * posts stand idle waiting for a slower post, or lines stand idle while
+ * another line holds an order they could have taken.
+ *
+ * Usage: StrategyComparison [days] [orders per day] [seed] [default|mixed]
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class StrategyComparison {
+
+	public static void main(String[] args) {
+		int days = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		int ordersPerDay = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 17;
+		List<List<String>> layout = args.length > 3 && args[3].equals("mixed") ?
+				MIXED_LAYOUT : InitialisationHandler.getDefaultLineLayout();
+
+		System.out.println(days + " days, " + ordersPerDay + " orders per day, " +
+				layout.size() + " line(s)");
+		Week fifo = null;
+		for (String name : CONFIGURATIONS) {
+			Week week = new Week(layout, seed, name.startsWith("lookahead"), name.endsWith("+dispatch"));
+			week.run(days, ordersPerDay);
+			if (fifo == null) {
+				fifo = week;
+			}
+			System.out.println(week.getReport(name) + String.format(", gain %+.1f%%",
+					(week.getThroughput() / fifo.getThroughput() - 1) * 100));
+		}
+	}
+
+	/** The compared configurations, the first one is the reference. */
+	private static final List<String> CONFIGURATIONS = Arrays.asList(
+			"fifo", "fifo+dispatch", "lookahead", "lookahead+dispatch");
+
+	/** A single line that accepts every Model. */
+	private static final List<List<String>> MIXED_LAYOUT = Arrays.asList(
+			Arrays.asList("Model A", "Model B", "Model C", "Model X", "Model Y"));
+
+	/**
+	 * A simulated week on a freshly initialised system.
+	 */
+	private static class Week {
+
+		private Week(List<List<String>> layout, long seed, boolean lookahead, boolean dispatch) {
+			// The orders are drawn from their own Random, so all weeks get the same orders.
+			this.orderRandom = new Random(seed);
+			InitialisationHandler init = new InitialisationHandler(layout, new Random(seed));
+			this.facade = init.getDomainFacade();
+			this.loader = init.getInitialDataLoader();
+			this.manufacturer = init.getManufacturer();
+			this.models = new ArrayList<Model>();
+			for (Model model : this.manufacturer.getVehicleModels()) {
+				for (List<String> line : layout) {
+					if (line.contains(model.getName())) {
+						this.models.add(model);
+						break;
+					}
+				}
+			}
+			if (lookahead) {
+				this.manufacturer.setLookaheadAlgorithm();
+			}
+			this.manufacturer.setCrossLineDispatching(dispatch);
+		}
+
+		private final Random orderRandom;
+		private final DomainFacade facade;
+		private final InitialDataLoader loader;
+		private final Manufacturer manufacturer;
+		private final List<Model> models;
+
+		private void run(int days, int ordersPerDay) {
+			for (int day = 0; day < days; day++) {
+				for (int i = 0; i < ordersPerDay; i++) {
+					Model model = this.models.get(this.orderRandom.nextInt(this.models.size()));
+					this.loader.placeRandomStandardOrderOfModel(1, model);
+				}
+				this.completeAllTasksInExpectedTime();
+			}
+		}
+
+		/**
+		 * Complete every task on every line, spending the expected time of the
+		 * Model on each work post, until no task is left.
+		 */
+		private void completeAllTasksInExpectedTime() {
+			boolean progress = true;
+			while (progress) {
+				progress = false;
+				for (int lineNb = 0; lineNb < this.facade.getLineViews().size(); lineNb++) {
+					for (WorkPostView post : this.facade.getWorkPosts(lineNb)) {
+						if (post.isEmpty()) {
+							continue;
+						}
+						Model model = post.getAssemblyProcedureView().getOrderView().getModel();
+						int minutes = model.getMinsOnWorkPostOfType(post.getTaskType());
+						for (AssemblyTaskView task : post.getMatchingAssemblyTasks()) {
+							if (!task.isCompleted()) {
+								this.facade.completeWorkpostTask(lineNb, post.getWorkPostNum(),
+										task.getTaskNumber(), minutes);
+								// The whole post time is spent on its first task.
+								minutes = 0;
+								progress = true;
+							}
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * @return The number of completed orders per working day, counted up
+		 * 		to the completion of the last order.
+		 */
+		private double getThroughput() {
+			return this.getCompleted().size() / this.getWorkingDays();
+		}
+
+		private List<OrderView> getCompleted() {
+			return this.manufacturer.getCompletedOrderContainers();
+		}
+
+		/**
+		 * @return The number of working days up to the completion of the last
+		 * 		order, counting the last day up to that completion.
+		 */
+		private double getWorkingDays() {
+			DateTime last = new DateTime(0, 0, 0);
+			for (OrderView order : this.getCompleted()) {
+				if (order.getCompletionTime().compareTo(last) > 0) {
+					last = order.getCompletionTime();
+				}
+			}
+			double lastDayMinutes = Math.max(0, last.getHours() * 60 + last.getMinutes() - START_MINUTES);
+			return last.getDays() + lastDayMinutes / (END_MINUTES - START_MINUTES);
+		}
+
+		private String getReport(String name) {
+			return String.format("%-18s %5d orders completed, %4d pending, %.2f working days, " +
+					"%.2f orders per day", name, this.getCompleted().size(),
+					this.manufacturer.getPendingOrderContainers().size(),
+					this.getWorkingDays(), this.getThroughput());
+		}
+	}
+
+	/** The working day of the plant, in minutes after midnight. */
+	private static final int START_MINUTES = 6 * 60;
+	private static final int END_MINUTES = 22 * 60;
+}
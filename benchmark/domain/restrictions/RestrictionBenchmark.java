@@ -0,0 +1,80 @@
+package domain.restrictions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import domain.Manufacturer;
+import domain.car.Model;
+import domain.car.Option;
+import domain.car.OptionCategory;
+import domain.car.Specification;
+import domain.handlers.InitialisationHandler;
+
+/**
+ * Benchmark of the restriction check every submitted StandardOrder goes
+ * through, against the restrictions of the default system and random 
+ * specifications of all its Models.
+ * 
+ * @author Frederik Goovaerts
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestrictionBenchmark {
+	
+	/** The number of distinct specifications that are checked in turn. */
+	private static final int NB_OF_SPECIFICATIONS = 64;
+	
+	private Manufacturer manufacturer;
+	private Model[] models;
+	private Specification[] specifications;
+	private int next;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		this.manufacturer = new InitialisationHandler(
+				InitialisationHandler.getDefaultLineLayout(), random).getManufacturer();
+		
+		List<Model> vehicleModels = this.manufacturer.getVehicleModels();
+		this.models = new Model[NB_OF_SPECIFICATIONS];
+		this.specifications = new Specification[NB_OF_SPECIFICATIONS];
+		for (int i = 0; i < NB_OF_SPECIFICATIONS; i++) {
+			Model model = vehicleModels.get(random.nextInt(vehicleModels.size()));
+			List<Option> options = new ArrayList<>();
+			for (OptionCategory category : model.getOptionCategories()) {
+				options.add(category.getOption(random.nextInt(category.getAmountOfOptions())));
+			}
+			this.models[i] = model;
+			this.specifications[i] = new Specification(options);
+		}
+	}
+	
+	/**
+	 * Check the next specification against all restrictions.
+	 */
+	@Benchmark
+	public boolean checkSpecificationRestrictions() {
+		int i = this.next;
+		this.next = (i + 1) % NB_OF_SPECIFICATIONS;
+		return this.manufacturer.checkSpecificationRestrictions(this.models[i], this.specifications[i]);
+	}
+}
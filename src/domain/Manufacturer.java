@@ -1,7 +1,14 @@
 package domain;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.google.common.base.Optional;
+
+import domain.restrictions.ConfigurationSpace;
 import domain.restrictions.OptionRestrictionManager;
 import domain.statistics.EstimatedTimeCatalog;
 import exceptions.IllegalVehicleOptionCombinationException;
@@ -14,13 +21,17 @@ import domain.assembly_line.AssemblyLineView;
 import domain.assembly_line.AssemblyTaskView;
 import domain.assembly_line.StateCatalog;
 import domain.assembly_line.WorkPostView;
+import domain.assembly_line.trace.DecisionTrace;
 import domain.car.ModelCatalog;
 import domain.car.Option;
 import domain.car.Specification;
 import domain.car.Model;
 import domain.clock.Clock;
+import domain.metrics.MetricsRegistry;
 import domain.order.CompletedOrderCatalog;
 import domain.order.Order;
+import domain.order.OrderStatus;
+import domain.order.OrderStatusRegistry;
 import domain.order.OrderView;
 import domain.order.OrderFactory;
 import domain.order.OrderSession;
@@ -28,8 +39,10 @@ import domain.order.SingleOrderSession;
 import domain.order.SingleTaskCatalog;
 import domain.order.SingleTaskOrder;
 import domain.order.StandardOrder;
+import domain.production_schedule.OrderBacklog;
 import domain.production_schedule.SchedulerContext;
 import domain.production_schedule.strategy.AlgorithmStrategyFactory;
+import domain.production_schedule.strategy.LookaheadStrategy;
 import domain.production_schedule.strategy.SchedulingStrategyView;
 
 /**
@@ -69,6 +82,8 @@ public class Manufacturer {
 	 * 		The {@link ProductionScheduleFacade} for the new {@link Manufacturer}
 	 * @param inter 
 	 * @param line 
+	 * @param statusRegistry
+	 * 		The {@link OrderStatusRegistry} for the new {@link Manufacturer}
 	 * @throws IllegalArgumentException
 	 * 		If any of the parameters is null
 	 */
@@ -82,7 +97,8 @@ public class Manufacturer {
 						Clock clock,
 						SchedulerContext schedule,
 						EstimatedTimeCatalog estTimeCat,
-						StateCatalog stateCat)
+						StateCatalog stateCat,
+						OrderStatusRegistry statusRegistry)
 						throws IllegalArgumentException
 	{
 		if(stratFact == null)
@@ -107,18 +123,22 @@ public class Manufacturer {
 			throw new IllegalArgumentException("EstTimeCat should not be null.");
 		if(stateCat == null)
 			throw new IllegalArgumentException("StateCat should not be null.");
+		if(statusRegistry == null)
+			throw new IllegalArgumentException("OrderStatusRegistry should not be null.");
 		
 		this.algorithmStrategyFactory = stratFact;
 		this.singleTaskCatalog = singleCat;
 		this.completedOrderCatalog = completedCat;
 		this.modelCatalog = modelCat;
 		this.optionRestrictionManager = optionRestMan;
+		this.configurationSpaces = new HashMap<Model, ConfigurationSpace>();
 		this.orderFactory = orderFactory;
 		this.assemblyFloor = floor;
 		this.clock = clock;
 		this.schedulerContext = schedule;
 		this.estimatedTimeCatalog = estTimeCat;
 		this.stateCat = stateCat;
+		this.orderStatusRegistry = statusRegistry;
 
 
 		this.orderFactory.setManufacturer(this);
@@ -134,14 +154,76 @@ public class Manufacturer {
 	 * schedule, queuing to be assembled, as well as the orders which are active
 	 * on the assembly line.
 	 * 
-	 * @return the list of pending orders in the system
+	 * @return the list of pending orders in the system, the orders on the
+	 * 		assembly lines first, each part by ascending order number
 	 */
 	public List<OrderView> getPendingOrderContainers() {
-		List<OrderView> pending = this.getAssemblingPendingOrderContainers();
-		pending.addAll(this.getSchedulePendingOrderContainers());
+		List<OrderView> pending = this.getOrderStatusRegistry().getOrders(OrderStatus.ASSEMBLING);
+		pending.addAll(this.getOrderStatusRegistry().getOrders(OrderStatus.SCHEDULED));
 		return pending;
 	}
 	
+	//--------------------------------------------------------------------------
+	// Order status methods
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the OrderStatusRegistry of this Manufacturer for internal use.
+	 * 
+	 * @return the OrderStatusRegistry
+	 */
+	private OrderStatusRegistry getOrderStatusRegistry() {
+		return this.orderStatusRegistry;
+	}
+	
+	/** The status of every order of this Manufacturer, by order number. */
+	private final OrderStatusRegistry orderStatusRegistry;
+	
+	/**
+	 * Get the order of the system with the given order number.
+	 * 
+	 * @param orderNumber
+	 * 		The order number of the order
+	 * 
+	 * @return the order, absent if there is no order with the number
+	 */
+	public Optional<OrderView> getOrder(int orderNumber) {
+		return this.getOrderStatusRegistry().getOrder(orderNumber);
+	}
+	
+	/**
+	 * Get the status of the order of the system with the given order number.
+	 * 
+	 * @param orderNumber
+	 * 		The order number of the order
+	 * 
+	 * @return the status of the order, absent if there is no order with the
+	 * 		number
+	 */
+	public Optional<OrderStatus> getOrderStatus(int orderNumber) {
+		return this.getOrderStatusRegistry().getStatus(orderNumber);
+	}
+	
+	/**
+	 * Get a page of the orders of the system with the given status, by
+	 * ascending order number.
+	 * 
+	 * @param status
+	 * 		The status of the orders
+	 * @param fromOrderNumber
+	 * 		The smallest order number of the page
+	 * @param max
+	 * 		The largest number of orders of the page
+	 * 
+	 * @return a list of at most max orders with the status
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		If the status is null or max is negative
+	 */
+	public List<OrderView> getOrders(OrderStatus status, int fromOrderNumber, int max)
+			throws IllegalArgumentException {
+		return this.getOrderStatusRegistry().getOrders(status, fromOrderNumber, max);
+	}
+	
 	//--------------------------------------------------------------------------
 	// AlgorithmStrategyFactory methods.
 	//--------------------------------------------------------------------------
@@ -212,6 +294,24 @@ public class Manufacturer {
 		this.getProductionSchedule().setSchedulingStrategy(
 				this.getAlgorithmFactory().getBatchStrategy(batch));
 	}
+	
+	/**
+	 * Set the currently used SchedulingAlgorithm to the lookahead algorithm.
+	 * The lookahead algorithm is experimental and not offered to users; it is
+	 * set by the strategy comparison.
+	 */
+	public void setLookaheadAlgorithm() {
+		this.getProductionSchedule().setSchedulingStrategy(
+				new LookaheadStrategy<StandardOrder>());
+	}
+	
+	/**
+	 * Set the currently used SchedulingAlgorithm to the automatic batch algorithm
+	 */
+	public void setAutoBatchAlgorithm() {
+		this.getProductionSchedule().setSchedulingStrategy(
+				this.getAlgorithmFactory().getAutoBatchStrategy());
+	}
 
 	
 	/** The AlgorithmStrategyFactory of this Manufacturer. */
@@ -397,6 +497,35 @@ public class Manufacturer {
 	/** The restrictionManager this manufacturer keeps, to check given restriction on new orders */
 	private final OptionRestrictionManager optionRestrictionManager;
 
+	/**
+	 * Get the space of all configurations of given model that pass the
+	 * restrictions of this manufacturer. The space is enumerated the first
+	 * time it is requested, and shared by all later requests.
+	 * 
+	 * @param model
+	 * 		The model of the configurations
+	 * 
+	 * @return the configuration space of given model
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		When the model is null or not a model of the system
+	 */
+	public ConfigurationSpace getConfigurationSpace(Model model)
+			throws IllegalArgumentException
+	{
+		if(!this.isValidModel(model))
+			throw new IllegalArgumentException("Not a valid model for the system.");
+		ConfigurationSpace space = this.configurationSpaces.get(model);
+		if(space == null){
+			space = new ConfigurationSpace(model, this.getOptionRestrictionManager());
+			this.configurationSpaces.put(model, space);
+		}
+		return space;
+	}
+	
+	/** The configuration space of every model for which one was requested */
+	private final Map<Model, ConfigurationSpace> configurationSpaces;
+
 	/**
 	 * Check whether or not the given model and list of options would make a valid
 	 * order. This encompasses checking whether all options are options of the model,
@@ -448,18 +577,26 @@ public class Manufacturer {
 	
 	/** Interface into production schedule functionality. */
 	private final SchedulerContext schedulerContext;
-
-	//--------------------------------------------------------------------------
-
-
+	
 	/**
-	 * Get a list of pending {@link OrderView}s in the productionSchedule.
+	 * Get the position of given order in the queue of standard orders of the
+	 * production schedule, where the first order in line has position 0.
+	 * 
+	 * @param order
+	 * 		The order
 	 * 
-	 * @return List of pending order containers in the productionSchedule.
+	 * @return the position of the order, absent if it is not a standard order
+	 * 		waiting in the production schedule
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		If the order is null
 	 */
-	private List<OrderView> getSchedulePendingOrderContainers() {
-		return this.getProductionSchedule().getAllPendingOrders();
+	public Optional<Integer> getQueuePosition(OrderView order) throws IllegalArgumentException {
+		return this.getProductionSchedule().getQueuePosition(order);
 	}
+
+	//--------------------------------------------------------------------------
+
 	
 	/**
 	 * Submit given model and list of options to the system to form a new order.
@@ -566,15 +703,6 @@ public class Manufacturer {
 		this.getAssemblyFloor().completeWorkpostTask(lineNumber, workPostNumber, taskNumber, minutes);
 	}
 	
-	/**
-	 * Get a list of pending {@link OrderView}s on the assembly line. 
-	 * 
-	 * @return List of pending order containers on the assembly line.
-	 */
-	private List<OrderView> getAssemblingPendingOrderContainers() {
-		return this.getAssemblyFloor().getActiveOrderViews();
-	}
-	
 
 	//--------- Assembly States ---------//
 	
@@ -622,6 +750,96 @@ public class Manufacturer {
 	
 	//----- end of Assembly States -----//
 
+	/**
+	 * Record every scheduling decision of the assembly lines in the specified
+	 * DecisionTrace.
+	 * 
+	 * @param trace
+	 * 		The DecisionTrace to record to.
+	 * @throws IllegalArgumentException
+	 * 		The trace is null
+	 */
+	public void setDecisionTrace(DecisionTrace trace) throws IllegalArgumentException {
+		this.getAssemblyFloor().setDecisionTrace(trace);
+	}
+
+	/**
+	 * Keep the pending orders of the production schedule in the order backlog
+	 * in the specified file, such that they are restored when the backlog is
+	 * opened again. The orders in the file are added to the production 
+	 * schedule, and new orders are numbered after them.
+	 * 
+	 * @param file
+	 * 		The file of the order backlog.
+	 * @param capacity
+	 * 		The number of orders the backlog holds, if the file holds none yet.
+	 * 
+	 * @return The opened OrderBacklog.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		The file is null, or the capacity is not positive
+	 * @throws IllegalStateException
+	 * 		The file holds a corrupt backlog, or one that does not fit
+	 * @throws IOException
+	 * 		The file cannot be opened
+	 */
+	public OrderBacklog openOrderBacklog(File file, int capacity) 
+			throws IllegalArgumentException, IllegalStateException, IOException {
+		OrderBacklog backlog = OrderBacklog.open(file, capacity, 
+				this.getModelCatalog(), this.getSingleTaskCatalog());
+		Optional<Integer> last = backlog.getLastOrderNumber();
+		if (last.isPresent()) {
+			this.getOrderFactory().skipOrderIdentifiersBelow(last.get() + 1);
+		}
+		this.getProductionSchedule().setOrderBacklog(backlog);
+		return backlog;
+	}
+
+	/**
+	 * Report the metrics of the clock, the production schedule and the 
+	 * assembly floor of this Manufacturer in the specified MetricsRegistry.
+	 * Every system reports in its own registry, such that systems running 
+	 * side by side do not share their metrics.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of this system.
+	 * @throws IllegalArgumentException
+	 * 		The registry is null
+	 */
+	public void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.clock.setMetricsRegistry(registry);
+		this.getProductionSchedule().setMetricsRegistry(registry);
+		this.getAssemblyFloor().setMetricsRegistry(registry);
+		this.metrics = Optional.of(registry);
+	}
+
+	/**
+	 * Get the MetricsRegistry this system reports its metrics in.
+	 * 
+	 * @return The MetricsRegistry of this system, absent if it has none.
+	 */
+	public Optional<MetricsRegistry> getMetricsRegistry() {
+		return this.metrics;
+	}
+
+	/** The MetricsRegistry of this system. */
+	private Optional<MetricsRegistry> metrics = Optional.absent();
+
+	/**
+	 * Set whether the assembly lines that activate at the same time are
+	 * assigned their StandardOrders jointly, such that every order goes to the
+	 * line that finishes it soonest.
+	 * 
+	 * @param dispatching
+	 * 		Whether StandardOrders are dispatched jointly.
+	 */
+	public void setCrossLineDispatching(boolean dispatching) {
+		this.getAssemblyFloor().setDispatching(dispatching);
+	}
+
 	//--------------------------------------------------------------------------
 	// Completed Order Methods
 	//--------------------------------------------------------------------------
@@ -654,6 +872,7 @@ public class Manufacturer {
 		if(order == null)
 			throw new IllegalArgumentException("Order Can not be null");
 		this.getCompletedOrderCatalog().addCompletedOrder(order);
+		this.getOrderStatusRegistry().setCompleted(order);
 	}
 	
 	/**
@@ -671,7 +890,6 @@ public class Manufacturer {
 	//--------------------------------------------------------------------------
 
 	/** The manufacturer's clock */
-	@SuppressWarnings("unused")
 	private final Clock clock;
 	
 	/**
@@ -704,7 +922,8 @@ public class Manufacturer {
 	//--------------------------------------------------------------------------
 	/**
 	 * Query the system for estimated completion time of given order.
-	 * This e
+	 * The estimate of the CompletionForecast of the floor is used if there
+	 * is one.
 	 * 
 	 * @param order
 	 * 		The order to find in the system and return the ECT for
@@ -712,6 +931,10 @@ public class Manufacturer {
 	 * @return the ECT of given order
 	 */
 	public DateTime getEstimatedCompletionTime(OrderView order) {
+		Optional<DateTime> forecast = 
+				this.getAssemblyFloor().getForecastTimeToCompletion(order, this.clock.getCurrentTime());
+		if(forecast.isPresent())
+			return this.getEstimatedTimeCatalog().calculateAbsoluteTime(forecast.get());
 		if(this.getAssemblyFloor().contains(order)){
 			DateTime relativeCompletionTime= this.getAssemblyFloor().getEstimatedCompletionTime(order);
 			return this.getEstimatedTimeCatalog().calculateAbsoluteTime(relativeCompletionTime);
@@ -0,0 +1,21 @@
+package domain.assembly_line;
+
+/**
+ * The decisions an AssemblyLineController can take when it is activated.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ */
+public enum ActivationDecision {
+	/** The SingleTaskOrder with the closest deadline was put on the line. */
+	DEADLINE,
+	/** Only SingleTaskOrders that do not delay the line were put on the line. */
+	SINGLE_TASK,
+	/** A StandardOrder was put on the line. */
+	STANDARD,
+	/** No more orders fit in the day: the line was emptied or the day ended. */
+	WRAP_UP,
+	/** The line advanced without new orders. */
+	ADVANCE_EMPTY,
+	/** There were no orders and the line was empty: the line went idle. */
+	IDLE;
+}
@@ -0,0 +1,89 @@
+package domain.assembly_line;
+
+import domain.DateTime;
+
+/**
+ * The inputs on which an AssemblyLineController bases its ActivationDecision.
+ * Inputs are only requested when the decision depends on them, such that an
+ * implementation can compute them lazily.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ */
+public interface ActivationInputs {
+
+	/**
+	 * @return The current time of the system.
+	 */
+	DateTime getCurrentTime();
+
+	/**
+	 * @return The overtime in minutes of the AssemblyLine at the start of the
+	 * 		activation.
+	 */
+	int getOverTime();
+
+	/**
+	 * @return Whether the state of the AssemblyLine accepts new orders.
+	 */
+	boolean acceptsOrders();
+
+	/**
+	 * @return Whether there is a SingleTaskOrder with a deadline that can be
+	 * 		put on the AssemblyLine.
+	 */
+	boolean hasDeadlineOrder();
+
+	/**
+	 * @return The day of the deadline of the SingleTaskOrder with the closest
+	 * 		deadline.
+	 *
+	 * @throws IllegalStateException
+	 * 		| !hasDeadlineOrder()
+	 */
+	int getDeadlineDay() throws IllegalStateException;
+
+	/**
+	 * @return The time the AssemblyLine needs to finish the SingleTaskOrder
+	 * 		with the closest deadline.
+	 *
+	 * @throws IllegalStateException
+	 * 		| !hasDeadlineOrder()
+	 */
+	DateTime getDeadlineMakespan() throws IllegalStateException;
+
+	/**
+	 * @return Whether there is a StandardOrder that can be put on the
+	 * 		AssemblyLine.
+	 */
+	boolean hasStandardOrder();
+
+	/**
+	 * @return The time the AssemblyLine needs to finish the next StandardOrder.
+	 *
+	 * @throws IllegalStateException
+	 * 		| !hasStandardOrder()
+	 */
+	DateTime getStandardMakespan() throws IllegalStateException;
+
+	/**
+	 * @return Whether there are SingleTaskOrders that can be put on the
+	 * 		AssemblyLine without delaying it.
+	 */
+	boolean hasFillerOrders();
+
+	/**
+	 * @return The smallest slack in minutes of the SingleTaskOrders with the
+	 * 		closest deadlines, when the StandardOrder is put on the
+	 * 		AssemblyLine before them. A negative slack means a deadline is
+	 * 		predicted to be missed.
+	 *
+	 * @throws IllegalStateException
+	 * 		| !hasDeadlineOrder() || !hasStandardOrder()
+	 */
+	int getDeadlineSlack() throws IllegalStateException;
+
+	/**
+	 * @return Whether the AssemblyLine is empty.
+	 */
+	boolean isLineEmpty();
+}
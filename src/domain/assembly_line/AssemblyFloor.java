@@ -3,7 +3,13 @@ package domain.assembly_line;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.common.base.Optional;
+
 import domain.DateTime;
+import domain.assembly_line.trace.DecisionTrace;
+import domain.metrics.MetricsRegistry;
+import domain.order.OrderStatus;
+import domain.order.OrderStatusRegistry;
 import domain.order.OrderView;
 import domain.statistics.StatisticsLogger;
 
@@ -106,6 +112,16 @@ public class AssemblyFloor {
 			throw new IllegalArgumentException("Cannot add line more than once to AssemblyFloor");
 		}
 		this.lines.add(line);
+		line.setDispatcher(this.dispatcher);
+		if (this.statusRegistry.isPresent()) {
+			line.setOrderStatusRegistry(this.statusRegistry.get(), this.lines.size() - 1);
+		}
+		if (this.taskDurations.isPresent()) {
+			line.setTaskDurationTable(this.taskDurations.get());
+		}
+		if (this.metrics.isPresent()) {
+			line.setMetricsRegistry(this.metrics.get());
+		}
 	}
 	
 	/** a list with all assemblylines of this floor */
@@ -161,11 +177,7 @@ public class AssemblyFloor {
 	 * @return whether this order is present on one of the assemblyLines
 	 */
 	public boolean contains(OrderView order) {
-		for(AssemblyLineFacade line : this.getLines()){
-			if(line.contains(order))
-				return true;
-		}
-		return false;
+		return this.getLineOf(order).isPresent();
 	}
 
 	/**
@@ -181,11 +193,37 @@ public class AssemblyFloor {
 	 */
 	public DateTime getEstimatedCompletionTime(OrderView order)
 			throws IllegalStateException{
+		Optional<AssemblyLineFacade> line = this.getLineOf(order);
+		if (!line.isPresent())
+			throw new IllegalStateException("Order not present on assemblyLine.");
+		return line.get().getEstimatedCompletionTime(order);
+	}
+	
+	/**
+	 * Get the assembly line of this floor that contains the given order. With
+	 * an OrderStatusRegistry the line is looked up in the registry, which the
+	 * lines keep up to date, in O(1); without one every line is asked in turn.
+	 * 
+	 * @param order
+	 * 		The order to look for
+	 * @return the line that contains the order, absent if there is none
+	 */
+	private Optional<AssemblyLineFacade> getLineOf(OrderView order) {
+		if (this.statusRegistry.isPresent()) {
+			OrderStatusRegistry registry = this.statusRegistry.get();
+			int orderNumber = order.getOrderNumber();
+			if (registry.getStatus(orderNumber).orNull() != OrderStatus.ASSEMBLING)
+				return Optional.absent();
+			int lineNb = registry.getLineNumber(orderNumber);
+			if (lineNb < this.getLines().size() && this.getLines().get(lineNb).contains(order))
+				return Optional.of(this.getLines().get(lineNb));
+			return Optional.absent();
+		}
 		for(AssemblyLineFacade line : this.getLines()){
 			if(line.contains(order))
-				return line.getEstimatedCompletionTime(order);
+				return Optional.of(line);
 		}
-		throw new IllegalStateException("Order not present on assemblyLine.");
+		return Optional.absent();
 	}
 
 	//--------- Perform Assembly Tasks methods ---------//
@@ -260,6 +298,169 @@ public class AssemblyFloor {
 		
 	}
 
+	/**
+	 * Record every scheduling decision of the lines on this floor in the 
+	 * specified DecisionTrace, each under its index on this floor.
+	 * 
+	 * @param trace
+	 * 		The DecisionTrace to record to.
+	 * @throws IllegalArgumentException
+	 * 		if the trace is null
+	 */
+	public void setDecisionTrace(DecisionTrace trace) throws IllegalArgumentException {
+		if(trace == null)
+			throw new IllegalArgumentException("Trace cannot be null.");
+		for (int i = 0; i < this.getLines().size(); i++) {
+			this.getLines().get(i).setDecisionTrace(trace, i);
+		}
+	}
+
+	/**
+	 * Set whether the lines of this floor that activate at the same time are
+	 * assigned their StandardOrders jointly by a FloorDispatcher, or each
+	 * request their StandardOrder themselves.
+	 * 
+	 * @param dispatching
+	 * 		Whether StandardOrders are dispatched jointly.
+	 */
+	public void setDispatching(boolean dispatching) {
+		this.dispatcher = dispatching ? 
+				Optional.of(new FloorDispatcher()) : Optional.<FloorDispatcher> absent();
+		if (this.dispatcher.isPresent() && this.metrics.isPresent()) {
+			this.dispatcher.get().setMetricsRegistry(this.metrics.get());
+		}
+		for (AssemblyLineFacade line : this.getLines()) {
+			line.setDispatcher(this.dispatcher);
+		}
+	}
+	
+	/**
+	 * Check whether the lines of this floor are assigned their StandardOrders
+	 * jointly.
+	 * 
+	 * @return Whether StandardOrders are dispatched jointly.
+	 */
+	public boolean isDispatching() {
+		return this.dispatcher.isPresent();
+	}
+	
+	/** The FloorDispatcher of the lines of this floor. */
+	private Optional<FloorDispatcher> dispatcher = Optional.absent();
+
+	/**
+	 * Keep the specified OrderStatusRegistry up to date with the orders on 
+	 * the lines of this floor, each under its index on this floor.
+	 * 
+	 * @param registry
+	 * 		The OrderStatusRegistry to update.
+	 * @throws IllegalArgumentException
+	 * 		if the registry is null
+	 */
+	public void setOrderStatusRegistry(OrderStatusRegistry registry) throws IllegalArgumentException {
+		if(registry == null)
+			throw new IllegalArgumentException("Registry cannot be null.");
+		this.statusRegistry = Optional.of(registry);
+		for (int i = 0; i < this.getLines().size(); i++) {
+			this.getLines().get(i).setOrderStatusRegistry(registry, i);
+		}
+	}
+
+	/** The OrderStatusRegistry of the orders on this floor. */
+	private Optional<OrderStatusRegistry> statusRegistry = Optional.absent();
+
+	/**
+	 * Learn the minutes of the tasks completed on all lines of this floor in
+	 * the specified TaskDurationTable, and estimate the minutes of orders on
+	 * every line with it.
+	 * 
+	 * @param table
+	 * 		The TaskDurationTable shared by the lines.
+	 * @throws IllegalArgumentException
+	 * 		if the table is null
+	 */
+	public void setTaskDurationTable(TaskDurationTable table) throws IllegalArgumentException {
+		if(table == null)
+			throw new IllegalArgumentException("Table cannot be null.");
+		this.taskDurations = Optional.of(table);
+		for (AssemblyLineFacade line : this.getLines()) {
+			line.setTaskDurationTable(table);
+		}
+	}
+
+	/** The TaskDurationTable shared by the lines of this floor. */
+	private Optional<TaskDurationTable> taskDurations = Optional.absent();
+
+	/**
+	 * Estimate the completion of the orders on the lines of this floor and the
+	 * pending StandardOrders with the specified CompletionForecast.
+	 * 
+	 * @param forecast
+	 * 		The CompletionForecast.
+	 * @throws IllegalArgumentException
+	 * 		if the forecast is null
+	 */
+	public void setCompletionForecast(CompletionForecast forecast) throws IllegalArgumentException {
+		if(forecast == null)
+			throw new IllegalArgumentException("Forecast cannot be null.");
+		forecast.setLines(this.getLines());
+		if (this.metrics.isPresent()) {
+			forecast.setMetricsRegistry(this.metrics.get());
+		}
+		this.forecast = Optional.of(forecast);
+	}
+
+	/**
+	 * Get the time from the specified time until the given order is finished,
+	 * as estimated by the CompletionForecast of this floor.
+	 * 
+	 * @param order
+	 * 		The order to estimate
+	 * @param now
+	 * 		The current time
+	 * @return The estimated time until the order is finished, absent if this
+	 * 		floor has no CompletionForecast or it has no estimate of the order
+	 * @throws IllegalArgumentException
+	 * 		if an argument is null
+	 */
+	public Optional<DateTime> getForecastTimeToCompletion(OrderView order, DateTime now)
+			throws IllegalArgumentException {
+		if(!this.forecast.isPresent())
+			return Optional.absent();
+		return this.forecast.get().getTimeToCompletion(order, now);
+	}
+
+	/** The CompletionForecast of the orders of this floor. */
+	private Optional<CompletionForecast> forecast = Optional.absent();
+
+	/**
+	 * Report the metrics of the lines, the StatisticsLogger, the 
+	 * FloorDispatcher and the CompletionForecast of this floor in the
+	 * specified MetricsRegistry, including those added later.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this floor.
+	 * @throws IllegalArgumentException
+	 * 		if the registry is null
+	 */
+	public void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if(registry == null)
+			throw new IllegalArgumentException("Registry cannot be null.");
+		this.metrics = Optional.of(registry);
+		for (AssemblyLineFacade line : this.getLines()) {
+			line.setMetricsRegistry(registry);
+		}
+		this.getStatisticsLogger().setMetricsRegistry(registry);
+		if (this.dispatcher.isPresent()) {
+			this.dispatcher.get().setMetricsRegistry(registry);
+		}
+		if (this.forecast.isPresent()) {
+			this.forecast.get().setMetricsRegistry(registry);
+		}
+	}
+
+	/** The MetricsRegistry of the metrics of this floor. */
+	private Optional<MetricsRegistry> metrics = Optional.absent();
+
 	public List<AssemblyLineStateView> getCurrentLineStates() {
 		List<AssemblyLineStateView> toReturn = new ArrayList<>();
 		for (AssemblyLineFacade line : this.getLines()) {
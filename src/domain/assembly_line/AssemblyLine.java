@@ -1,8 +1,12 @@
 package domain.assembly_line;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 
 import com.google.common.base.Optional;
 
@@ -10,12 +14,16 @@ import domain.DateTime;
 import domain.Manufacturer;
 import domain.assembly_line.virtual.VirtualAssemblyLine;
 import domain.car.Model;
+import domain.car.ModelSet;
 import domain.car.Specification;
 import domain.clock.EventConsumer;
+import domain.metrics.Counter;
+import domain.metrics.MetricsRegistry;
 import domain.order.CompletedOrderEvent;
 import domain.order.CompletedOrderObserver;
 import domain.order.CompletedOrderSubject;
 import domain.order.Order;
+import domain.order.OrderStatusRegistry;
 import domain.order.OrderView;
 import domain.statistics.ProcedureStatistics;
 import exceptions.OrdersNotEmptyWhenAdvanceException;
@@ -68,12 +76,22 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 //					+ "with null SchedulerIntermediate");
 //		}
 		
-		this.workPosts = workPosts;
+		this.workPosts = Collections.unmodifiableList(new ArrayList<WorkPost>(workPosts));
+		this.workPostViews = Collections.<WorkPostView> unmodifiableList(this.workPosts);
+		this.postsByOrder = new HashMap<OrderView, WorkPost>();
+		List<TaskType> types = new ArrayList<TaskType>(workPosts.size());
 		for (WorkPost workPost : workPosts) {
 			workPost.register(this);
+			types.add(workPost.getTaskType());
+			if (workPost.getAssemblyProcedure().isPresent()) {
+				this.index(workPost, workPost.getAssemblyProcedure().get());
+			}
 		}
+		this.taskTypes = Collections.unmodifiableList(types);
+		this.assemblyProcedures = new AssemblyProcedureList();
 		
 		this.acceptedModels = Collections.unmodifiableList(models);
+		this.acceptedModelSet = new ModelSet(models);
 		this.elapsedTime = new DateTime(0, 0, 0);
 		
 //		this.schedulerIntermediate = schedulerIntermediate;
@@ -129,20 +147,27 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	 * @return This AssemblyLine has the given Order
 	 */
 	public boolean contains(OrderView order) {
-		for (WorkPost workPost : this.getWorkPosts()) {
-			if (workPost.contains(order)) {
-				return true;
-			}
-		}
-		return false;
+		return order != null && this.postsByOrder.containsKey(order);
 	}
+	
+	/** The WorkPost of every Order on this AssemblyLine. */
+	private final Map<OrderView, WorkPost> postsByOrder;
 
 	//--------------------------------------------------------------------------
 	// WorkPost-related methods and variables.
 	//--------------------------------------------------------------------------
-	/** The {@link WorkPost}s of this assembly line, ordered by the assembly line's layout */
+	/** 
+	 * The {@link WorkPost}s of this assembly line, ordered by the assembly 
+	 * line's layout, as an unmodifiable list.
+	 */
 	private final List<WorkPost> workPosts;
 	
+	/** The unmodifiable view of the WorkPosts as WorkPostViews. */
+	private final List<WorkPostView> workPostViews;
+	
+	/** The unmodifiable list of the TaskTypes of the WorkPosts. */
+	private final List<TaskType> taskTypes;
+	
 	/**
 	 * Ask the given {@link WorkPost} to complete {@link AssemblyTask} with given number on its current {@link AssemblyProcedure}
 	 * 
@@ -171,7 +196,7 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	 * @return List of pending order containers on the assembly line.
 	 */
 	public List<OrderView> getActiveOrderContainers() {
-		ArrayList<OrderView> activeOrders = new ArrayList<>();
+		ArrayList<OrderView> activeOrders = new ArrayList<>(this.getAssemblyLineSize());
 		
 		for (WorkPost post : this.getWorkPosts()) {
 			if (!post.isEmpty()) {
@@ -202,17 +227,34 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	
 	/**
 	 * Get a list of the AssemblyProcedures that are on this AssemblyLine's
-	 * WorkPosts. It is padded with nulls for those WorkPosts that are not working
-	 * on an AssemblyProcedure
+	 * WorkPosts. It is padded with absent values for those WorkPosts that are 
+	 * not working on an AssemblyProcedure. 
 	 * 
-	 * @return
+	 * @return An unmodifiable view of the AssemblyProcedures, that reflects 
+	 * 		the current state of the WorkPosts.
 	 */
 	public List<Optional<AssemblyProcedure>> getAssemblyProcedures() {
-		List<Optional<AssemblyProcedure>> toReturn = new ArrayList<Optional<AssemblyProcedure>>();
-		for (WorkPost workPost : this.getWorkPosts()) {
-			toReturn.add(workPost.getAssemblyProcedure());
+		return this.assemblyProcedures;
+	}
+	
+	/** The view of the AssemblyProcedures of the WorkPosts. */
+	private final List<Optional<AssemblyProcedure>> assemblyProcedures;
+	
+	/**
+	 * An unmodifiable list that reads the AssemblyProcedure of each WorkPost
+	 * when it is accessed.
+	 */
+	private class AssemblyProcedureList extends AbstractList<Optional<AssemblyProcedure>> 
+			implements RandomAccess {
+		@Override
+		public Optional<AssemblyProcedure> get(int index) {
+			return AssemblyLine.this.workPosts.get(index).getAssemblyProcedure();
+		}
+
+		@Override
+		public int size() {
+			return AssemblyLine.this.workPosts.size();
 		}
-		return toReturn;
 	}
 	
 	/**
@@ -232,10 +274,11 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	/**
 	 * Get the WorkPosts composing the assembly line, as immutable {@link WorkPostView}s
 	 * 
-	 * @return A list of immutable containers for all respective WorkPosts in their order.
+	 * @return An unmodifiable list of immutable containers for all respective 
+	 * 		WorkPosts in their order.
 	 */
 	public List<WorkPostView> getWorkPostViews() {
-		return new ArrayList<WorkPostView>(workPosts);
+		return this.workPostViews;
 	}
 
 	/**
@@ -276,22 +319,18 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	/**
 	 * Get the {@link WorkPost}s of this AssemblyLine.
 	 * 
-	 * @return The WorkPosts of this AssLine
+	 * @return The unmodifiable list of the WorkPosts of this AssLine
 	 */
 	List<WorkPost> getWorkPosts() {
-		return new ArrayList<WorkPost>(this.workPosts);
+		return this.workPosts;
 	}
 	
 	/**
-	 * @return The TaskTypes of this AssemblyLine's WorkPosts
+	 * @return The unmodifiable list of the TaskTypes of this AssemblyLine's 
+	 * 		WorkPosts
 	 */
 	public List<TaskType> getTaskTypes() {
-		List<TaskType> toReturn = new ArrayList<TaskType>();
-		for (WorkPost workPost : this.getWorkPosts()) {
-			toReturn.add(workPost.getTaskType());
-		}
-		
-		return toReturn;
+		return this.taskTypes;
 	}
 
 	/** 
@@ -331,15 +370,12 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	 * @return the amount of WorkPosts who currently have an AssemblyProcedure
 	 */
 	private int getNbOfActiveWorkPosts() {
-		int count = 0;
-		for(WorkPost p : this.getWorkPosts()) {
-			if (!p.isEmpty()) {
-				count++;
-			}
-		}
-		return count;
+		return this.nbOfActiveWorkPosts;
 	}
 	
+	/** The amount of WorkPosts who currently have an AssemblyProcedure. */
+	private int nbOfActiveWorkPosts = 0;
+	
 	/** The amount of time that has passed since last advancing the AssemblyLine */
 	private DateTime elapsedTime;
 	
@@ -369,12 +405,7 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	 * @return True if empty, otherwise false.
 	 */
 	public boolean isEmpty() {
-		for(WorkPost p : this.getWorkPosts()) {
-			if (!p.isEmpty()) {
-				return false;
-			}
-		}
-		return true;
+		return this.getNbOfActiveWorkPosts() == 0;
 	}
 	
 	//--------------------------------------------------------------------------
@@ -406,6 +437,62 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 		}
 	}
 
+	@Override
+	public void notifyTaskComplete(AssemblyTask task, int minutes) {
+		this.getTaskDurationTable().record(task.getOption(), minutes);
+	}
+
+	@Override
+	public void notifyProcedureChanged(WorkPost workPost, Optional<AssemblyProcedure> previous) {
+		if (previous.isPresent()) {
+			this.unindex(workPost, previous.get());
+		}
+		if (workPost.getAssemblyProcedure().isPresent()) {
+			this.index(workPost, workPost.getAssemblyProcedure().get());
+		}
+	}
+	
+	/**
+	 * Count the specified AssemblyProcedure at the specified WorkPost in the 
+	 * counters and the order index of this AssemblyLine.
+	 * 
+	 * @param workPost
+	 * 		The WorkPost that got the AssemblyProcedure
+	 * @param procedure
+	 * 		The AssemblyProcedure
+	 */
+	private void index(WorkPost workPost, AssemblyProcedure procedure) {
+		this.nbOfActiveWorkPosts++;
+		if (procedure.isFinished(workPost.getTaskType())) {
+			this.incrementFinishedAssemblyCounter();
+		}
+		this.postsByOrder.put(procedure.getOrder(), workPost);
+		if (this.statusRegistry.isPresent()) {
+			this.statusRegistry.get().setAssembling(procedure.getOrder(), this.lineNumber,
+					this.workPosts.indexOf(workPost));
+		}
+	}
+	
+	/**
+	 * Remove the specified AssemblyProcedure at the specified WorkPost from 
+	 * the counters and the order index of this AssemblyLine.
+	 * 
+	 * @param workPost
+	 * 		The WorkPost that lost the AssemblyProcedure
+	 * @param procedure
+	 * 		The AssemblyProcedure
+	 */
+	private void unindex(WorkPost workPost, AssemblyProcedure procedure) {
+		this.nbOfActiveWorkPosts--;
+		if (procedure.isFinished(workPost.getTaskType())) {
+			this.finishedAssemblyCounter--;
+		}
+		// When a procedure moves on, the next WorkPost takes it first.
+		if (this.postsByOrder.get(procedure.getOrder()) == workPost) {
+			this.postsByOrder.remove(procedure.getOrder());
+		}
+	}
+
 	/**
 	 * Increment the assemblyCounter, indicating an additional workPost has
 	 * finished the AssemblyTasks it can perform on its current AssemblyProcedure.
@@ -415,22 +502,11 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	private void incrementFinishedAssemblyCounter() {
 		this.finishedAssemblyCounter++;
 	}
-	
-	/**
-	 * Reset the finished assembly counter
-	 */
-	private void resetFinishedAssemblyCounter() {
-		this.finishedAssemblyCounter = 0;
-		for (WorkPost workPost : this.getWorkPosts()) {
-			if (! workPost.isEmpty() && workPost.isFinished()) {
-				this.incrementFinishedAssemblyCounter();
-			}
-		}
-	}
 
 	/**
 	 * Counter that keeps track of how many WorkPosts have finished all their
-	 * respective tasks at this stage of production
+	 * respective tasks at this stage of production. It is updated when a
+	 * WorkPost finishes its work or changes AssemblyProcedure.
 	 */
 	private int finishedAssemblyCounter = 0;
 	
@@ -481,11 +557,17 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 			throw new IllegalStateException("Cannot advance AssemblyLine");
 		}
 		this.tryAdvance(this.getElapsedTime(), orders);
+		this.advances.increment();
 		if (! orders.isEmpty()) {
 			throw new OrdersNotEmptyWhenAdvanceException("Fatal error: "
 					+ "list of Orders was not empty after advance was finished");
 		}
-		this.resetFinishedAssemblyCounter();
+		
+		// No WorkPost has work left, so no completed task will trigger the
+		// next advance: request it right away.
+		if (this.canAdvance()) {
+			this.getEventConsumer().constructEvent(this.getElapsedTime(), this.getAssemblyLineController());
+		}
 	}
 	
 	/**
@@ -499,12 +581,56 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 			return;
 		}
 		
+		this.ordersCompleted.increment();
 		ProcedureStatistics stats = finishedProcedure.get().makeStatisticsEvent();
 		CompletedOrderEvent event = new CompletedOrderEvent(finishedProcedure.get().getOrder(),
 				stats);
 		this.notifyOrderComplete(event);
+		if (this.statusRegistry.isPresent()) {
+			this.statusRegistry.get().setCompleted(finishedProcedure.get().getOrder());
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	// Order status
+	//--------------------------------------------------------------------------
+	/**
+	 * Keep the specified OrderStatusRegistry up to date with the orders on
+	 * this AssemblyLine, under the specified line number. The orders that are
+	 * currently on this AssemblyLine are registered as being assembled.
+	 * 
+	 * @param registry
+	 * 		The OrderStatusRegistry to update.
+	 * @param lineNumber
+	 * 		The number of this AssemblyLine on its floor.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| registry == null || lineNumber < 0
+	 */
+	void setOrderStatusRegistry(OrderStatusRegistry registry, int lineNumber)
+			throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		if (lineNumber < 0) {
+			throw new IllegalArgumentException("Line number cannot be negative.");
+		}
+		this.statusRegistry = Optional.of(registry);
+		this.lineNumber = lineNumber;
+		for (int i = 0; i < this.getAssemblyLineSize(); i++) {
+			Optional<AssemblyProcedure> procedure = this.getWorkPost(i).getAssemblyProcedure();
+			if (procedure.isPresent()) {
+				registry.setAssembling(procedure.get().getOrder(), lineNumber, i);
+			}
+		}
 	}
 	
+	/** The OrderStatusRegistry kept up to date by this AssemblyLine. */
+	private Optional<OrderStatusRegistry> statusRegistry = Optional.absent();
+	
+	/** The number of this AssemblyLine in its OrderStatusRegistry. */
+	private int lineNumber;
+	
 	//--------------------------------------------------------------------------
 	// State management
 	//--------------------------------------------------------------------------
@@ -596,6 +722,17 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 		return this.acceptedModels;
 	}
 	
+	/** The Models that this AssemblyLine can accept, as a ModelSet */
+	private final ModelSet acceptedModelSet;
+	
+	/**
+	 * @return The Models that this AssemblyLine can accept, as an immutable
+	 * 		ModelSet that is built once.
+	 */
+	public ModelSet getAcceptedModelSet() {
+		return this.acceptedModelSet;
+	}
+	
 	/**
 	 * Indicate whether this AssemblyLine can accept Orders with the specified
 	 * Model.
@@ -605,7 +742,7 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	 * @return AssemblyLine can handle Orders with model
 	 */
 	public boolean hasModel(Model model) {
-		return this.getAcceptedModels().contains(model);
+		return this.getAcceptedModelSet().contains(model);
 	}
 	
 	
@@ -620,7 +757,7 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	private int calculateExpectedTimeOnLine(Order order) {
 		int total = 0;
 		for(WorkPost p : this.getWorkPosts()){
-			total += p.getExpectedTimeOnPost(order);
+			total += this.getTaskDurationTable().getMinutesOnPostOfType(order, p.getTaskType());
 		}
 		return total;
 	}
@@ -672,7 +809,8 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	 */
 	public VirtualAssemblyLine newVirtualAssemblyLine() {
 		TaskType[] t = new TaskType[this.getAssemblyLineSize()];
-		return new VirtualAssemblyLine(this.getTaskTypes().toArray(t), this.getOrdersPerWorkStation());
+		return new VirtualAssemblyLine(this.getTaskTypes().toArray(t), this.getOrdersPerWorkStation(),
+				this.getTaskDurationTable());
 	}
 	
 	/**
@@ -682,7 +820,7 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	 * @return A list of the length of the number of the workposts with the corresponding order if it exists.
 	 */
 	public List<Optional<Order>> getOrdersPerWorkStation() {
-		List<Optional<Order>> result = new ArrayList<>();
+		List<Optional<Order>> result = new ArrayList<>(this.getAssemblyLineSize());
 		for (WorkPost wp : this.getWorkPosts()) {
 			result.add(wp.getOrder());
 		}
@@ -701,21 +839,50 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	public DateTime getEstimatedCompletionTime(OrderView order) {
 		if(!this.contains(order))
 			throw new IllegalArgumentException("Order not present on this line");
-		boolean found = false;
-		DateTime time = new DateTime(0, 0, 0);
-		for(int i=0; i<this.getAssemblyLineSize();i++){
-			WorkPost currentWorkPost = this.getWorkPost(i);
-			if(currentWorkPost.contains(order))
-				found = true;
-			if(found){
-				time = time.addTime(new DateTime(0, 0,
-						order.getModel().
-						getMinsOnWorkPostOfType(currentWorkPost.getTaskType())));
-			}
+		int minutes = 0;
+		WorkPost post = this.postsByOrder.get(order);
+		Order assembled = post.getOrder().get();
+		for(int i = this.workPosts.indexOf(post); i < this.getAssemblyLineSize(); i++){
+			minutes += this.getTaskDurationTable().getMinutesOnPostOfType(assembled,
+					this.getWorkPost(i).getTaskType());
 		}
-		return time;
+		return new DateTime(0, 0, minutes);
 	}
 
+	//--------------------------------------------------------------------------
+	// Task durations
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the TaskDurationTable that learns the minutes of the tasks completed
+	 * on this AssemblyLine and estimates the minutes of orders on its WorkPosts.
+	 * 
+	 * @return The TaskDurationTable of this AssemblyLine.
+	 */
+	TaskDurationTable getTaskDurationTable() {
+		return this.taskDurations;
+	}
+	
+	/**
+	 * Learn the minutes of the tasks completed on this AssemblyLine in the
+	 * specified TaskDurationTable, and estimate the minutes of orders on its
+	 * WorkPosts with it.
+	 * 
+	 * @param table
+	 * 		The TaskDurationTable.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| table == null
+	 */
+	void setTaskDurationTable(TaskDurationTable table) throws IllegalArgumentException {
+		if (table == null) {
+			throw new IllegalArgumentException("Cannot set null TaskDurationTable.");
+		}
+		this.taskDurations = table;
+	}
+	
+	/** The TaskDurationTable of this AssemblyLine. */
+	private TaskDurationTable taskDurations = new TaskDurationTable();
+
 	//--------------------------------------------------------------------------
 	// Event Consumer
 	//--------------------------------------------------------------------------
@@ -725,4 +892,31 @@ public class AssemblyLine implements WorkPostObserver, CompletedOrderSubject {
 	
 	private final EventConsumer eventConsumer;
 
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Report the metrics of this AssemblyLine and its WorkPosts in the
+	 * specified MetricsRegistry from now on. Until then, they are not reported.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this AssemblyLine.
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.advances = registry.counter("assembly_line.advances");
+		this.ordersCompleted = registry.counter("assembly_line.orders.completed");
+		for (WorkPost post : this.getWorkPosts()) {
+			post.setMetricsRegistry(registry);
+		}
+	}
+	
+	/** The number of times this AssemblyLine advanced. */
+	private Counter advances = new Counter();
+	/** The number of Orders that rolled off this AssemblyLine. */
+	private Counter ordersCompleted = new Counter();
 }
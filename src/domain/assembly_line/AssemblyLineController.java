@@ -1,18 +1,25 @@
 package domain.assembly_line;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
 
 import domain.DateTime;
+import domain.assembly_line.trace.DecisionRecord;
+import domain.assembly_line.trace.DecisionTrace;
 import domain.assembly_line.virtual.VirtualAssemblyLine;
 import domain.car.Model;
 import domain.clock.Clock;
 import domain.clock.EventActor;
 import domain.clock.EventConsumer;
+import domain.metrics.FlightRecorderSupport;
+import domain.metrics.Histogram;
+import domain.metrics.MetricsRegistry;
 import domain.order.Order;
+import domain.order.SingleTaskOrder;
 import domain.production_schedule.OrderObserver;
 import domain.production_schedule.OrderRequest;
 import domain.production_schedule.SchedulerContext;
@@ -83,7 +90,7 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 	 * 
 	 * @return The SchedulerContext from which this AssemblyLineController requests its Orders.
 	 */
-	private SchedulerContext getSchedulerContext() {
+	SchedulerContext getSchedulerContext() {
 		return this.schedulerContext;
 	}
 	
@@ -94,114 +101,419 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 	//--------------------------------------------------------------------------
 	@Override
 	public void activate() {
+		long start = System.nanoTime();
+		DateTime activationTime = this.getClock().getCurrentTime();
+		LineActivationRecording event = FlightRecorderSupport.isAvailable() ?
+				LineActivationEvent.start() : LineActivationRecording.NONE;
+		
+		ActivationDecision decision = this.activateRaw();
+		
+		event.end();
+		this.activateTime.record(System.nanoTime() - start);
+		if (event.shouldCommit()) {
+			event.commit(decision.name(), activationTime.getInMinutes(), this.getOverTime());
+		}
+	}
+	
+	/**
+	 * Select the next orders of the AssemblyLine and advance it, or end the
+	 * day or go to idle when no orders can be scheduled.
+	 * 
+	 * @return The decision that was taken.
+	 */
+	private ActivationDecision activateRaw() {
 		// Check for state change.		
 		if (this.hasNewState()) {
 			this.switchState();
 		}
 		
-		// Get time. 
-		DateTime currentTime = this.getClock().getCurrentTime();  
+		LiveInputs inputs = new LiveInputs(this.getClock().getCurrentTime());
+		ActivationDecision decision = decide(inputs);
+		int nbOfScheduledOrders = this.execute(decision, inputs);
+		
+		if (this.getDecisionTrace().isPresent()) {
+			this.getDecisionTrace().get().record(
+					inputs.toRecord(this.getTraceLineNumber(), decision, nbOfScheduledOrders));
+		}
+		return decision;
+	}
+	
+	/**
+	 * Decide what an AssemblyLineController does when it is activated with the
+	 * specified inputs.
+	 * 
+	 * 		When the day is over, the day is wrapped up.
+	 * 		When the line does not accept orders, it advances without orders.
+	 * 		When there is a SingleTaskOrder with a deadline, a StandardOrder is
+	 * 		scheduled if it fits in the day and the deadline orders keep a 
+	 * 		non-negative slack when it goes first. Otherwise the deadline order
+	 * 		is scheduled if it fits in the day, else only the SingleTaskOrders
+	 * 		that do not delay the line, else the day is wrapped up.
+	 * 		Without deadline orders, a StandardOrder is scheduled if it fits in 
+	 * 		the day, else the day is wrapped up.
+	 * 		Without any orders, the line goes idle if it is empty and advances 
+	 * 		otherwise.
+	 * 
+	 * @param inputs
+	 * 		The inputs of the decision.
+	 * 
+	 * @return The decision.
+	 */
+	public static ActivationDecision decide(ActivationInputs inputs) {
+		DateTime currentTime = inputs.getCurrentTime();
+		int overTime = inputs.getOverTime();
+		
+		if (exceedsToday(currentTime, overTime)) {
+			return ActivationDecision.WRAP_UP;
+		}
+		if (!inputs.acceptsOrders()) {
+			return ActivationDecision.ADVANCE_EMPTY;
+		}
 		
-		// Check if day should end.
-		if (timeExceedsToday(currentTime)) {
-			this.wrapUpDay(currentTime);
-		} else if (this.getAssemblyLine().getCurrentState().acceptsOrders()) {
-			VirtualAssemblyLine virt = this.getAssemblyLine().newVirtualAssemblyLine();
-			List<Order> resultOrders = new ArrayList<>();
+		if (inputs.hasDeadlineOrder()) {
+			if (inputs.hasStandardOrder() &&
+					!exceedsToday(currentTime.addTime(inputs.getStandardMakespan()), overTime) &&
+					inputs.getDeadlineSlack() >= 0) {
+				return ActivationDecision.STANDARD;
+			}
 			
-			Optional<Order> deadline = this.requestDeadlineOrder();
-			if (deadline.isPresent()) {
-				if (mustScheduleDeadline(currentTime, deadline.get())) {
-					this.scheduleDeadline(deadline, virt, resultOrders, currentTime);
-				} else {
-					Optional<Order> standardOrder = this.requestStandardOrder();
-					if (standardOrder.isPresent()) {
-						List<Order> l = Lists.newArrayList(standardOrder.get());
-						DateTime timeToSchedule = virt.timeToFinish(l);
-						
-						if (!timeExceedsToday(currentTime.addTime(timeToSchedule))) {
-							resultOrders.add(standardOrder.get());
-							resultOrders = this.addSingleTaskOrders(resultOrders, virt);
-							this.advance(resultOrders);							
-						} else {
-							this.scheduleDeadline(deadline, virt, resultOrders, currentTime);						
-						}
-					} else {
-						this.scheduleDeadline(deadline, virt, resultOrders, currentTime);					
-					}
-				}
+			if (!exceedsToday(currentTime.addTime(inputs.getDeadlineMakespan()), overTime)) {
+				return ActivationDecision.DEADLINE;
+			} else if (inputs.hasFillerOrders()) {
+				return ActivationDecision.SINGLE_TASK;
 			} else {
-				Optional<Order> standardOrder = this.requestStandardOrder();
-				
-				if (standardOrder.isPresent()) {
-					List<Order> inputOrders = new ArrayList<>();
-					inputOrders.add(standardOrder.get());
-					DateTime timeToSchedule = virt.timeToFinish(inputOrders);
-					
-					if (!timeExceedsToday(currentTime.addTime(timeToSchedule))) {
-						// Can schedule standardOrder
-						resultOrders.add(standardOrder.get());
-						this.advance(resultOrders);
-					} else {
-						this.wrapUpDay(currentTime);
-					}
-				} else {
-					// no orders available
-					if (this.getAssemblyLine().isEmpty()) 
-						// no orders and empty band -> go to idle.
-						this.goToIdle();
-					else {
-						// advance the line without orders.
-						this.advance(new ArrayList<Order>());
-					}
-				}
-			}			
-		} else {
-			//AssemblyLine does not accept orders.
+				return ActivationDecision.WRAP_UP;
+			}
+		}
+		
+		if (inputs.hasStandardOrder()) {
+			if (!exceedsToday(currentTime.addTime(inputs.getStandardMakespan()), overTime)) {
+				return ActivationDecision.STANDARD;
+			} else {
+				return ActivationDecision.WRAP_UP;
+			}
+		}
+		
+		// no orders and empty band -> go to idle.
+		return inputs.isLineEmpty() ? ActivationDecision.IDLE : ActivationDecision.ADVANCE_EMPTY;
+	}
+	
+	/**
+	 * Carry out the specified decision with the orders of the specified inputs.
+	 * 
+	 * @param decision
+	 * 		The decision to carry out.
+	 * @param inputs
+	 * 		The inputs the decision was based on.
+	 * 
+	 * @return The number of orders that were put on the AssemblyLine.
+	 */
+	private int execute(ActivationDecision decision, LiveInputs inputs) {
+		List<Order> resultOrders;
+		switch (decision) {
+		case WRAP_UP:
+			this.wrapUpDay(inputs.getCurrentTime());
+			return 0;
+		case ADVANCE_EMPTY:
 			this.advance(new ArrayList<Order>());
+			return 0;
+		case IDLE:
+			this.goToIdle();
+			return 0;
+		case STANDARD:
+			resultOrders = Lists.newArrayList(inputs.getStandardOrder());
+			if (inputs.hasDeadlineOrder()) {
+				resultOrders = this.addSingleTaskOrders(resultOrders, inputs.getVirtualAssemblyLine());
+			}
+			break;
+		case DEADLINE:
+			resultOrders = Lists.newArrayList(inputs.getDeadlineOrder());
+			resultOrders = this.addSingleTaskOrders(resultOrders, inputs.getVirtualAssemblyLine());
+			break;
+		case SINGLE_TASK:
+			resultOrders = inputs.getFillerOrders();
+			break;
+		default:
+			throw new IllegalStateException("Enum type not in cases.");
 		}
+		int nbOfOrders = resultOrders.size();
+		this.advance(resultOrders);
+		return nbOfOrders;
 	}
 	
+	//--------------------------------------------------------------------------
 	/**
-	 * Schedule the next SingleTaskOrder with the closest deadline.
-	 * 		If it can be scheduled today, it and all SingleTaskOrders that do 
-	 * 		not increase production time
+	 * The ActivationInputs of a single activation, computed from the 
+	 * AssemblyLine and SchedulerContext the first time they are requested. 
+	 */
+	private class LiveInputs implements ActivationInputs {
+		
+		private LiveInputs(DateTime currentTime) {
+			this.currentTime = currentTime;
+			this.overTime = AssemblyLineController.this.getOverTime();
+		}
+		
+		private final DateTime currentTime;
+		private final int overTime;
+		
+		private Boolean acceptsOrders;
+		private VirtualAssemblyLine virt;
+		private Optional<Order> deadlineOrder;
+		private DateTime deadlineMakespan;
+		private Optional<Order> standardOrder;
+		private DateTime standardMakespan;
+		private List<Order> fillerOrders;
+		private Boolean lineEmpty;
+		private Integer deadlineSlack;
+		
+		@Override
+		public DateTime getCurrentTime() {
+			return this.currentTime;
+		}
+		
+		@Override
+		public int getOverTime() {
+			return this.overTime;
+		}
+		
+		@Override
+		public boolean acceptsOrders() {
+			if (this.acceptsOrders == null) {
+				this.acceptsOrders = getAssemblyLine().getCurrentState().acceptsOrders();
+			}
+			return this.acceptsOrders;
+		}
+		
+		private VirtualAssemblyLine getVirtualAssemblyLine() {
+			if (this.virt == null) {
+				this.virt = getAssemblyLine().newVirtualAssemblyLine();
+			}
+			return this.virt;
+		}
+		
+		@Override
+		public boolean hasDeadlineOrder() {
+			if (this.deadlineOrder == null) {
+				this.deadlineOrder = requestDeadlineOrder();
+			}
+			return this.deadlineOrder.isPresent();
+		}
+		
+		private Order getDeadlineOrder() throws IllegalStateException {
+			if (!this.hasDeadlineOrder()) {
+				throw new IllegalStateException("There is no deadline order.");
+			}
+			return this.deadlineOrder.get();
+		}
+		
+		@Override
+		public int getDeadlineDay() throws IllegalStateException {
+			return this.getDeadlineOrder().getDeadline().get().getDays();
+		}
+		
+		@Override
+		public DateTime getDeadlineMakespan() throws IllegalStateException {
+			if (this.deadlineMakespan == null) {
+				List<Order> l = Lists.newArrayList(this.getDeadlineOrder());
+				this.deadlineMakespan = this.getVirtualAssemblyLine().timeToFinish(l);
+			}
+			return this.deadlineMakespan;
+		}
+		
+		@Override
+		public boolean hasStandardOrder() {
+			if (this.standardOrder == null) {
+				this.standardOrder = requestStandardOrder(this.getVirtualAssemblyLine());
+			}
+			return this.standardOrder.isPresent();
+		}
+		
+		private Order getStandardOrder() throws IllegalStateException {
+			if (!this.hasStandardOrder()) {
+				throw new IllegalStateException("There is no standard order.");
+			}
+			return this.standardOrder.get();
+		}
+		
+		@Override
+		public DateTime getStandardMakespan() throws IllegalStateException {
+			if (this.standardMakespan == null) {
+				List<Order> l = Lists.newArrayList(this.getStandardOrder());
+				this.standardMakespan = this.getVirtualAssemblyLine().timeToFinish(l);
+			}
+			return this.standardMakespan;
+		}
+		
+		private List<Order> getFillerOrders() {
+			if (this.fillerOrders == null) {
+				this.fillerOrders = addSingleTaskOrders(new ArrayList<Order>(), 
+						this.getVirtualAssemblyLine());
+			}
+			return this.fillerOrders;
+		}
+		
+		@Override
+		public boolean hasFillerOrders() {
+			return !this.getFillerOrders().isEmpty();
+		}
+		
+		@Override
+		public int getDeadlineSlack() throws IllegalStateException {
+			if (this.deadlineSlack == null) {
+				this.deadlineSlack = planDeadlineOrders(this.getVirtualAssemblyLine(), 
+						this.getCurrentTime(), Lists.newArrayList(this.getStandardOrder()), 
+						this.getDeadlineOrder()).getSlack();
+			}
+			return this.deadlineSlack;
+		}
+		
+		@Override
+		public boolean isLineEmpty() {
+			if (this.lineEmpty == null) {
+				this.lineEmpty = getAssemblyLine().isEmpty();
+			}
+			return this.lineEmpty;
+		}
+		
+		/**
+		 * Get a DecisionRecord of the inputs that were requested.
+		 */
+		private DecisionRecord toRecord(int lineNumber, ActivationDecision decision, 
+				int nbOfScheduledOrders) {
+			int flags = 0;
+			if (this.acceptsOrders != null) {
+				flags |= DecisionRecord.ACCEPTS_KNOWN;
+				flags |= this.acceptsOrders ? DecisionRecord.ACCEPTS : 0;
+			}
+			int deadlineDay = DecisionRecord.UNKNOWN;
+			int deadlineOrderNumber = DecisionRecord.UNKNOWN;
+			if (this.deadlineOrder != null) {
+				flags |= DecisionRecord.DEADLINE_KNOWN;
+				if (this.deadlineOrder.isPresent()) {
+					flags |= DecisionRecord.HAS_DEADLINE;
+					deadlineDay = this.getDeadlineDay();
+					deadlineOrderNumber = this.deadlineOrder.get().getOrderNumber();
+				}
+			}
+			int standardOrderNumber = DecisionRecord.UNKNOWN;
+			if (this.standardOrder != null) {
+				flags |= DecisionRecord.STANDARD_KNOWN;
+				if (this.standardOrder.isPresent()) {
+					flags |= DecisionRecord.HAS_STANDARD;
+					standardOrderNumber = this.standardOrder.get().getOrderNumber();
+				}
+			}
+			if (this.fillerOrders != null) {
+				flags |= DecisionRecord.FILLERS_KNOWN;
+				flags |= this.fillerOrders.isEmpty() ? 0 : DecisionRecord.HAS_FILLERS;
+			}
+			if (this.lineEmpty != null) {
+				flags |= DecisionRecord.EMPTY_KNOWN;
+				flags |= this.lineEmpty ? DecisionRecord.EMPTY : 0;
+			}
+			return new DecisionRecord(lineNumber, 
+					this.currentTime.getInMinutes(), 
+					this.overTime, 
+					decision, 
+					flags, 
+					deadlineDay, 
+					toMinutes(this.deadlineMakespan), 
+					toMinutes(this.standardMakespan), 
+					this.deadlineSlack == null ? DecisionRecord.UNKNOWN_SLACK : this.deadlineSlack,
+					deadlineOrderNumber, 
+					standardOrderNumber, 
+					nbOfScheduledOrders);
+		}
+		
+		private int toMinutes(DateTime makespan) {
+			return makespan == null ? DecisionRecord.UNKNOWN : (int) makespan.getInMinutes();
+		}
+	}
+	
+	//--------------------------------------------------------------------------
+	// Decision trace
+	//--------------------------------------------------------------------------
+	/**
+	 * Record every decision of this AssemblyLineController in the specified
+	 * DecisionTrace, under the specified line number.
 	 * 
-	 * 		If it cannot be scheduled today all SingleTaskOrders that do 
-	 * 		not increase production time without adding the next deadline singleTaskOrder.
+	 * @param trace
+	 * 		The DecisionTrace to record to.
+	 * @param lineNumber
+	 * 		The number of the AssemblyLine in the trace.
 	 * 
-	 * 		If no SingleTaskOrders can be scheduled, the wrap up is called.
+	 * @throws IllegalArgumentException
+	 * 		| trace == null || lineNumber < 0
+	 */
+	public void setDecisionTrace(DecisionTrace trace, int lineNumber) throws IllegalArgumentException {
+		if (trace == null) {
+			throw new IllegalArgumentException("trace cannot be null.");
+		}
+		if (lineNumber < 0) {
+			throw new IllegalArgumentException("lineNumber cannot be negative.");
+		}
+		this.decisionTrace = Optional.of(trace);
+		this.traceLineNumber = lineNumber;
+	}
+	
+	/**
+	 * Get the DecisionTrace this AssemblyLineController records its decisions to.
 	 * 
-	 * @param deadline
-	 * 		The deadline SingleTaskOrder that is next to be scheduled.
-	 * @param virt
-	 * 		The VirtualAssemblyLine of this AssemblyLineController's AssemblyLine.
-	 * @param resultOrders
-	 * 		The current result orders. (wut?)
-	 * @param currentTime
-	 * 		The current time of this system.
+	 * @return The DecisionTrace, absent if decisions are not recorded.
 	 */
-	protected void scheduleDeadline(Optional<Order> deadline, 
-			VirtualAssemblyLine virt, 
-			List<Order> resultOrders,
-			DateTime currentTime) {
-		List<Order> m = Lists.newArrayList(deadline.get()); 
-		DateTime timeToScheduleDeadLine = virt.timeToFinish(m);
-
-		if (!timeExceedsToday(currentTime.addTime(timeToScheduleDeadLine))) {
-			resultOrders.add(deadline.get());
-			resultOrders = this.addSingleTaskOrders(resultOrders, virt);
-			this.advance(resultOrders);
-		} else {
-			resultOrders = this.addSingleTaskOrders(resultOrders, virt);
-			if (resultOrders.isEmpty()) {	
-				this.wrapUpDay(currentTime);
-			} else {
-				this.advance(resultOrders);
-			}
-		}						
+	public Optional<DecisionTrace> getDecisionTrace() {
+		return this.decisionTrace;
 	}
 	
+	/**
+	 * Get the number of the AssemblyLine in the DecisionTrace.
+	 * 
+	 * @return The number of the AssemblyLine in the DecisionTrace.
+	 */
+	private int getTraceLineNumber() {
+		return this.traceLineNumber;
+	}
+	
+	/** The DecisionTrace this AssemblyLineController records its decisions to. */
+	private Optional<DecisionTrace> decisionTrace = Optional.absent();
+	
+	/** The number of the AssemblyLine in the DecisionTrace. */
+	private int traceLineNumber;
+	
+	//--------------------------------------------------------------------------
+	// Dispatcher
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the FloorDispatcher that assigns StandardOrders to this 
+	 * AssemblyLineController jointly with the other lines of its floor.
+	 * 
+	 * @return The FloorDispatcher, absent if this AssemblyLineController 
+	 * 		requests its StandardOrders from its SchedulerContext directly.
+	 */
+	Optional<FloorDispatcher> getDispatcher() {
+		return this.dispatcher;
+	}
+	
+	/**
+	 * Set the FloorDispatcher of this AssemblyLineController.
+	 * 
+	 * @param dispatcher
+	 * 		The new FloorDispatcher, absent to request StandardOrders from the
+	 * 		SchedulerContext directly.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| dispatcher == null
+	 */
+	void setDispatcher(Optional<FloorDispatcher> dispatcher) throws IllegalArgumentException {
+		if (dispatcher == null) {
+			throw new IllegalArgumentException("dispatcher cannot be null.");
+		}
+		this.dispatcher = dispatcher;
+	}
+	
+	/** The FloorDispatcher of this AssemblyLineController. */
+	private Optional<FloorDispatcher> dispatcher = Optional.absent();
+	
 	/**
 	 * get a List containing the resultOrders and any SingleTaskOrders that could
 	 * be added to the resultOrders that do not increase production time. 
@@ -252,7 +564,7 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 	 */
 	protected void advance(List<Order> l) {
 		for (Order o : l) {
-			this.getSchedulerContext().removeOrder(o);
+			this.getSchedulerContext().takeOrder(o);
 		}
 		
 		this.getAssemblyLine().advance(Lists.reverse(l));
@@ -329,13 +641,24 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 	// OrderSchedule Related methods.
 	//--------------------------------------------------------------------------
 	protected boolean timeExceedsToday(DateTime t) {
-		int timeLeftMinutes = (FINISHHOUR * 60 - this.getOverTime()) - 
-				t.getHours() * 60 + t.minutes;
-		return timeLeftMinutes < 0; 
+		return exceedsToday(t, this.getOverTime());
 	}
 	
-	protected boolean mustScheduleDeadline(DateTime curTime, Order o) {
-		 return curTime.getDays() >= o.getDeadline().get().getDays() - 1;
+	/**
+	 * Check if the specified time lies after the end of the working day, 
+	 * given the specified overtime.
+	 * 
+	 * @param t
+	 * 		The time to check.
+	 * @param overTime
+	 * 		The overtime in minutes of the previous day.
+	 * 
+	 * @return Whether t lies after the end of the working day.
+	 */
+	static boolean exceedsToday(DateTime t, int overTime) {
+		int timeLeftMinutes = (FINISHHOUR * 60 - overTime) - 
+				t.getHours() * 60 + t.minutes;
+		return timeLeftMinutes < 0; 
 	}
 	
 	/**
@@ -350,6 +673,24 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 		return this.getSchedulerContext().getOrder(new OrderRequest(models.toArray(m)));
 	}
 	
+	/**
+	 * Request a StandardOrder from the SchedulerContext of this AssemblyLineController, 
+	 * that can be scheduled on this AssemblyLineController's AssemblyLine in
+	 * the state represented by the specified VirtualAssemblyLine.
+	 * 
+	 * @param virt
+	 * 		The VirtualAssemblyLine of this AssemblyLineController's AssemblyLine.
+	 * 
+	 * @return An StandardOrder from the SchedulerContext of this AssemblyLineController.
+	 */
+	protected Optional<Order> requestStandardOrder(VirtualAssemblyLine virt) {
+		if (this.getDispatcher().isPresent()) {
+			return this.getDispatcher().get().getStandardOrder(this, virt);
+		}
+		return this.getSchedulerContext().getOrder(
+				new OrderRequest(this.getAssemblyLine().getAcceptedModelSet(), virt));
+	}
+	
 	/**
 	 * Request the SingleTaskOrder with the next deadline from the SchedulerContext
 	 * of this AssemblyLineController, that can be scheduled on this 
@@ -363,6 +704,53 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 		return this.getSchedulerContext().getOrder(new OrderRequest(taskTypes.toArray(t)));
 	}
 	
+	/**
+	 * Plan the SingleTaskOrders with the closest deadlines that can be put on
+	 * this AssemblyLineController's AssemblyLine, after the specified orders.
+	 * 
+	 * @param virt
+	 * 		The VirtualAssemblyLine of this AssemblyLineController's AssemblyLine.
+	 * @param currentTime
+	 * 		The current time.
+	 * @param first
+	 * 		The orders that are put on the AssemblyLine before the deadline orders.
+	 * @param deadlineOrder
+	 * 		The deadline order that must be planned, if it is already known.
+	 * 
+	 * @return A DeadlinePlan of at most MAX_PLANNED_DEADLINE_ORDERS orders.
+	 */
+	private DeadlinePlan planDeadlineOrders(VirtualAssemblyLine virt, DateTime currentTime,
+			List<Order> first, Order deadlineOrder) {
+		List<TaskType> taskTypes = this.getAssemblyLine().getTaskTypes();
+		List<SingleTaskOrder> deadlineOrders = this.getSchedulerContext().getNextSingleTaskOrders(
+				new HashSet<TaskType>(taskTypes), MAX_PLANNED_DEADLINE_ORDERS);
+		List<Order> planned = new ArrayList<Order>(deadlineOrders);
+		if (deadlineOrder != null && !planned.contains(deadlineOrder)) {
+			planned.add(0, deadlineOrder);
+		}
+		return new DeadlinePlan(virt, taskTypes, this.getAssemblyLine().getTaskDurationTable(),
+				currentTime, this.getOverTime(), first, planned);
+	}
+	
+	/**
+	 * Get the SingleTaskOrders with a deadline that are predicted to miss 
+	 * their deadline, even if this AssemblyLineController's AssemblyLine 
+	 * puts them on the line earliest deadline first from now on. Only the 
+	 * MAX_PLANNED_DEADLINE_ORDERS orders with the closest deadlines are 
+	 * predicted.
+	 * 
+	 * @return The orders that are predicted to miss their deadline, earliest
+	 * 		deadline first.
+	 */
+	public List<Order> getPredictedDeadlineMisses() {
+		return this.planDeadlineOrders(this.getAssemblyLine().newVirtualAssemblyLine(), 
+				this.getClock().getCurrentTime(), new ArrayList<Order>(), null)
+				.getPredictedMisses();
+	}
+	
+	/** The largest number of deadline orders that are planned ahead. */
+	static final int MAX_PLANNED_DEADLINE_ORDERS = 16;
+	
 	/**
 	 * Request a SingleTaskOrder of the specified tasktype from the SchedulerContext
 	 * of this AssemblyLineController.
@@ -431,7 +819,7 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 	 * 
 	 * @return The Clock of this sytem.
 	 */
-	private Clock getClock() {
+	Clock getClock() {
 		return this.clock;
 	}
 	
@@ -468,9 +856,9 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 	
 	//--------------------------------------------------------------------------
 	/** Start of a workday. */
-	private final static int STARTHOUR = 6;
+	final static int STARTHOUR = 6;
 	/** End of a workday. */
-	private final static int FINISHHOUR = 22;
+	final static int FINISHHOUR = 22;
 	/** Number of workhours in a shift. */
 	private final static int WORKHOURS = FINISHHOUR - STARTHOUR;
 	
@@ -545,14 +933,36 @@ public class AssemblyLineController implements EventActor, OrderObserver {
 	public void notifyOrder() throws IllegalArgumentException { //FIXME maybe not too nice to assume an order can only have one Scheduler.
 		Optional<Order> standardOrder = this.requestStandardOrder();
 		if (standardOrder.isPresent()) {
-			this.getSchedulerContext().removeOrder(standardOrder.get());
+			this.getSchedulerContext().takeOrder(standardOrder.get());
 			this.goToActive(standardOrder.get());
 		} else {
 			Optional<Order> singleTaskOrder = this.requestDeadlineOrder();
 			if (singleTaskOrder.isPresent()) {
-				this.getSchedulerContext().removeOrder(singleTaskOrder.get());
+				this.getSchedulerContext().takeOrder(singleTaskOrder.get());
 				this.goToActive(singleTaskOrder.get());
 			}
 		}
 	}
+	
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Report the metrics of this AssemblyLineController in the specified
+	 * MetricsRegistry from now on. Until then, they are not reported.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this AssemblyLineController.
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.activateTime = registry.histogram("assembly_line.activate.nanos");
+	}
+	
+	/** The time taken by activate, including the advance of the AssemblyLine. */
+	private Histogram activateTime = new Histogram();
 }
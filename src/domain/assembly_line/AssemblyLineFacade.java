@@ -1,11 +1,15 @@
 package domain.assembly_line;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.google.common.base.Optional;
 
 import domain.DateTime;
+import domain.assembly_line.trace.DecisionTrace;
+import domain.metrics.MetricsRegistry;
 import domain.order.Order;
+import domain.order.OrderStatusRegistry;
 import domain.order.OrderView;
 
 /**
@@ -53,7 +57,7 @@ public class AssemblyLineFacade implements AssemblyLineView{
 	 * 
 	 * @return the assemblyline
 	 */
-	private AssemblyLine getLine(){
+	AssemblyLine getLine(){
 		return this.line;
 	}
 	
@@ -270,6 +274,86 @@ public class AssemblyLineFacade implements AssemblyLineView{
 		
 	}
 
+	/**
+	 * Record every scheduling decision of the controller of this line in the
+	 * specified DecisionTrace, under the specified line number.
+	 * 
+	 * @param trace
+	 * 		The DecisionTrace to record to.
+	 * @param lineNumber
+	 * 		The number of this line in the trace.
+	 * @throws IllegalArgumentException
+	 * 		The trace is null or the line number is negative
+	 */
+	public void setDecisionTrace(DecisionTrace trace, int lineNumber) {
+		this.getController().setDecisionTrace(trace, lineNumber);
+	}
+
+	/**
+	 * Let the controller of this line request its StandardOrders from the 
+	 * specified FloorDispatcher.
+	 * 
+	 * @param dispatcher
+	 * 		The FloorDispatcher, absent to request StandardOrders directly.
+	 * @throws IllegalArgumentException
+	 * 		The dispatcher is null
+	 */
+	void setDispatcher(Optional<FloorDispatcher> dispatcher) {
+		this.getController().setDispatcher(dispatcher);
+	}
+
+	/**
+	 * Keep the specified OrderStatusRegistry up to date with the orders on
+	 * this line, under the specified line number.
+	 * 
+	 * @param registry
+	 * 		The OrderStatusRegistry to update.
+	 * @param lineNumber
+	 * 		The number of this line on its floor.
+	 * @throws IllegalArgumentException
+	 * 		The registry is null or the line number is negative
+	 */
+	void setOrderStatusRegistry(OrderStatusRegistry registry, int lineNumber) {
+		this.getLine().setOrderStatusRegistry(registry, lineNumber);
+	}
+
+	/**
+	 * Learn the minutes of the tasks completed on this line in the specified
+	 * TaskDurationTable, and estimate the minutes of orders with it.
+	 * 
+	 * @param table
+	 * 		The TaskDurationTable.
+	 * @throws IllegalArgumentException
+	 * 		The table is null
+	 */
+	void setTaskDurationTable(TaskDurationTable table) {
+		this.getLine().setTaskDurationTable(table);
+	}
+
+	/**
+	 * Report the metrics of this line and its controller in the specified
+	 * MetricsRegistry.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this line.
+	 * @throws IllegalArgumentException
+	 * 		The registry is null
+	 */
+	void setMetricsRegistry(MetricsRegistry registry) {
+		this.getLine().setMetricsRegistry(registry);
+		this.getController().setMetricsRegistry(registry);
+	}
+
+	/**
+	 * Get the pending orders with a deadline that are predicted to miss their
+	 * deadline, even if this line puts them on first.
+	 * 
+	 * @return Views of the orders that are predicted to miss their deadline.
+	 */
+	public List<OrderView> getPredictedDeadlineMisses() {
+		return new ArrayList<OrderView>(this.getController().getPredictedDeadlineMisses());
+	}
+
 	//----- end of Controller methods -----//
 
 	
@@ -1,7 +1,10 @@
 package domain.assembly_line;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import domain.order.*;
 import domain.statistics.ProcedureStatistics;
@@ -45,6 +48,39 @@ public class AssemblyProcedure implements AssemblyProcedureView {
 		this.assemblyOrder = order;
 		this.tasks = tasks;
 		this.expectedMinutes = expectedMinutes;
+		this.taskViews = Collections.<AssemblyTaskView> unmodifiableList(tasks);
+		this.tasksPerType = indexTasks(tasks);
+	}
+	
+	/**
+	 * Group the specified tasks by TaskType.
+	 * 
+	 * @param tasks
+	 * 		The tasks to group.
+	 * 
+	 * @return An unmodifiable list of the tasks of each TaskType, in their 
+	 * 		order in tasks.
+	 */
+	private static Map<TaskType, List<AssemblyTaskView>> indexTasks(List<AssemblyTask> tasks) {
+		Map<TaskType, List<AssemblyTaskView>> grouped = 
+				new EnumMap<TaskType, List<AssemblyTaskView>>(TaskType.class);
+		for (AssemblyTask task : tasks) {
+			List<AssemblyTaskView> typeTasks = grouped.get(task.getTaskType());
+			if (typeTasks == null) {
+				typeTasks = new ArrayList<AssemblyTaskView>();
+				grouped.put(task.getTaskType(), typeTasks);
+			}
+			typeTasks.add(task);
+		}
+		
+		Map<TaskType, List<AssemblyTaskView>> result = 
+				new EnumMap<TaskType, List<AssemblyTaskView>>(TaskType.class);
+		for (TaskType type : TaskType.values()) {
+			List<AssemblyTaskView> typeTasks = grouped.get(type);
+			result.put(type, typeTasks == null ? Collections.<AssemblyTaskView> emptyList() : 
+				Collections.unmodifiableList(typeTasks));
+		}
+		return result;
 	}
 
 	//--------------------------------------------------------------------------
@@ -117,8 +153,8 @@ public class AssemblyProcedure implements AssemblyProcedureView {
 	 * @return All tasks of type have been completed
 	 */
 	public boolean isFinished(TaskType type) {
-		for (AssemblyTask task : this.getTasksInternal()) {
-			if (task.getTaskType() == type && ! task.isCompleted()) {
+		for (AssemblyTaskView task : this.getAssemblyTasks(type)) {
+			if (! task.isCompleted()) {
 				return false;
 			}
 		}
@@ -163,6 +199,12 @@ public class AssemblyProcedure implements AssemblyProcedureView {
 	
 	/** The tasks that this procedure contains */
 	private final List<AssemblyTask> tasks;
+	
+	/** The unmodifiable view of the tasks. */
+	private final List<AssemblyTaskView> taskViews;
+	
+	/** The unmodifiable list of the tasks of every TaskType. */
+	private final Map<TaskType, List<AssemblyTaskView>> tasksPerType;
 	//--------------------------------------------------------------------------
 	// Order related methods and variables. 
 	//--------------------------------------------------------------------------
@@ -281,18 +323,23 @@ public class AssemblyProcedure implements AssemblyProcedureView {
 		return this.assemblyOrder;
 	}
 
+	/**
+	 * @return An unmodifiable view of the tasks of this AssemblyProcedure.
+	 */
 	@Override
 	public List<AssemblyTaskView> getAssemblyTasks() {
-		return new ArrayList<AssemblyTaskView>(tasks);
+		return this.taskViews;
 	}
 
+	/**
+	 * @return An unmodifiable list of the tasks of the specified type, empty
+	 * 		if taskType is null.
+	 */
 	@Override
 	public List<AssemblyTaskView> getAssemblyTasks(TaskType taskType) {
-		ArrayList<AssemblyTaskView> typeTasks = new ArrayList<AssemblyTaskView>();
-		for(AssemblyTaskView task : this.getAssemblyTasks()){
-			if(task.getTaskType().equals(taskType))
-				typeTasks.add(task);
+		if (taskType == null) {
+			return Collections.emptyList();
 		}
-		return typeTasks;
+		return this.tasksPerType.get(taskType);
 	}
 }
\ No newline at end of file
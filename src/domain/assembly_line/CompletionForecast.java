@@ -0,0 +1,478 @@
+package domain.assembly_line;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.virtual.VirtualLineSimulation;
+import domain.car.ModelSet;
+import domain.metrics.Counter;
+import domain.metrics.MetricsRegistry;
+import domain.order.Order;
+import domain.order.OrderView;
+import domain.order.StandardOrder;
+import domain.production_schedule.SchedulerContext;
+import domain.production_schedule.StandardQueueObserver;
+
+/**
+ * A CompletionForecast estimates when the orders on the lines of a floor and
+ * the pending StandardOrders are finished. It simulates the StandardOrder
+ * queue of a SchedulerContext in queue order on VirtualLineSimulations of the
+ * lines that accept orders, and gives every order to the accepting line that
+ * finishes it soonest.
+ *
+ * The simulation starts from the orders on the lines at a base time, and its
+ * estimates are kept as minutes after that time. They thus stay valid as time
+ * passes, as long as the lines follow the simulation: when the order at the
+ * head of the queue is popped, the simulation only moves its start past that
+ * order, and the estimates of the other orders are kept. The simulation is
+ * started again from the current time when a line starts or stops accepting
+ * orders, when an order shows up on a line the simulation did not put it on,
+ * and when an estimate of an order lies in the past.
+ *
+ * Any other change to the queue only invalidates the estimates from the first
+ * position that changed: the simulation is rewound to the last checkpoint in
+ * front of that position. Appending an order to the queue thus only
+ * simulates that order.
+ *
+ * Orders on lines that do not accept orders and pending SingleTaskOrders get
+ * no estimate.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class CompletionForecast implements StandardQueueObserver {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new CompletionForecast of the pending StandardOrders of the
+	 * specified SchedulerContext.
+	 *
+	 * @param schedulerContext
+	 * 		The SchedulerContext of the forecast orders.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| schedulerContext == null
+	 */
+	public CompletionForecast(SchedulerContext schedulerContext) throws IllegalArgumentException {
+		if (schedulerContext == null) {
+			throw new IllegalArgumentException("SchedulerContext cannot be null.");
+		}
+		this.schedulerContext = schedulerContext;
+		this.lines = new ArrayList<AssemblyLineFacade>();
+		this.completions = new HashMap<Order, Long>();
+		this.backlog = new ArrayList<StandardOrder>();
+		this.checkpoints = new ArrayList<Checkpoint>();
+		this.onLines = new HashMap<Order, Integer>();
+		this.poppedTo = new HashMap<Order, Integer>();
+		this.discarded = new HashMap<Order, Long>();
+		this.staleFrom = Integer.MAX_VALUE;
+		schedulerContext.attachStandardQueueObserver(this);
+	}
+
+	/**
+	 * Forecast the orders of the specified lines.
+	 *
+	 * @param lines
+	 * 		The lines of the floor. The list is followed as it changes.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| lines == null
+	 */
+	void setLines(List<AssemblyLineFacade> lines) throws IllegalArgumentException {
+		if (lines == null) {
+			throw new IllegalArgumentException("Lines cannot be null.");
+		}
+		this.lines = lines;
+		this.simulations = null;
+	}
+
+	/** The SchedulerContext of the forecast orders. */
+	private final SchedulerContext schedulerContext;
+
+	/** The lines of the floor. */
+	private List<AssemblyLineFacade> lines;
+
+	//--------------------------------------------------------------------------
+	// Estimates
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the estimated time from the specified time until the specified
+	 * order is finished.
+	 *
+	 * @param order
+	 * 		The order.
+	 * @param now
+	 * 		The current time.
+	 *
+	 * @return The estimated time until the order is finished, absent if the
+	 * 		order has no estimate.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| order == null || now == null
+	 */
+	public Optional<DateTime> getTimeToCompletion(OrderView order, DateTime now)
+			throws IllegalArgumentException {
+		if (order == null || now == null) {
+			throw new IllegalArgumentException("Arguments cannot be null.");
+		}
+		this.update(now);
+		Long minutes = this.completions.get(order);
+		if (minutes != null && minutes < this.getMinutesSinceBase(now)) {
+			// The lines are behind the simulation.
+			this.simulations = null;
+			this.update(now);
+			minutes = this.completions.get(order);
+		}
+		if (minutes == null) {
+			return Optional.absent();
+		}
+		return Optional.of(new DateTime(0, 0, (int) (minutes - this.getMinutesSinceBase(now))));
+	}
+
+	/**
+	 * Bring the estimates up to date with the lines and the StandardOrder
+	 * queue, starting the simulation at the specified time if it has to be
+	 * started again.
+	 *
+	 * @param now
+	 * 		The current time.
+	 */
+	private void update(DateTime now) {
+		boolean changed = false;
+		if (this.simulations == null) {
+			this.reset(now);
+			changed = true;
+		} else {
+			for (; this.popped > 0; this.popped--) {
+				this.shift();
+			}
+			if (!this.followsLines()) {
+				this.reset(now);
+				changed = true;
+			} else if (this.staleFrom < this.backlog.size()) {
+				this.rewind(this.staleFrom);
+				changed = true;
+			}
+		}
+		this.staleFrom = Integer.MAX_VALUE;
+
+		List<StandardOrder> queue = this.schedulerContext.getStandardOrderQueueView();
+		for (int i = this.backlog.size() - this.head; i < queue.size(); i++) {
+			this.simulate(queue.get(i));
+			changed = true;
+		}
+		if (changed) {
+			this.finish();
+		}
+	}
+
+	/**
+	 * Start the simulation again at the specified time from the current
+	 * orders on the lines.
+	 */
+	private void reset(DateTime now) {
+		this.fullForecasts.increment();
+		this.baseTime = now;
+		this.completions.clear();
+		this.backlog.clear();
+		this.checkpoints.clear();
+		this.onLines.clear();
+		this.poppedTo.clear();
+		this.head = 0;
+		this.popped = 0;
+		this.staleFrom = Integer.MAX_VALUE;
+
+		int nbOfLines = this.lines.size();
+		this.accepting = new boolean[nbOfLines];
+		this.simulations = new VirtualLineSimulation[nbOfLines];
+		this.acceptedModels = new ModelSet[nbOfLines];
+		for (int i = 0; i < nbOfLines; i++) {
+			AssemblyLine line = this.lines.get(i).getLine();
+			this.accepting[i] = line.getCurrentState().acceptsOrders();
+			if (this.accepting[i]) {
+				this.simulations[i] = new VirtualLineSimulation(line.newVirtualAssemblyLine());
+				this.acceptedModels[i] = line.getAcceptedModelSet();
+			}
+			for (Optional<Order> order : line.getOrdersPerWorkStation()) {
+				if (order.isPresent()) {
+					this.onLines.put(order.get(), i);
+				}
+			}
+		}
+		this.checkpoints.add(new Checkpoint(0, this.simulations));
+	}
+
+	/**
+	 * Move the start of the simulation past the order at the head of the
+	 * simulated queue, which was popped. The simulation of that order from
+	 * the first checkpoint is repeated, such that the first checkpoint stays
+	 * at the head.
+	 */
+	private void shift() {
+		StandardOrder order = this.backlog.get(this.head);
+		Checkpoint first = this.checkpoints.get(0);
+		this.discarded.clear();
+		int line = this.place(first.simulations, order, this.discarded);
+		if (line >= 0) {
+			this.poppedTo.put(order, line);
+		}
+		this.head++;
+		first.position = this.head;
+		if (this.checkpoints.size() > 1 && this.checkpoints.get(1).position == this.head) {
+			this.checkpoints.remove(0);
+		}
+
+		if (this.head >= CHECKPOINT_INTERVAL && 2 * this.head >= this.backlog.size()) {
+			this.backlog.subList(0, this.head).clear();
+			for (Checkpoint checkpoint : this.checkpoints) {
+				checkpoint.position -= this.head;
+			}
+			if (this.staleFrom != Integer.MAX_VALUE) {
+				this.staleFrom -= this.head;
+			}
+			this.head = 0;
+		}
+	}
+
+	/**
+	 * Check whether the lines still follow the simulation: every line accepts
+	 * orders as it did at the base time, and every order on a line was on it
+	 * at the base time or was popped and simulated on it. The estimates of
+	 * the orders that left the lines are dropped.
+	 */
+	private boolean followsLines() {
+		if (this.lines.size() != this.accepting.length) {
+			return false;
+		}
+		Map<Order, Integer> seen = new HashMap<Order, Integer>();
+		for (int i = 0; i < this.lines.size(); i++) {
+			AssemblyLine line = this.lines.get(i).getLine();
+			if (line.getCurrentState().acceptsOrders() != this.accepting[i]) {
+				return false;
+			}
+			for (Optional<Order> order : line.getOrdersPerWorkStation()) {
+				if (!order.isPresent()) {
+					continue;
+				}
+				Integer expected = this.onLines.get(order.get());
+				if (expected == null) {
+					expected = this.poppedTo.remove(order.get());
+				}
+				if (expected == null || expected != i) {
+					return false;
+				}
+				seen.put(order.get(), i);
+			}
+		}
+		for (Order order : this.onLines.keySet()) {
+			if (!seen.containsKey(order)) {
+				this.completions.remove(order);
+			}
+		}
+		this.onLines = seen;
+		return true;
+	}
+
+	/**
+	 * Rewind the simulation to the last checkpoint in front of the specified
+	 * position of the simulated queue.
+	 */
+	private void rewind(int position) {
+		int last = this.checkpoints.size() - 1;
+		while (this.checkpoints.get(last).position > position) {
+			this.checkpoints.remove(last);
+			last--;
+		}
+		Checkpoint checkpoint = this.checkpoints.get(last);
+		for (int i = checkpoint.position; i < this.backlog.size(); i++) {
+			this.completions.remove(this.backlog.get(i));
+		}
+		this.backlog.subList(checkpoint.position, this.backlog.size()).clear();
+		this.simulations = checkpoint.copySimulations();
+	}
+
+	/**
+	 * Simulate the specified order of the StandardOrder queue after the
+	 * simulated orders.
+	 */
+	private void simulate(StandardOrder order) {
+		this.place(this.simulations, order, this.completions);
+		this.backlog.add(order);
+		int last = this.checkpoints.get(this.checkpoints.size() - 1).position;
+		if (this.backlog.size() - last >= CHECKPOINT_INTERVAL) {
+			this.checkpoints.add(new Checkpoint(this.backlog.size(), this.simulations));
+		}
+	}
+
+	/**
+	 * Simulate the specified order on the line of the specified simulations
+	 * that finishes it soonest.
+	 *
+	 * @return The index of that line, -1 if no line accepts the order.
+	 */
+	private int place(VirtualLineSimulation[] simulations, StandardOrder order,
+			Map<Order, Long> completions) {
+		int best = -1;
+		long bestMinutes = Long.MAX_VALUE;
+		for (int i = 0; i < simulations.length; i++) {
+			if (simulations[i] == null || !this.acceptedModels[i].contains(order.getModel())) {
+				continue;
+			}
+			VirtualLineSimulation trial = simulations[i].copy();
+			trial.append(order);
+			long minutes = trial.advanceUntilFinished(order);
+			if (minutes < bestMinutes) {
+				best = i;
+				bestMinutes = minutes;
+			}
+		}
+
+		if (best >= 0) {
+			completions.put(order, bestMinutes);
+			simulations[best].append(order);
+			simulations[best].advanceWhileQueued(completions);
+		}
+		return best;
+	}
+
+	/**
+	 * Estimate the orders that are still on the simulated lines, assuming no
+	 * other orders follow.
+	 */
+	private void finish() {
+		for (VirtualLineSimulation simulation : this.simulations) {
+			if (simulation != null) {
+				simulation.copy().advanceUntilFinished(this.completions);
+			}
+		}
+	}
+
+	/**
+	 * Get the minutes from the base time until the specified time.
+	 */
+	private long getMinutesSinceBase(DateTime now) {
+		return now.getInMinutes() - this.baseTime.getInMinutes();
+	}
+
+	@Override
+	public void notifyStandardQueueChanged(int position) {
+		this.staleFrom = Math.min(this.staleFrom, this.head + this.popped + position);
+	}
+
+	@Override
+	public void notifyStandardOrderPopped(int position) {
+		int index = this.head + this.popped;
+		if (position == 0 && index < this.staleFrom && index < this.backlog.size()) {
+			this.popped++;
+		} else {
+			this.notifyStandardQueueChanged(position);
+		}
+	}
+
+	/** The estimated minutes from the base time until every simulated order is finished. */
+	private final Map<Order, Long> completions;
+
+	/**
+	 * The simulated StandardOrders, in queue order. The orders in front of
+	 * head were popped.
+	 */
+	private final List<StandardOrder> backlog;
+
+	/** The position in the backlog of the first order that was not popped. */
+	private int head;
+
+	/** The number of orders popped from the head since the last update. */
+	private int popped;
+
+	/** The first position of the backlog that changed since the last update. */
+	private int staleFrom;
+
+	/** The time the simulation starts from. */
+	private DateTime baseTime;
+
+	/** Whether every line accepted orders at the base time. */
+	private boolean[] accepting;
+
+	/** The line of every order on a line at the base time or seen on it since. */
+	private Map<Order, Integer> onLines;
+
+	/** The simulated line of every popped order that was not seen on a line yet. */
+	private final Map<Order, Integer> poppedTo;
+
+	/** The estimates of orders that are simulated again, which are ignored. */
+	private final Map<Order, Long> discarded;
+
+	/**
+	 * The simulation of every line, null for lines that do not accept orders.
+	 * The array itself is null until the simulation is started.
+	 */
+	private VirtualLineSimulation[] simulations;
+
+	/** The accepted Models of every simulated line. */
+	private ModelSet[] acceptedModels;
+
+	//--------------------------------------------------------------------------
+	// Checkpoints
+	//--------------------------------------------------------------------------
+	/** The number of simulated orders between two checkpoints. */
+	static final int CHECKPOINT_INTERVAL = 1024;
+
+	/**
+	 * The simulations of the lines after a number of simulated orders.
+	 */
+	private static class Checkpoint {
+
+		private Checkpoint(int position, VirtualLineSimulation[] simulations) {
+			this.position = position;
+			this.simulations = copy(simulations);
+		}
+
+		private VirtualLineSimulation[] copySimulations() {
+			return copy(this.simulations);
+		}
+
+		private static VirtualLineSimulation[] copy(VirtualLineSimulation[] simulations) {
+			VirtualLineSimulation[] result = new VirtualLineSimulation[simulations.length];
+			for (int i = 0; i < simulations.length; i++) {
+				if (simulations[i] != null) {
+					result[i] = simulations[i].copy();
+				}
+			}
+			return result;
+		}
+
+		private int position;
+		private final VirtualLineSimulation[] simulations;
+	}
+
+	/** The checkpoints of the simulation, by ascending position. The first lies at head. */
+	private final List<Checkpoint> checkpoints;
+
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Report the metrics of this CompletionForecast in the specified
+	 * MetricsRegistry from now on. Until then, they are not reported.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this CompletionForecast.
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.fullForecasts = registry.counter("assembly_floor.forecast.full");
+	}
+	
+	/** The number of times the forecast was computed from scratch. */
+	private Counter fullForecasts = new Counter();
+}
@@ -0,0 +1,169 @@
+package domain.assembly_line;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+
+import domain.DateTime;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.order.Order;
+
+/**
+ * A DeadlinePlan predicts when an AssemblyLine finishes its orders with a
+ * deadline, if they are put on the line earliest deadline first, right after
+ * a given sequence of orders. An order that would finish after the end of
+ * its working day is planned on the next working day, on an empty line
+ * that estimates the minutes of the orders with the same TaskDurationTable
+ * as the AssemblyLine.
+ *
+ * The slack of an order is the number of minutes between its predicted
+ * completion and its deadline. The plan assumes no other orders are put on
+ * the line in between, so a negative slack means the deadline will be
+ * missed unless the orders of the plan are put on the line first.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+class DeadlinePlan {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Plan the specified deadline orders on the AssemblyLine represented by
+	 * the specified VirtualAssemblyLine, after the specified orders.
+	 *
+	 * @param virt
+	 * 		The VirtualAssemblyLine of the current state of the AssemblyLine.
+	 * @param taskTypes
+	 * 		The TaskTypes of the work posts of the AssemblyLine.
+	 * @param durations
+	 * 		The TaskDurationTable of the AssemblyLine.
+	 * @param currentTime
+	 * 		The current time.
+	 * @param overTime
+	 * 		The overtime in minutes of the AssemblyLine today.
+	 * @param first
+	 * 		The orders that are put on the AssemblyLine first, in order.
+	 * @param deadlineOrders
+	 * 		The orders with a deadline, earliest deadline first.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| any argument is null || deadlineOrders contains an order without deadline
+	 */
+	DeadlinePlan(VirtualAssemblyLine virt,
+				 List<TaskType> taskTypes,
+				 TaskDurationTable durations,
+				 DateTime currentTime,
+				 int overTime,
+				 List<? extends Order> first,
+				 List<? extends Order> deadlineOrders) throws IllegalArgumentException {
+		if (virt == null || taskTypes == null || durations == null || currentTime == null ||
+				first == null || deadlineOrders == null) {
+			throw new IllegalArgumentException("Arguments of a DeadlinePlan cannot be null.");
+		}
+		this.orders = new ArrayList<Order>(deadlineOrders);
+		this.slack = new int[deadlineOrders.size()];
+
+		VirtualAssemblyLine line = virt;
+		DateTime dayStart = currentTime;
+		DateTime dayEnd = new DateTime(currentTime.getDays(), AssemblyLineController.FINISHHOUR, 0)
+				.subtractTime(0, 0, overTime);
+		boolean today = true;
+		List<Order> day = new ArrayList<Order>(first);
+
+		for (int i = 0; i < this.orders.size(); i++) {
+			Order order = this.orders.get(i);
+			if (!order.getDeadline().isPresent()) {
+				throw new IllegalArgumentException("An order of a DeadlinePlan needs a deadline.");
+			}
+
+			day.add(order);
+			DateTime completion = dayStart.addTime(line.timeToFinish(Lists.reverse(day)));
+			// An order that does not fit on a fresh day cannot be planned better.
+			if (completion.compareTo(dayEnd) > 0 && (today || day.size() > 1)) {
+				int nextDay = dayStart.getDays() + 1;
+				dayStart = new DateTime(nextDay, AssemblyLineController.STARTHOUR, 0);
+				dayEnd = new DateTime(nextDay, AssemblyLineController.FINISHHOUR, 0);
+				line = emptyLine(taskTypes, durations);
+				today = false;
+				day = Lists.newArrayList(order);
+				completion = dayStart.addTime(line.timeToFinish(day));
+			}
+			this.slack[i] = (int) (order.getDeadline().get().getInMinutes() - completion.getInMinutes());
+		}
+	}
+
+	/**
+	 * Get a VirtualAssemblyLine of an empty AssemblyLine with the specified
+	 * TaskTypes and TaskDurationTable.
+	 *
+	 * @param taskTypes
+	 * 		The TaskTypes of the work posts.
+	 * @param durations
+	 * 		The TaskDurationTable of the AssemblyLine.
+	 *
+	 * @return An empty VirtualAssemblyLine.
+	 */
+	private static VirtualAssemblyLine emptyLine(List<TaskType> taskTypes, TaskDurationTable durations) {
+		List<Optional<Order>> state = new ArrayList<Optional<Order>>(taskTypes.size());
+		for (int i = 0; i < taskTypes.size(); i++) {
+			state.add(Optional.<Order> absent());
+		}
+		return new VirtualAssemblyLine(taskTypes.toArray(new TaskType[taskTypes.size()]), state,
+				durations);
+	}
+
+	//--------------------------------------------------------------------------
+	// Slack
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the smallest slack of the orders of this DeadlinePlan.
+	 *
+	 * @return The smallest slack in minutes, Integer.MAX_VALUE if there are no
+	 * 		deadline orders.
+	 */
+	int getSlack() {
+		int result = Integer.MAX_VALUE;
+		for (int s : this.slack) {
+			result = Math.min(result, s);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the slack of the specified deadline order.
+	 *
+	 * @param i
+	 * 		The index of the order in the deadline orders.
+	 *
+	 * @return The slack of the order in minutes.
+	 */
+	int getSlack(int i) {
+		return this.slack[i];
+	}
+
+	/**
+	 * Get the deadline orders of this DeadlinePlan that are predicted to miss
+	 * their deadline.
+	 *
+	 * @return The orders with a negative slack, earliest deadline first.
+	 */
+	List<Order> getPredictedMisses() {
+		List<Order> result = new ArrayList<Order>();
+		for (int i = 0; i < this.orders.size(); i++) {
+			if (this.slack[i] < 0) {
+				result.add(this.orders.get(i));
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/** The deadline orders, earliest deadline first. */
+	private final List<Order> orders;
+
+	/** The slack of every deadline order in minutes. */
+	private final int[] slack;
+}
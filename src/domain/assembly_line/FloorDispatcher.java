@@ -0,0 +1,291 @@
+package domain.assembly_line;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+
+import domain.DateTime;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.clock.EventActor;
+import domain.metrics.Counter;
+import domain.metrics.MetricsRegistry;
+import domain.order.Order;
+import domain.order.StandardOrder;
+import domain.production_schedule.OrderRequest;
+import domain.production_schedule.SchedulerContext;
+
+/**
+ * A FloorDispatcher assigns StandardOrders jointly to the AssemblyLines of a
+ * floor that activate at the same time. Without it, the line that activates
+ * first takes the first order it accepts, even if another line that
+ * activates at the same time would finish that order sooner.
+ *
+ * When the first of a group of lines requests a StandardOrder, the
+ * FloorDispatcher collects for every line of the group that accepts orders
+ * the order its SchedulingStrategy selects and the following orders it
+ * accepts, and assigns distinct orders to the lines such that as many lines
+ * as possible get an order, the lines finish their orders as soon as
+ * possible in total, and the lines get the orders their strategy ranks
+ * highest, in that order of priority. The other lines of the group are then
+ * served the orders reserved for them.
+ *
+ * Lines that activate alone are served by the SchedulerContext directly. If
+ * such a line is served an order that is reserved for another line, that
+ * reservation is dropped. A line of which the reservation was dropped, or of
+ * which the reserved order is no longer pending, requests a new order.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class FloorDispatcher {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new FloorDispatcher without reservations.
+	 */
+	public FloorDispatcher() {
+		this.reservations = new HashMap<AssemblyLineController, Optional<Order>>();
+	}
+
+	//--------------------------------------------------------------------------
+	// Dispatching
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the StandardOrder the specified AssemblyLineController should put
+	 * on its AssemblyLine now.
+	 *
+	 * @param controller
+	 * 		The requesting AssemblyLineController.
+	 * @param virt
+	 * 		The VirtualAssemblyLine of the AssemblyLine of the controller.
+	 *
+	 * @return The StandardOrder for the controller, absent if there is none.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| controller == null || virt == null
+	 */
+	Optional<Order> getStandardOrder(AssemblyLineController controller, VirtualAssemblyLine virt)
+			throws IllegalArgumentException {
+		if (controller == null || virt == null) {
+			throw new IllegalArgumentException("Arguments cannot be null.");
+		}
+		DateTime now = controller.getClock().getCurrentTime();
+		SchedulerContext schedulerContext = controller.getSchedulerContext();
+
+		// A reserved order may have been removed since, when it was cancelled or
+		// taken by a line that did not ask this FloorDispatcher.
+		Optional<Order> reserved = this.reservations.remove(controller);
+		if (reserved != null && now.equals(this.reservationTime) &&
+				(!reserved.isPresent() || schedulerContext.containsOrder(reserved.get()))) {
+			return reserved;
+		}
+
+		List<AssemblyLineController> group = this.getGroup(controller);
+		if (group.size() == 1) {
+			Optional<Order> result = schedulerContext.getOrder(
+					new OrderRequest(controller.getAssemblyLine().getAcceptedModelSet(), virt));
+			if (result.isPresent()) {
+				this.dropReservation(result.get());
+			}
+			return result;
+		}
+
+		this.reservations.clear();
+		this.reservationTime = now;
+		List<Optional<Order>> assignment = this.assign(group, virt, schedulerContext);
+		for (int i = 1; i < group.size(); i++) {
+			this.reservations.put(group.get(i), assignment.get(i));
+		}
+		this.jointAssignments.increment();
+		return assignment.get(0);
+	}
+
+	/**
+	 * Drop the reservation of the specified order, which was served to a line
+	 * it was not reserved for.
+	 *
+	 * @param order
+	 * 		The served order.
+	 */
+	private void dropReservation(Order order) {
+		Iterator<Optional<Order>> it = this.reservations.values().iterator();
+		while (it.hasNext()) {
+			if (order.equals(it.next().orNull())) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Get the lines that activate at the current time together with the
+	 * specified controller, and that accept orders.
+	 *
+	 * @param controller
+	 * 		The requesting AssemblyLineController.
+	 *
+	 * @return The controllers of the group, the requesting controller first,
+	 * 		at most MAX_GROUP_SIZE of them.
+	 */
+	private List<AssemblyLineController> getGroup(AssemblyLineController controller) {
+		List<AssemblyLineController> result = new ArrayList<AssemblyLineController>();
+		result.add(controller);
+		List<EventActor> actors = controller.getClock().getActorsToActivate();
+		for (int i = 0; i < actors.size(); i++) {
+			if (result.size() == MAX_GROUP_SIZE) {
+				break;
+			}
+			EventActor actor = actors.get(i);
+			if (actor == controller || !(actor instanceof AssemblyLineController)) {
+				continue;
+			}
+			AssemblyLineController other = (AssemblyLineController) actor;
+			if (other.getDispatcher().orNull() == this &&
+					other.getAssemblyLine().getCurrentState().acceptsOrders()) {
+				result.add(other);
+			}
+		}
+		return result;
+	}
+
+	/** The largest number of lines that are assigned orders jointly. */
+	static final int MAX_GROUP_SIZE = 5;
+
+	/**
+	 * Assign distinct StandardOrders to the specified lines.
+	 *
+	 * @param group
+	 * 		The lines, the requesting line first.
+	 * @param virt
+	 * 		The VirtualAssemblyLine of the requesting line.
+	 * @param schedulerContext
+	 * 		The SchedulerContext of the lines.
+	 *
+	 * @return The order of every line, in the order of group.
+	 */
+	private List<Optional<Order>> assign(List<AssemblyLineController> group, VirtualAssemblyLine virt,
+			SchedulerContext schedulerContext) {
+		int nbOfLines = group.size();
+		List<List<StandardOrder>> candidates = new ArrayList<List<StandardOrder>>(nbOfLines);
+		long[][] makespans = new long[nbOfLines][];
+
+		for (int i = 0; i < nbOfLines; i++) {
+			AssemblyLineController line = group.get(i);
+			VirtualAssemblyLine lineVirt = i == 0 ? virt : line.getAssemblyLine().newVirtualAssemblyLine();
+			List<StandardOrder> lineCandidates = schedulerContext.getNextStandardOrders(
+					line.getAssemblyLine().getAcceptedModelSet(),
+					Optional.of(lineVirt), nbOfLines);
+			candidates.add(lineCandidates);
+
+			makespans[i] = new long[lineCandidates.size()];
+			for (int j = 0; j < lineCandidates.size(); j++) {
+				makespans[i][j] = lineVirt.timeToFinish(
+						Lists.<Order> newArrayList(lineCandidates.get(j))).getInMinutes();
+			}
+		}
+
+		Search search = new Search(candidates, makespans);
+		search.run(0, new HashSet<Order>(), 0, 0, 0);
+
+		List<Optional<Order>> result = new ArrayList<Optional<Order>>(nbOfLines);
+		for (int i = 0; i < nbOfLines; i++) {
+			int choice = search.best[i];
+			result.add(choice < 0 ? Optional.<Order> absent() :
+				Optional.<Order> of(candidates.get(i).get(choice)));
+		}
+		return result;
+	}
+
+	/**
+	 * An exhaustive search over the assignments of candidates to lines.
+	 */
+	private static class Search {
+
+		private Search(List<List<StandardOrder>> candidates, long[][] makespans) {
+			this.candidates = candidates;
+			this.makespans = makespans;
+			this.choice = new int[candidates.size()];
+			this.best = new int[candidates.size()];
+			this.bestAssigned = -1;
+		}
+
+		/**
+		 * Assign a candidate or no order to the specified line and all
+		 * following lines.
+		 */
+		private void run(int line, Set<Order> used, int assigned, long makespan, int rank) {
+			if (line == this.candidates.size()) {
+				if (this.isBetter(assigned, makespan, rank)) {
+					this.bestAssigned = assigned;
+					this.bestMakespan = makespan;
+					this.bestRank = rank;
+					System.arraycopy(this.choice, 0, this.best, 0, this.choice.length);
+				}
+				return;
+			}
+			List<StandardOrder> lineCandidates = this.candidates.get(line);
+			for (int j = 0; j < lineCandidates.size(); j++) {
+				if (used.add(lineCandidates.get(j))) {
+					this.choice[line] = j;
+					this.run(line + 1, used, assigned + 1, makespan + this.makespans[line][j], rank + j);
+					used.remove(lineCandidates.get(j));
+				}
+			}
+			this.choice[line] = -1;
+			this.run(line + 1, used, assigned, makespan, rank);
+		}
+
+		private boolean isBetter(int assigned, long makespan, int rank) {
+			if (assigned != this.bestAssigned) {
+				return assigned > this.bestAssigned;
+			}
+			if (makespan != this.bestMakespan) {
+				return makespan < this.bestMakespan;
+			}
+			return rank < this.bestRank;
+		}
+
+		private final List<List<StandardOrder>> candidates;
+		private final long[][] makespans;
+		private final int[] choice;
+		private final int[] best;
+		private int bestAssigned;
+		private long bestMakespan;
+		private int bestRank;
+	}
+
+	/** The orders reserved for the lines of the last group. */
+	private final Map<AssemblyLineController, Optional<Order>> reservations;
+
+	/** The time of the last group. */
+	private DateTime reservationTime;
+
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Report the metrics of this FloorDispatcher in the specified
+	 * MetricsRegistry from now on. Until then, they are not reported.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this FloorDispatcher.
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.jointAssignments = registry.counter("assembly_floor.dispatch.joint");
+	}
+	
+	/** The number of groups of lines that were assigned orders jointly. */
+	private Counter jointAssignments = new Counter();
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import com.google.common.base.Optional;
 
 import domain.DateTime;
+import domain.metrics.FlightRecorderSupport;
 import domain.order.Order;
 
 /**
@@ -53,11 +54,30 @@ public class LayoutManipulator {
 			throw new IllegalArgumentException("Cannot advance AssemblyLine with"
 					+ "null orders");
 		}
+		LineAdvanceRecording event = FlightRecorderSupport.isAvailable() ?
+				LineAdvanceEvent.start() : LineAdvanceRecording.NONE;
+		this.postsShifted = 0;
+		this.ordersRolledOff = 0;
+		this.ordersPutOn = 0;
+		
 		this.initialWorkPostShift();
 		this.shiftLoop(orders);
 		this.getState().ensureStateConsistency();
+		
+		event.end();
+		if (event.shouldCommit()) {
+			event.commit(this.postsShifted, this.ordersRolledOff, this.ordersPutOn,
+					this.getAssemblyLineSize());
+		}
 	}
 	
+	/** The number of AssemblyProcedures moved during the current advance. */
+	private int postsShifted;
+	/** The number of orders that rolled off during the current advance. */
+	private int ordersRolledOff;
+	/** The number of orders put on the line during the current advance. */
+	private int ordersPutOn;
+	
 	/**
 	 * Advance this AssemblyLine by one WorkPost. All AssemblyProcedures
 	 * are shifted forward by one WorkPost. Concerning the last AssemblyProcedure:
@@ -73,10 +93,16 @@ public class LayoutManipulator {
 		for(int i = this.getAssemblyLineSize() - 1; i > 0 ; i--){
 			this.getWorkPost(i - 1).
 				addToElapsedMinutes((int) this.getElapsedTime().getInMinutes());
+			if (! this.getWorkPost(i - 1).isEmpty()) {
+				this.postsShifted++;
+			}
 			this.getWorkPost(i)
 				.takeAssemblyProcedureFrom(this.getWorkPost(i - 1));
 		}
 
+		if (finishedProcedure.isPresent()) {
+			this.ordersRolledOff++;
+		}
 		this.handleFinishedAssemblyProcedure(finishedProcedure);
 	}
 	
@@ -108,6 +134,7 @@ public class LayoutManipulator {
 	private void rollFinishedAssemblyProcedureOffLine() {
 		Optional<AssemblyProcedure> finishedProcedure = this.getLastWorkPost()
 				.getAssemblyProcedure();
+		this.ordersRolledOff++;
 		this.handleFinishedAssemblyProcedure(finishedProcedure);
 		this.getLastWorkPost().setAssemblyProcedure(null);
 	}
@@ -123,6 +150,7 @@ public class LayoutManipulator {
 		if (nextOrder != null && nextOrder.isPresent()) {
 			AssemblyProcedure nextProcedure = this.makeAssemblyProcedure(nextOrder);
 			this.getFirstWorkPost().setAssemblyProcedure(Optional.fromNullable(nextProcedure));
+			this.ordersPutOn++;
 		}
 		return ! this.getFirstWorkPost().isEmpty();
 	}
@@ -144,6 +172,7 @@ public class LayoutManipulator {
 		if (currentEmpty && predecessorFinished) {
 			this.getWorkPost(currentWorkPostNum)
 				.takeAssemblyProcedureFrom(this.getWorkPost(predecessorWorkPostNum));
+			this.postsShifted++;
 			return true;
 		}
 		return false;
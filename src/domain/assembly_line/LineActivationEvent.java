@@ -0,0 +1,53 @@
+package domain.assembly_line;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a single activation of an AssemblyLineController,
+ * recording the scheduling decision it took.
+ * 
+ * Only create it through start(), where the Flight Recorder is present; see
+ * FlightRecorderSupport.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ */
+@Name("swop.LineActivation")
+@Label("Assembly Line Activation")
+@Category({ "SWOP", "Scheduling" })
+@Description("An AssemblyLineController selected the next orders of its line.")
+class LineActivationEvent extends Event implements LineActivationRecording {
+	@Label("Decision")
+	@Description("The ActivationDecision that was taken.")
+	String decision;
+	
+	@Label("Time")
+	@Description("The system time at activation, in minutes since the start.")
+	long time;
+	
+	@Label("Overtime")
+	@Description("The overtime of the line after the activation, in minutes.")
+	int overTime;
+	
+	/**
+	 * Create a new LineActivationEvent and begin timing it.
+	 * 
+	 * @return The new LineActivationEvent.
+	 */
+	static LineActivationRecording start() {
+		LineActivationEvent result = new LineActivationEvent();
+		result.begin();
+		return result;
+	}
+	
+	@Override
+	public void commit(String decision, long time, int overTime) {
+		this.decision = decision;
+		this.time = time;
+		this.overTime = overTime;
+		this.commit();
+	}
+}
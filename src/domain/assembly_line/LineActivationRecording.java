@@ -0,0 +1,41 @@
+package domain.assembly_line;
+
+/**
+ * A LineActivationRecording records a single activation of an
+ * AssemblyLineController. It is a LineActivationEvent where the Flight
+ * Recorder is present, and NONE otherwise.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ */
+interface LineActivationRecording {
+	/**
+	 * End the timing of the activation.
+	 */
+	void end();
+
+	/**
+	 * @return Whether the recording is kept, such that its values are needed.
+	 */
+	boolean shouldCommit();
+
+	/**
+	 * Keep the recording with the specified values.
+	 */
+	void commit(String decision, long time, int overTime);
+
+	/** The LineActivationRecording that records nothing. */
+	LineActivationRecording NONE = new LineActivationRecording() {
+		@Override
+		public void end() {
+		}
+
+		@Override
+		public boolean shouldCommit() {
+			return false;
+		}
+
+		@Override
+		public void commit(String decision, long time, int overTime) {
+		}
+	};
+}
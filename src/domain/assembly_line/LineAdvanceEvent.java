@@ -0,0 +1,58 @@
+package domain.assembly_line;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a single advance of an AssemblyLine by its
+ * LayoutManipulator.
+ * 
+ * Only create it through start(), where the Flight Recorder is present; see
+ * FlightRecorderSupport.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ */
+@Name("swop.LineAdvance")
+@Label("Assembly Line Advance")
+@Category({ "SWOP", "Assembly Line" })
+@Description("An AssemblyLine shifted its AssemblyProcedures.")
+class LineAdvanceEvent extends Event implements LineAdvanceRecording {
+	@Label("Posts Shifted")
+	@Description("The number of AssemblyProcedures moved to the next WorkPost.")
+	int postsShifted;
+	
+	@Label("Orders Rolled Off")
+	@Description("The number of finished orders that left the line.")
+	int ordersRolledOff;
+	
+	@Label("Orders Put On")
+	@Description("The number of new orders put on the first WorkPost.")
+	int ordersPutOn;
+	
+	@Label("Line Size")
+	@Description("The number of WorkPosts of the line.")
+	int lineSize;
+	
+	/**
+	 * Create a new LineAdvanceEvent and begin timing it.
+	 * 
+	 * @return The new LineAdvanceEvent.
+	 */
+	static LineAdvanceRecording start() {
+		LineAdvanceEvent result = new LineAdvanceEvent();
+		result.begin();
+		return result;
+	}
+	
+	@Override
+	public void commit(int postsShifted, int ordersRolledOff, int ordersPutOn, int lineSize) {
+		this.postsShifted = postsShifted;
+		this.ordersRolledOff = ordersRolledOff;
+		this.ordersPutOn = ordersPutOn;
+		this.lineSize = lineSize;
+		this.commit();
+	}
+}
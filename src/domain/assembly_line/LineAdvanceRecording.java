@@ -0,0 +1,41 @@
+package domain.assembly_line;
+
+/**
+ * A LineAdvanceRecording records a single advance of an AssemblyLine. It is
+ * a LineAdvanceEvent where the Flight Recorder is present, and NONE
+ * otherwise.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ */
+interface LineAdvanceRecording {
+	/**
+	 * End the timing of the advance.
+	 */
+	void end();
+
+	/**
+	 * @return Whether the recording is kept, such that its values are needed.
+	 */
+	boolean shouldCommit();
+
+	/**
+	 * Keep the recording with the specified values.
+	 */
+	void commit(int postsShifted, int ordersRolledOff, int ordersPutOn, int lineSize);
+
+	/** The LineAdvanceRecording that records nothing. */
+	LineAdvanceRecording NONE = new LineAdvanceRecording() {
+		@Override
+		public void end() {
+		}
+
+		@Override
+		public boolean shouldCommit() {
+			return false;
+		}
+
+		@Override
+		public void commit(int postsShifted, int ordersRolledOff, int ordersPutOn, int lineSize) {
+		}
+	};
+}
@@ -0,0 +1,181 @@
+package domain.assembly_line;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import domain.car.Option;
+import domain.order.Order;
+
+/**
+ * A TaskDurationTable learns how many minutes the AssemblyTask of every
+ * Option takes from the minutes the mechanics report when they complete it,
+ * and estimates the minutes an order spends on a WorkPost from them.
+ *
+ * The minutes of an order on a WorkPost of some TaskType are the sum of the
+ * learned minutes of its Options of that TaskType. An Option that was never
+ * completed gets an equal share of the fixed minutes of the Model on that
+ * TaskType. As long as none of the Options of the TaskType were completed,
+ * the estimate is the fixed minutes of the Model.
+ *
+ * The learned minutes are a decayed mean, weighing an earlier completion
+ * with DECAY relative to the next one, kept in primitive arrays per Option.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class TaskDurationTable {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new TaskDurationTable that did not learn any minutes yet.
+	 */
+	public TaskDurationTable() {
+		this.slots = new HashMap<Option, Integer>();
+		this.weights = new double[INITIAL_CAPACITY];
+		this.means = new double[INITIAL_CAPACITY];
+	}
+
+	//--------------------------------------------------------------------------
+	// Learning
+	//--------------------------------------------------------------------------
+	/**
+	 * Learn that the AssemblyTask of the specified Option took the specified
+	 * minutes.
+	 *
+	 * @param option
+	 * 		The Option of the completed AssemblyTask.
+	 * @param minutes
+	 * 		The minutes it took.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| option == null || minutes < 0
+	 */
+	public void record(Option option, int minutes) throws IllegalArgumentException {
+		if (option == null) {
+			throw new IllegalArgumentException("Option cannot be null.");
+		}
+		if (minutes < 0) {
+			throw new IllegalArgumentException("Minutes cannot be negative.");
+		}
+		Integer slot = this.slots.get(option);
+		if (slot == null) {
+			slot = this.newSlot();
+			this.slots.put(option, slot);
+		}
+		double weight = DECAY * this.weights[slot] + 1;
+		this.means[slot] += (minutes - this.means[slot]) / weight;
+		this.weights[slot] = weight;
+	}
+
+	/**
+	 * Claim a new slot, growing the arrays if they are full.
+	 */
+	private int newSlot() {
+		int slot = this.slots.size();
+		if (slot == this.means.length) {
+			this.weights = Arrays.copyOf(this.weights, 2 * slot);
+			this.means = Arrays.copyOf(this.means, 2 * slot);
+		}
+		return slot;
+	}
+
+	/** The weight of an earlier completion relative to the next one. */
+	public static final double DECAY = 0.75;
+
+	/** The initial number of slots. */
+	private static final int INITIAL_CAPACITY = 32;
+
+	/** The slot of every Option with learned minutes. */
+	private final Map<Option, Integer> slots;
+
+	/** The decayed sum of the weights of every slot. */
+	private double[] weights;
+
+	/** The decayed mean minutes of every slot. */
+	private double[] means;
+
+	//--------------------------------------------------------------------------
+	// Lookup
+	//--------------------------------------------------------------------------
+	/**
+	 * Check whether the minutes of the specified Option were learned.
+	 *
+	 * @param option
+	 * 		The Option.
+	 *
+	 * @return True if an AssemblyTask of the Option was completed.
+	 */
+	public boolean hasMinutes(Option option) {
+		return this.slots.containsKey(option);
+	}
+
+	/**
+	 * Get the learned minutes of the AssemblyTask of the specified Option.
+	 *
+	 * @param option
+	 * 		The Option.
+	 *
+	 * @return The decayed mean of the reported minutes.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| !hasMinutes(option)
+	 */
+	public double getMinutes(Option option) throws IllegalArgumentException {
+		Integer slot = this.slots.get(option);
+		if (slot == null) {
+			throw new IllegalArgumentException("No minutes were learned of this option.");
+		}
+		return this.means[slot];
+	}
+
+	/**
+	 * Get the estimated minutes the specified order spends on a WorkPost of
+	 * the specified TaskType.
+	 *
+	 * @param order
+	 * 		The order.
+	 * @param taskType
+	 * 		The TaskType of the WorkPost.
+	 *
+	 * @return The estimated minutes, rounded to whole minutes.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| order == null || taskType == null
+	 */
+	public int getMinutesOnPostOfType(Order order, TaskType taskType)
+			throws IllegalArgumentException {
+		if (order == null || taskType == null) {
+			throw new IllegalArgumentException("Arguments cannot be null.");
+		}
+		if (this.slots.isEmpty()) {
+			return order.getMinutesOnPostOfType(taskType);
+		}
+
+		List<Option> options = order.getSpecifications().getOptions();
+		int nbOfOptions = 0;
+		int nbOfLearned = 0;
+		double learned = 0;
+		for (int i = 0; i < options.size(); i++) {
+			Option option = options.get(i);
+			if (option.getType() != taskType) {
+				continue;
+			}
+			nbOfOptions++;
+			Integer slot = this.slots.get(option);
+			if (slot != null) {
+				nbOfLearned++;
+				learned += this.means[slot];
+			}
+		}
+
+		int fixed = order.getMinutesOnPostOfType(taskType);
+		if (nbOfLearned == 0) {
+			return fixed;
+		}
+		double share = (double) fixed / nbOfOptions;
+		return (int) Math.round(learned + share * (nbOfOptions - nbOfLearned));
+	}
+}
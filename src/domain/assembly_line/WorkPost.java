@@ -1,10 +1,14 @@
 package domain.assembly_line;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.base.Optional;
 
+import domain.metrics.Counter;
+import domain.metrics.Histogram;
+import domain.metrics.MetricsRegistry;
 import domain.order.Order;
 import domain.order.OrderView;
 
@@ -81,7 +85,7 @@ public class WorkPost implements WorkPostView {
 	@Override
 	public List<AssemblyTaskView> getMatchingAssemblyTasks() {
 		if (this.isEmpty()) {
-			return new ArrayList<>();
+			return Collections.emptyList();
 		}
 		return this.activeAssembly.get().getAssemblyTasks(this.getTaskType());
 	}
@@ -125,7 +129,8 @@ public class WorkPost implements WorkPostView {
 	
 	/**
 	 * Set the AssemblyProcedure on this WorkPost to the specified AssemblyProcedure.
-	 * Additionally, resets the minute counter for this WorkPost.
+	 * Additionally, resets the minute counter for this WorkPost, and notifies
+	 * the observers if the AssemblyProcedure changed.
 	 * 
 	 * @param assemblyProcedure
 	 * 		The AssemblyProcedure to be added to this WorkPost
@@ -133,6 +138,7 @@ public class WorkPost implements WorkPostView {
 	 * @postcondition | (new this).getAssemblyProcedure() == assemblyProcedure
 	 */
 	protected void setAssemblyProcedure(Optional<AssemblyProcedure> assemblyProcedure) {
+		Optional<AssemblyProcedure> previous = this.activeAssembly;
 		if (assemblyProcedure == null) {
 			this.activeAssembly = Optional.absent();
 		}
@@ -140,6 +146,9 @@ public class WorkPost implements WorkPostView {
 			this.activeAssembly = assemblyProcedure;
 		}
 		this.setMinutesOfWork(0);
+		if (previous.orNull() != this.activeAssembly.orNull()) {
+			this.notifyProcedureChanged(previous);
+		}
 	}
 	
 	/**
@@ -317,7 +326,11 @@ public class WorkPost implements WorkPostView {
 		try {
 			this.getAssemblyProcedure().get().completeTask(taskNum, this.getTaskType());
 			this.incrementTime(minutes);
+			this.notifyTaskComplete(this.getAssemblyProcedure().get().getTask(taskNum), minutes);
+			this.tasksCompleted.increment();
+			this.taskMinutes.record(minutes);
 			if (this.isFinished()) {
+				this.proceduresFinished.increment();
 				this.notifyWorkComplete();
 			}
 		} catch (IllegalArgumentException e) {
@@ -386,6 +399,34 @@ public class WorkPost implements WorkPostView {
 		this.getObservers().add(observer);
 	}
 	
+	/**
+	 * Indicate to all observers that this WorkPost replaced the specified
+	 * AssemblyProcedure.
+	 * 
+	 * @param previous
+	 * 		The previous AssemblyProcedure of this WorkPost
+	 */
+	private void notifyProcedureChanged(Optional<AssemblyProcedure> previous) {
+		for (WorkPostObserver observer : this.getObservers()) {
+			observer.notifyProcedureChanged(this, previous);
+		}
+	}
+	
+	/**
+	 * Indicate to all observers that this WorkPost completed the specified
+	 * AssemblyTask in the specified amount of minutes.
+	 * 
+	 * @param task
+	 * 		The completed AssemblyTask
+	 * @param minutes
+	 * 		The amount of minutes it took
+	 */
+	private void notifyTaskComplete(AssemblyTask task, int minutes) {
+		for (WorkPostObserver observer : this.getObservers()) {
+			observer.notifyTaskComplete(task, minutes);
+		}
+	}
+	
 	/**
 	 * Indicate to all observers that this WorkPost has finished its work.
 	 */
@@ -394,5 +435,32 @@ public class WorkPost implements WorkPostView {
 			observer.notifyWorkComplete(this.getMinutesOfWork());
 		}
 	}
-
+	
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Report the metrics of this WorkPost in the specified
+	 * MetricsRegistry from now on. Until then, they are not reported.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this WorkPost.
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.tasksCompleted = registry.counter("work_post.tasks.completed");
+		this.taskMinutes = registry.histogram("work_post.task.minutes");
+		this.proceduresFinished = registry.counter("work_post.procedures.finished");
+	}
+	
+	/** The number of tasks completed at this WorkPost. */
+	private Counter tasksCompleted = new Counter();
+	/** The minutes spent per completed task. */
+	private Histogram taskMinutes = new Histogram();
+	/** The number of AssemblyProcedures on which this WorkPost finished its work. */
+	private Counter proceduresFinished = new Counter();
 }
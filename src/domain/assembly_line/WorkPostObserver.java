@@ -1,8 +1,10 @@
 package domain.assembly_line;
 
+import com.google.common.base.Optional;
+
 /**
  * Interface for objects that have an interest in knowing when a WorkPost
- * has finished its work.
+ * has finished its work, or gets a different AssemblyProcedure.
  * @author Thomas Vochten
  *
  */
@@ -16,5 +18,28 @@ public interface WorkPostObserver {
 	 * 		The amount of time it took to finish work
 	 */
 	public void notifyWorkComplete(int minutes);
+	
+	/**
+	 * Indicate to this WorkPostObserver that the specified AssemblyTask has
+	 * been completed, together with the amount of minutes that it took.
+	 * 
+	 * @param task
+	 * 		The completed AssemblyTask
+	 * @param minutes
+	 * 		The amount of time it took to complete the task
+	 */
+	public void notifyTaskComplete(AssemblyTask task, int minutes);
+	
+	/**
+	 * Indicate to this WorkPostObserver that the specified WorkPost has 
+	 * replaced the specified AssemblyProcedure by its current one.
+	 * 
+	 * @param workPost
+	 * 		The WorkPost whose AssemblyProcedure changed
+	 * @param previous
+	 * 		The previous AssemblyProcedure of the WorkPost, absent if it was
+	 * 		empty
+	 */
+	public void notifyProcedureChanged(WorkPost workPost, Optional<AssemblyProcedure> previous);
 
 }
@@ -0,0 +1,463 @@
+package domain.assembly_line.trace;
+
+import java.nio.ByteBuffer;
+
+import util.annotations.Immutable;
+import domain.DateTime;
+import domain.assembly_line.ActivationDecision;
+import domain.assembly_line.ActivationInputs;
+
+/**
+ * A DecisionRecord contains a single decision of an AssemblyLineController
+ * together with the inputs it was based on. Only the inputs the decision
+ * actually depended on are known; requesting any other input throws an
+ * IllegalStateException, such that replaying a record with a different
+ * decision rule shows where the rules diverge.
+ *
+ * A DecisionRecord is stored in SIZE bytes.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@Immutable
+public class DecisionRecord implements ActivationInputs {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new DecisionRecord.
+	 *
+	 * @param lineNumber
+	 * 		The number of the AssemblyLine that took the decision.
+	 * @param time
+	 * 		The time of the decision in minutes.
+	 * @param overTime
+	 * 		The overtime in minutes at the time of the decision.
+	 * @param decision
+	 * 		The decision that was taken.
+	 * @param flags
+	 * 		The flags of the known boolean inputs.
+	 * @param deadlineDay
+	 * 		The day of the deadline order, or UNKNOWN.
+	 * @param deadlineMakespan
+	 * 		The makespan of the deadline order in minutes, or UNKNOWN.
+	 * @param standardMakespan
+	 * 		The makespan of the standard order in minutes, or UNKNOWN.
+	 * @param deadlineSlack
+	 * 		The slack of the deadline orders in minutes, or UNKNOWN_SLACK.
+	 * @param deadlineOrderNumber
+	 * 		The order number of the deadline order, or UNKNOWN.
+	 * @param standardOrderNumber
+	 * 		The order number of the standard order, or UNKNOWN.
+	 * @param nbOfScheduledOrders
+	 * 		The number of orders that were put on the AssemblyLine.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| decision == null || time < 0 || nbOfScheduledOrders < 0
+	 */
+	public DecisionRecord(int lineNumber,
+						  long time,
+						  int overTime,
+						  ActivationDecision decision,
+						  int flags,
+						  int deadlineDay,
+						  int deadlineMakespan,
+						  int standardMakespan,
+						  int deadlineSlack,
+						  int deadlineOrderNumber,
+						  int standardOrderNumber,
+						  int nbOfScheduledOrders) throws IllegalArgumentException {
+		if (decision == null) {
+			throw new IllegalArgumentException("decision cannot be null.");
+		}
+		if (time < 0) {
+			throw new IllegalArgumentException("time cannot be negative.");
+		}
+		if (nbOfScheduledOrders < 0) {
+			throw new IllegalArgumentException("nbOfScheduledOrders cannot be negative.");
+		}
+		this.lineNumber = lineNumber;
+		this.time = time;
+		this.overTime = overTime;
+		this.decision = decision;
+		this.flags = flags;
+		this.deadlineDay = deadlineDay;
+		this.deadlineMakespan = deadlineMakespan;
+		this.standardMakespan = standardMakespan;
+		this.deadlineSlack = deadlineSlack;
+		this.deadlineOrderNumber = deadlineOrderNumber;
+		this.standardOrderNumber = standardOrderNumber;
+		this.nbOfScheduledOrders = nbOfScheduledOrders;
+	}
+
+	//--------------------------------------------------------------------------
+	// Serialisation
+	//--------------------------------------------------------------------------
+	/**
+	 * Write this DecisionRecord at the position of the specified buffer.
+	 *
+	 * @param buffer
+	 * 		The buffer to write to, with at least SIZE bytes remaining.
+	 */
+	void writeTo(ByteBuffer buffer) {
+		buffer.putInt(this.lineNumber);
+		buffer.putLong(this.time);
+		buffer.putInt(this.overTime);
+		buffer.put((byte) this.decision.ordinal());
+		buffer.put((byte) 0);
+		buffer.putShort((short) this.flags);
+		buffer.putInt(this.deadlineDay);
+		buffer.putInt(this.deadlineMakespan);
+		buffer.putInt(this.standardMakespan);
+		buffer.putInt(this.deadlineOrderNumber);
+		buffer.putInt(this.standardOrderNumber);
+		buffer.putInt(this.nbOfScheduledOrders);
+		buffer.putInt(this.deadlineSlack);
+	}
+
+	/**
+	 * Read a DecisionRecord from the position of the specified buffer.
+	 *
+	 * @param buffer
+	 * 		The buffer to read from, with at least SIZE bytes remaining.
+	 *
+	 * @return The DecisionRecord that was read.
+	 *
+	 * @throws IllegalStateException
+	 * 		| The buffer does not contain a valid DecisionRecord.
+	 */
+	static DecisionRecord readFrom(ByteBuffer buffer) throws IllegalStateException {
+		int lineNumber = buffer.getInt();
+		long time = buffer.getLong();
+		int overTime = buffer.getInt();
+		int decision = buffer.get();
+		buffer.get();
+		int flags = buffer.getShort() & 0xFFFF;
+		int deadlineDay = buffer.getInt();
+		int deadlineMakespan = buffer.getInt();
+		int standardMakespan = buffer.getInt();
+		int deadlineOrderNumber = buffer.getInt();
+		int standardOrderNumber = buffer.getInt();
+		int nbOfScheduledOrders = buffer.getInt();
+		int deadlineSlack = buffer.getInt();
+
+		if (decision < 0 || decision >= DECISIONS.length) {
+			throw new IllegalStateException("Corrupt record: unknown decision " + decision + ".");
+		}
+		try {
+			return new DecisionRecord(lineNumber, time, overTime, DECISIONS[decision],
+					flags, deadlineDay, deadlineMakespan, standardMakespan, deadlineSlack,
+					deadlineOrderNumber, standardOrderNumber, nbOfScheduledOrders);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalStateException("Corrupt record: " + e.getMessage());
+		}
+	}
+
+	/** The number of bytes of a stored DecisionRecord. */
+	public static final int SIZE = 48;
+
+	/** All decisions, indexed by ordinal. */
+	private static final ActivationDecision[] DECISIONS = ActivationDecision.values();
+
+	//--------------------------------------------------------------------------
+	// Flags
+	//--------------------------------------------------------------------------
+	/** The value of an unknown numerical input. */
+	public static final int UNKNOWN = -1;
+
+	/** The value of an unknown slack, which can be negative. */
+	public static final int UNKNOWN_SLACK = Integer.MIN_VALUE;
+
+	/** Whether acceptsOrders() is known. */
+	public static final int ACCEPTS_KNOWN  = 1;
+	/** The value of acceptsOrders(). */
+	public static final int ACCEPTS        = 1 << 1;
+	/** Whether hasDeadlineOrder() is known. */
+	public static final int DEADLINE_KNOWN = 1 << 2;
+	/** The value of hasDeadlineOrder(). */
+	public static final int HAS_DEADLINE   = 1 << 3;
+	/** Whether hasStandardOrder() is known. */
+	public static final int STANDARD_KNOWN = 1 << 4;
+	/** The value of hasStandardOrder(). */
+	public static final int HAS_STANDARD   = 1 << 5;
+	/** Whether hasFillerOrders() is known. */
+	public static final int FILLERS_KNOWN  = 1 << 6;
+	/** The value of hasFillerOrders(). */
+	public static final int HAS_FILLERS    = 1 << 7;
+	/** Whether isLineEmpty() is known. */
+	public static final int EMPTY_KNOWN    = 1 << 8;
+	/** The value of isLineEmpty(). */
+	public static final int EMPTY          = 1 << 9;
+
+	/**
+	 * Get the value of the specified flag.
+	 *
+	 * @param known
+	 * 		The flag that indicates whether the value is known.
+	 * @param value
+	 * 		The flag of the value.
+	 * @param name
+	 * 		The name of the input.
+	 *
+	 * @return Whether the value flag is set.
+	 *
+	 * @throws IllegalStateException
+	 * 		| (getFlags() & known) == 0
+	 */
+	private boolean getFlag(int known, int value, String name) throws IllegalStateException {
+		if ((this.getFlags() & known) == 0) {
+			throw new IllegalStateException(name + " was not evaluated for this decision.");
+		}
+		return (this.getFlags() & value) != 0;
+	}
+
+	/**
+	 * Get the value of the specified numerical input.
+	 *
+	 * @param value
+	 * 		The value.
+	 * @param name
+	 * 		The name of the input.
+	 *
+	 * @return value
+	 *
+	 * @throws IllegalStateException
+	 * 		| value == UNKNOWN
+	 */
+	private static int getValue(int value, String name) throws IllegalStateException {
+		if (value == UNKNOWN) {
+			throw new IllegalStateException(name + " was not evaluated for this decision.");
+		}
+		return value;
+	}
+
+	//--------------------------------------------------------------------------
+	// ActivationInputs
+	//--------------------------------------------------------------------------
+	@Override
+	public DateTime getCurrentTime() {
+		return new DateTime(0, 0, (int) this.getTime());
+	}
+
+	@Override
+	public int getOverTime() {
+		return this.overTime;
+	}
+
+	@Override
+	public boolean acceptsOrders() throws IllegalStateException {
+		return this.getFlag(ACCEPTS_KNOWN, ACCEPTS, "acceptsOrders");
+	}
+
+	@Override
+	public boolean hasDeadlineOrder() throws IllegalStateException {
+		return this.getFlag(DEADLINE_KNOWN, HAS_DEADLINE, "hasDeadlineOrder");
+	}
+
+	@Override
+	public int getDeadlineDay() throws IllegalStateException {
+		return getValue(this.deadlineDay, "deadlineDay");
+	}
+
+	@Override
+	public DateTime getDeadlineMakespan() throws IllegalStateException {
+		return new DateTime(0, 0, getValue(this.deadlineMakespan, "deadlineMakespan"));
+	}
+
+	@Override
+	public boolean hasStandardOrder() throws IllegalStateException {
+		return this.getFlag(STANDARD_KNOWN, HAS_STANDARD, "hasStandardOrder");
+	}
+
+	@Override
+	public DateTime getStandardMakespan() throws IllegalStateException {
+		return new DateTime(0, 0, getValue(this.standardMakespan, "standardMakespan"));
+	}
+
+	@Override
+	public int getDeadlineSlack() throws IllegalStateException {
+		if (this.deadlineSlack == UNKNOWN_SLACK) {
+			throw new IllegalStateException("deadlineSlack was not evaluated for this decision.");
+		}
+		return this.deadlineSlack;
+	}
+
+	@Override
+	public boolean hasFillerOrders() throws IllegalStateException {
+		return this.getFlag(FILLERS_KNOWN, HAS_FILLERS, "hasFillerOrders");
+	}
+
+	@Override
+	public boolean isLineEmpty() throws IllegalStateException {
+		return this.getFlag(EMPTY_KNOWN, EMPTY, "isLineEmpty");
+	}
+
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the number of the AssemblyLine that took the decision of this record.
+	 *
+	 * @return The number of the AssemblyLine.
+	 */
+	public int getLineNumber() {
+		return this.lineNumber;
+	}
+
+	/** The number of the AssemblyLine that took the decision. */
+	private final int lineNumber;
+
+	/**
+	 * Get the time of the decision of this record in minutes.
+	 *
+	 * @return The time of the decision in minutes.
+	 */
+	public long getTime() {
+		return this.time;
+	}
+
+	/** The time of the decision in minutes. */
+	private final long time;
+
+	/** The overtime in minutes at the time of the decision. */
+	private final int overTime;
+
+	/**
+	 * Get the decision of this record.
+	 *
+	 * @return The decision that was taken.
+	 */
+	public ActivationDecision getDecision() {
+		return this.decision;
+	}
+
+	/** The decision that was taken. */
+	private final ActivationDecision decision;
+
+	/**
+	 * Get the flags of the boolean inputs of this record.
+	 *
+	 * @return The flags of the boolean inputs.
+	 */
+	public int getFlags() {
+		return this.flags;
+	}
+
+	/** The flags of the boolean inputs. */
+	private final int flags;
+
+	/** The day of the deadline order. */
+	private final int deadlineDay;
+
+	/** The makespan of the deadline order in minutes. */
+	private final int deadlineMakespan;
+
+	/** The makespan of the standard order in minutes. */
+	private final int standardMakespan;
+
+	/** The slack of the deadline orders in minutes. */
+	private final int deadlineSlack;
+
+	/**
+	 * Get the order number of the deadline order of this record.
+	 *
+	 * @return The order number of the deadline order, or UNKNOWN.
+	 */
+	public int getDeadlineOrderNumber() {
+		return this.deadlineOrderNumber;
+	}
+
+	/** The order number of the deadline order. */
+	private final int deadlineOrderNumber;
+
+	/**
+	 * Get the order number of the standard order of this record.
+	 *
+	 * @return The order number of the standard order, or UNKNOWN.
+	 */
+	public int getStandardOrderNumber() {
+		return this.standardOrderNumber;
+	}
+
+	/** The order number of the standard order. */
+	private final int standardOrderNumber;
+
+	/**
+	 * Get the number of orders that were put on the AssemblyLine.
+	 *
+	 * @return The number of scheduled orders.
+	 */
+	public int getNbOfScheduledOrders() {
+		return this.nbOfScheduledOrders;
+	}
+
+	/** The number of orders that were put on the AssemblyLine. */
+	private final int nbOfScheduledOrders;
+
+	//--------------------------------------------------------------------------
+	// Object methods
+	//--------------------------------------------------------------------------
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		result.append("line ").append(this.getLineNumber());
+		result.append(" @ ").append(this.getCurrentTime());
+		result.append(" (overtime ").append(this.getOverTime()).append(") -> ");
+		result.append(this.getDecision());
+		result.append(" [orders: ").append(this.getNbOfScheduledOrders());
+		if (this.getDeadlineOrderNumber() != UNKNOWN) {
+			result.append(", deadline #").append(this.getDeadlineOrderNumber());
+			result.append(" due day ").append(this.deadlineDay);
+			if (this.deadlineMakespan != UNKNOWN) {
+				result.append(" needs ").append(this.deadlineMakespan).append("m");
+			}
+		}
+		if (this.getStandardOrderNumber() != UNKNOWN) {
+			result.append(", standard #").append(this.getStandardOrderNumber());
+			if (this.standardMakespan != UNKNOWN) {
+				result.append(" needs ").append(this.standardMakespan).append("m");
+			}
+		}
+		if (this.deadlineSlack != UNKNOWN_SLACK) {
+			result.append(", slack ").append(this.deadlineSlack).append("m");
+		}
+		result.append("]");
+		return result.toString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DecisionRecord)) {
+			return false;
+		}
+		DecisionRecord other = (DecisionRecord) obj;
+		return this.lineNumber == other.lineNumber &&
+			   this.time == other.time &&
+			   this.overTime == other.overTime &&
+			   this.decision == other.decision &&
+			   this.flags == other.flags &&
+			   this.deadlineDay == other.deadlineDay &&
+			   this.deadlineMakespan == other.deadlineMakespan &&
+			   this.standardMakespan == other.standardMakespan &&
+			   this.deadlineSlack == other.deadlineSlack &&
+			   this.deadlineOrderNumber == other.deadlineOrderNumber &&
+			   this.standardOrderNumber == other.standardOrderNumber &&
+			   this.nbOfScheduledOrders == other.nbOfScheduledOrders;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 17;
+		result = 31 * result + this.lineNumber;
+		result = 31 * result + (int) (this.time ^ (this.time >>> 32));
+		result = 31 * result + this.overTime;
+		result = 31 * result + this.decision.ordinal();
+		result = 31 * result + this.flags;
+		result = 31 * result + this.deadlineOrderNumber;
+		result = 31 * result + this.standardOrderNumber;
+		return result;
+	}
+}
@@ -0,0 +1,165 @@
+package domain.assembly_line.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import domain.assembly_line.ActivationDecision;
+import domain.assembly_line.AssemblyLineController;
+
+/**
+ * A DecisionReplayer re-executes the decision rule of the
+ * AssemblyLineController on the inputs of recorded DecisionRecords and
+ * reports every record for which the rule now takes a different decision,
+ * or needs an input that was not evaluated when the record was made.
+ *
+ * Replaying is deterministic and does not need an AssemblyLine, Clock or
+ * SchedulerContext, so a trace of a misbehaving system can be replayed in
+ * isolation.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class DecisionReplayer {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new DecisionReplayer that has not replayed any records.
+	 */
+	public DecisionReplayer() {
+		this.incidents = new ArrayList<String>();
+	}
+
+	//--------------------------------------------------------------------------
+	// Replay
+	//--------------------------------------------------------------------------
+	/**
+	 * Replay all specified records in order.
+	 *
+	 * @param records
+	 * 		The records to replay.
+	 *
+	 * @return The number of records whose decision was reproduced.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| records == null
+	 */
+	public int replay(List<DecisionRecord> records) throws IllegalArgumentException {
+		if (records == null) {
+			throw new IllegalArgumentException("records cannot be null.");
+		}
+		int result = 0;
+		for (DecisionRecord record : records) {
+			if (this.replay(record)) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Replay the specified record.
+	 *
+	 * @param record
+	 * 		The record to replay.
+	 *
+	 * @return Whether the decision of the record was reproduced.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| record == null
+	 */
+	public boolean replay(DecisionRecord record) throws IllegalArgumentException {
+		if (record == null) {
+			throw new IllegalArgumentException("record cannot be null.");
+		}
+		this.nbOfReplayed++;
+
+		ActivationDecision decision;
+		try {
+			decision = AssemblyLineController.decide(record);
+		} catch (IllegalStateException e) {
+			this.nbOfMismatches++;
+			this.addIncident(record, "diverged: " + e.getMessage());
+			return false;
+		}
+
+		if (decision != record.getDecision()) {
+			this.nbOfMismatches++;
+			this.addIncident(record, "replayed as " + decision);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Add an incident about the specified record.
+	 *
+	 * @param record
+	 * 		The record.
+	 * @param description
+	 * 		The description of the incident.
+	 */
+	private void addIncident(DecisionRecord record, String description) {
+		if (this.incidents.size() < MAX_INCIDENTS) {
+			this.incidents.add(record + " " + description);
+		}
+	}
+
+	/** The largest number of incidents that are kept. */
+	private static final int MAX_INCIDENTS = 100;
+
+	//--------------------------------------------------------------------------
+	// Results
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the number of records this DecisionReplayer replayed.
+	 *
+	 * @return The number of replayed records.
+	 */
+	public long getNbOfReplayed() {
+		return this.nbOfReplayed;
+	}
+
+	/** The number of replayed records. */
+	private long nbOfReplayed;
+
+	/**
+	 * Get the number of replayed records whose decision was not reproduced.
+	 *
+	 * @return The number of mismatches.
+	 */
+	public long getNbOfMismatches() {
+		return this.nbOfMismatches;
+	}
+
+	/** The number of replayed records whose decision was not reproduced. */
+	private long nbOfMismatches;
+
+	/**
+	 * Get a description of the first mismatches.
+	 *
+	 * @return A description per mismatch, in the order they were found.
+	 */
+	public List<String> getIncidents() {
+		return Collections.unmodifiableList(this.incidents);
+	}
+
+	/** The descriptions of the first mismatches. */
+	private final List<String> incidents;
+
+	/**
+	 * Get a human readable report of the replay.
+	 *
+	 * @return A report of the replay.
+	 */
+	public String getReport() {
+		StringBuilder result = new StringBuilder();
+		result.append("replayed ").append(this.getNbOfReplayed()).append(" decisions, ");
+		result.append(this.getNbOfMismatches()).append(" mismatches\n");
+		for (String incident : this.getIncidents()) {
+			result.append("  ").append(incident).append("\n");
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,279 @@
+package domain.assembly_line.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DecisionTrace keeps the most recent DecisionRecords of one or more
+ * AssemblyLineControllers in a fixed size ring buffer. Once the buffer is
+ * full, every new record overwrites the oldest one. Recording a decision
+ * does not allocate.
+ *
+ * The buffer either lives on the heap, or is a memory-mapped file such that
+ * the trace survives the process and can be replayed afterwards with
+ * DecisionReplayer.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class DecisionTrace {
+	//--------------------------------------------------------------------------
+	// Constructors
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new empty DecisionTrace on the heap that holds the specified
+	 * number of records.
+	 *
+	 * @param capacity
+	 * 		The number of records this DecisionTrace holds.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| capacity <= 0 || capacity > MAX_CAPACITY
+	 */
+	public DecisionTrace(int capacity) throws IllegalArgumentException {
+		this(ByteBuffer.allocate(getFileSize(capacity)), capacity);
+	}
+
+	/**
+	 * Construct a new empty DecisionTrace in the specified buffer.
+	 *
+	 * @param buffer
+	 * 		The buffer of this DecisionTrace, of getFileSize(capacity) bytes.
+	 * @param capacity
+	 * 		The number of records this DecisionTrace holds.
+	 */
+	private DecisionTrace(ByteBuffer buffer, int capacity) {
+		this.buffer = buffer;
+		this.capacity = capacity;
+		this.count = 0;
+
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, VERSION);
+		buffer.putInt(8, capacity);
+		buffer.putInt(12, DecisionRecord.SIZE);
+		buffer.putLong(COUNT_OFFSET, 0);
+	}
+
+	/**
+	 * Create a new empty DecisionTrace that holds the specified number of
+	 * records in the specified memory-mapped file. An existing file is
+	 * overwritten.
+	 *
+	 * @param file
+	 * 		The file to spool the trace to.
+	 * @param capacity
+	 * 		The number of records the DecisionTrace holds.
+	 *
+	 * @return The new DecisionTrace.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| file == null || capacity <= 0 || capacity > MAX_CAPACITY
+	 * @throws IOException
+	 * 		When the file cannot be created or mapped.
+	 */
+	public static DecisionTrace spooledTo(File file, int capacity)
+			throws IllegalArgumentException, IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("file cannot be null.");
+		}
+		int size = getFileSize(capacity);
+
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.setLength(0);
+			raf.setLength(size);
+			// The mapping stays valid after the file is closed.
+			MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			return new DecisionTrace(buffer, capacity);
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * Read the DecisionTrace in the specified file into a new DecisionTrace
+	 * on the heap.
+	 *
+	 * @param file
+	 * 		The file to read.
+	 *
+	 * @return A DecisionTrace with the records of the file.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| file == null
+	 * @throws IllegalStateException
+	 * 		When the file does not contain a DecisionTrace.
+	 * @throws IOException
+	 * 		When the file cannot be read.
+	 */
+	public static DecisionTrace read(File file)
+			throws IllegalArgumentException, IllegalStateException, IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("file cannot be null.");
+		}
+
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		ByteBuffer buffer;
+		try {
+			if (raf.length() < HEADER_SIZE || raf.length() > Integer.MAX_VALUE) {
+				throw new IllegalStateException(file + " is not a decision trace.");
+			}
+			buffer = ByteBuffer.allocate((int) raf.length());
+			FileChannel channel = raf.getChannel();
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				// keep reading.
+			}
+		} finally {
+			raf.close();
+		}
+
+		if (buffer.getInt(0) != MAGIC) {
+			throw new IllegalStateException(file + " is not a decision trace.");
+		}
+		if (buffer.getInt(4) != VERSION || buffer.getInt(12) != DecisionRecord.SIZE) {
+			throw new IllegalStateException(file + " has an unsupported version.");
+		}
+		int capacity = buffer.getInt(8);
+		long count = buffer.getLong(COUNT_OFFSET);
+		if (capacity <= 0 || capacity > MAX_CAPACITY ||
+				buffer.capacity() != getFileSize(capacity) || count < 0) {
+			throw new IllegalStateException(file + " is corrupt.");
+		}
+
+		DecisionTrace result = new DecisionTrace(buffer, capacity);
+		result.count = count;
+		buffer.putLong(COUNT_OFFSET, count);
+		return result;
+	}
+
+	/**
+	 * Get the number of bytes a DecisionTrace of the specified capacity needs.
+	 *
+	 * @param capacity
+	 * 		The number of records.
+	 *
+	 * @return The number of bytes.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| capacity <= 0 || capacity > MAX_CAPACITY
+	 */
+	private static int getFileSize(int capacity) throws IllegalArgumentException {
+		if (capacity <= 0 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException("capacity must lie between 1 and " + MAX_CAPACITY + ".");
+		}
+		return HEADER_SIZE + capacity * DecisionRecord.SIZE;
+	}
+
+	/** The first bytes of every trace: "SWDT". */
+	private static final int MAGIC = 0x53574454;
+
+	/** The version of the trace format; version 2 added the deadline slack. */
+	private static final int VERSION = 2;
+
+	/** The offset of the number of records ever recorded. */
+	private static final int COUNT_OFFSET = 16;
+
+	/** The number of bytes of the header. */
+	private static final int HEADER_SIZE = 24;
+
+	/** The largest number of records a DecisionTrace can hold. */
+	public static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / DecisionRecord.SIZE;
+
+	//--------------------------------------------------------------------------
+	// Recording
+	//--------------------------------------------------------------------------
+	/**
+	 * Record the specified DecisionRecord, overwriting the oldest record if
+	 * this DecisionTrace is full.
+	 *
+	 * @param record
+	 * 		The DecisionRecord to record.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| record == null
+	 */
+	public synchronized void record(DecisionRecord record) throws IllegalArgumentException {
+		if (record == null) {
+			throw new IllegalArgumentException("record cannot be null.");
+		}
+		this.buffer.position(this.getOffset(this.count));
+		record.writeTo(this.buffer);
+		this.count++;
+		this.buffer.putLong(COUNT_OFFSET, this.count);
+	}
+
+	/**
+	 * Get the number of records ever recorded in this DecisionTrace,
+	 * including the ones that have been overwritten.
+	 *
+	 * @return The number of recorded records.
+	 */
+	public synchronized long getRecordCount() {
+		return this.count;
+	}
+
+	/**
+	 * Get the number of records this DecisionTrace holds.
+	 *
+	 * @return The capacity of this DecisionTrace.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Get the records held by this DecisionTrace, oldest first.
+	 *
+	 * @return The held records, oldest first.
+	 *
+	 * @throws IllegalStateException
+	 * 		When a record is corrupt.
+	 */
+	public synchronized List<DecisionRecord> getRecords() throws IllegalStateException {
+		long first = Math.max(0, this.count - this.getCapacity());
+		List<DecisionRecord> result = new ArrayList<DecisionRecord>((int) (this.count - first));
+
+		for (long i = first; i < this.count; i++) {
+			this.buffer.position(this.getOffset(i));
+			result.add(DecisionRecord.readFrom(this.buffer));
+		}
+		return result;
+	}
+
+	/**
+	 * Write the records of this DecisionTrace to its file, if it is spooled
+	 * to a file.
+	 */
+	public synchronized void flush() {
+		if (this.buffer instanceof MappedByteBuffer) {
+			((MappedByteBuffer) this.buffer).force();
+		}
+	}
+
+	/**
+	 * Get the offset of the slot of the specified record.
+	 *
+	 * @param recordIndex
+	 * 		The index of the record.
+	 *
+	 * @return The offset of the slot of the record in the buffer.
+	 */
+	private int getOffset(long recordIndex) {
+		return HEADER_SIZE + (int) (recordIndex % this.getCapacity()) * DecisionRecord.SIZE;
+	}
+
+	/** The buffer containing the header and the records. */
+	private final ByteBuffer buffer;
+
+	/** The number of records this DecisionTrace holds. */
+	private final int capacity;
+
+	/** The number of records ever recorded. */
+	private long count;
+}
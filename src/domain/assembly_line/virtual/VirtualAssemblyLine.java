@@ -6,6 +6,7 @@ import java.util.List;
 import com.google.common.base.Optional;
 
 import domain.DateTime;
+import domain.assembly_line.TaskDurationTable;
 import domain.assembly_line.TaskType;
 import domain.order.Order;
 
@@ -35,6 +36,31 @@ public class VirtualAssemblyLine {
 	 */
 	public VirtualAssemblyLine(TaskType[] taskTypeSequence,
 			List<Optional<Order>> curState) throws IllegalArgumentException {
+		this(taskTypeSequence, curState, new TaskDurationTable());
+	}
+	
+	/**
+	 * Construct a new VirtualAssemblyLine with the giving taskTypeSequence and
+	 * current state of the AssemblyLine, that estimates the minutes of an
+	 * order on a workpost with the specified TaskDurationTable.
+	 * 
+	 * @param taskTypeSequence
+	 * 		The sequence of tasks of this new VirtualAssemblyLine. 
+	 * @param curState
+	 * 		The current list of orders on this VirtualAssemblyLine.
+	 * @param durations
+	 * 		The TaskDurationTable of the minutes of an order on a workpost.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| curState == null || curState contains null
+	 * 		| taskTypeSequence == null || taskTypeSequence.length == 0
+	 * 		| durations == null
+	 */
+	public VirtualAssemblyLine(TaskType[] taskTypeSequence,
+			List<Optional<Order>> curState, TaskDurationTable durations) throws IllegalArgumentException {
+		if (durations == null) {
+			throw new IllegalArgumentException("durations cannot be null.");
+		}
 		if (curState == null || curState.contains(null)) {
 			throw new IllegalArgumentException("The curState cannot be null or contain null.");
 		}
@@ -61,6 +87,7 @@ public class VirtualAssemblyLine {
 			}
 		}
 		this.curState = list;
+		this.durations = durations;
 	}
 
 	// --------------------------------------------------------------------------
@@ -135,7 +162,8 @@ public class VirtualAssemblyLine {
 		for(int i = 0; i < taskTypeSeq.length; i++) {
 			Optional<VirtualAssProc> proc = orderSeq.get(i + offset);
 			if (proc.isPresent()) {
-				int timeTask = proc.get().getMinutesOnPostOfType(taskTypeSeq[i]);
+				int timeTask = this.getDurations().getMinutesOnPostOfType(
+						proc.get().getOrder(), taskTypeSeq[i]);
 				timeStepMinutes = Math.max(timeStepMinutes, timeTask);
 			}
 		}
@@ -229,7 +257,7 @@ public class VirtualAssemblyLine {
 	 * 
 	 * @return The current state of Orders on this VirtualAssemblyLine.
 	 */
-	private List<Optional<VirtualAssProc>> getCurState() {
+	List<Optional<VirtualAssProc>> getCurState() {
 		return this.curState;
 	}
 
@@ -244,10 +272,24 @@ public class VirtualAssemblyLine {
 	 * @return The sequence of TaskTypes of the workposts of this
 	 *         VirtualAssemblyLine.
 	 */
-	private TaskType[] getTaskTypeSequence() {
+	TaskType[] getTaskTypeSequence() {
 		return this.taskTypeSequence;
 	}
 
 	/** The sequence of tasktypes of this VirtualAssemblyLine. */
 	private final TaskType[] taskTypeSequence;
-}
\ No newline at end of file
+
+	// --------------------------------------------------------------------------
+	/**
+	 * Get the TaskDurationTable of the minutes of an order on a workpost of
+	 * this VirtualAssemblyLine.
+	 * 
+	 * @return The TaskDurationTable of this VirtualAssemblyLine.
+	 */
+	TaskDurationTable getDurations() {
+		return this.durations;
+	}
+
+	/** The TaskDurationTable of this VirtualAssemblyLine. */
+	private final TaskDurationTable durations;
+}
@@ -0,0 +1,251 @@
+package domain.assembly_line.virtual;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Optional;
+
+import domain.assembly_line.TaskType;
+import domain.order.Order;
+
+/**
+ * A VirtualLineSimulation advances the state of a VirtualAssemblyLine step by
+ * step, the same way timeToFinish does, while orders are appended to it one
+ * at a time. Unlike timeToFinish, which simulates the whole sequence of
+ * orders again on every call, a VirtualLineSimulation only simulates the
+ * steps that have not been simulated yet.
+ *
+ * An order that is appended can still take part in a step as long as no
+ * earlier appended order waits to be put on the line after that step.
+ * Therefore advanceWhileQueued only simulates the steps after which an
+ * appended order still waits, such that the steps it simulated are the same
+ * whatever orders are appended later.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class VirtualLineSimulation {
+	//--------------------------------------------------------------------------
+	// Constructors
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new VirtualLineSimulation that starts from the current state
+	 * of the specified VirtualAssemblyLine.
+	 *
+	 * @param line
+	 * 		The VirtualAssemblyLine to simulate.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| line == null
+	 */
+	public VirtualLineSimulation(VirtualAssemblyLine line) throws IllegalArgumentException {
+		if (line == null) {
+			throw new IllegalArgumentException("Line cannot be null.");
+		}
+		this.line = line;
+		this.orderSeq = copyOf(line.getCurState());
+		this.offset = 0;
+		this.elapsedMinutes = 0;
+	}
+
+	/**
+	 * Construct a new VirtualLineSimulation in the same state as the specified
+	 * VirtualLineSimulation.
+	 */
+	private VirtualLineSimulation(VirtualLineSimulation other) {
+		this.line = other.line;
+		this.orderSeq = copyOf(other.orderSeq);
+		this.offset = other.offset;
+		this.elapsedMinutes = other.elapsedMinutes;
+	}
+
+	/**
+	 * Get a new VirtualLineSimulation in the same state as this one, that can
+	 * be advanced independently.
+	 *
+	 * @return A copy of this VirtualLineSimulation.
+	 */
+	public VirtualLineSimulation copy() {
+		return new VirtualLineSimulation(this);
+	}
+
+	/**
+	 * Copy the specified order sequence. The finished flags are not copied,
+	 * as every step resets them.
+	 */
+	private static List<Optional<VirtualAssProc>> copyOf(List<Optional<VirtualAssProc>> seq) {
+		List<Optional<VirtualAssProc>> result = new ArrayList<Optional<VirtualAssProc>>(seq.size() + 1);
+		for (Optional<VirtualAssProc> proc : seq) {
+			if (proc.isPresent()) {
+				result.add(Optional.of(new VirtualAssProc(proc.get().getOrder())));
+			} else {
+				result.add(Optional.<VirtualAssProc> absent());
+			}
+		}
+		return result;
+	}
+
+	//--------------------------------------------------------------------------
+	// Simulation
+	//--------------------------------------------------------------------------
+	/**
+	 * Append the specified order to the orders that are put on the line,
+	 * after the orders that were appended before.
+	 *
+	 * @param order
+	 * 		The order to append.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| order == null
+	 */
+	public void append(Order order) throws IllegalArgumentException {
+		if (order == null) {
+			throw new IllegalArgumentException("Order cannot be null.");
+		}
+		// The sequence holds the waiting orders in front of the line, the
+		// last appended order first.
+		this.orderSeq.add(0, Optional.of(new VirtualAssProc(order)));
+		this.offset++;
+	}
+
+	/**
+	 * Simulate the next step of the line.
+	 *
+	 * @return The order that rolls off the line at the end of the step,
+	 * 		absent if there is none.
+	 */
+	public Optional<Order> step() {
+		TaskType[] taskTypeSeq = this.line.getTaskTypeSequence();
+		this.elapsedMinutes += this.line.minutesToFinishCurStep(this.orderSeq, this.offset, taskTypeSeq);
+
+		Optional<VirtualAssProc> last = this.orderSeq.get(this.orderSeq.size() - 1);
+		this.line.advanceOrderSeq(this.orderSeq, this.offset, taskTypeSeq);
+
+		while (this.offset > 0 && !this.orderSeq.get(0).isPresent()) {
+			this.orderSeq.remove(0);
+			this.offset--;
+		}
+		return last.isPresent() ? Optional.of(last.get().getOrder()) : Optional.<Order> absent();
+	}
+
+	/**
+	 * Simulate steps until the specified order rolls off the line.
+	 *
+	 * @param order
+	 * 		An order that is on the line or was appended.
+	 *
+	 * @return The elapsed minutes when the order rolls off.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| the order never rolls off this simulation
+	 */
+	public long advanceUntilFinished(Order order) throws IllegalArgumentException {
+		while (!this.isFinished()) {
+			Optional<Order> finished = this.step();
+			if (finished.isPresent() && finished.get() == order) {
+				return this.getElapsedMinutes();
+			}
+		}
+		throw new IllegalArgumentException("The order is not on this simulation.");
+	}
+
+	/**
+	 * Simulate the steps after which an appended order still waits to be put
+	 * on the line. Those steps do not depend on the orders appended later.
+	 *
+	 * @param completions
+	 * 		The map the elapsed minutes are put in of every order that rolls
+	 * 		off during these steps.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| completions == null
+	 */
+	public void advanceWhileQueued(Map<Order, Long> completions) throws IllegalArgumentException {
+		if (completions == null) {
+			throw new IllegalArgumentException("Completions cannot be null.");
+		}
+		while (this.hasQueuedOrders()) {
+			VirtualLineSimulation next = this.copy();
+			Optional<Order> rolledOff = next.step();
+			if (!next.hasQueuedOrders()) {
+				return;
+			}
+			this.orderSeq = next.orderSeq;
+			this.offset = next.offset;
+			this.elapsedMinutes = next.elapsedMinutes;
+			if (rolledOff.isPresent()) {
+				completions.put(rolledOff.get(), this.elapsedMinutes);
+			}
+		}
+	}
+
+	/**
+	 * Simulate steps until every order rolled off the line.
+	 *
+	 * @param completions
+	 * 		The map the elapsed minutes are put in of every order that rolls
+	 * 		off.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| completions == null
+	 */
+	public void advanceUntilFinished(Map<Order, Long> completions) throws IllegalArgumentException {
+		if (completions == null) {
+			throw new IllegalArgumentException("Completions cannot be null.");
+		}
+		while (!this.isFinished()) {
+			Optional<Order> rolledOff = this.step();
+			if (rolledOff.isPresent()) {
+				completions.put(rolledOff.get(), this.elapsedMinutes);
+			}
+		}
+	}
+
+	/**
+	 * Check whether an appended order still waits to be put on the line.
+	 *
+	 * @return True if an appended order is not on the line yet.
+	 */
+	public boolean hasQueuedOrders() {
+		for (int i = 0; i < this.offset; i++) {
+			if (this.orderSeq.get(i).isPresent()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check whether every order of this simulation rolled off the line.
+	 *
+	 * @return True if there are no orders left.
+	 */
+	public boolean isFinished() {
+		return this.line.orderSeqIsFinished(this.orderSeq);
+	}
+
+	/**
+	 * Get the number of minutes simulated by this VirtualLineSimulation.
+	 *
+	 * @return The elapsed minutes.
+	 */
+	public long getElapsedMinutes() {
+		return this.elapsedMinutes;
+	}
+
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/** The VirtualAssemblyLine this simulation started from. */
+	private final VirtualAssemblyLine line;
+
+	/** The waiting orders, last appended first, followed by the line. */
+	private List<Optional<VirtualAssProc>> orderSeq;
+
+	/** The number of entries of orderSeq in front of the line. */
+	private int offset;
+
+	/** The simulated minutes. */
+	private long elapsedMinutes;
+}
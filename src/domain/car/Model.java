@@ -1,7 +1,10 @@
 package domain.car;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import domain.assembly_line.TaskType;
 import util.annotations.Immutable;
@@ -36,10 +39,68 @@ public abstract class Model {
 	public Model(String modelName, List<OptionCategory> optionCategories,
 			int minsPerWorkPost) {
 		this.modelName = modelName;
-		this.optionCategories = optionCategories;
+		this.optionCategories = new ArrayList<>(optionCategories);
 		this.minsPerWorkPost = minsPerWorkPost;
+		this.optionIds = new HashMap<Option, Integer>();
+		this.numberOptions();
+		this.categoryIndices = this.indexCategories();
+		this.categoryOptionIds = this.indexCategoryOptions();
 	}
 	
+	//--------------------------------------------------------------------------
+	// Id
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the id of this Model. Ids are handed out densely from zero by the
+	 * first ModelCatalog this Model is put in, such that they can index
+	 * arrays and bit sets within one system. A Model that is not in a 
+	 * ModelCatalog has id zero; Models may thus share an id, which users of
+	 * the ids must allow for. Once read, the id of a Model no longer changes,
+	 * such that the ids copied into ModelSets and indices stay valid.
+	 * 
+	 * @return The id of this Model.
+	 */
+	public final int getId() {
+		if (!this.idRead) {
+			this.idRead = true;
+		}
+		return this.id;
+	}
+	
+	/**
+	 * Give this Model the specified id, unless it has been given one already.
+	 * 
+	 * @param id
+	 * 		The id of this Model in its ModelCatalog.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| id < 0
+	 * @throws IllegalStateException
+	 * 		When this Model has no id yet, but its default id was read.
+	 */
+	final void assignId(int id) throws IllegalArgumentException, IllegalStateException {
+		if (id < 0) {
+			throw new IllegalArgumentException("id cannot be negative.");
+		}
+		if (!this.hasId) {
+			if (this.idRead) {
+				throw new IllegalStateException("The id of Model " + this.modelName + 
+						" was read before it was put in a ModelCatalog.");
+			}
+			this.id = id;
+			this.hasId = true;
+		}
+	}
+	
+	/** The id of this Model. */
+	private int id;
+	
+	/** Whether this Model has been given its id by a ModelCatalog. */
+	private boolean hasId;
+	
+	/** Whether the id of this Model has been read. */
+	private boolean idRead;
+	
 	/** The name of this Model */
 	protected final String modelName;
 
@@ -58,6 +119,89 @@ public abstract class Model {
 	
 	/** The OptionCategories of this Model. */
 	protected final List<OptionCategory> optionCategories;
+	
+	/**
+	 * Number the options of this Model densely from zero, in the order of 
+	 * its OptionCategories. Equal options share their id. The ids are local
+	 * to this Model, such that every Model indexes only its own options.
+	 */
+	private void numberOptions() {
+		for(OptionCategory cat : this.optionCategories){
+			for(int i = 0; i < cat.getAmountOfOptions(); i++){
+				Option option = cat.getOption(i);
+				if(!this.optionIds.containsKey(option))
+					this.optionIds.put(option, this.optionIds.size());
+			}
+		}
+	}
+	
+	/**
+	 * Get the id of given option in this Model.
+	 * 
+	 * @return the id of the option, -1 if it is not an option of this Model
+	 */
+	private int getOptionId(Option option) {
+		Integer id = this.optionIds.get(option);
+		return id == null ? -1 : id;
+	}
+	
+	/** The id of every option of this Model */
+	private final Map<Option, Integer> optionIds;
+	
+	/**
+	 * Build the table of the index of the OptionCategory of every Option, by
+	 * the id of the Option.
+	 * 
+	 * @return the index of the first category containing every option id
+	 */
+	private int[] indexCategories() {
+		int[] result = new int[this.optionIds.size()];
+		for(int c = this.optionCategories.size() - 1; c >= 0; c--){
+			OptionCategory cat = this.optionCategories.get(c);
+			for(int i = 0; i < cat.getAmountOfOptions(); i++)
+				result[this.getOptionId(cat.getOption(i))] = c;
+		}
+		return result;
+	}
+	
+	/**
+	 * Build the set of the ids of the options of every OptionCategory.
+	 * 
+	 * @return the option ids of every category, by category index
+	 */
+	private BitSet[] indexCategoryOptions() {
+		BitSet[] result = new BitSet[this.optionCategories.size()];
+		for(int c = 0; c < result.length; c++){
+			OptionCategory cat = this.optionCategories.get(c);
+			result[c] = new BitSet(this.optionIds.size());
+			for(int i = 0; i < cat.getAmountOfOptions(); i++)
+				result[c].set(this.getOptionId(cat.getOption(i)));
+		}
+		return result;
+	}
+	
+	/** The ids of the options of every OptionCategory of this Model, by category index */
+	private final BitSet[] categoryOptionIds;
+	
+	/**
+	 * Get the index of the OptionCategory of this Model which contains given
+	 * option.
+	 * 
+	 * @param option
+	 * 		The option
+	 * 
+	 * @return the index of the first OptionCategory containing the option, -1
+	 * 		if no OptionCategory of this Model contains it
+	 */
+	private int getCategoryIndex(Option option) {
+		int optionId = this.getOptionId(option);
+		if(optionId < 0)
+			return -1;
+		return this.categoryIndices[optionId];
+	}
+	
+	/** The index of the OptionCategory of every Option of this Model, by option id */
+	private final int[] categoryIndices;
 
 	/**
 	 * Get the amount of OptionCategories that can be used when placing an order with
@@ -67,7 +211,7 @@ public abstract class Model {
 	 * 		   this Model
 	 */
 	public int getAmountOfOptionCategories() {
-		return this.getOptionCategories().size();
+		return this.optionCategories.size();
 	}
 
 	/**
@@ -108,12 +252,7 @@ public abstract class Model {
 	private boolean containsOption(Option option) throws IllegalArgumentException {
 		if(option == null)
 			throw new IllegalArgumentException("Option can not be null!");
-		for(OptionCategory cat : getOptionCategories()){
-			if(cat.containsOption(option)){
-				return true;
-			}
-		}
-		return false;
+		return this.getCategoryIndex(option) >= 0;
 	}
 
 	/**
@@ -178,8 +317,8 @@ public abstract class Model {
 	 * @return whether or not all given options are contained is this model
 	 */
 	private boolean checkContains(List<Option> options) {
-		for(Option opt: options){
-			if(!this.containsOption(opt))
+		for(int i = 0; i < options.size(); i++){
+			if(!this.containsOption(options.get(i)))
 				return false;
 		}
 		return true;
@@ -198,16 +337,13 @@ public abstract class Model {
 	 * 		Returns false if there are, true otherwise.
 	 */
 	private boolean checkNoDuplicates(List<Option> options) {
-		for(OptionCategory cat: getOptionCategories()){
-			boolean foundOne = false;
-			for(Option opt: options){
-				if(cat.containsOption(opt)){
-					if(foundOne){
-						return false;
-					} else{
-						foundOne = true;
-					}
-				}
+		for(int i = 0; i < options.size(); i++){
+			int category = this.getCategoryIndex(options.get(i));
+			if(category < 0)
+				continue;
+			for(int j = i + 1; j < options.size(); j++){
+				if(this.getCategoryIndex(options.get(j)) == category)
+					return false;
 			}
 		}
 		return true;
@@ -231,18 +367,10 @@ public abstract class Model {
 	 */
 	public OptionCategory getNextOptionCategory(List<Option> options)
 			throws NoOptionCategoriesRemainingException {
-		for(OptionCategory cat : this.getOptionCategories()){
-			if(cat.getAmountOfOptions()>1){
-				boolean containsNone = true;
-				for(Option opt : options){
-					if(cat.containsOption(opt))
-						containsNone = false;
-				}
-				if(containsNone)
-					return cat;
-			}
-		}
-		throw new NoOptionCategoriesRemainingException("No unfilled optionCategories remaining.");
+		int category = this.getNextUnfilledCategoryIndex(options);
+		if(category < 0)
+			throw new NoOptionCategoriesRemainingException("No unfilled optionCategories remaining.");
+		return this.optionCategories.get(category);
 	}
 
 	/**
@@ -256,16 +384,38 @@ public abstract class Model {
 	 * 		contain any of given options
 	 */
 	public boolean hasUnfilledOptions(List<Option> options) {
-		for(OptionCategory cat : this.getOptionCategories()){
-			if(cat.getAmountOfOptions()>1){
-				boolean isUnfilled = true;
-				for(Option opt : options){
-					if(cat.containsOption(opt))
-						isUnfilled = false;
-				}
-				if(isUnfilled)
-					return true;
-			}
+		return this.getNextUnfilledCategoryIndex(options) >= 0;
+	}
+	
+	/**
+	 * Get the index of the first optionCategory with more than one option
+	 * which contains none of given options.
+	 * 
+	 * @param options
+	 * 		The options to treat as already chosen
+	 * 
+	 * @return the index of the first unfilled optionCategory, -1 if there is
+	 * 		none
+	 */
+	private int getNextUnfilledCategoryIndex(List<Option> options) {
+		for(int c = 0; c < this.optionCategories.size(); c++){
+			if(this.optionCategories.get(c).getAmountOfOptions() > 1
+					&& !this.isFilled(c, options))
+				return c;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Check whether one of given options is in the optionCategory with given
+	 * index.
+	 */
+	private boolean isFilled(int category, List<Option> options) {
+		BitSet ids = this.categoryOptionIds[category];
+		for(int i = 0; i < options.size(); i++){
+			int id = this.getOptionId(options.get(i));
+			if(id >= 0 && ids.get(id))
+				return true;
 		}
 		return false;
 	}
@@ -280,7 +430,7 @@ public abstract class Model {
 	 */
 	public List<Option> getSolitaryOptions() {
 		List<Option> result = new ArrayList<>();
-		for(OptionCategory cat : this.getOptionCategories()){
+		for(OptionCategory cat : this.optionCategories){
 			if(cat.getAmountOfOptions()==1){
 				result.add(cat.getOption(0));
 			}
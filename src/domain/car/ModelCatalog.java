@@ -19,6 +19,8 @@ public class ModelCatalog {
 	//--------------------------------------------------------------------------
 	/**
 	 * Create a new modelCatalog with given list of models as models of the catalog.
+	 * The models are given their ids in the order of the list, followed by the
+	 * singleTaskModel, unless they already have one from another catalog.
 	 * 
 	 * @param normalOrderSessionModels
 	 * 		The list of models for normal orer sessions
@@ -27,15 +29,26 @@ public class ModelCatalog {
 	 * 
 	 * @throws IllegalArgumentException
 	 * 		If either the list of models or one of its elements is null
+	 * @throws IllegalStateException
+	 * 		If the id of a model without an id was read before, for instance
+	 * 		by a ModelSet or an AssemblyLine built before this catalog
 	 */
 	public ModelCatalog(List<Model> normalOrderSessionModels, Model singleTaskModel)
-			throws IllegalArgumentException{
+			throws IllegalArgumentException, IllegalStateException{
 		if(normalOrderSessionModels == null)
 			throw new IllegalArgumentException("List of system models should not be null");
 		if(normalOrderSessionModels.contains(null))
 			throw new IllegalArgumentException("List of system models should not contain null");
 		models = new ArrayList<>(normalOrderSessionModels);
 		this.singleTaskDefaultModel = singleTaskModel;
+		
+		// Number the models of this system densely, whatever was built before.
+		for (int i = 0; i < this.models.size(); i++) {
+			this.models.get(i).assignId(i);
+		}
+		if (singleTaskModel != null) {
+			singleTaskModel.assignId(this.models.size());
+		}
 	}	
 	
 	//--------------------------------------------------------------------------
@@ -0,0 +1,108 @@
+package domain.car;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+import util.annotations.Immutable;
+
+/**
+ * An immutable set of Models, such as the Models accepted by an
+ * AssemblyLine. Membership is tested on a bit mask of the ids of its Models,
+ * so contains does not hash and does not allocate.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@Immutable
+public final class ModelSet extends AbstractSet<Model> {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new ModelSet containing the specified Models.
+	 * 
+	 * @param models
+	 * 		The Models of the new ModelSet.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| models == null || models.contains(null)
+	 */
+	public ModelSet(Collection<? extends Model> models) throws IllegalArgumentException {
+		if (models == null) {
+			throw new IllegalArgumentException("models cannot be null.");
+		}
+		LinkedHashSet<Model> distinct = new LinkedHashSet<Model>();
+		for (Model model : models) {
+			if (model == null) {
+				throw new IllegalArgumentException("models cannot contain null.");
+			}
+			distinct.add(model);
+		}
+		
+		this.models = distinct.toArray(new Model[distinct.size()]);
+		this.ids = new BitSet();
+		for (Model model : this.models) {
+			this.ids.set(model.getId());
+		}
+	}
+	
+	//--------------------------------------------------------------------------
+	// Set methods
+	//--------------------------------------------------------------------------
+	/**
+	 * Check whether this ModelSet contains the specified object. The Models
+	 * with the id of the object are compared with it, which only takes more
+	 * than one comparison if Models share an id.
+	 */
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof Model) || !this.ids.get(((Model) o).getId())) {
+			return false;
+		}
+		for (Model model : this.models) {
+			if (model.equals(o)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Check whether the id of a Model of this ModelSet is set in the specified
+	 * BitSet.
+	 * 
+	 * @param ids
+	 * 		A BitSet of Model ids.
+	 * 
+	 * @return Whether ids contains the id of a Model of this ModelSet.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| ids == null
+	 */
+	public boolean intersects(BitSet ids) throws IllegalArgumentException {
+		if (ids == null) {
+			throw new IllegalArgumentException("ids cannot be null.");
+		}
+		return this.ids.intersects(ids);
+	}
+	
+	@Override
+	public Iterator<Model> iterator() {
+		return Arrays.asList(this.models).iterator();
+	}
+
+	@Override
+	public int size() {
+		return this.models.length;
+	}
+	
+	/** The Models of this ModelSet, in the order they were specified. */
+	private final Model[] models;
+	
+	/** The ids of the Models of this ModelSet. */
+	private final BitSet ids;
+}
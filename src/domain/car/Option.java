@@ -113,6 +113,18 @@ public class Option {
 	// Class Methods
 	//-------------------------------------------------------------------------
 
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((optionName == null) ? 0 : optionName.hashCode());
+		result = prime * result + ((optionType == null) ? 0 : optionType.hashCode());
+		return result;
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#equals(java.lang.Object)
 	 */
@@ -1,6 +1,7 @@
 package domain.car;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 public class OptionCategory {
@@ -27,6 +28,7 @@ public class OptionCategory {
 			throw new IllegalArgumentException("One of given options is null.");
 		this.options = new ArrayList<>(options);
 		this.name = categoryName;
+		this.optionSet = new HashSet<>(options);
 	}
 	
 	//-------------------------------------------------------------------------
@@ -48,18 +50,10 @@ public class OptionCategory {
 	
 	/** The list of options this OptionCategory encompasses  */
 	private final ArrayList<Option> options;
-
-	/**
-	 * Get the Option objects contained in this OptionCategory.
-	 * This method returns a copy of the list with the same elements, and the
-	 * same order as the original list.
-	 * 
-	 * @return a list with the options of this category.
-	 */
-	private ArrayList<Option> getOptions() {
-		return new ArrayList<>(options);
-	}
 	
+	/** The options this OptionCategory encompasses, for lookups */
+	private final HashSet<Option> optionSet;
+
 	/**
 	 * Get the option at a given index in the list of options in this category object.
 	 * 
@@ -73,7 +67,7 @@ public class OptionCategory {
 	public Option getOption(int optionNb) throws IllegalArgumentException{
 		if(optionNb<0 || optionNb>=this.getAmountOfOptions())
 			throw new IllegalArgumentException("Selected optionNb is not valid. It is either too small or large.");
-		return this.getOptions().get(optionNb);
+		return this.options.get(optionNb);
 	}
 	
 	/**
@@ -94,11 +88,7 @@ public class OptionCategory {
 	 * 		Whether or not the option is contained in this category
 	 */
 	public boolean containsOption(Option option) {
-		for(Option catOpt : this.getOptions()){
-			if(catOpt.equals(option))
-				return true;
-		}
-		return false;
+		return option != null && this.optionSet.contains(option);
 	}
 	
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package domain.car;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A SpecificationTable interns Specifications: it numbers every distinct
+ * Specification it is given, and hands out the first one it was given for
+ * every equal one after it. Orders made with interned Specifications share
+ * them, such that a large backlog of orders does not hold a copy of the
+ * options of every order, and such that comparing the Specifications of
+ * two orders mostly ends at their identity. The orders themselves are still
+ * full objects; only their Specifications are shared.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class SpecificationTable {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new empty SpecificationTable.
+	 */
+	public SpecificationTable() {
+		this.ids = new HashMap<Specification, Integer>();
+		this.specifications = new ArrayList<Specification>();
+	}
+
+	/** The id of every interned Specification. */
+	private final Map<Specification, Integer> ids;
+
+	/** The interned Specification of every id. */
+	private final List<Specification> specifications;
+
+	//--------------------------------------------------------------------------
+	// Interning
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the interned Specification equal to the specified Specification,
+	 * interning it if there is none yet.
+	 *
+	 * @param specification
+	 * 		The Specification.
+	 *
+	 * @return The first Specification given to this table that is equal to
+	 * 		the specified Specification.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| specification == null
+	 */
+	public Specification intern(Specification specification) throws IllegalArgumentException {
+		return this.specifications.get(this.getId(specification));
+	}
+
+	/**
+	 * Get the id of the specified Specification, interning it if it is not
+	 * interned yet. Ids are handed out from 0 onwards.
+	 *
+	 * @param specification
+	 * 		The Specification.
+	 *
+	 * @return The id of the interned Specification equal to specification.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| specification == null
+	 */
+	public int getId(Specification specification) throws IllegalArgumentException {
+		if (specification == null) {
+			throw new IllegalArgumentException("Specification cannot be null.");
+		}
+		Integer id = this.ids.get(specification);
+		if (id == null) {
+			id = this.specifications.size();
+			this.ids.put(specification, id);
+			this.specifications.add(specification);
+		}
+		return id;
+	}
+
+	/**
+	 * Get the interned Specification with the specified id.
+	 *
+	 * @param id
+	 * 		The id of the Specification.
+	 *
+	 * @return The interned Specification with the id.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| id < 0 || id >= getNbOfSpecifications()
+	 */
+	public Specification getSpecification(int id) throws IllegalArgumentException {
+		if (id < 0 || id >= this.getNbOfSpecifications()) {
+			throw new IllegalArgumentException("No specification has this id.");
+		}
+		return this.specifications.get(id);
+	}
+
+	/**
+	 * @return The number of interned Specifications.
+	 */
+	public int getNbOfSpecifications() {
+		return this.specifications.size();
+	}
+}
@@ -1,5 +1,6 @@
 package domain.clock;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -9,6 +10,11 @@ import java.util.PriorityQueue;
 import java.util.Set;
 
 import domain.DateTime;
+import domain.metrics.Counter;
+import domain.metrics.FlightRecorderSupport;
+import domain.metrics.Gauge;
+import domain.metrics.Histogram;
+import domain.metrics.MetricsRegistry;
 
 /**
  * The ClockManager is the object that manages the internal Clock of the whole
@@ -266,17 +272,96 @@ public class Clock implements TimeSubject, EventConsumer{
 	 */
 	private void checkFireEvent() {
 		if (this.mustFireEvent()) {
-			List<TimeEvent> toFire = this.nextToFireEvents();
-			if(!toFire.isEmpty()){
-				this.setCurrentTime(toFire.get(0).getGlobalTime());
+			long start = System.nanoTime();
+			ClockFireRecording fireEvent = FlightRecorderSupport.isAvailable() ?
+					ClockFireEvent.start() : ClockFireRecording.NONE;
+			
+			// Firing can nest when an activation adds an event, so the events of
+			// a nested firing are stacked on top of the group that is firing,
+			// and the group is restored after.
+			int previousStart = this.firingStart;
+			int previousEnd = this.firingEnd;
+			int previousIndex = this.firingIndex;
+			this.firingStart = this.firing.size();
+			this.pollNextToFireEvents();
+			this.firingEnd = this.firing.size();
+			int nbToFire = this.firingEnd - this.firingStart;
+			
+			int actorsWaiting = this.getEventQueue().size();
+			this.eventQueueDepth.set(actorsWaiting);
+			if (nbToFire > 0) {
+				this.setCurrentTime(this.firing.get(this.firingStart).getGlobalTime());
 			}
-			for (TimeEvent event : toFire) {
-				event.activate();
+			DateTime fireTime = this.getCurrentTime();
+			
+			try {
+				for (this.firingIndex = this.firingStart; this.firingIndex < this.firingEnd; this.firingIndex++) {
+					this.firing.get(this.firingIndex).activate();
+				}
+			} finally {
+				while (this.firing.size() > this.firingStart) {
+					this.firing.remove(this.firing.size() - 1);
+				}
+				this.firingStart = previousStart;
+				this.firingEnd = previousEnd;
+				this.firingIndex = previousIndex;
 			}
 			
+			fireEvent.end();
+			this.eventsFired.add(nbToFire);
+			this.fireTime.record(System.nanoTime() - start);
+			if (fireEvent.shouldCommit()) {
+				fireEvent.commit(nbToFire, actorsWaiting, this.getNumRegisteredActors(),
+						fireTime.getInMinutes());
+			}
 		}
 	}
 	
+	/**
+	 * Get the actors of the events that are being fired at the current time 
+	 * and that have not finished activating yet, including the actor that
+	 * is activating, in the order in which they are activated.
+	 * 
+	 * @return A read-only view of the actors that activate at the current
+	 * 		time from now on, empty if no events are being fired. The view
+	 * 		follows the firing, so it should not be kept after the activation.
+	 */
+	public List<EventActor> getActorsToActivate() {
+		return this.actorsToActivate;
+	}
+	
+	/** The read-only view of the actors that activate from now on. */
+	private final List<EventActor> actorsToActivate = new AbstractList<EventActor>() {
+		@Override
+		public EventActor get(int index) {
+			if (index < 0 || index >= this.size()) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size());
+			}
+			return firing.get(firingIndex + index).getActor();
+		}
+		
+		@Override
+		public int size() {
+			return firingEnd - firingIndex;
+		}
+	};
+	
+	/**
+	 * The events that are being fired, the events of a nested firing on top
+	 * of those of the firing it is nested in. The buffer is reused by every
+	 * firing.
+	 */
+	private final List<TimeEvent> firing = new ArrayList<TimeEvent>();
+	
+	/** The index in firing of the first event of the group that is firing. */
+	private int firingStart;
+	
+	/** The index in firing after the last event of the group that is firing. */
+	private int firingEnd;
+	
+	/** The index in firing of the event of the actor that is activating. */
+	private int firingIndex;
+	
 	/**
 	 * @return Whether an event must be fired.
 	 */
@@ -285,27 +370,51 @@ public class Clock implements TimeSubject, EventConsumer{
 	}
 	
 	/**
-	 * @return The events that must be fired. All events contained
-	 * in the list have the same global time.
+	 * Remove the events that must be fired from the event queue and add them
+	 * to the events that are being fired. All these events have the same
+	 * global time.
 	 */
-	private List<TimeEvent> nextToFireEvents() {
-		List<TimeEvent> toReturn = new ArrayList<TimeEvent>();
-
-		TimeEvent event = this.getEventQueue().poll();
-		toReturn.add(event);
+	private void pollNextToFireEvents() {
+		TimeEvent first = this.getEventQueue().poll();
+		this.firing.add(first);
 
 		boolean addNoMore = false;
 
 		do {
 			TimeEvent potentialToFire = this.getEventQueue().peek();
-			if (potentialToFire == null || toReturn.get(0).compareTo(potentialToFire) != 0) {
+			if (potentialToFire == null || first.compareTo(potentialToFire) != 0) {
 				addNoMore = true;
 			} else {
-				toReturn.add(this.getEventQueue().poll());
+				this.firing.add(this.getEventQueue().poll());
 			}
 		} while(! addNoMore);
-
-		return toReturn;
 	}
 
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Report the metrics of this Clock in the specified MetricsRegistry from
+	 * now on. Until then, they are not reported.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this Clock.
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	public void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.eventsFired = registry.counter("clock.events.fired");
+		this.fireTime = registry.histogram("clock.fire.nanos");
+		this.eventQueueDepth = registry.gauge("clock.queue.depth");
+	}
+	
+	/** The number of events fired by this Clock. */
+	private Counter eventsFired = new Counter();
+	/** The time taken to fire a group of events, including their activation. */
+	private Histogram fireTime = new Histogram();
+	/** The depth of the event queue last updated. */
+	private Gauge eventQueueDepth = new Gauge();
 }
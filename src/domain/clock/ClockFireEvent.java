@@ -0,0 +1,58 @@
+package domain.clock;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of the Clock firing the events scheduled at the
+ * earliest time, including their activation.
+ * 
+ * Only create it through start(), where the Flight Recorder is present; see
+ * FlightRecorderSupport.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ */
+@Name("swop.ClockFire")
+@Label("Clock Fire")
+@Category({ "SWOP", "Clock" })
+@Description("The Clock moved the system time and activated the actors of the earliest events.")
+class ClockFireEvent extends Event implements ClockFireRecording {
+	@Label("Events Fired")
+	@Description("The number of events fired at the new time.")
+	int eventsFired;
+	
+	@Label("Actors Waiting")
+	@Description("The number of events still queued after the fired events were taken off the queue.")
+	int actorsWaiting;
+	
+	@Label("Registered Actors")
+	@Description("The number of actors registered with the Clock.")
+	int registeredActors;
+	
+	@Label("Time")
+	@Description("The new system time, in minutes since the start.")
+	long time;
+	
+	/**
+	 * Create a new ClockFireEvent and begin timing it.
+	 * 
+	 * @return The new ClockFireEvent.
+	 */
+	static ClockFireRecording start() {
+		ClockFireEvent result = new ClockFireEvent();
+		result.begin();
+		return result;
+	}
+	
+	@Override
+	public void commit(int eventsFired, int actorsWaiting, int registeredActors, long time) {
+		this.eventsFired = eventsFired;
+		this.actorsWaiting = actorsWaiting;
+		this.registeredActors = registeredActors;
+		this.time = time;
+		this.commit();
+	}
+}
@@ -0,0 +1,40 @@
+package domain.clock;
+
+/**
+ * A ClockFireRecording records a single firing of a Clock. It is a
+ * ClockFireEvent where the Flight Recorder is present, and NONE otherwise.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ */
+interface ClockFireRecording {
+	/**
+	 * End the timing of the firing.
+	 */
+	void end();
+
+	/**
+	 * @return Whether the recording is kept, such that its values are needed.
+	 */
+	boolean shouldCommit();
+
+	/**
+	 * Keep the recording with the specified values.
+	 */
+	void commit(int eventsFired, int actorsWaiting, int registeredActors, long time);
+
+	/** The ClockFireRecording that records nothing. */
+	ClockFireRecording NONE = new ClockFireRecording() {
+		@Override
+		public void end() {
+		}
+
+		@Override
+		public boolean shouldCommit() {
+			return false;
+		}
+
+		@Override
+		public void commit(int eventsFired, int actorsWaiting, int registeredActors, long time) {
+		}
+	};
+}
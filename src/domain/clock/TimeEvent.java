@@ -53,7 +53,7 @@ public class TimeEvent implements Comparable<TimeEvent> {
 	/**
 	 * @return The object that takes an action when the event is executed
 	 */
-	private EventActor getActor() {
+	EventActor getActor() {
 		return actor;
 	}
 	
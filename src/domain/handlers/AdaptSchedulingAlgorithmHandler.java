@@ -92,6 +92,15 @@ public class AdaptSchedulingAlgorithmHandler {
 		this.getManufacturer().setBatchAlgorithm(batch);
 	}
 	
+	//--------------------------------------------------------------------------
+	// Automatic batch flow
+	/**
+	 * Set the currently used SchedulingAlgorithm to the automatic batch algorithm
+	 */
+	public void setAutoBatchAlgorithm() {
+		this.getManufacturer().setAutoBatchAlgorithm();
+	}
+	
 	//--------------------------------------------------------------------------
 	// Properties
 	//--------------------------------------------------------------------------
@@ -3,9 +3,12 @@ package domain.handlers;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.common.base.Optional;
+
 import domain.DateTime;
 import domain.Manufacturer;
 import domain.car.Specification;
+import domain.order.OrderStatus;
 import domain.order.OrderView;
 import exceptions.OrderDoesNotExistException;
 
@@ -223,6 +226,46 @@ public class CheckOrderDetailsHandler {
 		this.currentObservedOrder = this.getPendingSnapshot().get(orderIndex);
 		this.setDeprecatedState(true);
 	}
+	
+	/**
+	 * Select the order with given order number, without using the snapshots.
+	 * Both snapshots are then deprecated and can not be used anymore.
+	 * 
+	 * @param orderNumber
+	 * 		The order number of the wanted order
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		When there is no order with the given order number
+	 */
+	public void selectOrder(int orderNumber) throws IllegalArgumentException {
+		Optional<OrderView> order = this.getManufacturer().getOrder(orderNumber);
+		if(!order.isPresent())
+			throw new IllegalArgumentException("There is no order with number " + orderNumber + ".");
+		this.currentObservedOrder = order.get();
+		this.setDeprecatedState(true);
+	}
+	
+	/**
+	 * Get a page of the orders with given status, without using the snapshots.
+	 * The orders are sorted by ascending order number; the next page starts
+	 * after the order number of the last order of this page.
+	 * 
+	 * @param status
+	 * 		The status of the orders
+	 * @param fromOrderNumber
+	 * 		The smallest order number of the page
+	 * @param max
+	 * 		The largest number of orders of the page
+	 * 
+	 * @return a list of at most max orders with the status
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		When the status is null or max is negative
+	 */
+	public List<OrderView> getOrdersContainers(OrderStatus status, int fromOrderNumber, int max)
+			throws IllegalArgumentException {
+		return this.getManufacturer().getOrders(status, fromOrderNumber, max);
+	}
 
 	//--------------------------------------------------------------------------
 
@@ -272,6 +315,43 @@ public class CheckOrderDetailsHandler {
 		return this.getCurrentObservedOrder().isCompleted();
 	}
 	
+	/**
+	 * Get the status of the currently observed Order, if there is one.
+	 * 
+	 * @return the status of the order
+	 * 
+	 * @throws IllegalStateException
+	 * 		If this method is called when no order is set
+	 * @throws IllegalStateException
+	 * 		If the order is no longer known to the system
+	 */
+	public OrderStatus getCurrentOrderStatus(){
+		if(!orderIsSet())
+			throw new IllegalStateException("No order has been set!");
+		Optional<OrderStatus> status = 
+				this.getManufacturer().getOrderStatus(this.getCurrentObservedOrder().getOrderNumber());
+		if(!status.isPresent())
+			throw new IllegalStateException("The order is no longer known to the system!");
+		return status.get();
+	}
+	
+	/**
+	 * Get the position of the currently observed Order in the queue of the
+	 * production schedule, if there is one. The first order in line has
+	 * position 0.
+	 * 
+	 * @return the position of the order, absent if it is not waiting in the
+	 * 		queue of standard orders
+	 * 
+	 * @throws IllegalStateException
+	 * 		If this method is called when no order is set
+	 */
+	public Optional<Integer> getCurrentOrderQueuePosition(){
+		if(!orderIsSet())
+			throw new IllegalStateException("No order has been set!");
+		return this.getManufacturer().getQueuePosition(this.getCurrentObservedOrder());
+	}
+	
 	/**
 	 * Get the Completion Time of the currently observed Order, if there is one.
 	 * 
@@ -332,4 +412,23 @@ public class CheckOrderDetailsHandler {
 			throw new IllegalArgumentException("Order cannot be null.");
 		return this.getManufacturer().getEstimatedCompletionTime(order);
 	}
+	
+	/**
+	 * Get the position of given order in the queue of the production
+	 * schedule. The first order in line has position 0.
+	 * 
+	 * @param order
+	 * 		The order to check for
+	 * 
+	 * @return the position of the order, absent if it is not waiting in the
+	 * 		queue of standard orders
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		If the order is null
+	 */
+	public Optional<Integer> getQueuePosition(OrderView order) throws IllegalArgumentException {
+		if(order == null)
+			throw new IllegalArgumentException("Order cannot be null.");
+		return this.getManufacturer().getQueuePosition(order);
+	}
 }
@@ -233,6 +233,12 @@ public class DomainFacade {
 		this.getAdaptSchedulingAlgorithmHandler().setBatchAlgorithm(batch);
 	}
 
+	//--------------------------------------------------------------------------
+	// Automatic batch flow
+	public void setAutoBatchAlgorithm() {
+		this.getAdaptSchedulingAlgorithmHandler().setAutoBatchAlgorithm();
+	}
+
 	//--------------------------------------------------------------------------
 
 	//--------------------------------------------------------------------------
@@ -485,6 +491,24 @@ public class DomainFacade {
 		return this.getNewOrderSessionHandler().getNextOptionCategory();
 			}
 
+	/**
+	 * Get the options of the next unchosen OptionCategory which can still lead
+	 * to an order that passes the system's restrictions.
+	 * 
+	 * @return the selectable options of the next unchosen OptionCategory
+	 * 
+	 * @throws NoOptionCategoriesRemainingException
+	 * 		When no optionCategories are unfilled anymore
+	 * @throws IllegalStateException
+	 * 		If there is no active OrderSession
+	 */
+	public List<Option> getSelectableOptions()
+			throws NoOptionCategoriesRemainingException,
+			IllegalStateException
+	{
+		return this.getNewOrderSessionHandler().getSelectableOptions();
+	}
+
 	/**
 	 * Add the given option to the current OrderSession specification
 	 * 
@@ -494,6 +518,9 @@ public class DomainFacade {
 	 * 		If the option is null or not an option of the given unfilled category
 	 * @throws NoOptionCategoriesRemainingException
 	 * 		When no optionCategories are unfulfilled anymore
+	 * @throws OptionRestrictionException
+	 * 		If the option cannot lead to an order that passes the system's
+	 * 		restrictions
 	 */
 	public void selectOption(Option option) throws IllegalArgumentException, NoOptionCategoriesRemainingException{
 		if(option == null)
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import domain.DateTime;
@@ -14,9 +15,11 @@ import domain.assembly_line.AssemblyLineBuilder;
 import domain.assembly_line.AssemblyLineController;
 import domain.assembly_line.AssemblyLineFacade;
 import domain.assembly_line.BrokenState;
+import domain.assembly_line.CompletionForecast;
 import domain.assembly_line.MaintenanceState;
 import domain.assembly_line.OperationalState;
 import domain.assembly_line.StateCatalog;
+import domain.assembly_line.TaskDurationTable;
 import domain.assembly_line.TaskType;
 import domain.car.CarModel;
 import domain.car.Model;
@@ -27,8 +30,10 @@ import domain.car.TruckModel;
 import domain.clock.Clock;
 import domain.clock.ClockManipulator;
 import domain.initialdata.InitialDataLoader;
+import domain.metrics.MetricsRegistry;
 import domain.order.CompletedOrderCatalog;
 import domain.order.OrderFactory;
+import domain.order.OrderStatusRegistry;
 import domain.order.SingleTaskCatalog;
 import domain.order.StandardOrder;
 import domain.production_schedule.SchedulerContext;
@@ -59,8 +64,61 @@ public class InitialisationHandler {
 	/**
 	 * Construct the initialisationhandler, which in turn sets up a domainfacade,
 	 * by constructing all necessary components and putting them together.
+	 * The default line layout is used and the InitialDataLoader is seeded
+	 * randomly.
 	 */
 	public InitialisationHandler(){
+		this(getDefaultLineLayout(), new Random(), MetricsRegistry.getDefault());
+	}
+	
+	/**
+	 * Construct the initialisationhandler with the given line layout and
+	 * source of randomness. Every call builds a completely new and independent
+	 * object graph, such that several systems can be constructed and run side
+	 * by side. The system reports its metrics in a MetricsRegistry of its own.
+	 * 
+	 * @param lineLayout
+	 * 		For each AssemblyLine to build, the names of the Models it accepts.
+	 * @param random
+	 * 		The source of randomness used by the InitialDataLoader.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| lineLayout == null || lineLayout.isEmpty() || random == null ||
+	 * 		| lineLayout contains an empty layout or an unknown Model name
+	 */
+	public InitialisationHandler(List<List<String>> lineLayout, Random random)
+			throws IllegalArgumentException {
+		this(lineLayout, random, new MetricsRegistry());
+	}
+	
+	/**
+	 * Construct the initialisationhandler with the given line layout and
+	 * source of randomness, of which the system reports its metrics in the 
+	 * given MetricsRegistry.
+	 * 
+	 * @param lineLayout
+	 * 		For each AssemblyLine to build, the names of the Models it accepts.
+	 * @param random
+	 * 		The source of randomness used by the InitialDataLoader.
+	 * @param metrics
+	 * 		The MetricsRegistry of the new system.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| lineLayout == null || lineLayout.isEmpty() || random == null ||
+	 * 		| metrics == null || 
+	 * 		| lineLayout contains an empty layout or an unknown Model name
+	 */
+	public InitialisationHandler(List<List<String>> lineLayout, Random random, 
+			MetricsRegistry metrics) throws IllegalArgumentException {
+		if (lineLayout == null || lineLayout.isEmpty()) {
+			throw new IllegalArgumentException("lineLayout cannot be null or empty.");
+		}
+		if (random == null) {
+			throw new IllegalArgumentException("random cannot be null.");
+		}
+		if (metrics == null) {
+			throw new IllegalArgumentException("metrics cannot be null.");
+		}
 
 		//----------------------------------------------------------------------
 		// Initialise Options
@@ -552,23 +610,24 @@ public class InitialisationHandler {
 
 		AssemblyLineBuilder proBuilder = new AssemblyLineBuilder();
 		List<AssemblyLineFacade> lines = new ArrayList<>();
+		List<AssemblyLine> assemblyLines = new ArrayList<>();
+		List<AssemblyLineController> controllers = new ArrayList<>();
 		
-		proBuilder.addToDesiredModels(modelA);
-		proBuilder.addToDesiredModels(modelB);
-		AssemblyLine line1 = proBuilder.buildAssemblyLine(clock);
-		proBuilder.addToDesiredModels(modelC);
-		AssemblyLine line2 = proBuilder.buildAssemblyLine(clock);
-		proBuilder.addToDesiredModels(modelX);
-		proBuilder.addToDesiredModels(modelY);
-		AssemblyLine line3 = proBuilder.buildAssemblyLine(clock);
-		
-		AssemblyLineController line1Controller =  new AssemblyLineController(schedule, clock);
-		AssemblyLineController line2Controller =  new AssemblyLineController(schedule, clock);
-		AssemblyLineController line3Controller =  new AssemblyLineController(schedule, clock);
-		
-		lines.add(new AssemblyLineFacade(line1, line1Controller));
-		lines.add(new AssemblyLineFacade(line2, line2Controller));
-		lines.add(new AssemblyLineFacade(line3, line3Controller));		
+		for (List<String> acceptedModelNames : lineLayout) {
+			if (acceptedModelNames == null || acceptedModelNames.isEmpty()) {
+				throw new IllegalArgumentException("A line layout cannot be null or empty.");
+			}
+			proBuilder.clearModels();
+			for (String name : acceptedModelNames) {
+				proBuilder.addToDesiredModels(findModel(normalOrderSessionModels, name));
+			}
+			AssemblyLine line = proBuilder.buildAssemblyLine(clock);
+			AssemblyLineController lineController = new AssemblyLineController(schedule, clock);
+			
+			assemblyLines.add(line);
+			controllers.add(lineController);
+			lines.add(new AssemblyLineFacade(line, lineController));
+		}
 		
 		StatisticsLogger logger = new StatisticsLogger();
 		CarsProducedRegistrar prodRegistrar = new CarsProducedRegistrar();
@@ -595,24 +654,24 @@ public class InitialisationHandler {
 		clock.attachTimeObserver(complCat);
 
 		//CompletedOrderObservers
-		line1.attachObserver(logger);
-		line1.attachObserver(complCat);
-		line2.attachObserver(logger);
-		line2.attachObserver(complCat);
-		line3.attachObserver(logger);
-		line3.attachObserver(complCat);
-		
-//		schedule.attachOrderObserver(line1Controller);
-//		schedule.attachOrderObserver(line2Controller);
-//		schedule.attachOrderObserver(line3Controller);
+		for (AssemblyLine line : assemblyLines) {
+			line.attachObserver(logger);
+			line.attachObserver(complCat);
+		}
 		
-		clock.register(line1Controller);
-		clock.register(line2Controller);
-		clock.register(line3Controller);
+		//OrderStatusRegistry
+		OrderStatusRegistry statusRegistry = new OrderStatusRegistry();
+		schedule.setOrderStatusRegistry(statusRegistry);
+		floor.setOrderStatusRegistry(statusRegistry);
+		floor.setTaskDurationTable(new TaskDurationTable());
+		floor.setCompletionForecast(new CompletionForecast(schedule));
 		
-		clock.constructEvent(new DateTime(0, 6, 0), line1Controller);
-		clock.constructEvent(new DateTime(0, 6, 0), line2Controller);
-		clock.constructEvent(new DateTime(0, 6, 0), line3Controller);
+		for (AssemblyLineController lineController : controllers) {
+			clock.register(lineController);
+		}
+		for (AssemblyLineController lineController : controllers) {
+			clock.constructEvent(new DateTime(0, 6, 0), lineController);
+		}
 		
 		//----------------------------------------------------------------------
 		// Initialise Manufacturer
@@ -629,7 +688,9 @@ public class InitialisationHandler {
 				clock,
 				schedule,
 				estTimeCat,
-				stateCat);
+				stateCat,
+				statusRegistry);
+		manufacturer.setMetricsRegistry(metrics);
 
 		//----------------------------------------------------------------------
 		// Initialise Handlers
@@ -670,8 +731,51 @@ public class InitialisationHandler {
 		// Initialdataloader setup
 		//--------------------------------------------------------------------------
 		ClockManipulator manipulator = new ClockManipulator(clock);
-		loader = new InitialDataLoader(domainFacade, manufacturer, manipulator);
-
+		this.loader = new InitialDataLoader(domainFacade, manufacturer, manipulator, random);
+		this.manufacturer = manufacturer;
+		this.carsProducedRegistrar = prodRegistrar;
+		this.delayRegistrar = delayRegistrar;
+	}
+	
+	//--------------------------------------------------------------------------
+	// Line layout
+	//--------------------------------------------------------------------------
+	
+	/**
+	 * Get the line layout of the default system: a line accepting Model A
+	 * and B, a line accepting Model A, B and C and a line accepting all Models.
+	 * 
+	 * @return A new list containing, per AssemblyLine, the names of the Models
+	 * 		it accepts.
+	 */
+	public static List<List<String>> getDefaultLineLayout() {
+		List<List<String>> result = new ArrayList<>();
+		result.add(Arrays.asList("Model A", "Model B"));
+		result.add(Arrays.asList("Model A", "Model B", "Model C"));
+		result.add(Arrays.asList("Model A", "Model B", "Model C", "Model X", "Model Y"));
+		return result;
+	}
+	
+	/**
+	 * Find the Model with the given name in the given list of Models.
+	 * 
+	 * @param models
+	 * 		The Models to search.
+	 * @param name
+	 * 		The name of the Model to find.
+	 * 
+	 * @return The Model in models with the given name.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| no Model in models has the given name
+	 */
+	private static Model findModel(List<Model> models, String name) throws IllegalArgumentException {
+		for (Model model : models) {
+			if (model.getName().equals(name)) {
+				return model;
+			}
+		}
+		throw new IllegalArgumentException("No Model with name " + name + " exists.");
 	}
 
 	//--------------------------------------------------------------------------
@@ -701,6 +805,42 @@ public class InitialisationHandler {
 	
 	private final InitialDataLoader loader;
 	
+	/**
+	 * Get the Manufacturer of the set up system.
+	 * 
+	 * @return The Manufacturer of the set up system.
+	 */
+	public Manufacturer getManufacturer() {
+		return this.manufacturer;
+	}
+	
+	/** The Manufacturer of the set up system. */
+	private final Manufacturer manufacturer;
+	
+	/**
+	 * Get the CarsProducedRegistrar of the set up system.
+	 * 
+	 * @return The CarsProducedRegistrar of the set up system.
+	 */
+	public CarsProducedRegistrar getCarsProducedRegistrar() {
+		return this.carsProducedRegistrar;
+	}
+	
+	/** The CarsProducedRegistrar of the set up system. */
+	private final CarsProducedRegistrar carsProducedRegistrar;
+	
+	/**
+	 * Get the DelayRegistrar of the set up system.
+	 * 
+	 * @return The DelayRegistrar of the set up system.
+	 */
+	public DelayRegistrar getDelayRegistrar() {
+		return this.delayRegistrar;
+	}
+	
+	/** The DelayRegistrar of the set up system. */
+	private final DelayRegistrar delayRegistrar;
+	
 	//--------------------------------------------------------------------------
 	// Setup method for iteration 3
 	//--------------------------------------------------------------------------
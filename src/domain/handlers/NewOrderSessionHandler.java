@@ -175,6 +175,26 @@ public class NewOrderSessionHandler {
 		return getCurrentOrderSession().getNextOptionCategory();
 	}
 
+	/**
+	 * Return the options of the next option category which can still lead to
+	 * an order that passes the system's restrictions.
+	 * 
+	 * @return  The selectable options of the next option category.
+	 * 
+	 * @throws IllegalStateException
+	 *		If there is no active new order session.
+	 * @throws NoOptionCategoriesRemainingException
+	 * 		When no optionCategories are unfilled anymore
+	 */
+	public List<Option> getSelectableOptions()
+			throws IllegalStateException,
+			NoOptionCategoriesRemainingException
+	{
+		if(!isRunningNewOrderSession())
+			throw new IllegalStateException("No active order session.");
+		return getCurrentOrderSession().getSelectableOptions();
+	}
+
 	/**
 	 * Select the option passed as the argument in the active new order session.
 	 * 
@@ -185,6 +205,9 @@ public class NewOrderSessionHandler {
 	 *		If there is no active new order session.
 	 * @throws NoOptionCategoriesRemainingException
 	 * 		When no optionCategories are unfulfilled anymore
+	 * @throws OptionRestrictionException
+	 * 		When the option cannot lead to an order that passes the system's
+	 * 		restrictions
 	 */
 	public void selectOption(Option option) throws IllegalStateException, NoOptionCategoriesRemainingException{
 		if(!isRunningNewOrderSession())
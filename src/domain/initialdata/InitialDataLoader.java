@@ -9,14 +9,11 @@ import domain.assembly_line.AssemblyTaskView;
 import domain.assembly_line.WorkPostView;
 import domain.car.Model;
 import domain.car.Option;
-import domain.car.OptionCategory;
 import domain.clock.ClockManipulator;
 import domain.handlers.DomainFacade;
 import domain.handlers.OrderSingleTaskHandler;
-import domain.order.OrderView;
 import domain.order.SingleTaskOrder;
 import domain.order.StandardOrder;
-import exceptions.OptionRestrictionException;
 
 /**
  * Class which can manipulate the domainfacade of a system to add initial data
@@ -41,9 +38,30 @@ public class InitialDataLoader {
 	 * 		The manufacturer to load the data into
 	 */
 	public InitialDataLoader(DomainFacade domain, Manufacturer manuf, ClockManipulator manip){
+		this(domain, manuf, manip, new Random());
+	}
+	
+	/**
+	 * Create a new initialDataLoader for given manufacturer, which draws all
+	 * its random choices from the given Random. Loaders with equally seeded
+	 * Randoms place the same orders.
+	 * 
+	 * @param manu
+	 * 		The manufacturer to load the data into
+	 * @param random
+	 * 		The source of randomness of this loader
+	 * @throws IllegalArgumentException
+	 * 		| random == null
+	 */
+	public InitialDataLoader(DomainFacade domain, Manufacturer manuf,
+			ClockManipulator manip, Random random) throws IllegalArgumentException {
+		if (random == null) {
+			throw new IllegalArgumentException("random cannot be null.");
+		}
 		this.domainFacade = domain;
 		this.manufacturer = manuf;
 		this.clockMan = manip;
+		this.random = random;
 	}
 	
 	//--------------------------------------------------------------------------
@@ -83,6 +101,17 @@ public class InitialDataLoader {
 	
 	private final ClockManipulator clockMan;
 	
+	/**
+	 * Get the source of randomness of this loader for internal use
+	 * 
+	 * @return the Random
+	 */
+	private Random getRandom(){
+		return this.random;
+	}
+	
+	private final Random random;
+	
 	//--------------------------------------------------------------------------
 	// Loading methods
 	//--------------------------------------------------------------------------
@@ -121,7 +150,7 @@ public class InitialDataLoader {
 	 */
 	public void placeIdenticalStandardOrder(int numberOfOrders) {
 
-		Random rand = new Random();
+		Random rand = this.getRandom();
 		//start new order session
 		this.getDomainFacade().startNewOrderSession();
 		Model chosenModel = this.getDomainFacade().getVehicleModels().get(0);
@@ -129,29 +158,14 @@ public class InitialDataLoader {
 		
 		//select compatible options
 		List<Option> options = new ArrayList<Option>();
-		boolean accepted = false;
-		while(!accepted){
-			//start new order session
-			this.getDomainFacade().startNewOrderSession();
-
-			//select first car model
-			this.getDomainFacade().chooseModel(chosenModel);
-
-			//select compatible options
-			while(this.getDomainFacade().orderHasUnfilledOptions()){
-				OptionCategory optCat = this.getDomainFacade().getNextOptionCategory();
-				Option opt = optCat.getOption(rand.nextInt(optCat.getAmountOfOptions()));
-				options.add(opt);
-				this.getDomainFacade().selectOption(opt);
-			}
-			try{
-				//submit composed order
-				this.getDomainFacade().submitOrder();
-				accepted = true;
-			} catch (OptionRestrictionException e) {
-				accepted = false;
-			}
+		while(this.getDomainFacade().orderHasUnfilledOptions()){
+			List<Option> selectable = this.getDomainFacade().getSelectableOptions();
+			Option opt = selectable.get(rand.nextInt(selectable.size()));
+			options.add(opt);
+			this.getDomainFacade().selectOption(opt);
 		}
+		//submit composed order
+		this.getDomainFacade().submitOrder();
 
 		//submit order n-1 times again
 		for(int i = 1; i < numberOfOrders;i++){
@@ -192,34 +206,25 @@ public class InitialDataLoader {
 	 * 			The number of orders to be placed.
 	 */
 	public void placeRandomStandardOrderOfModel(int numberOfOrders, Model model) {
-		Random rand = new Random();
+		Random rand = this.getRandom();
 
 
 		for(int i = 0; i<numberOfOrders; i++){
-			boolean accepted = false;
-			while(!accepted){
-				//start new order session
-				this.getDomainFacade().startNewOrderSession();
+			//start new order session
+			this.getDomainFacade().startNewOrderSession();
 
-				//select first car model
-				this.getDomainFacade().chooseModel(model);
+			//select first car model
+			this.getDomainFacade().chooseModel(model);
 
-				//select compatible options
-				List<Option> options = new ArrayList<Option>();
-				while(this.getDomainFacade().orderHasUnfilledOptions()){
-					OptionCategory optCat = this.getDomainFacade().getNextOptionCategory();
-					Option opt = optCat.getOption(rand.nextInt(optCat.getAmountOfOptions()));
-					options.add(opt);
-					this.getDomainFacade().selectOption(opt);
-				}
-				try{
-					//submit composed order
-					this.getDomainFacade().submitOrder();
-					accepted = true;
-				} catch (OptionRestrictionException e) {
-					accepted = false;
-				}
+			//select compatible options, only offered if they can lead to a
+			//valid order
+			while(this.getDomainFacade().orderHasUnfilledOptions()){
+				List<Option> selectable = this.getDomainFacade().getSelectableOptions();
+				Option opt = selectable.get(rand.nextInt(selectable.size()));
+				this.getDomainFacade().selectOption(opt);
 			}
+			//submit composed order
+			this.getDomainFacade().submitOrder();
 		}
 
 	}
@@ -246,13 +251,42 @@ public class InitialDataLoader {
 	//--------- Assembly line advancement methods ---------//
 
 	
+	/**
+	 * Simulates the completion of all tasks on all assembly lines until no
+	 * task is left to complete. Unlike completeAllOrders, this also terminates
+	 * when pending orders cannot be put on any line.
+	 * 
+	 * @param timeSpentPerTask
+	 * 		The number of minutes each task is set to have taken.
+	 * @return The number of tasks that were completed.
+	 */
+	public int completeAllAvailableTasks(int timeSpentPerTask){
+		int completed = 0;
+		boolean progress = true;
+		while(progress){
+			progress = false;
+			for(int lineNb=0; lineNb<this.getDomainFacade().getLineViews().size();lineNb++){
+				for(WorkPostView wp : this.getDomainFacade().getWorkPosts(lineNb)){
+					for(AssemblyTaskView task : wp.getMatchingAssemblyTasks()){
+						if(!task.isCompleted()){
+							this.getDomainFacade().completeWorkpostTask(lineNb,
+									wp.getWorkPostNum(), task.getTaskNumber(),
+									timeSpentPerTask);
+							completed++;
+							progress = true;
+						}
+					}
+				}
+			}
+		}
+		return completed;
+	}
+	
 	/**
 	 * Simulates completing all pending orders.
 	 */
 	public void completeAllOrders(){
 		while(this.getDomainFacade().getPendingOrders().size() > 0){
-			for(OrderView v : this.getDomainFacade().getAssemblyLineStatusHandler().getLineViews().get(0).getActiveOrderContainers())
-				System.out.println(v.getOrderNumber());
 			for(int i=0; i<this.getDomainFacade().getLineViews().size();i++)
 				completeAllTasksOnAssemblyLine(i,1);
 		}
@@ -0,0 +1,107 @@
+package domain.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Counter is a monotonically increasing count of events.
+ * The count is striped over several cells, each updated by a subset of the
+ * threads, such that concurrent simulations do not contend on a single
+ * value. The cells are padded to separate cache lines. Incrementing a
+ * Counter does not allocate.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public final class Counter {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new Counter with a count of zero. A Counter that is not taken from a MetricsRegistry
+	 * is not reported.
+	 */
+	public Counter() {
+		this.cells = new AtomicLongArray(NB_OF_STRIPES * PADDING);
+	}
+
+	//--------------------------------------------------------------------------
+	// Counting
+	//--------------------------------------------------------------------------
+	/**
+	 * Increment the count of this Counter by one.
+	 */
+	public void increment() {
+		this.add(1);
+	}
+
+	/**
+	 * Increment the count of this Counter by the given amount.
+	 *
+	 * @param amount
+	 * 		The amount to add to the count.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| amount < 0
+	 */
+	public void add(long amount) throws IllegalArgumentException {
+		if (amount < 0) {
+			throw new IllegalArgumentException("A Counter cannot decrease.");
+		}
+		this.cells.addAndGet(getCellIndex(), amount);
+	}
+
+	/**
+	 * Get the current count of this Counter. Counts added concurrently with
+	 * this call may or may not be included.
+	 *
+	 * @return The current count of this Counter.
+	 */
+	public long getCount() {
+		long result = 0;
+		for (int i = 0; i < NB_OF_STRIPES; i++) {
+			result += this.cells.get(i * PADDING);
+		}
+		return result;
+	}
+
+	/**
+	 * Reset the count of this Counter to zero.
+	 */
+	void reset() {
+		for (int i = 0; i < NB_OF_STRIPES; i++) {
+			this.cells.set(i * PADDING, 0);
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	// Striping
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the index of the cell updated by the current thread.
+	 *
+	 * @return The index of the cell of the current thread.
+	 */
+	private static int getCellIndex() {
+		return ((int) Thread.currentThread().getId() & (NB_OF_STRIPES - 1)) * PADDING;
+	}
+
+	/**
+	 * Get the smallest power of two that is at least the number of available
+	 * processors.
+	 *
+	 * @return The number of stripes of each Counter.
+	 */
+	private static int computeNbOfStripes() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		return Integer.highestOneBit(Math.max(1, processors - 1) << 1);
+	}
+
+	/** The number of cells the count is striped over, a power of two. */
+	static final int NB_OF_STRIPES = computeNbOfStripes();
+
+	/** The distance in longs between two cells, one cache line. */
+	private static final int PADDING = 8;
+
+	/** The padded cells of this Counter. */
+	private final AtomicLongArray cells;
+}
@@ -0,0 +1,43 @@
+package domain.metrics;
+
+/**
+ * FlightRecorderSupport tells whether the Flight Recorder API (jdk.jfr) is
+ * present in the running JRE.
+ *
+ * The Flight Recorder events of the domain extend jdk.jfr.Event, so they can
+ * only be loaded where the API is present. The instrumented classes only
+ * refer to the events through a recording interface, and create an event
+ * only if isAvailable(); otherwise they use the no-op recording of that
+ * interface, and the events are never loaded.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public final class FlightRecorderSupport {
+
+	private FlightRecorderSupport() {
+	}
+
+	/**
+	 * Check whether the Flight Recorder API is present.
+	 *
+	 * @return True if jdk.jfr can be loaded.
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	/** Whether the Flight Recorder API is present. */
+	private static final boolean AVAILABLE = detect();
+
+	private static boolean detect() {
+		try {
+			Class.forName("jdk.jfr.Event", false, FlightRecorderSupport.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		} catch (LinkageError e) {
+			return false;
+		}
+	}
+}
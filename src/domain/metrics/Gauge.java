@@ -0,0 +1,61 @@
+package domain.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Gauge holds the latest value of a quantity that can go up and down, such
+ * as the depth of a queue. Updating a Gauge does not allocate.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public final class Gauge {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new Gauge with a value of zero. A Gauge that is not taken from a MetricsRegistry
+	 * is not reported.
+	 */
+	public Gauge() {
+		this.value = new AtomicLong();
+	}
+
+	//--------------------------------------------------------------------------
+	// Value
+	//--------------------------------------------------------------------------
+	/**
+	 * Set the value of this Gauge to the given value. The new value becomes
+	 * visible to other threads eventually, which is all a snapshot needs.
+	 *
+	 * @param newValue
+	 * 		The new value of this Gauge.
+	 *
+	 * @postcondition | (new this).getValue() == newValue
+	 */
+	public void set(long newValue) {
+		this.value.lazySet(newValue);
+	}
+
+	/**
+	 * Add the given delta, which may be negative, to the value of this Gauge.
+	 *
+	 * @param delta
+	 * 		The amount to add to the value of this Gauge.
+	 */
+	public void add(long delta) {
+		this.value.addAndGet(delta);
+	}
+
+	/**
+	 * Get the current value of this Gauge.
+	 *
+	 * @return The current value of this Gauge.
+	 */
+	public long getValue() {
+		return this.value.get();
+	}
+
+	/** The current value of this Gauge. */
+	private final AtomicLong value;
+}
@@ -0,0 +1,167 @@
+package domain.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Histogram records the distribution of non-negative values, such as
+ * durations in nanoseconds, in a fixed set of buckets.
+ * Bucket i holds the values whose binary representation is i bits long, so
+ * every recorded value is known up to a factor of two. Recording a value
+ * does not allocate.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public final class Histogram {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new empty Histogram. A Histogram that is not taken from a MetricsRegistry
+	 * is not reported.
+	 */
+	public Histogram() {
+		this.buckets = new AtomicLongArray(NB_OF_BUCKETS);
+		this.sum = new Counter();
+		this.max = new AtomicLong();
+	}
+
+	//--------------------------------------------------------------------------
+	// Recording
+	//--------------------------------------------------------------------------
+	/**
+	 * Record the given value in this Histogram. Negative values are recorded
+	 * as zero.
+	 *
+	 * @param value
+	 * 		The value to record.
+	 */
+	public void record(long value) {
+		long v = Math.max(0, value);
+		this.buckets.incrementAndGet(getBucket(v));
+		this.sum.add(v);
+
+		long currentMax = this.max.get();
+		while (v > currentMax && !this.max.compareAndSet(currentMax, v)) {
+			currentMax = this.max.get();
+		}
+	}
+
+	/**
+	 * Get the number of values recorded in this Histogram.
+	 *
+	 * @return The number of recorded values.
+	 */
+	public long getCount() {
+		long result = 0;
+		for (int i = 0; i < NB_OF_BUCKETS; i++) {
+			result += this.buckets.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the sum of the values recorded in this Histogram.
+	 *
+	 * @return The sum of the recorded values.
+	 */
+	public long getSum() {
+		return this.sum.getCount();
+	}
+
+	/**
+	 * Get the largest value recorded in this Histogram.
+	 *
+	 * @return The largest recorded value, or 0 if no value was recorded.
+	 */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+	 * Get an upper bound of the given percentile of the recorded values. The
+	 * bound is at most twice the exact percentile, and never exceeds getMax().
+	 *
+	 * @param percentile
+	 * 		The percentile, between 0 and 100.
+	 *
+	 * @return An upper bound of the given percentile, or 0 if no value was
+	 * 		recorded.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| percentile < 0 || percentile > 100
+	 */
+	public long getPercentile(double percentile) throws IllegalArgumentException {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("percentile must lie between 0 and 100.");
+		}
+		long[] counts = new long[NB_OF_BUCKETS];
+		long total = 0;
+		for (int i = 0; i < NB_OF_BUCKETS; i++) {
+			counts[i] = this.buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < NB_OF_BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(getUpperBound(i), this.getMax());
+			}
+		}
+		return this.getMax();
+	}
+
+	/**
+	 * Remove all recorded values from this Histogram.
+	 */
+	void reset() {
+		for (int i = 0; i < NB_OF_BUCKETS; i++) {
+			this.buckets.set(i, 0);
+		}
+		this.sum.reset();
+		this.max.set(0);
+	}
+
+	//--------------------------------------------------------------------------
+	// Buckets
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the bucket of the given non-negative value.
+	 *
+	 * @param value
+	 * 		The value.
+	 * @return The number of bits of value.
+	 */
+	static int getBucket(long value) {
+		return Long.SIZE - Long.numberOfLeadingZeros(value);
+	}
+
+	/**
+	 * Get the largest value that belongs to the given bucket.
+	 *
+	 * @param bucket
+	 * 		The bucket.
+	 * @return The largest value of bucket.
+	 */
+	static long getUpperBound(int bucket) {
+		return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+
+	/** The number of buckets, one per possible bit length of a value. */
+	private static final int NB_OF_BUCKETS = Long.SIZE;
+
+	/** The number of values recorded per bucket. */
+	private final AtomicLongArray buckets;
+
+	/** The sum of the recorded values. */
+	private final Counter sum;
+
+	/** The largest recorded value. */
+	private final AtomicLong max;
+}
@@ -0,0 +1,183 @@
+package domain.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The MetricsRegistry holds the named Counters, Gauges and Histograms of the
+ * system and can take a snapshot of all of them.
+ *
+ * Metrics are looked up once, in a field of the instrumented object, after
+ * which updating them does not allocate. Every system reports its metrics in
+ * the registry given to it when it is built, such that systems running side
+ * by side do not share them. The registry returned by getDefault() is used
+ * by the user interface and the load driver.
+ *
+ * Metric names are dotted paths, ending in the unit where it is not a plain
+ * count, e.g. "clock.fire.nanos".
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class MetricsRegistry {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new empty MetricsRegistry.
+	 */
+	public MetricsRegistry() {
+		this.counters = new ConcurrentHashMap<String, Counter>();
+		this.gauges = new ConcurrentHashMap<String, Gauge>();
+		this.histograms = new ConcurrentHashMap<String, Histogram>();
+	}
+
+	//--------------------------------------------------------------------------
+	// Default registry
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the registry of the system of the user interface and load driver.
+	 *
+	 * @return The default MetricsRegistry.
+	 */
+	public static MetricsRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	/** The default MetricsRegistry. */
+	private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the Counter with the given name, creating it if it does not exist.
+	 *
+	 * @param name
+	 * 		The name of the Counter.
+	 * @return The Counter with the given name.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| name == null || name is used by a Gauge or Histogram
+	 */
+	public Counter counter(String name) throws IllegalArgumentException {
+		this.checkName(name, this.counters);
+		Counter result = this.counters.get(name);
+		if (result == null) {
+			Counter created = new Counter();
+			result = this.counters.putIfAbsent(name, created);
+			if (result == null) {
+				result = created;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the Gauge with the given name, creating it if it does not exist.
+	 *
+	 * @param name
+	 * 		The name of the Gauge.
+	 * @return The Gauge with the given name.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| name == null || name is used by a Counter or Histogram
+	 */
+	public Gauge gauge(String name) throws IllegalArgumentException {
+		this.checkName(name, this.gauges);
+		Gauge result = this.gauges.get(name);
+		if (result == null) {
+			Gauge created = new Gauge();
+			result = this.gauges.putIfAbsent(name, created);
+			if (result == null) {
+				result = created;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the Histogram with the given name, creating it if it does not exist.
+	 *
+	 * @param name
+	 * 		The name of the Histogram.
+	 * @return The Histogram with the given name.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| name == null || name is used by a Counter or Gauge
+	 */
+	public Histogram histogram(String name) throws IllegalArgumentException {
+		this.checkName(name, this.histograms);
+		Histogram result = this.histograms.get(name);
+		if (result == null) {
+			Histogram created = new Histogram();
+			result = this.histograms.putIfAbsent(name, created);
+			if (result == null) {
+				result = created;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Check that the given name can be used for a metric stored in the given
+	 * map.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| name == null || name is used in another map of this registry
+	 */
+	private void checkName(String name, ConcurrentMap<String, ?> target)
+			throws IllegalArgumentException {
+		if (name == null) {
+			throw new IllegalArgumentException("name cannot be null.");
+		}
+		if ((target != this.counters && this.counters.containsKey(name)) ||
+			(target != this.gauges && this.gauges.containsKey(name)) ||
+			(target != this.histograms && this.histograms.containsKey(name))) {
+			throw new IllegalArgumentException("name " + name + " is used by another type of metric.");
+		}
+	}
+
+	/** The Counters of this registry by name. */
+	private final ConcurrentMap<String, Counter> counters;
+
+	/** The Gauges of this registry by name. */
+	private final ConcurrentMap<String, Gauge> gauges;
+
+	/** The Histograms of this registry by name. */
+	private final ConcurrentMap<String, Histogram> histograms;
+
+	//--------------------------------------------------------------------------
+	// Snapshots
+	//--------------------------------------------------------------------------
+	/**
+	 * Take a snapshot of all metrics in this registry.
+	 *
+	 * @return A snapshot of all metrics in this registry.
+	 */
+	public MetricsSnapshot snapshot() {
+		return new MetricsSnapshot(this.counters, this.gauges, this.histograms);
+	}
+
+	/**
+	 * Get a plain text dump of all metrics in this registry.
+	 *
+	 * @return The plain text dump of a new snapshot.
+	 */
+	public String dump() {
+		return this.snapshot().getReport();
+	}
+
+	/**
+	 * Reset all Counters and Histograms of this registry. Gauges keep their
+	 * value, as it reflects the current state of the system.
+	 */
+	public void reset() {
+		for (Counter counter : this.counters.values()) {
+			counter.reset();
+		}
+		for (Histogram histogram : this.histograms.values()) {
+			histogram.reset();
+		}
+	}
+}
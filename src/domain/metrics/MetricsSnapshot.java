@@ -0,0 +1,191 @@
+package domain.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import util.annotations.Immutable;
+
+/**
+ * A MetricsSnapshot contains the values of all metrics of a MetricsRegistry
+ * at the moment it was taken.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@Immutable
+public class MetricsSnapshot {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Take a snapshot of the given metrics.
+	 *
+	 * @param counters
+	 * 		The counters by name.
+	 * @param gauges
+	 * 		The gauges by name.
+	 * @param histograms
+	 * 		The histograms by name.
+	 */
+	MetricsSnapshot(Map<String, Counter> counters,
+			        Map<String, Gauge> gauges,
+			        Map<String, Histogram> histograms) {
+		SortedMap<String, Long> counterValues = new TreeMap<String, Long>();
+		for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+			counterValues.put(entry.getKey(), entry.getValue().getCount());
+		}
+		SortedMap<String, Long> gaugeValues = new TreeMap<String, Long>();
+		for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+			gaugeValues.put(entry.getKey(), entry.getValue().getValue());
+		}
+		SortedMap<String, HistogramValues> histogramValues = new TreeMap<String, HistogramValues>();
+		for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			histogramValues.put(entry.getKey(), new HistogramValues(entry.getValue()));
+		}
+
+		this.counters = Collections.unmodifiableSortedMap(counterValues);
+		this.gauges = Collections.unmodifiableSortedMap(gaugeValues);
+		this.histograms = Collections.unmodifiableSortedMap(histogramValues);
+	}
+
+	//--------------------------------------------------------------------------
+	// Values
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the count of the counter with the given name.
+	 *
+	 * @param name
+	 * 		The name of the counter.
+	 * @return The count of the counter, or 0 if it did not exist.
+	 */
+	public long getCount(String name) {
+		Long result = this.counters.get(name);
+		return result == null ? 0 : result;
+	}
+
+	/**
+	 * Get the value of the gauge with the given name.
+	 *
+	 * @param name
+	 * 		The name of the gauge.
+	 * @return The value of the gauge, or 0 if it did not exist.
+	 */
+	public long getGauge(String name) {
+		Long result = this.gauges.get(name);
+		return result == null ? 0 : result;
+	}
+
+	/**
+	 * Get the values of the histogram with the given name.
+	 *
+	 * @param name
+	 * 		The name of the histogram.
+	 * @return The values of the histogram, or null if it did not exist.
+	 */
+	public HistogramValues getHistogram(String name) {
+		return this.histograms.get(name);
+	}
+
+	/** The counts of the counters by name. */
+	private final SortedMap<String, Long> counters;
+
+	/** The values of the gauges by name. */
+	private final SortedMap<String, Long> gauges;
+
+	/** The values of the histograms by name. */
+	private final SortedMap<String, HistogramValues> histograms;
+
+	//--------------------------------------------------------------------------
+	// Report
+	//--------------------------------------------------------------------------
+	/**
+	 * Get a plain text dump of all metrics in this snapshot, one metric per
+	 * line, sorted by name.
+	 *
+	 * @return The plain text dump.
+	 */
+	public String getReport() {
+		StringBuilder report = new StringBuilder();
+		for (Map.Entry<String, Long> entry : this.counters.entrySet()) {
+			report.append("counter   ").append(entry.getKey())
+			      .append(" = ").append(entry.getValue()).append("\n");
+		}
+		for (Map.Entry<String, Long> entry : this.gauges.entrySet()) {
+			report.append("gauge     ").append(entry.getKey())
+			      .append(" = ").append(entry.getValue()).append("\n");
+		}
+		for (Map.Entry<String, HistogramValues> entry : this.histograms.entrySet()) {
+			HistogramValues h = entry.getValue();
+			report.append("histogram ").append(entry.getKey())
+			      .append(" count=").append(h.getCount())
+			      .append(" mean=").append(String.format("%.1f", h.getMean()))
+			      .append(" p50<=").append(h.getP50())
+			      .append(" p90<=").append(h.getP90())
+			      .append(" p99<=").append(h.getP99())
+			      .append(" max=").append(h.getMax()).append("\n");
+		}
+		return report.toString();
+	}
+
+	//--------------------------------------------------------------------------
+	// Histogram values
+	//--------------------------------------------------------------------------
+	/**
+	 * The values of a single Histogram at the moment of the snapshot.
+	 */
+	@Immutable
+	public static class HistogramValues {
+		private HistogramValues(Histogram histogram) {
+			this.count = histogram.getCount();
+			this.sum = histogram.getSum();
+			this.max = histogram.getMax();
+			this.p50 = histogram.getPercentile(50);
+			this.p90 = histogram.getPercentile(90);
+			this.p99 = histogram.getPercentile(99);
+		}
+
+		/** @return The number of recorded values. */
+		public long getCount() {
+			return this.count;
+		}
+
+		/** @return The sum of the recorded values. */
+		public long getSum() {
+			return this.sum;
+		}
+
+		/** @return The mean of the recorded values, or 0 if there are none. */
+		public double getMean() {
+			return this.count == 0 ? 0 : (double) this.sum / this.count;
+		}
+
+		/** @return The largest recorded value. */
+		public long getMax() {
+			return this.max;
+		}
+
+		/** @return An upper bound of the median. */
+		public long getP50() {
+			return this.p50;
+		}
+
+		/** @return An upper bound of the 90th percentile. */
+		public long getP90() {
+			return this.p90;
+		}
+
+		/** @return An upper bound of the 99th percentile. */
+		public long getP99() {
+			return this.p99;
+		}
+
+		private final long count;
+		private final long sum;
+		private final long max;
+		private final long p50;
+		private final long p90;
+		private final long p99;
+	}
+}
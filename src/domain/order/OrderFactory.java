@@ -6,6 +6,7 @@ import domain.DateTime;
 import domain.Manufacturer;
 import domain.car.Option;
 import domain.car.Specification;
+import domain.car.SpecificationTable;
 import domain.car.Model;
 import domain.clock.TimeObserver;
 
@@ -94,7 +95,7 @@ public class OrderFactory implements TimeObserver {
 		this.incrementOrderIdentifier();
 		
 		return new SingleTaskOrder(this.getManufacturer().getSingleTaskModel(), 
-				                   specification, 
+				                   this.getSpecificationTable().intern(specification), 
 				                   orderId, 
 				                   this.getCurrentTime(), 
 				                   deadline);	
@@ -177,7 +178,7 @@ public class OrderFactory implements TimeObserver {
 		this.incrementOrderIdentifier();
 
 		return new StandardOrder(model, 
-								 specification, 
+								 this.getSpecificationTable().intern(specification), 
 								 orderId, 
 								 this.getCurrentTime());
 	}
@@ -219,6 +220,23 @@ public class OrderFactory implements TimeObserver {
 				this.getManufacturer().checkSpecificationRestrictions(model, specification);
 	}
 	
+	//--------------------------------------------------------------------------
+	// Specifications
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the SpecificationTable of this OrderFactory, which interns the 
+	 * Specifications of the orders it makes, such that orders with equal 
+	 * Specifications share one.
+	 * 
+	 * @return The SpecificationTable of this OrderFactory.
+	 */
+	public SpecificationTable getSpecificationTable() {
+		return this.specificationTable;
+	}
+	
+	/** The interned Specifications of the orders made by this OrderFactory. */
+	private final SpecificationTable specificationTable = new SpecificationTable();
+	
 	//--------------------------------------------------------------------------
 	// Order Identifier methods
 	//--------------------------------------------------------------------------
@@ -252,6 +270,23 @@ public class OrderFactory implements TimeObserver {
 		this.currentIdentifier = newIdentifier;
 	}
 	
+	/**
+	 * Make sure the order identifiers issued by this OrderFactory from now on
+	 * are not lower than the specified identifier, such that they do not 
+	 * collide with the identifiers of restored orders.
+	 * 
+	 * @param identifier
+	 * 		The lowest identifier to issue.
+	 * 
+	 * @postcondition | (new this).getCurrentOrderIdentifier() == 
+	 * 				  | max(this.getCurrentOrderIdentifier(), identifier)
+	 */
+	public void skipOrderIdentifiersBelow(int identifier) {
+		if (identifier > this.getCurrentOrderIdentifier()) {
+			this.setOrderIdentifier(identifier);
+		}
+	}
+	
 	/** The next unused order identifier issued by this ProductionSchedule. */
 	private int currentIdentifier = 0;
 	
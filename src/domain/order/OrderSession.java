@@ -8,6 +8,7 @@ import domain.Manufacturer;
 import domain.car.Model;
 import domain.car.Option;
 import domain.car.OptionCategory;
+import domain.restrictions.OptionConfigurator;
 import exceptions.IllegalVehicleOptionCombinationException;
 import exceptions.NoOptionCategoriesRemainingException;
 import exceptions.OptionRestrictionException;
@@ -43,6 +44,7 @@ public class OrderSession {
 		this.model = null;
 		this.resultingOrder = null;
 		this.options = new ArrayList<Option>();
+		this.configurator = null;
 	}
 	
 	//--------------------------------------------------------------------------
@@ -65,20 +67,69 @@ public class OrderSession {
 	private ArrayList<Option> options;
 	
 	/**
-	 * Add given option to the current specification in this OrderSession
+	 * Add given option to the current specification in this OrderSession.
+	 * Once the model is chosen, only options which can still lead to an order
+	 * that passes the system's restrictions can be added.
 	 * 
 	 * @param option
 	 * 		The option to add to this OrderSession's set of chosen options
 	 * @throws IllegalArgumentException
 	 * 		If the given option is null
+	 * @throws OptionRestrictionException
+	 * 		If the model is chosen, and the given option cannot lead to an
+	 * 		order that passes the system's restrictions with the options chosen
+	 * 		so far
 	 * 
 	 */
-	public void addOption(Option option) throws IllegalArgumentException{
+	public void addOption(Option option) throws IllegalArgumentException,
+												OptionRestrictionException
+	{
 		if(option == null)
 			throw new IllegalArgumentException("Option should not be null.");
+		if(this.modelIsChosen())
+			this.getConfigurator().select(option);
 		this.getOptions().add(option);
 	}
 
+	/**
+	 * Get the options of the next unfilled optionCategory which can still lead
+	 * to an order that passes the system's restrictions with the options
+	 * chosen so far.
+	 * 
+	 * @return the selectable options of the next unfilled optionCategory
+	 * 
+	 * @throws IllegalStateException
+	 * 		When no model has been set
+	 * @throws NoOptionCategoriesRemainingException 
+	 * 		When no more options are available
+	 */
+	public List<Option> getSelectableOptions()
+			throws IllegalStateException,
+			NoOptionCategoriesRemainingException
+	{
+		OptionCategory category = this.getNextOptionCategory();
+		return this.getConfigurator().getSelectableOptions(category);
+	}
+	
+	/**
+	 * Get the configurator which prunes the options of the chosen model, and
+	 * create it the first time it is needed.
+	 * 
+	 * @pre
+	 * 		this.modelIsChosen()
+	 * 
+	 * @return the configurator of this session
+	 */
+	private OptionConfigurator getConfigurator(){
+		if(this.configurator == null)
+			this.configurator = new OptionConfigurator(
+					this.getManufacturer().getConfigurationSpace(this.getModel()));
+		return this.configurator;
+	}
+	
+	/** The configurator tracking which options can still be chosen, created on first use */
+	private OptionConfigurator configurator;
+
 	/**
 	 * Check whether the model has unfilled OptionCategories with the given Options
 	 * in this class.
@@ -289,8 +340,6 @@ public class OrderSession {
 					submitStandardOrder(this.getModel(),
 							allDesiredOptions);
 			this.setOrder(generatedOrder);
-			System.out.println("Order Made, estimated completion time is:");
-			System.out.println(this.getETA());
 		} catch (IllegalArgumentException e){
 			throw new IllegalStateException("Session is not valid (yet).");
 		}
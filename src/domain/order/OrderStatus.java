@@ -0,0 +1,16 @@
+package domain.order;
+
+/**
+ * The stages an order of the system goes through, in order.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public enum OrderStatus {
+	/** The order waits in the production schedule. */
+	SCHEDULED,
+	/** The order is at a work post of an assembly line. */
+	ASSEMBLING,
+	/** The order rolled off an assembly line. */
+	COMPLETED;
+}
@@ -0,0 +1,300 @@
+package domain.order;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.base.Optional;
+
+/**
+ * An OrderStatusRegistry keeps the OrderStatus of every order of the system
+ * under its order number, and for the orders that are being assembled the
+ * assembly line and work post they are at.
+ *
+ * The registry is updated by the subsystems the orders move through: the
+ * production schedule when an order is submitted or leaves its queue, the
+ * assembly lines when an order is put on a work post, moves to the next one
+ * or rolls off the line. Looking up an order costs O(1), listing the orders
+ * of a status costs O(log n) plus the number of listed orders.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class OrderStatusRegistry {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new OrderStatusRegistry without orders.
+	 */
+	public OrderStatusRegistry() {
+		this.entries = new HashMap<Integer, Entry>();
+		this.ordersPerStatus = new EnumMap<OrderStatus, TreeMap<Integer, OrderView>>(OrderStatus.class);
+		for (OrderStatus status : OrderStatus.values()) {
+			this.ordersPerStatus.put(status, new TreeMap<Integer, OrderView>());
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	// Updates
+	//--------------------------------------------------------------------------
+	/**
+	 * Register the specified order as scheduled.
+	 *
+	 * @param order
+	 * 		The order that was added to the production schedule.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| order == null
+	 */
+	public void setScheduled(OrderView order) throws IllegalArgumentException {
+		this.setStatus(order, OrderStatus.SCHEDULED, NO_POSITION, NO_POSITION);
+	}
+
+	/**
+	 * Register the specified order as being assembled at the specified work
+	 * post of the specified assembly line.
+	 *
+	 * @param order
+	 * 		The order that was put on the work post.
+	 * @param lineNumber
+	 * 		The number of the assembly line on the floor.
+	 * @param workPostNumber
+	 * 		The number of the work post on the assembly line.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| order == null || lineNumber < 0 || workPostNumber < 0
+	 */
+	public void setAssembling(OrderView order, int lineNumber, int workPostNumber)
+			throws IllegalArgumentException {
+		if (lineNumber < 0 || workPostNumber < 0) {
+			throw new IllegalArgumentException("Line and work post numbers cannot be negative.");
+		}
+		this.setStatus(order, OrderStatus.ASSEMBLING, lineNumber, workPostNumber);
+	}
+
+	/**
+	 * Register the specified order as completed.
+	 *
+	 * @param order
+	 * 		The order that rolled off an assembly line.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| order == null
+	 */
+	public void setCompleted(OrderView order) throws IllegalArgumentException {
+		this.setStatus(order, OrderStatus.COMPLETED, NO_POSITION, NO_POSITION);
+	}
+
+	/**
+	 * Remove the specified order from this OrderStatusRegistry if it is
+	 * registered as scheduled. An order that left the production schedule is
+	 * registered again once it is put on a work post.
+	 *
+	 * @param order
+	 * 		The order that left the production schedule.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| order == null
+	 */
+	public void removeScheduled(OrderView order) throws IllegalArgumentException {
+		if (order == null) {
+			throw new IllegalArgumentException("Order cannot be null.");
+		}
+		Entry entry = this.entries.get(order.getOrderNumber());
+		if (entry != null && entry.status == OrderStatus.SCHEDULED) {
+			this.entries.remove(order.getOrderNumber());
+			this.ordersPerStatus.get(OrderStatus.SCHEDULED).remove(order.getOrderNumber());
+		}
+	}
+
+	/**
+	 * Register the specified order with the specified status and position.
+	 */
+	private void setStatus(OrderView order, OrderStatus status, int lineNumber, int workPostNumber)
+			throws IllegalArgumentException {
+		if (order == null) {
+			throw new IllegalArgumentException("Order cannot be null.");
+		}
+		Integer orderNumber = order.getOrderNumber();
+		Entry entry = this.entries.get(orderNumber);
+		if (entry == null) {
+			entry = new Entry();
+			this.entries.put(orderNumber, entry);
+		} else if (entry.status != status) {
+			this.ordersPerStatus.get(entry.status).remove(orderNumber);
+		}
+		entry.order = order;
+		entry.status = status;
+		entry.lineNumber = lineNumber;
+		entry.workPostNumber = workPostNumber;
+		this.ordersPerStatus.get(status).put(orderNumber, order);
+	}
+
+	//--------------------------------------------------------------------------
+	// Queries
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the order with the specified order number.
+	 *
+	 * @param orderNumber
+	 * 		The order number.
+	 *
+	 * @return The order, absent if it is not registered.
+	 */
+	public Optional<OrderView> getOrder(int orderNumber) {
+		Entry entry = this.entries.get(orderNumber);
+		return entry == null ? Optional.<OrderView> absent() : Optional.of(entry.order);
+	}
+
+	/**
+	 * Get the OrderStatus of the order with the specified order number.
+	 *
+	 * @param orderNumber
+	 * 		The order number.
+	 *
+	 * @return The status of the order, absent if it is not registered.
+	 */
+	public Optional<OrderStatus> getStatus(int orderNumber) {
+		Entry entry = this.entries.get(orderNumber);
+		return entry == null ? Optional.<OrderStatus> absent() : Optional.of(entry.status);
+	}
+
+	/**
+	 * Get the number of the assembly line the order with the specified order
+	 * number is being assembled on.
+	 *
+	 * @param orderNumber
+	 * 		The order number.
+	 *
+	 * @return The number of the assembly line on the floor.
+	 *
+	 * @throws IllegalStateException
+	 * 		| getStatus(orderNumber) != Optional.of(OrderStatus.ASSEMBLING)
+	 */
+	public int getLineNumber(int orderNumber) throws IllegalStateException {
+		return this.getAssemblingEntry(orderNumber).lineNumber;
+	}
+
+	/**
+	 * Get the number of the work post the order with the specified order
+	 * number is being assembled at.
+	 *
+	 * @param orderNumber
+	 * 		The order number.
+	 *
+	 * @return The number of the work post on its assembly line.
+	 *
+	 * @throws IllegalStateException
+	 * 		| getStatus(orderNumber) != Optional.of(OrderStatus.ASSEMBLING)
+	 */
+	public int getWorkPostNumber(int orderNumber) throws IllegalStateException {
+		return this.getAssemblingEntry(orderNumber).workPostNumber;
+	}
+
+	private Entry getAssemblingEntry(int orderNumber) throws IllegalStateException {
+		Entry entry = this.entries.get(orderNumber);
+		if (entry == null || entry.status != OrderStatus.ASSEMBLING) {
+			throw new IllegalStateException("Order " + orderNumber + " is not being assembled.");
+		}
+		return entry;
+	}
+
+	/**
+	 * Get the number of orders with the specified status.
+	 *
+	 * @param status
+	 * 		The status.
+	 *
+	 * @return The number of registered orders with the status.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| status == null
+	 */
+	public int getNbOfOrders(OrderStatus status) throws IllegalArgumentException {
+		if (status == null) {
+			throw new IllegalArgumentException("Status cannot be null.");
+		}
+		return this.ordersPerStatus.get(status).size();
+	}
+
+	/**
+	 * Get all orders with the specified status, by ascending order number.
+	 *
+	 * @param status
+	 * 		The status.
+	 *
+	 * @return A new list of the orders with the status.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| status == null
+	 */
+	public List<OrderView> getOrders(OrderStatus status) throws IllegalArgumentException {
+		if (status == null) {
+			throw new IllegalArgumentException("Status cannot be null.");
+		}
+		return new ArrayList<OrderView>(this.ordersPerStatus.get(status).values());
+	}
+
+	/**
+	 * Get a page of the orders with the specified status: at most max orders,
+	 * by ascending order number, starting at the specified order number. The
+	 * next page starts right after the order number of the last order of this
+	 * page.
+	 *
+	 * @param status
+	 * 		The status.
+	 * @param fromOrderNumber
+	 * 		The smallest order number of the page.
+	 * @param max
+	 * 		The largest number of orders of the page.
+	 *
+	 * @return A new list of at most max orders with the status.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| status == null || max < 0
+	 */
+	public List<OrderView> getOrders(OrderStatus status, int fromOrderNumber, int max)
+			throws IllegalArgumentException {
+		if (status == null) {
+			throw new IllegalArgumentException("Status cannot be null.");
+		}
+		if (max < 0) {
+			throw new IllegalArgumentException("max cannot be negative.");
+		}
+		List<OrderView> result = new ArrayList<OrderView>(
+				Math.min(max, this.ordersPerStatus.get(status).size()));
+		for (OrderView order : this.ordersPerStatus.get(status).tailMap(fromOrderNumber).values()) {
+			if (result.size() == max) {
+				break;
+			}
+			result.add(order);
+		}
+		return result;
+	}
+
+	//--------------------------------------------------------------------------
+	// Entries
+	//--------------------------------------------------------------------------
+	/** The position of an order that is not being assembled. */
+	private static final int NO_POSITION = -1;
+
+	/**
+	 * The status and position of a registered order.
+	 */
+	private static class Entry {
+		private OrderView order;
+		private OrderStatus status;
+		private int lineNumber;
+		private int workPostNumber;
+	}
+
+	/** The entry of every registered order, by order number. */
+	private final Map<Integer, Entry> entries;
+
+	/** The registered orders of every status, by order number. */
+	private final Map<OrderStatus, TreeMap<Integer, OrderView>> ordersPerStatus;
+}
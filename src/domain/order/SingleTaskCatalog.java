@@ -43,8 +43,8 @@ public class SingleTaskCatalog {
 	 * @return whether given option is present in this catalog
 	 */
 	public boolean contains(Option option) {
-		for(OptionCategory cat : getPossibleTasks()){
-			if(cat.containsOption(option)){
+		for(int i = 0; i < this.optionCategories.size(); i++){
+			if(this.optionCategories.get(i).containsOption(option)){
 				return true;
 			}
 		}
@@ -0,0 +1,709 @@
+package domain.production_schedule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.car.Model;
+import domain.car.ModelCatalog;
+import domain.car.Option;
+import domain.car.OptionCategory;
+import domain.car.Specification;
+import domain.car.SpecificationTable;
+import domain.order.Order;
+import domain.order.SingleTaskCatalog;
+import domain.order.SingleTaskOrder;
+import domain.order.StandardOrder;
+
+/**
+ * An OrderBacklog stores pending orders in fixed size records of a buffer,
+ * such that the pending orders of a SchedulerContext can be restored from
+ * it. The buffer either lives on the heap, or is a memory-mapped file such
+ * that the backlog survives the process. The backlog is a durable copy of
+ * the pending orders: the SchedulerContext still keeps every pending order
+ * on the heap, so a mapped backlog does not reduce the heap it uses.
+ *
+ * A record holds the kind, number, submission time and deadline of an
+ * order, its Model as its position in a ModelCatalog, and its Options as
+ * their position among the Options of the ModelCatalog and SingleTaskCatalog.
+ * A backlog can therefore only be restored with the same catalogs it was
+ * written with. The records of removed orders are reused.
+ *
+ * The slot of every stored order number is kept in a primitive
+ * open-addressing table. A backlog on the heap grows its buffer as its
+ * orders need more slots, up to its capacity.
+ *
+ * Changes are written to the buffer directly; flush forces them to the file.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class OrderBacklog {
+	//--------------------------------------------------------------------------
+	// Constructors
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new empty OrderBacklog on the heap that holds the specified
+	 * number of orders of the specified catalogs.
+	 *
+	 * @param capacity
+	 * 		The number of orders this OrderBacklog holds.
+	 * @param models
+	 * 		The ModelCatalog of the orders.
+	 * @param singleTasks
+	 * 		The SingleTaskCatalog of the SingleTaskOrders.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| capacity <= 0 || capacity > MAX_CAPACITY || models == null || singleTasks == null
+	 */
+	public OrderBacklog(int capacity, ModelCatalog models, SingleTaskCatalog singleTasks)
+			throws IllegalArgumentException {
+		this(ByteBuffer.allocate(getFileSize(Math.min(capacity, INITIAL_SLOTS))),
+				capacity, models, singleTasks);
+		this.initialise();
+	}
+
+	/**
+	 * Construct a new OrderBacklog in the specified buffer.
+	 */
+	private OrderBacklog(ByteBuffer buffer, int capacity, ModelCatalog models,
+			SingleTaskCatalog singleTasks) throws IllegalArgumentException {
+		if (models == null || singleTasks == null) {
+			throw new IllegalArgumentException("Catalogs cannot be null.");
+		}
+		this.buffer = buffer;
+		this.capacity = capacity;
+		this.clearIndex(INITIAL_INDEX_SIZE);
+		this.freeSlots = new int[16];
+		this.specifications = new SpecificationTable();
+
+		this.models = models.getModels();
+		this.singleTaskModel = models.getSingleTaskModel();
+		this.options = new ArrayList<Option>();
+		this.optionCodes = new HashMap<Option, Integer>();
+		for (Model model : this.models) {
+			this.addOptionCodes(model.getOptionCategories());
+		}
+		this.addOptionCodes(singleTasks.getPossibleTasks());
+	}
+
+	/**
+	 * Open the OrderBacklog in the specified memory-mapped file. If the file
+	 * holds an OrderBacklog, its orders are kept and its capacity is used.
+	 * Otherwise a new empty OrderBacklog of the specified capacity is created
+	 * in the file.
+	 *
+	 * @param file
+	 * 		The file of the OrderBacklog.
+	 * @param capacity
+	 * 		The number of orders a new OrderBacklog holds.
+	 * @param models
+	 * 		The ModelCatalog of the orders.
+	 * @param singleTasks
+	 * 		The SingleTaskCatalog of the SingleTaskOrders.
+	 *
+	 * @return The OrderBacklog in the file.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| file == null || capacity <= 0 || capacity > MAX_CAPACITY ||
+	 * 		| models == null || singleTasks == null
+	 * @throws IllegalStateException
+	 * 		When the file holds a corrupt OrderBacklog, or one of another version.
+	 * @throws IOException
+	 * 		When the file cannot be created or mapped.
+	 */
+	public static OrderBacklog open(File file, int capacity, ModelCatalog models,
+			SingleTaskCatalog singleTasks)
+					throws IllegalArgumentException, IllegalStateException, IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("file cannot be null.");
+		}
+		int size = getFileSize(capacity);
+
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			boolean existing = raf.length() >= HEADER_SIZE;
+			if (existing) {
+				if (raf.length() > Integer.MAX_VALUE) {
+					throw new IllegalStateException(file + " is not an order backlog.");
+				}
+				size = (int) raf.length();
+			} else {
+				raf.setLength(0);
+				raf.setLength(size);
+			}
+			// The mapping stays valid after the file is closed.
+			MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			if (!existing) {
+				OrderBacklog result = new OrderBacklog(buffer, capacity, models, singleTasks);
+				result.initialise();
+				return result;
+			}
+
+			if (buffer.getInt(0) != MAGIC) {
+				throw new IllegalStateException(file + " is not an order backlog.");
+			}
+			if (buffer.getInt(4) != VERSION || buffer.getInt(12) != RECORD_SIZE) {
+				throw new IllegalStateException(file + " has an unsupported version.");
+			}
+			int existingCapacity = buffer.getInt(8);
+			if (existingCapacity <= 0 || existingCapacity > MAX_CAPACITY ||
+					size != getFileSize(existingCapacity)) {
+				throw new IllegalStateException(file + " is corrupt.");
+			}
+			OrderBacklog result = new OrderBacklog(buffer, existingCapacity, models, singleTasks);
+			result.load(file);
+			return result;
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * Write the header of a new empty OrderBacklog.
+	 */
+	private void initialise() {
+		this.buffer.putInt(0, MAGIC);
+		this.buffer.putInt(4, VERSION);
+		this.buffer.putInt(8, this.capacity);
+		this.buffer.putInt(12, RECORD_SIZE);
+		this.buffer.putInt(USED_OFFSET, 0);
+		this.nbOfUsedSlots = 0;
+	}
+
+	/**
+	 * Read the used slots of an existing OrderBacklog.
+	 */
+	private void load(File file) throws IllegalStateException {
+		int used = this.buffer.getInt(USED_OFFSET);
+		if (used < 0 || used > this.capacity) {
+			throw new IllegalStateException(file + " is corrupt.");
+		}
+		this.nbOfUsedSlots = used;
+		for (int slot = 0; slot < used; slot++) {
+			int offset = getOffset(slot);
+			byte kind = this.buffer.get(offset);
+			if (kind == FREE) {
+				this.pushFreeSlot(slot);
+			} else if (kind == STANDARD || kind == SINGLE_TASK) {
+				int orderNumber = this.buffer.getInt(offset + 4);
+				if (this.findSlot(orderNumber) != NO_SLOT) {
+					throw new IllegalStateException(file + " is corrupt.");
+				}
+				this.putSlot(orderNumber, slot);
+			} else {
+				throw new IllegalStateException(file + " is corrupt.");
+			}
+		}
+	}
+
+	/**
+	 * The buffer of this OrderBacklog. A buffer on the heap is replaced by a
+	 * larger one as more slots are used.
+	 */
+	private ByteBuffer buffer;
+
+	/** The number of slots a new buffer on the heap holds. */
+	private static final int INITIAL_SLOTS = 64;
+
+	/** The first bytes of every backlog: "SWOB". */
+	private static final int MAGIC = 0x53574F42;
+
+	/** The version of the backlog format. */
+	private static final int VERSION = 1;
+
+	/** The offset of the number of slots ever used. */
+	private static final int USED_OFFSET = 16;
+
+	/** The number of bytes of the header. */
+	private static final int HEADER_SIZE = 24;
+
+	/** The largest number of Options of an order in a record. */
+	public static final int MAX_OPTIONS = 16;
+
+	/** The number of bytes of a record. */
+	private static final int RECORD_SIZE = 16 + 2 * MAX_OPTIONS;
+
+	/** The largest number of orders an OrderBacklog can hold. */
+	public static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+	/** The kinds of records. */
+	private static final byte FREE = 0, STANDARD = 1, SINGLE_TASK = 2;
+
+	/** The deadline of a record of an order without one. */
+	private static final int NO_DEADLINE = -1;
+
+	/**
+	 * Get the number of bytes an OrderBacklog of the specified capacity needs.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| capacity <= 0 || capacity > MAX_CAPACITY
+	 */
+	private static int getFileSize(int capacity) throws IllegalArgumentException {
+		if (capacity <= 0 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException("capacity must lie between 1 and " + MAX_CAPACITY + ".");
+		}
+		return HEADER_SIZE + capacity * RECORD_SIZE;
+	}
+
+	private static int getOffset(int slot) {
+		return HEADER_SIZE + slot * RECORD_SIZE;
+	}
+
+	//--------------------------------------------------------------------------
+	// Codes
+	//--------------------------------------------------------------------------
+	/**
+	 * Number the Options of the specified categories that are not numbered
+	 * yet.
+	 */
+	private void addOptionCodes(List<OptionCategory> categories) {
+		for (OptionCategory category : categories) {
+			for (int i = 0; i < category.getAmountOfOptions(); i++) {
+				Option option = category.getOption(i);
+				if (!this.optionCodes.containsKey(option)) {
+					this.optionCodes.put(option, this.options.size());
+					this.options.add(option);
+				}
+			}
+		}
+	}
+
+	/** The Models of the ModelCatalog, in order. */
+	private final List<Model> models;
+
+	/** The Model of SingleTaskOrders. */
+	private final Model singleTaskModel;
+
+	/** The Options of the catalogs, in order. */
+	private final List<Option> options;
+
+	/** The position of every Option of the catalogs. */
+	private final Map<Option, Integer> optionCodes;
+
+	/** The Specifications of the restored orders. */
+	private final SpecificationTable specifications;
+
+	/**
+	 * Get the code of the Model of the specified order.
+	 *
+	 * @return The position of the Model in the ModelCatalog, the number of
+	 * 		Models for the Model of SingleTaskOrders, -1 if it is unknown.
+	 */
+	private int getModelCode(Order order) {
+		if (order instanceof SingleTaskOrder) {
+			return order.getModel() == this.singleTaskModel ? this.models.size() : -1;
+		}
+		return this.models.indexOf(order.getModel());
+	}
+
+	private Model getModel(int code) throws IllegalStateException {
+		if (code == this.models.size()) {
+			return this.singleTaskModel;
+		}
+		if (code < 0 || code > this.models.size()) {
+			throw new IllegalStateException("The backlog refers to an unknown model.");
+		}
+		return this.models.get(code);
+	}
+
+	/**
+	 * Check whether the specified order can be stored in this OrderBacklog:
+	 * its Model and Options are in the catalogs of this OrderBacklog, and it
+	 * has at most MAX_OPTIONS Options.
+	 *
+	 * @param order
+	 * 		The order.
+	 *
+	 * @return True if the order can be stored.
+	 */
+	public boolean isStorable(Order order) {
+		if (order == null || !(order instanceof StandardOrder || order instanceof SingleTaskOrder)) {
+			return false;
+		}
+		if (this.getModelCode(order) < 0) {
+			return false;
+		}
+		List<Option> orderOptions = order.getSpecifications().getOptions();
+		if (orderOptions.size() > MAX_OPTIONS) {
+			return false;
+		}
+		for (Option option : orderOptions) {
+			if (!this.optionCodes.containsKey(option)) {
+				return false;
+			}
+		}
+		return isStorable(order.getSubmissionTime()) &&
+				(!order.getDeadline().isPresent() || isStorable(order.getDeadline().get()));
+	}
+
+	private static boolean isStorable(DateTime time) {
+		return time.getInMinutes() >= 0 && time.getInMinutes() <= Integer.MAX_VALUE;
+	}
+
+	//--------------------------------------------------------------------------
+	// Orders
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the number of orders this OrderBacklog holds.
+	 *
+	 * @return The capacity of this OrderBacklog.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/** The number of orders this OrderBacklog holds. */
+	private final int capacity;
+
+	/**
+	 * @return The number of orders in this OrderBacklog.
+	 */
+	public synchronized int getNbOfOrders() {
+		return this.nbOfOrders;
+	}
+
+	/**
+	 * Check whether an order with the order number of the specified order is
+	 * in this OrderBacklog.
+	 *
+	 * @param order
+	 * 		The order.
+	 *
+	 * @return True if the order is stored.
+	 */
+	public synchronized boolean contains(Order order) {
+		return order != null && this.findSlot(order.getOrderNumber()) != NO_SLOT;
+	}
+
+	/**
+	 * Store the specified order in this OrderBacklog.
+	 *
+	 * @param order
+	 * 		The order to store.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| !isStorable(order) || contains(order)
+	 * @throws IllegalStateException
+	 * 		| getNbOfOrders() == getCapacity()
+	 */
+	public synchronized void add(Order order) throws IllegalArgumentException, IllegalStateException {
+		if (!this.isStorable(order)) {
+			throw new IllegalArgumentException("This order cannot be stored in the backlog.");
+		}
+		if (this.contains(order)) {
+			throw new IllegalArgumentException("This order is already in the backlog.");
+		}
+		int slot = this.claimSlot();
+
+		List<Option> orderOptions = order.getSpecifications().getOptions();
+		int offset = getOffset(slot);
+		this.buffer.put(offset + 1, (byte) orderOptions.size());
+		this.buffer.putShort(offset + 2, (short) this.getModelCode(order));
+		this.buffer.putInt(offset + 4, order.getOrderNumber());
+		this.buffer.putInt(offset + 8, (int) order.getSubmissionTime().getInMinutes());
+		this.buffer.putInt(offset + 12, order.getDeadline().isPresent() ?
+				(int) order.getDeadline().get().getInMinutes() : NO_DEADLINE);
+		for (int i = 0; i < orderOptions.size(); i++) {
+			this.buffer.putShort(offset + 16 + 2 * i,
+					(short) (int) this.optionCodes.get(orderOptions.get(i)));
+		}
+		// The kind is written last, such that a record is only used once complete.
+		this.buffer.put(offset, order instanceof SingleTaskOrder ? SINGLE_TASK : STANDARD);
+		this.putSlot(order.getOrderNumber(), slot);
+	}
+
+	/**
+	 * Remove the order with the order number of the specified order from
+	 * this OrderBacklog.
+	 *
+	 * @param order
+	 * 		The order to remove.
+	 *
+	 * @return True if the order was stored.
+	 */
+	public synchronized boolean remove(Order order) {
+		if (order == null) {
+			return false;
+		}
+		int slot = this.removeSlot(order.getOrderNumber());
+		if (slot == NO_SLOT) {
+			return false;
+		}
+		this.buffer.put(getOffset(slot), FREE);
+		this.pushFreeSlot(slot);
+		return true;
+	}
+
+	/**
+	 * Get new orders equal to the orders of this OrderBacklog, in order of
+	 * their order numbers. Orders with equal Specifications share one.
+	 *
+	 * @return The stored orders.
+	 *
+	 * @throws IllegalStateException
+	 * 		When a record refers to a Model or Option outside the catalogs.
+	 */
+	public synchronized List<Order> getOrders() throws IllegalStateException {
+		int[] orderNumbers = this.getOrderNumbers();
+		Arrays.sort(orderNumbers);
+		List<Order> result = new ArrayList<Order>(orderNumbers.length);
+		for (int orderNumber : orderNumbers) {
+			result.add(this.read(this.findSlot(orderNumber)));
+		}
+		return result;
+	}
+
+	/**
+	 * Get the largest order number of the orders of this OrderBacklog.
+	 *
+	 * @return The largest order number, absent if this backlog is empty.
+	 */
+	public synchronized Optional<Integer> getLastOrderNumber() {
+		if (this.nbOfOrders == 0) {
+			return Optional.absent();
+		}
+		int result = Integer.MIN_VALUE;
+		for (int orderNumber : this.getOrderNumbers()) {
+			result = Math.max(result, orderNumber);
+		}
+		return Optional.of(result);
+	}
+
+	/**
+	 * Read the order of the specified slot.
+	 */
+	private Order read(int slot) throws IllegalStateException {
+		int offset = getOffset(slot);
+		byte kind = this.buffer.get(offset);
+		int nbOfOptions = this.buffer.get(offset + 1);
+		Model model = this.getModel(this.buffer.getShort(offset + 2));
+		int orderNumber = this.buffer.getInt(offset + 4);
+		DateTime submission = new DateTime(0, 0, this.buffer.getInt(offset + 8));
+		int deadline = this.buffer.getInt(offset + 12);
+
+		if (nbOfOptions < 0 || nbOfOptions > MAX_OPTIONS) {
+			throw new IllegalStateException("The backlog is corrupt.");
+		}
+		List<Option> orderOptions = new ArrayList<Option>(nbOfOptions);
+		for (int i = 0; i < nbOfOptions; i++) {
+			int code = this.buffer.getShort(offset + 16 + 2 * i);
+			if (code < 0 || code >= this.options.size()) {
+				throw new IllegalStateException("The backlog refers to an unknown option.");
+			}
+			orderOptions.add(this.options.get(code));
+		}
+		Specification specification = this.specifications.intern(new Specification(orderOptions));
+
+		if (kind == SINGLE_TASK) {
+			return new SingleTaskOrder(model, specification, orderNumber, submission,
+					new DateTime(0, 0, deadline));
+		}
+		Optional<DateTime> standardDeadline = deadline == NO_DEADLINE ?
+				Optional.<DateTime> absent() : Optional.of(new DateTime(0, 0, deadline));
+		return new StandardOrder(model, specification, orderNumber, submission, standardDeadline);
+	}
+
+	/**
+	 * Write the changes to this OrderBacklog to its file, if it is
+	 * memory-mapped.
+	 */
+	public synchronized void flush() {
+		if (this.buffer instanceof MappedByteBuffer) {
+			((MappedByteBuffer) this.buffer).force();
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	// Index
+	//--------------------------------------------------------------------------
+	/**
+	 * The order numbers of the index table, at the position of their hash or
+	 * the first free position after it.
+	 */
+	private int[] indexKeys;
+
+	/** The slot of the order number at the same position, NO_SLOT if free. */
+	private int[] indexSlots;
+
+	/** The number of orders in the index table. */
+	private int nbOfOrders;
+
+	/** The slot of an order number that is not stored. */
+	private static final int NO_SLOT = -1;
+
+	/** The number of positions of a new index table. */
+	private static final int INITIAL_INDEX_SIZE = 16;
+
+	/**
+	 * Replace the index table by an empty one of the specified size, a power
+	 * of two.
+	 */
+	private void clearIndex(int size) {
+		this.indexKeys = new int[size];
+		this.indexSlots = new int[size];
+		Arrays.fill(this.indexSlots, NO_SLOT);
+		this.nbOfOrders = 0;
+	}
+
+	/**
+	 * Get the position in the index table where the search for the specified
+	 * order number starts.
+	 */
+	private int home(int orderNumber) {
+		int hash = orderNumber * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & (this.indexKeys.length - 1);
+	}
+
+	/**
+	 * Get the position of the specified order number in the index table, or
+	 * the free position that ends its search.
+	 */
+	private int locate(int orderNumber) {
+		int mask = this.indexKeys.length - 1;
+		int i = this.home(orderNumber);
+		while (this.indexSlots[i] != NO_SLOT && this.indexKeys[i] != orderNumber) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * Get the slot of the specified order number, NO_SLOT if it is not stored.
+	 */
+	private int findSlot(int orderNumber) {
+		return this.indexSlots[this.locate(orderNumber)];
+	}
+
+	/**
+	 * Map the specified order number, which is not in the index table yet, on
+	 * the specified slot.
+	 */
+	private void putSlot(int orderNumber, int slot) {
+		if (2 * (this.nbOfOrders + 1) > this.indexKeys.length) {
+			int[] oldKeys = this.indexKeys;
+			int[] oldSlots = this.indexSlots;
+			this.clearIndex(2 * oldKeys.length);
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldSlots[i] != NO_SLOT) {
+					this.putSlot(oldKeys[i], oldSlots[i]);
+				}
+			}
+		}
+		int i = this.locate(orderNumber);
+		this.indexKeys[i] = orderNumber;
+		this.indexSlots[i] = slot;
+		this.nbOfOrders++;
+	}
+
+	/**
+	 * Remove the specified order number from the index table.
+	 *
+	 * @return The slot of the order number, NO_SLOT if it was not stored.
+	 */
+	private int removeSlot(int orderNumber) {
+		int i = this.locate(orderNumber);
+		int result = this.indexSlots[i];
+		if (result == NO_SLOT) {
+			return NO_SLOT;
+		}
+		// Move later entries of the run back, such that no search stops early.
+		int mask = this.indexKeys.length - 1;
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			if (this.indexSlots[j] == NO_SLOT) {
+				break;
+			}
+			int home = this.home(this.indexKeys[j]);
+			if (((j - home) & mask) >= ((j - i) & mask)) {
+				this.indexKeys[i] = this.indexKeys[j];
+				this.indexSlots[i] = this.indexSlots[j];
+				i = j;
+			}
+		}
+		this.indexSlots[i] = NO_SLOT;
+		this.nbOfOrders--;
+		return result;
+	}
+
+	/**
+	 * @return The stored order numbers, in no particular order.
+	 */
+	private int[] getOrderNumbers() {
+		int[] result = new int[this.nbOfOrders];
+		int n = 0;
+		for (int i = 0; i < this.indexKeys.length; i++) {
+			if (this.indexSlots[i] != NO_SLOT) {
+				result[n++] = this.indexKeys[i];
+			}
+		}
+		return result;
+	}
+
+	//--------------------------------------------------------------------------
+	// Slots
+	//--------------------------------------------------------------------------
+	/** The free slots below nbOfUsedSlots, as a stack. */
+	private int[] freeSlots;
+
+	/** The number of free slots on the stack. */
+	private int nbOfFreeSlots;
+
+	/** The number of slots that were ever used. */
+	private int nbOfUsedSlots;
+
+	/**
+	 * Claim a free slot, reusing the most recently freed one.
+	 *
+	 * @throws IllegalStateException
+	 * 		| getNbOfOrders() == getCapacity()
+	 */
+	private int claimSlot() throws IllegalStateException {
+		if (this.nbOfFreeSlots > 0) {
+			return this.freeSlots[--this.nbOfFreeSlots];
+		}
+		if (this.nbOfUsedSlots == this.capacity) {
+			throw new IllegalStateException("The order backlog is full.");
+		}
+		int slot = this.nbOfUsedSlots++;
+		if (getOffset(slot + 1) > this.buffer.capacity()) {
+			this.growBuffer();
+		}
+		this.buffer.putInt(USED_OFFSET, this.nbOfUsedSlots);
+		return slot;
+	}
+
+	/**
+	 * Replace the buffer on the heap by one that holds twice as many slots,
+	 * at most the capacity of this OrderBacklog. A memory-mapped buffer always
+	 * holds the capacity.
+	 */
+	private void growBuffer() {
+		int slots = (this.buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+		ByteBuffer grown = ByteBuffer.allocate(getFileSize(
+				(int) Math.min((long) 2 * slots, this.capacity)));
+		this.buffer.clear();
+		grown.put(this.buffer);
+		grown.clear();
+		this.buffer = grown;
+	}
+
+	private void pushFreeSlot(int slot) {
+		if (this.nbOfFreeSlots == this.freeSlots.length) {
+			this.freeSlots = Arrays.copyOf(this.freeSlots, 2 * this.freeSlots.length);
+		}
+		this.freeSlots[this.nbOfFreeSlots++] = slot;
+	}
+}
@@ -1,12 +1,16 @@
 package domain.production_schedule;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Sets;
 
 import domain.assembly_line.TaskType;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
 import domain.car.Model;
+import domain.car.ModelSet;
 
 /** 
  * OrderRequest provides an interface for requesting orders from the 
@@ -58,28 +62,108 @@ public class OrderRequest {
 		}
 		
 		this.orderType = Type.STANDARD;
-		this.models = Sets.newHashSet(models);
+		this.models = new ModelSet(Arrays.asList(models));
 		this.taskTypes = null;
+		this.line = Optional.absent();
+	}
+	
+	/**
+	 * Construct a new OrderRequest of a StandardOrder with the specified Model,
+	 * for the AssemblyLine represented by the specified VirtualAssemblyLine.
+	 * 
+	 * @param models
+	 * 		A set of Models of this new OrderRequest, should contain atleast one model.
+	 * @param line
+	 * 		The VirtualAssemblyLine of the AssemblyLine the order is requested for.
+	 * 
+	 * @postcondition | (new this).getOrderType == STANDARD
+	 * @postcondition | (new this).getModel == model
+	 * @postcondition | (new this).getVirtualAssemblyLine().get() == line
+	 * @throws IllegalArgumentException (models == null || models.size() < 1 || line == null)
+	 */
+	public OrderRequest(Model[] models, VirtualAssemblyLine line) throws IllegalArgumentException {
+		if (models == null) {
+			throw new IllegalArgumentException("models cannot be null.");
+		}
+		if (models.length < 1) {
+			throw new IllegalArgumentException("models should contain atleast one model.");
+		}
+		if (line == null) {
+			throw new IllegalArgumentException("line cannot be null.");
+		}
+		
+		this.orderType = Type.STANDARD;
+		this.models = new ModelSet(Arrays.asList(models));
+		this.taskTypes = null;
+		this.line = Optional.of(line);
+	}
+	
+	/**
+	 * Construct a new OrderRequest of a StandardOrder with the Models of the 
+	 * specified ModelSet, for the AssemblyLine represented by the specified 
+	 * VirtualAssemblyLine. The ModelSet is used as is, so an AssemblyLine can
+	 * request orders without copying its accepted Models.
+	 * 
+	 * @param models
+	 * 		The Models of this new OrderRequest, should contain atleast one model.
+	 * @param line
+	 * 		The VirtualAssemblyLine of the AssemblyLine the order is requested for.
+	 * 
+	 * @postcondition | (new this).getOrderType == STANDARD
+	 * @postcondition | (new this).getModels() == models
+	 * @postcondition | (new this).getVirtualAssemblyLine().get() == line
+	 * @throws IllegalArgumentException (models == null || models.size() < 1 || line == null)
+	 */
+	public OrderRequest(ModelSet models, VirtualAssemblyLine line) throws IllegalArgumentException {
+		if (models == null) {
+			throw new IllegalArgumentException("models cannot be null.");
+		}
+		if (models.isEmpty()) {
+			throw new IllegalArgumentException("models should contain atleast one model.");
+		}
+		if (line == null) {
+			throw new IllegalArgumentException("line cannot be null.");
+		}
+		
+		this.orderType = Type.STANDARD;
+		this.models = models;
+		this.taskTypes = null;
+		this.line = Optional.of(line);
 	}
 	
 	/**
 	 * If the orderType of this equals Standard it specifies the model of this
 	 * OrderRequest. 
 	 * 
-	 * @return | this.getOrderType == STANDARD -> (the model of this OrderRequest)
+	 * @return | this.getOrderType == STANDARD -> (the immutable set of models 
+	 * 		of this OrderRequest)
 	 * @throws IllegalStateArgument | this.getOrderType != STANDARD
 	 */
-	public Set<Model> getModels() throws IllegalStateException {
+	public ModelSet getModels() throws IllegalStateException {
 		switch (this.getOrderType()) {
 		case STANDARD:
-			return new HashSet<>(this.models);
+			return this.models;
 		default:
 			throw new IllegalStateException("Cannot access model of a non-StandardOrder.");
 		}
 	}
 	
 	/** The model of the StandardOrder request. */
-	private final Set<Model> models;
+	private final ModelSet models;
+	
+	/**
+	 * Get the VirtualAssemblyLine of the AssemblyLine the order is requested
+	 * for, if it was specified.
+	 * 
+	 * @return The VirtualAssemblyLine of the requesting AssemblyLine, absent if
+	 * 		it was not specified.
+	 */
+	public Optional<VirtualAssemblyLine> getVirtualAssemblyLine() {
+		return this.line;
+	}
+	
+	/** The VirtualAssemblyLine of the AssemblyLine the order is requested for. */
+	private final Optional<VirtualAssemblyLine> line;
 	
 	//--------------------------------------------------------------------------
 	// SingleTaskOrder
@@ -106,6 +190,7 @@ public class OrderRequest {
 		this.orderType = Type.SINGLETASK;
 		this.taskTypes = Sets.newHashSet(tasks);
 		this.models = null;
+		this.line = Optional.absent();
 	}
 	
 	/**
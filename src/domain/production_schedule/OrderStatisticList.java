@@ -0,0 +1,602 @@
+package domain.production_schedule;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An OrderStatisticList is a List backed by an order-statistic tree: a treap
+ * of which every node knows the size of its subtree. Getting, adding and
+ * removing an element at a position take O(log n) time, and so does finding
+ * the position of an element of the list, since every element is mapped to
+ * its node.
+ *
+ * Elements are looked up by identity first. An element can be in the list
+ * only once, and null cannot be an element. Looking up an element that is
+ * not in the list, but equal to one that is, finds the first equal element.
+ * Both take O(log n) time, provided the hash codes of the elements agree with
+ * their equality and do not change while they are in the list.
+ *
+ * The nodes are not objects: they are numbered slots in parallel arrays of
+ * their links, sizes and priorities, and the element of every slot is found
+ * in an open addressing table keyed on its hash code. A list of a million
+ * elements thus takes a few dozen bytes per element on top of the elements
+ * themselves, and no objects besides its arrays. Removed slots are reused.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ * @param <E> The type of the elements.
+ */
+public class OrderStatisticList<E> extends AbstractList<E> {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new empty OrderStatisticList.
+	 */
+	public OrderStatisticList() {
+		this.elements = new Object[INITIAL_CAPACITY];
+		this.left = new int[INITIAL_CAPACITY];
+		this.right = new int[INITIAL_CAPACITY];
+		this.parent = new int[INITIAL_CAPACITY];
+		this.sizes = new int[INITIAL_CAPACITY];
+		this.priorities = new int[INITIAL_CAPACITY];
+		this.keys = new Object[2 * INITIAL_CAPACITY];
+		this.slots = new int[2 * INITIAL_CAPACITY];
+		this.root = NIL;
+		this.free = NIL;
+		this.seed = 0x2545F491;
+	}
+
+	/** The initial number of slots. */
+	private static final int INITIAL_CAPACITY = 8;
+
+	//--------------------------------------------------------------------------
+	// Nodes
+	//--------------------------------------------------------------------------
+	/** The slot of no node. */
+	private static final int NIL = -1;
+
+	/** The root of the treap, NIL if this list is empty. */
+	private int root;
+
+	/** The element of every slot. */
+	private Object[] elements;
+
+	/** The left child, right child and parent of every slot. */
+	private int[] left, right, parent;
+
+	/** The size of the subtree of every slot. */
+	private int[] sizes;
+
+	/** The priority of every slot. */
+	private int[] priorities;
+
+	/** The number of slots that were ever used. */
+	private int nbOfSlots;
+
+	/** The first free slot, of which right links the next, NIL if none. */
+	private int free;
+
+	/** The state of the generator of the priorities. */
+	private int seed;
+
+	/**
+	 * Get the priority of a new node.
+	 */
+	private int nextPriority() {
+		// Xorshift, priorities only need to be spread evenly.
+		this.seed ^= this.seed << 13;
+		this.seed ^= this.seed >>> 17;
+		this.seed ^= this.seed << 5;
+		return this.seed;
+	}
+
+	/**
+	 * Claim a slot for a new leaf with the specified element.
+	 */
+	private int newNode(E element) {
+		int node = this.free;
+		if (node != NIL) {
+			this.free = this.right[node];
+		} else {
+			node = this.nbOfSlots++;
+			if (node == this.elements.length) {
+				int capacity = 2 * node;
+				this.elements = Arrays.copyOf(this.elements, capacity);
+				this.left = Arrays.copyOf(this.left, capacity);
+				this.right = Arrays.copyOf(this.right, capacity);
+				this.parent = Arrays.copyOf(this.parent, capacity);
+				this.sizes = Arrays.copyOf(this.sizes, capacity);
+				this.priorities = Arrays.copyOf(this.priorities, capacity);
+			}
+		}
+		this.elements[node] = element;
+		this.left[node] = NIL;
+		this.right[node] = NIL;
+		this.parent[node] = NIL;
+		this.sizes[node] = 1;
+		this.priorities[node] = this.nextPriority();
+		return node;
+	}
+
+	/**
+	 * Release the slot of the specified detached node.
+	 */
+	private void freeNode(int node) {
+		this.elements[node] = null;
+		this.right[node] = this.free;
+		this.free = node;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E elementOf(int node) {
+		return (E) this.elements[node];
+	}
+
+	private int sizeOf(int node) {
+		return node == NIL ? 0 : this.sizes[node];
+	}
+
+	private void updateSize(int node) {
+		this.sizes[node] = this.sizeOf(this.left[node]) + this.sizeOf(this.right[node]) + 1;
+	}
+
+	//--------------------------------------------------------------------------
+	// Index
+	//--------------------------------------------------------------------------
+	/** The elements of the index, in linear probing order, or null. */
+	private Object[] keys;
+
+	/** The slot of every element of the index. */
+	private int[] slots;
+
+	/** The number of elements in the index. */
+	private int nbOfKeys;
+
+	private int home(Object key) {
+		int hash = key.hashCode();
+		return (hash ^ (hash >>> 16)) * 0x9E3779B9 >>> 1 & (this.keys.length - 1);
+	}
+
+	/**
+	 * Get the slot of the element that is the specified object, or else of
+	 * the first or last element that is equal to it.
+	 *
+	 * @return The slot of the element, NIL if no element is equal to o.
+	 */
+	private int locate(Object o, boolean last) {
+		if (o == null) {
+			return NIL;
+		}
+		// Equal elements have equal hash codes, and thus share a probe run.
+		int mask = this.keys.length - 1;
+		int result = NIL;
+		int resultRank = 0;
+		for (int i = this.home(o); this.keys[i] != null; i = (i + 1) & mask) {
+			if (this.keys[i] == o) {
+				return this.slots[i];
+			}
+			if (o.equals(this.keys[i])) {
+				int rank = this.rankOf(this.slots[i]);
+				if (result == NIL || (last ? rank > resultRank : rank < resultRank)) {
+					result = this.slots[i];
+					resultRank = rank;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the slot of the specified element, NIL if it is not in the index.
+	 */
+	private int find(Object key) {
+		int mask = this.keys.length - 1;
+		for (int i = this.home(key); this.keys[i] != null; i = (i + 1) & mask) {
+			if (this.keys[i] == key) {
+				return this.slots[i];
+			}
+		}
+		return NIL;
+	}
+
+	/**
+	 * Map the specified element to the specified slot in the index.
+	 */
+	private void index(Object key, int node) {
+		if (2 * (this.nbOfKeys + 1) > this.keys.length) {
+			this.rehash(2 * this.keys.length);
+		}
+		int mask = this.keys.length - 1;
+		int i = this.home(key);
+		while (this.keys[i] != null && this.keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		if (this.keys[i] == null) {
+			this.keys[i] = key;
+			this.nbOfKeys++;
+		}
+		this.slots[i] = node;
+	}
+
+	/**
+	 * Remove the specified element from the index, shifting back the
+	 * elements probed after it.
+	 */
+	private void unindex(Object key) {
+		int mask = this.keys.length - 1;
+		int i = this.home(key);
+		while (this.keys[i] != key) {
+			if (this.keys[i] == null) {
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		this.keys[i] = null;
+		this.nbOfKeys--;
+		for (int j = (i + 1) & mask; this.keys[j] != null; j = (j + 1) & mask) {
+			int home = this.home(this.keys[j]);
+			// Move the element unless its home lies cyclically in (i, j].
+			boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+			if (!reachable) {
+				this.keys[i] = this.keys[j];
+				this.slots[i] = this.slots[j];
+				this.keys[j] = null;
+				i = j;
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		Object[] oldKeys = this.keys;
+		int[] oldSlots = this.slots;
+		this.keys = new Object[capacity];
+		this.slots = new int[capacity];
+		this.nbOfKeys = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				this.index(oldKeys[i], oldSlots[i]);
+			}
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	// Queries
+	//--------------------------------------------------------------------------
+	@Override
+	public int size() {
+		return this.sizeOf(this.root);
+	}
+
+	@Override
+	public E get(int index) {
+		this.checkIndex(index, this.size() - 1);
+		return this.elementOf(this.nodeAt(index));
+	}
+
+	/**
+	 * Get the position of the specified element in this list in O(log n) time.
+	 *
+	 * @return The position of the element, -1 if it is not in this list.
+	 */
+	@Override
+	public int indexOf(Object o) {
+		int node = this.locate(o, false);
+		return node == NIL ? -1 : this.rankOf(node);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		int node = this.locate(o, true);
+		return node == NIL ? -1 : this.rankOf(node);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return this.indexOf(o) >= 0;
+	}
+
+	/**
+	 * Get the node at the specified position.
+	 */
+	private int nodeAt(int index) {
+		int node = this.root;
+		while (true) {
+			int leftSize = this.sizeOf(this.left[node]);
+			if (index < leftSize) {
+				node = this.left[node];
+			} else if (index == leftSize) {
+				return node;
+			} else {
+				index -= leftSize + 1;
+				node = this.right[node];
+			}
+		}
+	}
+
+	/**
+	 * Get the position of the specified node.
+	 */
+	private int rankOf(int node) {
+		int rank = this.sizeOf(this.left[node]);
+		while (this.parent[node] != NIL) {
+			int up = this.parent[node];
+			if (node == this.right[up]) {
+				rank += this.sizeOf(this.left[up]) + 1;
+			}
+			node = up;
+		}
+		return rank;
+	}
+
+	private void checkIndex(int index, int max) {
+		if (index < 0 || index > max) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	// Modification
+	//--------------------------------------------------------------------------
+	/**
+	 * Replace the element at the specified position. The replaced element
+	 * may still be elsewhere in the list while it is being reordered, as
+	 * Collections.sort does.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| element == null
+	 */
+	@Override
+	public E set(int index, E element) throws IllegalArgumentException {
+		if (element == null) {
+			throw new IllegalArgumentException("Element cannot be null.");
+		}
+		this.checkIndex(index, this.size() - 1);
+		int node = this.nodeAt(index);
+		E old = this.elementOf(node);
+		if (this.find(old) == node) {
+			this.unindex(old);
+		}
+		this.elements[node] = element;
+		this.index(element, node);
+		return old;
+	}
+
+	/**
+	 * Insert the specified element at the specified position.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| element == null || this.contains(element)
+	 */
+	@Override
+	public void add(int index, E element) throws IllegalArgumentException {
+		if (element == null) {
+			throw new IllegalArgumentException("Element cannot be null.");
+		}
+		if (this.find(element) != NIL) {
+			throw new IllegalArgumentException("Element is already in the list.");
+		}
+		this.checkIndex(index, this.size());
+
+		int size = this.size();
+		int node = this.newNode(element);
+		if (this.root == NIL) {
+			this.root = node;
+		} else if (index == size) {
+			int last = this.root;
+			while (this.right[last] != NIL) {
+				last = this.right[last];
+			}
+			this.attach(node, last, false);
+		} else {
+			int next = this.nodeAt(index);
+			if (this.left[next] == NIL) {
+				this.attach(node, next, true);
+			} else {
+				int previous = this.left[next];
+				while (this.right[previous] != NIL) {
+					previous = this.right[previous];
+				}
+				this.attach(node, previous, false);
+			}
+		}
+		while (this.parent[node] != NIL
+				&& this.priorities[node] > this.priorities[this.parent[node]]) {
+			this.rotateUp(node);
+		}
+		this.index(element, node);
+		this.modCount++;
+	}
+
+	/**
+	 * Attach the specified leaf as the specified child of the specified
+	 * parent, and grow the subtrees on its path.
+	 */
+	private void attach(int leaf, int up, boolean asLeft) {
+		if (asLeft) {
+			this.left[up] = leaf;
+		} else {
+			this.right[up] = leaf;
+		}
+		this.parent[leaf] = up;
+		for (int ancestor = up; ancestor != NIL; ancestor = this.parent[ancestor]) {
+			this.sizes[ancestor]++;
+		}
+	}
+
+	@Override
+	public E remove(int index) {
+		this.checkIndex(index, this.size() - 1);
+		int node = this.nodeAt(index);
+		E element = this.elementOf(node);
+		this.removeNode(node);
+		return element;
+	}
+
+	/**
+	 * Remove the specified element from this list in O(log n) time.
+	 *
+	 * @return True if the list contained the element.
+	 */
+	@Override
+	public boolean remove(Object o) {
+		int node = this.locate(o, false);
+		if (node == NIL) {
+			return false;
+		}
+		this.removeNode(node);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.elements, 0, this.nbOfSlots, null);
+		Arrays.fill(this.keys, null);
+		this.nbOfKeys = 0;
+		this.nbOfSlots = 0;
+		this.root = NIL;
+		this.free = NIL;
+		this.modCount++;
+	}
+
+	/**
+	 * Remove the specified node from the treap and release its slot.
+	 */
+	private void removeNode(int node) {
+		// Rotate the node down until it has at most one child.
+		while (this.left[node] != NIL && this.right[node] != NIL) {
+			if (this.priorities[this.left[node]] > this.priorities[this.right[node]]) {
+				this.rotateUp(this.left[node]);
+			} else {
+				this.rotateUp(this.right[node]);
+			}
+		}
+		int child = this.left[node] != NIL ? this.left[node] : this.right[node];
+		int up = this.parent[node];
+		if (child != NIL) {
+			this.parent[child] = up;
+		}
+		this.replaceChild(up, node, child);
+		for (int ancestor = up; ancestor != NIL; ancestor = this.parent[ancestor]) {
+			this.sizes[ancestor]--;
+		}
+
+		Object element = this.elements[node];
+		if (this.find(element) == node) {
+			this.unindex(element);
+		}
+		this.freeNode(node);
+		this.modCount++;
+	}
+
+	/**
+	 * Rotate the specified node above its parent.
+	 */
+	private void rotateUp(int node) {
+		int up = this.parent[node];
+		int grandParent = this.parent[up];
+		if (node == this.left[up]) {
+			this.left[up] = this.right[node];
+			if (this.right[node] != NIL) {
+				this.parent[this.right[node]] = up;
+			}
+			this.right[node] = up;
+		} else {
+			this.right[up] = this.left[node];
+			if (this.left[node] != NIL) {
+				this.parent[this.left[node]] = up;
+			}
+			this.left[node] = up;
+		}
+		this.parent[up] = node;
+		this.parent[node] = grandParent;
+		this.replaceChild(grandParent, up, node);
+		this.updateSize(up);
+		this.updateSize(node);
+	}
+
+	/**
+	 * Replace the specified child of the specified parent, or the root if
+	 * the parent is NIL.
+	 */
+	private void replaceChild(int up, int child, int replacement) {
+		if (up == NIL) {
+			this.root = replacement;
+		} else if (this.left[up] == child) {
+			this.left[up] = replacement;
+		} else {
+			this.right[up] = replacement;
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	// Iteration
+	//--------------------------------------------------------------------------
+	/**
+	 * Iterate over this list in order, in O(1) amortised time per element.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int next = OrderStatisticList.this.first(OrderStatisticList.this.root);
+			private int last = NIL;
+			private int expectedModCount = OrderStatisticList.this.modCount;
+
+			@Override
+			public boolean hasNext() {
+				return this.next != NIL;
+			}
+
+			@Override
+			public E next() {
+				this.checkModCount();
+				if (this.next == NIL) {
+					throw new NoSuchElementException();
+				}
+				this.last = this.next;
+				this.next = OrderStatisticList.this.successor(this.next);
+				return OrderStatisticList.this.elementOf(this.last);
+			}
+
+			@Override
+			public void remove() {
+				if (this.last == NIL) {
+					throw new IllegalStateException();
+				}
+				this.checkModCount();
+				OrderStatisticList.this.removeNode(this.last);
+				this.last = NIL;
+				this.expectedModCount = OrderStatisticList.this.modCount;
+			}
+
+			private void checkModCount() {
+				if (OrderStatisticList.this.modCount != this.expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+			}
+		};
+	}
+
+	private int first(int node) {
+		if (node == NIL) {
+			return NIL;
+		}
+		while (this.left[node] != NIL) {
+			node = this.left[node];
+		}
+		return node;
+	}
+
+	private int successor(int node) {
+		if (this.right[node] != NIL) {
+			return this.first(this.right[node]);
+		}
+		while (this.parent[node] != NIL && node == this.right[this.parent[node]]) {
+			node = this.parent[node];
+		}
+		return this.parent[node];
+	}
+}
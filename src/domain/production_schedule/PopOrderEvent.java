@@ -0,0 +1,57 @@
+package domain.production_schedule;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of an Order being popped from a SchedulerContext.
+ * 
+ * Only create it through start(), where the Flight Recorder is present; see
+ * FlightRecorderSupport.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ */
+@Name("swop.PopOrder")
+@Label("Pop Order")
+@Category({ "SWOP", "Scheduling" })
+@Description("A SchedulerContext popped the next Order matching a request.")
+class PopOrderEvent extends Event implements PopOrderRecording {
+	@Label("Order Type")
+	@Description("The type of Order that was requested.")
+	String orderType;
+	
+	@Label("Queue Depth")
+	@Description("The number of Orders in the searched queue before the pop.")
+	int queueDepth;
+	
+	@Label("Scan Length")
+	@Description("The number of Orders inspected to find the result.")
+	int scanLength;
+	
+	@Label("Found")
+	@Description("Whether a matching Order was found.")
+	boolean found;
+	
+	/**
+	 * Create a new PopOrderEvent and begin timing it.
+	 * 
+	 * @return The new PopOrderEvent.
+	 */
+	static PopOrderRecording start() {
+		PopOrderEvent result = new PopOrderEvent();
+		result.begin();
+		return result;
+	}
+	
+	@Override
+	public void commit(String orderType, int queueDepth, int scanLength, boolean found) {
+		this.orderType = orderType;
+		this.queueDepth = queueDepth;
+		this.scanLength = scanLength;
+		this.found = found;
+		this.commit();
+	}
+}
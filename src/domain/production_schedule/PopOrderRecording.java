@@ -0,0 +1,52 @@
+package domain.production_schedule;
+
+/**
+ * A PopOrderRecording records a single pop of an Order from a
+ * SchedulerContext. It is a PopOrderEvent where the Flight Recorder is
+ * present, and NONE otherwise.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ */
+interface PopOrderRecording {
+	/**
+	 * @return Whether the recording can be kept, such that the values that
+	 * 		are only known before the pop have to be measured.
+	 */
+	boolean isEnabled();
+
+	/**
+	 * End the timing of the pop.
+	 */
+	void end();
+
+	/**
+	 * @return Whether the recording is kept, such that its values are needed.
+	 */
+	boolean shouldCommit();
+
+	/**
+	 * Keep the recording with the specified values.
+	 */
+	void commit(String orderType, int queueDepth, int scanLength, boolean found);
+
+	/** The PopOrderRecording that records nothing. */
+	PopOrderRecording NONE = new PopOrderRecording() {
+		@Override
+		public boolean isEnabled() {
+			return false;
+		}
+
+		@Override
+		public void end() {
+		}
+
+		@Override
+		public boolean shouldCommit() {
+			return false;
+		}
+
+		@Override
+		public void commit(String orderType, int queueDepth, int scanLength, boolean found) {
+		}
+	};
+}
@@ -1,20 +1,29 @@
 package domain.production_schedule;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import com.google.common.base.Optional;
 
 import domain.car.Model;
+import domain.car.ModelSet;
 import domain.car.Specification;
 import domain.assembly_line.TaskType;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
 import domain.order.Order;
+import domain.order.OrderStatusRegistry;
 import domain.order.SingleTaskOrder;
 import domain.order.StandardOrder;
 import domain.order.OrderView;
+import domain.metrics.Counter;
+import domain.metrics.FlightRecorderSupport;
+import domain.metrics.Gauge;
+import domain.metrics.MetricsRegistry;
 import domain.production_schedule.strategy.SchedulingStrategy;
 
 /**
@@ -63,12 +72,20 @@ public class SchedulerContext implements OrderSubject {
 	/** 
 	 * Set the current scheduling strategy of this SchedulerContext to the specified 
 	 * SchedulingStrategy.
-	 * 
-	 * @param newStrategy 
-	 * 		The new strategy of this SchedulerContext;
-	 * 
-	 * @postcondition | (new this).getSchedulingStrategy() == newStrategy
-	 * @postcondition orders sorted according to newStrategy.
+	 * The queue keeps its orders in per Specification sub-queues at all times,
+	 * so no order is moved: the queue only starts putting the orders of the
+	 * batch Specification of newStrategy first, after which newStrategy adopts
+	 * the queue. Switching between strategies takes constant time, unless
+	 * newStrategy rebuilds its own state in adopt.
+	 *
+	 * @param newStrategy
+	 * 		The new strategy of this SchedulerContext.
+	 *
+	 * @postcondition | (new this).getCurrentSchedulingStrategy() == newStrategy
+	 * @postcondition | (new this).getStandardOrderQueue() puts the orders with
+	 * 				  | newStrategy.getBatchSpecification() first, and keeps
+	 * 				  | all other orders first in first out
+	 * @postcondition newStrategy adopted the standard order queue.
 	 * @throws IllegalArgumentException
 	 * 		| newStrategy == null
 	 */
@@ -76,7 +93,9 @@ public class SchedulerContext implements OrderSubject {
 		if (newStrategy == null)
 			throw new IllegalArgumentException();
 		this.setSchedulingStrategyRaw(newStrategy);
-		newStrategy.sort(this.standardOrderQueue);
+		this.standardOrderQueue.setBatchSpecification(newStrategy.getBatchSpecification());
+		newStrategy.adopt(this.standardOrderQueue);
+		this.notifyStandardQueueChanged(0);
 	}
 	
 	/**
@@ -120,7 +139,8 @@ public class SchedulerContext implements OrderSubject {
 	 * @return | order in this.
 	 */
 	public boolean containsOrder(OrderView order) {
-		return this.getAllPendingOrders().contains(order);
+		return this.getStandardOrderQueueRaw().contains(order)
+				|| this.getSingleTaskOrderQueueRaw().contains(order);
 	}
 
 	/**
@@ -139,9 +159,10 @@ public class SchedulerContext implements OrderSubject {
 	// Get orders
 	//--------------------------------------------------------------------------
 	public Optional<Order> getOrder(OrderRequest request) {
+		this.ordersRequested.increment();
 		switch (request.getOrderType()) {
 		case STANDARD:
-			return this.getNextStandardOrder(request.getModels());
+			return this.getNextStandardOrder(request.getModels(), request.getVirtualAssemblyLine());
 		case SINGLETASK:
 			return this.getNextSingleTaskOrder(request.getTaskTypes());
 		default:
@@ -150,11 +171,80 @@ public class SchedulerContext implements OrderSubject {
 	}
 	
 	public Optional<Order> popOrder(OrderRequest request) {
+		PopOrderRecording event = FlightRecorderSupport.isAvailable() ?
+				PopOrderEvent.start() : PopOrderRecording.NONE;
+		// Only measure the queue when the event is recorded.
+		int queueDepth = 0;
+		int scanLength = 0;
+		if (event.isEnabled()) {
+			queueDepth = this.getQueueDepth(request);
+			scanLength = this.getScanLength(request);
+		}
+		
+		Optional<Order> result;
+		switch (request.getOrderType()) {
+		case STANDARD:
+			result = this.popNextStandardOrder(request.getModels(), request.getVirtualAssemblyLine());
+			break;
+		case SINGLETASK:
+			result = this.popNextSingleTaskOrder(request.getTaskTypes());
+			break;
+		default:
+			throw new IllegalStateException("Enum type not in cases.");
+		}
+		
+		event.end();
+		if (event.shouldCommit()) {
+			event.commit(request.getOrderType().name(), queueDepth, scanLength, result.isPresent());
+		}
+		return result;
+	}
+	
+	/**
+	 * Get the number of Orders in the queue the specified request is served from.
+	 * 
+	 * @param request
+	 * 		The request.
+	 * @return The size of the queue of the Orders of the requested type.
+	 */
+	private int getQueueDepth(OrderRequest request) {
 		switch (request.getOrderType()) {
 		case STANDARD:
-			return this.popNextStandardOrder(request.getModels());
+			return this.getStandardOrderQueueRaw().size();
 		case SINGLETASK:
-			return this.popNextSingleTaskOrder(request.getTaskTypes());
+			return this.getSingleTaskOrderQueueRaw().size();
+		default:
+			throw new IllegalStateException("Enum type not in cases.");
+		}
+	}
+	
+	/**
+	 * Get the number of Orders that are inspected to serve the specified request.
+	 * 
+	 * @param request
+	 * 		The request.
+	 * @return The position of the first matching Order in its queue plus one, 
+	 * 		or the size of the queue if no Order matches.
+	 */
+	private int getScanLength(OrderRequest request) {
+		int scanned = 0;
+		switch (request.getOrderType()) {
+		case STANDARD:
+			Set<Model> models = request.getModels();
+			for (StandardOrder order : this.getStandardOrderQueueRaw()) {
+				scanned++;
+				if (models.contains(order.getModel()))
+					break;
+			}
+			return scanned;
+		case SINGLETASK:
+			Set<TaskType> taskTypes = request.getTaskTypes();
+			for (SingleTaskOrder order : this.getSingleTaskOrderQueueRaw()) {
+				scanned++;
+				if (taskTypes.contains(order.getSingleTaskOrderType()))
+					break;
+			}
+			return scanned;
 		default:
 			throw new IllegalStateException("Enum type not in cases.");
 		}
@@ -171,22 +261,11 @@ public class SchedulerContext implements OrderSubject {
 	 * @return The list of batches
 	 */
 	public List<Specification> getEligibleBatches() {
-		Map<Specification, Integer> tally = new HashMap<Specification, Integer>();
-		
-		for (StandardOrder order : this.getStandardOrderQueueRaw()) {
-			Specification spec = order.getSpecifications();
-			if (tally.containsKey(spec)) {
-				tally.put(spec, tally.get(spec) + 1);
-			} else {
-				tally.put(spec, 1);
-			}
-		}
-		
 		List<Specification> toReturn = new ArrayList<Specification>();
 		
-		for (Map.Entry<Specification, Integer> candidate : tally.entrySet()) {
-			if (candidate.getValue() >= 3) {
-				toReturn.add(candidate.getKey());
+		for (Specification candidate : this.standardOrderQueue.getSpecifications()) {
+			if (this.standardOrderQueue.getNbOfOrders(candidate) >= 3) {
+				toReturn.add(candidate);
 			}
 		}
 		
@@ -223,19 +302,82 @@ public class SchedulerContext implements OrderSubject {
 	 * 		| acceptedModels == null || acceptedModels.contains(null)
 	 */
 	Optional<Order> getNextStandardOrder(Set<Model> acceptedModels) {
+		return this.getNextStandardOrder(acceptedModels, Optional.<VirtualAssemblyLine> absent());
+	}
+	
+	/**
+	 * Get the next StandardOrder to be scheduled (does not modify the queue)
+	 * on the AssemblyLine represented by the specified VirtualAssemblyLine, 
+	 * that matches one of the models in the specified set. The order is 
+	 * selected by the current SchedulingStrategy.
+	 * 
+	 * @param acceptedModels
+	 * 		The set of models that the result is allowed to contain. 
+	 * @param line
+	 * 		The VirtualAssemblyLine of the requesting AssemblyLine, if known.
+	 * 
+	 * @return An optional of the next StandardOrder to be scheduled if it 
+	 * 		   exists, else an absent Optional.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| acceptedModels == null || acceptedModels.contains(null) || line == null
+	 */
+	Optional<Order> getNextStandardOrder(Set<Model> acceptedModels, 
+			Optional<VirtualAssemblyLine> line) throws IllegalArgumentException {
 		if (acceptedModels == null)
 			throw new IllegalArgumentException("acceptedModels cannot be null");
 		if (acceptedModels.contains(null))
 			throw new IllegalArgumentException("acceptedModels cannot contain null");
-		Order result = null;
+		if (line == null)
+			throw new IllegalArgumentException("line cannot be null");
+		if (!this.hasPendingStandardOrder(acceptedModels))
+			return Optional.absent();
 		
-		for (StandardOrder order : this.getStandardOrderQueue()) {
-			if (acceptedModels.contains(order.getModel())) {
-				result = order;
+		Optional<StandardOrder> result = this.getCurrentSchedulingStrategy().selectNext(
+				Collections.unmodifiableList(this.getStandardOrderQueueRaw()), acceptedModels, line);
+		return Optional.<Order> fromNullable(result.orNull());
+	}
+	
+	/**
+	 * Get the first StandardOrders that could be scheduled next (does not 
+	 * modify the queue) on the AssemblyLine represented by the specified 
+	 * VirtualAssemblyLine: the StandardOrder selected by the current 
+	 * SchedulingStrategy, followed by the other StandardOrders with a model 
+	 * in the specified set, in the order of the queue.
+	 * 
+	 * @param acceptedModels
+	 * 		The set of models that the result is allowed to contain. 
+	 * @param line
+	 * 		The VirtualAssemblyLine of the requesting AssemblyLine, if known.
+	 * @param max
+	 * 		The largest number of StandardOrders in the result.
+	 * 
+	 * @return At most max StandardOrders with a model in acceptedModels, the 
+	 * 		one that would be scheduled next first.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| acceptedModels == null || acceptedModels.contains(null) || line == null || max < 0
+	 */
+	public List<StandardOrder> getNextStandardOrders(Set<Model> acceptedModels, 
+			Optional<VirtualAssemblyLine> line, int max) throws IllegalArgumentException {
+		if (max < 0)
+			throw new IllegalArgumentException("max cannot be negative");
+		List<StandardOrder> result = new ArrayList<>();
+		Optional<Order> next = this.getNextStandardOrder(acceptedModels, line);
+		if (!next.isPresent() || max == 0) {
+			return result;
+		}
+		
+		result.add((StandardOrder) next.get());
+		for (StandardOrder order : this.getStandardOrderQueueRaw()) {
+			if (result.size() == max) {
 				break;
 			}
-		}		
-		return Optional.fromNullable(result);
+			if (acceptedModels.contains(order.getModel()) && order != next.get()) {
+				result.add(order);
+			}
+		}
+		return result;
 	}
 	
 	
@@ -254,10 +396,40 @@ public class SchedulerContext implements OrderSubject {
 	 * 		| acceptedModels == null || acceptedModels.contains(null)
 	 */
 	Optional<Order> popNextStandardOrder(Set<Model> acceptedModels) throws IllegalArgumentException {
-		Optional<Order> result = this.getNextStandardOrder(acceptedModels);
+		return this.popNextStandardOrder(acceptedModels, Optional.<VirtualAssemblyLine> absent());
+	}
+	
+	/**
+	 * Pop the next StandardOrder for the AssemblyLine represented by the
+	 * specified VirtualAssemblyLine, that has a model belonging to 
+	 * acceptedModels, from the internal queue. 
+	 * 
+	 * @param acceptedModels
+	 * 		The set of models that the result is allowed to contain. 
+	 * @param line
+	 * 		The VirtualAssemblyLine of the requesting AssemblyLine, if known.
+	 * @return An optional containing the popped Order if it exists.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| acceptedModels == null || acceptedModels.contains(null) || line == null
+	 */
+	Optional<Order> popNextStandardOrder(Set<Model> acceptedModels, 
+			Optional<VirtualAssemblyLine> line) throws IllegalArgumentException {
+		Optional<Order> result = this.getNextStandardOrder(acceptedModels, line);
 		
-		if (result.isPresent())
-			this.getStandardOrderQueueRaw().remove(result.get());
+		if (result.isPresent()) {
+			int position = this.getStandardQueuePosition(result.get());
+			if (this.getCurrentSchedulingStrategy().removeFrom(
+					(StandardOrder) result.get(), this.getStandardOrderQueueRaw())) {
+				this.getCurrentSchedulingStrategy().takeOrder((StandardOrder) result.get());
+				this.notifyStandardOrderPopped(position);
+				this.indexPending((StandardOrder) result.get(), -1);
+				this.unregister(result.get());
+				this.discard(result.get());
+			}
+			this.ordersPopped.increment();
+			this.updateQueueGauges();
+		}
 
 		if (this.getCurrentSchedulingStrategy().isDone(this.getStandardOrderQueueRaw()))
 			this.setSchedulingStrategy(this.getDefaultStrategy());
@@ -292,8 +464,170 @@ public class SchedulerContext implements OrderSubject {
 		return this.standardOrderQueue;
 	}
 	
-	/** The order queue of this SchedulerContext */
-	private final List<StandardOrder> standardOrderQueue = new ArrayList<>();
+	/** 
+	 * The order queue of this SchedulerContext, kept in first in first out 
+	 * order and per Specification, such that adding and removing orders, 
+	 * finding their position in the queue and changing its ordering do not 
+	 * take linear time.
+	 */
+	private final StandardOrderQueue standardOrderQueue = new StandardOrderQueue();
+	
+	/**
+	 * Get a read-only view of the StandardOrder queue of this SchedulerContext.
+	 * The view follows the changes of the queue.
+	 * 
+	 * @return A read-only view of the standardOrderQueue.
+	 */
+	public List<StandardOrder> getStandardOrderQueueView() {
+		return this.standardOrderQueueView;
+	}
+	
+	/** The read-only view of the order queue of this SchedulerContext. */
+	private final List<StandardOrder> standardOrderQueueView = 
+			Collections.unmodifiableList(this.standardOrderQueue);
+	
+	/**
+	 * Get the position of the specified order in the StandardOrder queue, 
+	 * for the StandardQueueObservers.
+	 * 
+	 * @param order
+	 * 		The order.
+	 * @return The position of the order, 0 if it is not in the queue.
+	 */
+	private int getStandardQueuePosition(Order order) {
+		return Math.max(0, this.getStandardOrderQueueRaw().indexOf(order));
+	}
+	
+	/**
+	 * Get the position of the specified order in the StandardOrder queue of
+	 * this SchedulerContext, in polylogarithmic time. The first order of the 
+	 * queue has position 0.
+	 * 
+	 * @param order
+	 * 		The order.
+	 * 
+	 * @return The position of the order in the queue, absent if it is not a
+	 * 		pending StandardOrder.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| order == null
+	 */
+	public Optional<Integer> getQueuePosition(OrderView order) throws IllegalArgumentException {
+		if (order == null) {
+			throw new IllegalArgumentException("Order cannot be null.");
+		}
+		int position = this.getStandardOrderQueueRaw().indexOf(order);
+		if (position < 0) {
+			return Optional.absent();
+		}
+		return Optional.of(position);
+	}
+	
+	/**
+	 * Let the specified StandardQueueObserver observe the StandardOrder queue
+	 * of this SchedulerContext.
+	 * 
+	 * @param observer
+	 * 		The StandardQueueObserver.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| observer == null
+	 */
+	public void attachStandardQueueObserver(StandardQueueObserver observer) 
+			throws IllegalArgumentException {
+		if (observer == null) {
+			throw new IllegalArgumentException("Observer cannot be null");
+		}
+		if (!this.standardQueueObservers.contains(observer)) {
+			this.standardQueueObservers.add(observer);
+		}
+	}
+	
+	/**
+	 * Stop the specified StandardQueueObserver from observing the 
+	 * StandardOrder queue of this SchedulerContext.
+	 * 
+	 * @param observer
+	 * 		The StandardQueueObserver.
+	 */
+	public void detachStandardQueueObserver(StandardQueueObserver observer) {
+		this.standardQueueObservers.remove(observer);
+	}
+	
+	/**
+	 * Notify the StandardQueueObservers that the StandardOrder queue changed
+	 * from the specified position onwards.
+	 * 
+	 * @param position
+	 * 		The first position of the queue that changed.
+	 */
+	private void notifyStandardQueueChanged(int position) {
+		for (StandardQueueObserver observer : this.standardQueueObservers) {
+			observer.notifyStandardQueueChanged(position);
+		}
+	}
+
+	/**
+	 * Notify the StandardQueueObservers that the order at the specified
+	 * position of the StandardOrder queue was popped.
+	 *
+	 * @param position
+	 * 		The position of the popped order, before it was popped.
+	 */
+	private void notifyStandardOrderPopped(int position) {
+		for (StandardQueueObserver observer : this.standardQueueObservers) {
+			observer.notifyStandardOrderPopped(position);
+		}
+	}
+
+	/** The observers of the StandardOrder queue of this SchedulerContext. */
+	private final List<StandardQueueObserver> standardQueueObservers = new ArrayList<>();
+	
+	/**
+	 * Check whether a pending StandardOrder has a Model in the specified set,
+	 * without scanning the queue.
+	 * 
+	 * @param acceptedModels
+	 * 		The set of accepted Models.
+	 * 
+	 * @return Whether a pending StandardOrder may have an accepted Model. 
+	 */
+	private boolean hasPendingStandardOrder(Set<Model> acceptedModels) {
+		if (acceptedModels instanceof ModelSet) {
+			return ((ModelSet) acceptedModels).intersects(this.pendingModels);
+		}
+		for (Model model : acceptedModels) {
+			if (this.pendingModels.get(model.getId())) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Update the number of pending StandardOrders of the Model of the 
+	 * specified order.
+	 * 
+	 * @param order
+	 * 		The StandardOrder that was added or removed.
+	 * @param delta
+	 * 		1 if the order was added, -1 if it was removed.
+	 */
+	private void indexPending(StandardOrder order, int delta) {
+		int id = order.getModel().getId();
+		if (id >= this.pendingPerModel.length) {
+			this.pendingPerModel = Arrays.copyOf(this.pendingPerModel, 
+					Math.max(id + 1, 2 * this.pendingPerModel.length));
+		}
+		this.pendingPerModel[id] += delta;
+		this.pendingModels.set(id, this.pendingPerModel[id] > 0);
+	}
+	
+	/** The number of pending StandardOrders of every Model id. */
+	private int[] pendingPerModel = new int[0];
+	
+	/** The ids of the Models that have pending StandardOrders. */
+	private final BitSet pendingModels = new BitSet();
 	
 	//--------------------------------------------------------------------------
 	// Get SingleTaskOrder methods
@@ -341,6 +675,42 @@ public class SchedulerContext implements OrderSubject {
 		return Optional.fromNullable(result);
 	}
 	
+	/**
+	 * Get the first SingleTaskOrders to be scheduled, earliest deadline first, 
+	 * that have one of the specified TaskTypes (does not modify the queue).
+	 * 
+	 * @param acceptedTaskTypes
+	 * 		The set of TaskTypes the result is allowed to contain.
+	 * @param max
+	 * 		The largest number of SingleTaskOrders in the result.
+	 * 
+	 * @return At most max SingleTaskOrders with a TaskType in acceptedTaskTypes,
+	 * 		in order of their deadline.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| acceptedTaskTypes == null || acceptedTaskTypes.contains(null) || max < 0
+	 */
+	public List<SingleTaskOrder> getNextSingleTaskOrders(Set<TaskType> acceptedTaskTypes, int max) 
+			throws IllegalArgumentException {
+		if (acceptedTaskTypes == null)
+			throw new IllegalArgumentException("acceptedTaskTypes cannot be null");
+		if (acceptedTaskTypes.contains(null))
+			throw new IllegalArgumentException("acceptedTaskTypes cannot contain null");
+		if (max < 0)
+			throw new IllegalArgumentException("max cannot be negative");
+		
+		List<SingleTaskOrder> result = new ArrayList<>();
+		for (SingleTaskOrder order : this.getSingleTaskOrderQueueRaw()) {
+			if (result.size() == max) {
+				break;
+			}
+			if (acceptedTaskTypes.contains(order.getSingleTaskOrderType())) {
+				result.add(order);
+			}
+		}
+		return result;
+	}
+	
 	/**
 	 * Pop the next SingleTaskOrder to be scheduled of the specified TaskType from
 	 * its respective queue.
@@ -359,8 +729,14 @@ public class SchedulerContext implements OrderSubject {
 	Optional<Order> popNextSingleTaskOrder(Set<TaskType> acceptedTaskTypes) throws IllegalStateException {
 		Optional<Order> result = this.getNextSingleTaskOrder(acceptedTaskTypes);
 		
-		if (result.isPresent())
-			this.getSingleTaskOrderQueueRaw().remove(result.get());		
+		if (result.isPresent()) {
+			if (this.getSingleTaskOrderQueueRaw().remove(result.get())) {
+				this.unregister(result.get());
+				this.discard(result.get());
+			}
+			this.ordersPopped.increment();
+			this.updateQueueGauges();
+		}
 		return result;
 	}
 	
@@ -407,12 +783,24 @@ public class SchedulerContext implements OrderSubject {
 	 * 
 	 * @throws IllegalArgumentException
 	 * 		| !isValidPendingOrder(order)
+	 * @throws IllegalArgumentException
+	 * 		When this SchedulerContext has an OrderBacklog that cannot store the order.
+	 * @throws IllegalStateException
+	 * 		When this SchedulerContext has an OrderBacklog that is full.
 	 */
-	public void addNewStandardOrder(StandardOrder order) throws IllegalArgumentException {
+	public void addNewStandardOrder(StandardOrder order) 
+			throws IllegalArgumentException, IllegalStateException {
 		if (!isValidPendingOrder(order)) {
 			throw new IllegalArgumentException("Order is not a valid pending order.");
 		}
-		this.getCurrentSchedulingStrategy().addTo(order, this.getStandardOrderQueueRaw());
+		this.store(order);
+		this.getStandardOrderQueueRaw().add(order);
+		this.getCurrentSchedulingStrategy().adoptOrder(order);
+		this.notifyStandardQueueChanged(this.getStandardQueuePosition(order));
+		this.indexPending(order, 1);
+		this.register(order);
+		this.standardOrdersSubmitted.increment();
+		this.updateQueueGauges();
 		this.notifyNewOrder();
 	}
 	
@@ -426,11 +814,17 @@ public class SchedulerContext implements OrderSubject {
 	 * 
 	 * @throws IllegalArgumentException
 	 * 		| !isValidPendingOrder(order))
+	 * @throws IllegalArgumentException
+	 * 		When this SchedulerContext has an OrderBacklog that cannot store the order.
+	 * @throws IllegalStateException
+	 * 		When this SchedulerContext has an OrderBacklog that is full.
 	 */
-	public void addNewSingleTaskOrder(SingleTaskOrder order) throws IllegalArgumentException {
+	public void addNewSingleTaskOrder(SingleTaskOrder order) 
+			throws IllegalArgumentException, IllegalStateException {
 		if (!isValidPendingOrder(order)) {
 			throw new IllegalArgumentException("Order is not a valid pending order.");
 		}
+		this.store(order);
 
 		List<SingleTaskOrder> queue = this.getSingleTaskOrderQueueRaw();
 		boolean hasAdded = false; 
@@ -446,6 +840,9 @@ public class SchedulerContext implements OrderSubject {
 		if (!hasAdded) {
 			queue.add(order);
 		}
+		this.register(order);
+		this.singleTaskOrdersSubmitted.increment();
+		this.updateQueueGauges();
 		this.notifyNewOrder();
 	}
 	
@@ -456,12 +853,50 @@ public class SchedulerContext implements OrderSubject {
 	 * 		potato.
 	 */
 	public void removeOrder(Order order) {
+		this.removeOrder(order, false);
+	}
+	
+	/**
+	 * Remove the specified order from this SchedulerContext, because it is
+	 * taken to be assembled. Unlike an order that is removed otherwise, the
+	 * current SchedulingStrategy is told it was taken.
+	 * 
+	 * @param order
+	 * 		The order that is taken.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| order == null
+	 */
+	public void takeOrder(Order order) throws IllegalArgumentException {
+		this.removeOrder(order, true);
+	}
+	
+	/**
+	 * Remove the specified order from this SchedulerContext, and tell the
+	 * current SchedulingStrategy if it is taken to be assembled.
+	 */
+	private void removeOrder(Order order, boolean taken) {
 		if (order == null) {
 			throw new IllegalArgumentException("Dit hoeft volgens thomas niet, maar ik heb honger.");
 		}
 		
-		this.getSingleTaskOrderQueueRaw().remove(order);
-		this.getStandardOrderQueueRaw().remove(order);
+		boolean removed = this.getSingleTaskOrderQueueRaw().remove(order);
+		int position = order instanceof StandardOrder ? this.getStandardQueuePosition(order) : 0;
+		if (order instanceof StandardOrder && this.getCurrentSchedulingStrategy().removeFrom(
+					(StandardOrder) order, this.getStandardOrderQueueRaw())) {
+			if (taken) {
+				this.getCurrentSchedulingStrategy().takeOrder((StandardOrder) order);
+			}
+			this.notifyStandardQueueChanged(position);
+			this.indexPending((StandardOrder) order, -1);
+			removed = true;
+		}
+		if (removed) {
+			this.unregister(order);
+			this.discard(order);
+			this.ordersRemoved.increment();
+			this.updateQueueGauges();
+		}
 	}
 	
 	//--------------------------------------------------------------------------
@@ -474,6 +909,137 @@ public class SchedulerContext implements OrderSubject {
 		return order != null && !order.isCompleted();
 	}
 
+	//--------------------------------------------------------------------------
+	// Order status
+	//--------------------------------------------------------------------------
+	/**
+	 * Keep the specified OrderStatusRegistry up to date with the orders of
+	 * this SchedulerContext. The orders that are currently pending are 
+	 * registered as scheduled.
+	 * 
+	 * @param registry
+	 * 		The OrderStatusRegistry to update.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	public void setOrderStatusRegistry(OrderStatusRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.statusRegistry = Optional.of(registry);
+		for (OrderView order : this.getAllPendingOrders()) {
+			this.register(order);
+		}
+	}
+	
+	/**
+	 * Register the specified order as scheduled in the OrderStatusRegistry
+	 * of this SchedulerContext, if it has one.
+	 * 
+	 * @param order
+	 * 		The order that was added.
+	 */
+	private void register(OrderView order) {
+		if (this.statusRegistry.isPresent()) {
+			this.statusRegistry.get().setScheduled(order);
+		}
+	}
+	
+	/**
+	 * Remove the specified order from the scheduled orders of the 
+	 * OrderStatusRegistry of this SchedulerContext, if it has one.
+	 * 
+	 * @param order
+	 * 		The order that left its queue.
+	 */
+	private void unregister(OrderView order) {
+		if (this.statusRegistry.isPresent()) {
+			this.statusRegistry.get().removeScheduled(order);
+		}
+	}
+	
+	/** The OrderStatusRegistry kept up to date by this SchedulerContext. */
+	private Optional<OrderStatusRegistry> statusRegistry = Optional.absent();
+	
+	//--------------------------------------------------------------------------
+	// Order backlog
+	//--------------------------------------------------------------------------
+	/**
+	 * Keep the pending orders of this SchedulerContext in the specified
+	 * OrderBacklog. The orders of the backlog that are not pending yet are
+	 * added to this SchedulerContext, and the pending orders that are not in
+	 * the backlog yet are stored in it. From then on, every order that is 
+	 * added is stored, and every order that leaves its queue is removed from
+	 * the backlog. The pending orders stay in the queues of this 
+	 * SchedulerContext as well; the backlog only makes them durable.
+	 * 
+	 * @param backlog
+	 * 		The OrderBacklog of the pending orders.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| backlog == null
+	 * @throws IllegalArgumentException
+	 * 		When a pending order cannot be stored in the backlog.
+	 * @throws IllegalStateException
+	 * 		When the pending orders do not fit in the backlog.
+	 */
+	public void setOrderBacklog(OrderBacklog backlog) 
+			throws IllegalArgumentException, IllegalStateException {
+		if (backlog == null) {
+			throw new IllegalArgumentException("Backlog cannot be null.");
+		}
+		Set<Order> pending = new HashSet<Order>();
+		pending.addAll(this.getStandardOrderQueueRaw());
+		pending.addAll(this.getSingleTaskOrderQueueRaw());
+		for (Order order : pending) {
+			if (!backlog.contains(order)) {
+				backlog.add(order);
+			}
+		}
+		
+		this.orderBacklog = Optional.of(backlog);
+		for (Order order : backlog.getOrders()) {
+			if (pending.contains(order)) {
+				continue;
+			}
+			if (order instanceof SingleTaskOrder) {
+				this.addNewSingleTaskOrder((SingleTaskOrder) order);
+			} else {
+				this.addNewStandardOrder((StandardOrder) order);
+			}
+		}
+	}
+	
+	/**
+	 * Store the specified order in the OrderBacklog of this SchedulerContext,
+	 * if it has one and the order is not stored yet.
+	 * 
+	 * @param order
+	 * 		The order that is added.
+	 */
+	private void store(Order order) {
+		if (this.orderBacklog.isPresent() && !this.orderBacklog.get().contains(order)) {
+			this.orderBacklog.get().add(order);
+		}
+	}
+	
+	/**
+	 * Remove the specified order from the OrderBacklog of this 
+	 * SchedulerContext, if it has one.
+	 * 
+	 * @param order
+	 * 		The order that left its queue.
+	 */
+	private void discard(Order order) {
+		if (this.orderBacklog.isPresent()) {
+			this.orderBacklog.get().remove(order);
+		}
+	}
+	
+	/** The OrderBacklog of the pending orders of this SchedulerContext. */
+	private Optional<OrderBacklog> orderBacklog = Optional.absent();
+	
 	//--------------------------------------------------------------------------
 	// OrderSubject methods.
 	//--------------------------------------------------------------------------
@@ -516,4 +1082,54 @@ public class SchedulerContext implements OrderSubject {
 	
 	/** The OrderObservers of this OrderSubject. */
 	private final List<OrderObserver> orderObservers = new ArrayList<>();
+	
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Set the queue depth gauges to the current size of the queues of this
+	 * SchedulerContext.
+	 */
+	private void updateQueueGauges() {
+		this.standardQueueDepth.set(this.getStandardOrderQueueRaw().size());
+		this.singleTaskQueueDepth.set(this.getSingleTaskOrderQueueRaw().size());
+	}
+	
+	/**
+	 * Report the metrics of this SchedulerContext in the specified
+	 * MetricsRegistry from now on. Until then, they are not reported.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this SchedulerContext.
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	public void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.standardOrdersSubmitted = registry.counter("scheduler.orders.submitted.standard");
+		this.singleTaskOrdersSubmitted = registry.counter("scheduler.orders.submitted.single_task");
+		this.ordersRequested = registry.counter("scheduler.orders.requested");
+		this.ordersPopped = registry.counter("scheduler.orders.popped");
+		this.ordersRemoved = registry.counter("scheduler.orders.removed");
+		this.standardQueueDepth = registry.gauge("scheduler.queue.standard");
+		this.singleTaskQueueDepth = registry.gauge("scheduler.queue.single_task");
+		this.updateQueueGauges();
+	}
+	
+	/** The number of StandardOrders added to this SchedulerContext. */
+	private Counter standardOrdersSubmitted = new Counter();
+	/** The number of SingleTaskOrders added to this SchedulerContext. */
+	private Counter singleTaskOrdersSubmitted = new Counter();
+	/** The number of requests for the next Order. */
+	private Counter ordersRequested = new Counter();
+	/** The number of Orders popped from this SchedulerContext. */
+	private Counter ordersPopped = new Counter();
+	/** The number of Orders removed from this SchedulerContext to be scheduled. */
+	private Counter ordersRemoved = new Counter();
+	/** The depth of the StandardOrder queue last updated. */
+	private Gauge standardQueueDepth = new Gauge();
+	/** The depth of the SingleTaskOrder queue last updated. */
+	private Gauge singleTaskQueueDepth = new Gauge();
 }
\ No newline at end of file
@@ -0,0 +1,357 @@
+package domain.production_schedule;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.google.common.base.Optional;
+
+import domain.car.Specification;
+import domain.order.Order;
+import domain.order.StandardOrder;
+import domain.production_schedule.strategy.FifoComparator;
+
+/**
+ * A StandardOrderQueue holds the pending StandardOrders of a SchedulerContext
+ * in the ordering of its SchedulingStrategy: either first in first out, or
+ * the orders of a batch Specification first, followed by the other orders,
+ * both first in first out.
+ *
+ * The queue keeps the first in first out ordering of all orders, and the
+ * first in first out ordering of the orders of every Specification, at all
+ * times. Changing the ordering therefore does not move any order and takes
+ * constant time. The queue of a Specification is created when its first order
+ * is added, and dropped when its last order is removed.
+ *
+ * Adding and removing an order, and getting the order at a position, take
+ * O(log n) time in first in first out ordering and O(log^2 n) time in batch
+ * ordering. Iterating takes O(1) amortised time per order.
+ *
+ * The queue is always sorted: an added order is put at its position in the
+ * ordering, whatever position is specified. Orders are therefore added with
+ * add(order) rather than SchedulingStrategy.addTo, which would search the
+ * queue for a position that is not used. Orders cannot be replaced.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+class StandardOrderQueue extends AbstractList<StandardOrder> {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new empty StandardOrderQueue in first in first out ordering.
+	 */
+	StandardOrderQueue() {
+		this.fifoQueue = new OrderStatisticList<StandardOrder>();
+		this.batchQueues = new HashMap<Specification, OrderStatisticList<StandardOrder>>();
+		this.batchSpecification = Optional.absent();
+	}
+
+	/** All orders of this queue, first in first out. */
+	private final OrderStatisticList<StandardOrder> fifoQueue;
+
+	/** The orders of every Specification of this queue, first in first out. */
+	private final Map<Specification, OrderStatisticList<StandardOrder>> batchQueues;
+
+	/** The ordering of the submission times of orders. */
+	private static final Comparator<Order> FIFO = new FifoComparator();
+
+	//--------------------------------------------------------------------------
+	// Ordering
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the Specification of the orders that are put first in this queue.
+	 *
+	 * @return The batch Specification, absent if this queue is ordered first
+	 * 		in first out.
+	 */
+	Optional<Specification> getBatchSpecification() {
+		return this.batchSpecification;
+	}
+
+	/**
+	 * Put the orders of the specified Specification first in this queue, or
+	 * order it first in first out if the Specification is absent. This takes
+	 * constant time.
+	 *
+	 * @param specification
+	 * 		The new batch Specification.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| specification == null
+	 */
+	void setBatchSpecification(Optional<Specification> specification)
+			throws IllegalArgumentException {
+		if (specification == null) {
+			throw new IllegalArgumentException("Specification cannot be null.");
+		}
+		this.batchSpecification = specification;
+		this.modCount++;
+	}
+
+	/** The Specification of the orders that are put first in this queue. */
+	private Optional<Specification> batchSpecification;
+
+	/**
+	 * Get the orders of the batch Specification, first in first out.
+	 */
+	private List<StandardOrder> getBatch() {
+		OrderStatisticList<StandardOrder> batch =
+				this.batchQueues.get(this.batchSpecification.get());
+		return batch == null ? Collections.<StandardOrder> emptyList() : batch;
+	}
+
+	private boolean isInBatch(StandardOrder order) {
+		return this.batchSpecification.get().equals(order.getSpecifications());
+	}
+
+	//--------------------------------------------------------------------------
+	// Specifications
+	//--------------------------------------------------------------------------
+	/**
+	 * @return The Specifications of the orders of this queue.
+	 */
+	Set<Specification> getSpecifications() {
+		return Collections.unmodifiableSet(this.batchQueues.keySet());
+	}
+
+	/**
+	 * Get the number of orders of the specified Specification in this queue.
+	 *
+	 * @param specification
+	 * 		The Specification.
+	 *
+	 * @return The number of orders with the Specification.
+	 */
+	int getNbOfOrders(Specification specification) {
+		List<StandardOrder> batch = this.batchQueues.get(specification);
+		return batch == null ? 0 : batch.size();
+	}
+
+	//--------------------------------------------------------------------------
+	// Queries
+	//--------------------------------------------------------------------------
+	@Override
+	public int size() {
+		return this.fifoQueue.size();
+	}
+
+	@Override
+	public StandardOrder get(int index) {
+		if (!this.batchSpecification.isPresent()) {
+			return this.fifoQueue.get(index);
+		}
+		if (index < 0 || index >= this.size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+		}
+		List<StandardOrder> batch = this.getBatch();
+		if (index < batch.size()) {
+			return batch.get(index);
+		}
+		int rest = index - batch.size();
+		return this.fifoQueue.get(rest + this.countBatchOrdersBefore(batch, rest));
+	}
+
+	/**
+	 * Get the number of orders of the specified batch that come before the
+	 * order in the first in first out queue that is preceded by the
+	 * specified number of orders outside the batch.
+	 */
+	private int countBatchOrdersBefore(List<StandardOrder> batch, int nbOfOthers) {
+		// The number of other orders before batch order j grows with j.
+		int left = 0;
+		int right = batch.size();
+		while (left < right) {
+			int mid = (left + right) >>> 1;
+			if (this.fifoQueue.indexOf(batch.get(mid)) - mid <= nbOfOthers) {
+				left = mid + 1;
+			} else {
+				right = mid;
+			}
+		}
+		return left;
+	}
+
+	/**
+	 * Get the number of orders of the specified batch that come before the
+	 * specified position in the first in first out queue.
+	 */
+	private int countBatchOrdersBeforePosition(List<StandardOrder> batch, int position) {
+		int left = 0;
+		int right = batch.size();
+		while (left < right) {
+			int mid = (left + right) >>> 1;
+			if (this.fifoQueue.indexOf(batch.get(mid)) < position) {
+				left = mid + 1;
+			} else {
+				right = mid;
+			}
+		}
+		return left;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		int position = this.fifoQueue.indexOf(o);
+		if (position < 0 || !this.batchSpecification.isPresent()) {
+			return position;
+		}
+		List<StandardOrder> batch = this.getBatch();
+		StandardOrder order = this.fifoQueue.get(position);
+		if (this.isInBatch(order)) {
+			return batch.indexOf(order);
+		}
+		return batch.size() + position - this.countBatchOrdersBeforePosition(batch, position);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return this.indexOf(o);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return this.fifoQueue.contains(o);
+	}
+
+	//--------------------------------------------------------------------------
+	// Modification
+	//--------------------------------------------------------------------------
+	/**
+	 * Add the specified order at its position in the ordering of this queue.
+	 * The specified index is not used.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| order == null || this.contains(order)
+	 */
+	@Override
+	public void add(int index, StandardOrder order) throws IllegalArgumentException {
+		if (order == null) {
+			throw new IllegalArgumentException("Order cannot be null.");
+		}
+		insertFifo(this.fifoQueue, order);
+
+		Specification specification = order.getSpecifications();
+		OrderStatisticList<StandardOrder> batch = this.batchQueues.get(specification);
+		if (batch == null) {
+			batch = new OrderStatisticList<StandardOrder>();
+			this.batchQueues.put(specification, batch);
+		}
+		insertFifo(batch, order);
+		this.modCount++;
+	}
+
+	/**
+	 * Insert the specified order in the specified first in first out list,
+	 * after the orders submitted at the same time.
+	 */
+	private static void insertFifo(List<StandardOrder> list, StandardOrder order) {
+		int left = 0;
+		int right = list.size();
+		while (left < right) {
+			int mid = (left + right) >>> 1;
+			if (FIFO.compare(list.get(mid), order) <= 0) {
+				left = mid + 1;
+			} else {
+				right = mid;
+			}
+		}
+		list.add(left, order);
+	}
+
+	@Override
+	public StandardOrder remove(int index) {
+		StandardOrder order = this.get(index);
+		this.remove(order);
+		return order;
+	}
+
+	/**
+	 * Remove the specified order from this queue in O(log n) time.
+	 *
+	 * @return True if this queue contained the order.
+	 */
+	@Override
+	public boolean remove(Object o) {
+		int position = this.fifoQueue.indexOf(o);
+		if (position < 0) {
+			return false;
+		}
+		StandardOrder order = this.fifoQueue.remove(position);
+
+		Specification specification = order.getSpecifications();
+		OrderStatisticList<StandardOrder> batch = this.batchQueues.get(specification);
+		batch.remove(order);
+		if (batch.isEmpty()) {
+			this.batchQueues.remove(specification);
+		}
+		this.modCount++;
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		this.fifoQueue.clear();
+		this.batchQueues.clear();
+		this.modCount++;
+	}
+
+	//--------------------------------------------------------------------------
+	// Iteration
+	//--------------------------------------------------------------------------
+	/**
+	 * Iterate over this queue in its ordering, in O(1) amortised time per
+	 * order. The iterator cannot remove orders.
+	 */
+	@Override
+	public Iterator<StandardOrder> iterator() {
+		if (!this.batchSpecification.isPresent()) {
+			return Collections.unmodifiableList(this.fifoQueue).iterator();
+		}
+		final Iterator<StandardOrder> batch = this.getBatch().iterator();
+		final Iterator<StandardOrder> fifo = this.fifoQueue.iterator();
+		return new Iterator<StandardOrder>() {
+			private StandardOrder next = this.advance();
+
+			private StandardOrder advance() {
+				if (batch.hasNext()) {
+					return batch.next();
+				}
+				while (fifo.hasNext()) {
+					StandardOrder order = fifo.next();
+					if (!StandardOrderQueue.this.isInBatch(order)) {
+						return order;
+					}
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return this.next != null;
+			}
+
+			@Override
+			public StandardOrder next() {
+				if (this.next == null) {
+					throw new NoSuchElementException();
+				}
+				StandardOrder result = this.next;
+				this.next = this.advance();
+				return result;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+}
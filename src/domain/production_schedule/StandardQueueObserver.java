@@ -0,0 +1,31 @@
+package domain.production_schedule;
+
+/**
+ * A StandardQueueObserver is notified of every change to the StandardOrder
+ * queue of a SchedulerContext, with the first position of the queue that
+ * changed. The orders in front of that position are the same as before.
+ * Orders that are popped to be put on a line are reported separately.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public interface StandardQueueObserver {
+	/**
+	 * Notify this StandardQueueObserver of a change to the StandardOrder queue
+	 * it observes.
+	 *
+	 * @param position
+	 * 		The first position of the queue that changed.
+	 */
+	public void notifyStandardQueueChanged(int position);
+
+	/**
+	 * Notify this StandardQueueObserver that the order at the specified
+	 * position of the StandardOrder queue it observes was popped to be put on
+	 * a line.
+	 *
+	 * @param position
+	 * 		The position of the popped order, before it was popped.
+	 */
+	public void notifyStandardOrderPopped(int position);
+}
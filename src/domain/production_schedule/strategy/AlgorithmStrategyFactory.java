@@ -31,6 +31,7 @@ public class AlgorithmStrategyFactory {
 		Specification emptySpec = new Specification(emptyOptions);
 		
 		result.add(new BatchStrategy<StandardOrder>(emptySpec));
+		result.add(this.getAutoBatchStrategy());
 		
 		return result;
 	}
@@ -55,5 +56,15 @@ public class AlgorithmStrategyFactory {
 	public SchedulingStrategy<StandardOrder> getBatchStrategy(Specification spec) throws IllegalArgumentException {
 		return new BatchStrategy<StandardOrder>(spec);
 	}
+	
+	/**
+	 * Get an automatic Batch SchedulingStrategy that groups Orders with the 
+	 * same Specification and selects the Orders of a group in a row.
+	 * 
+	 * @return An AutoBatchSchedulingStrategy.
+	 */
+	public SchedulingStrategy<StandardOrder> getAutoBatchStrategy() {
+		return new AutoBatchStrategy<StandardOrder>();
+	}
 
 }
\ No newline at end of file
@@ -0,0 +1,543 @@
+package domain.production_schedule.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.google.common.base.Optional;
+
+import domain.assembly_line.TaskType;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Model;
+import domain.car.Specification;
+import domain.order.Order;
+
+/**
+ * The AutoBatchStrategy keeps its orders in first in first out order, but
+ * groups them in batches of orders with the same Specification and the same
+ * number of minutes on every type of work post. Once an order of a batch is
+ * put on an AssemblyLine, the following orders of that batch are selected
+ * first, such that the AssemblyLine does not change over between orders.
+ * When the batch is exhausted, or maxBatchSize orders of it were taken in a
+ * row, the batch of the oldest pending order is started. Only orders taken
+ * to be assembled count; an order removed otherwise does not.
+ *
+ * Unlike the BatchStrategy, the batches do not have to be chosen by a
+ * manager and the AutoBatchStrategy is never done. The batches are kept in
+ * an index that is updated when an order is added or removed, which costs
+ * O(k log n) per order for a batch with orders of k Models; only sort and
+ * adopt rebuild the index. The index keeps the batches of every Model id
+ * oldest first, so selecting an order costs O(m log n + k) for m accepted
+ * Models, independent of the number of batches.
+ *
+ * An AutoBatchStrategy keeps the index of a single queue, so an instance
+ * should only be used by one SchedulerContext.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class AutoBatchStrategy<O extends Order> extends SchedulingStrategy<O> {
+	//--------------------------------------------------------------------------
+	// Constructors
+	//--------------------------------------------------------------------------
+	/**
+	 * Initialise a new AutoBatchStrategy with the default maximum batch size.
+	 */
+	public AutoBatchStrategy() {
+		this(DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Initialise a new AutoBatchStrategy with the specified maximum batch size.
+	 *
+	 * @param maxBatchSize
+	 * 		The largest number of orders of one batch that are selected in a
+	 * 		row while older orders of other batches are pending.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| maxBatchSize < 1
+	 */
+	public AutoBatchStrategy(int maxBatchSize) throws IllegalArgumentException {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("maxBatchSize should be strictly positive.");
+		}
+		this.comparator = new FifoComparator();
+		this.maxBatchSize = maxBatchSize;
+		this.ordering = this.newOrdering();
+		this.keys = new HashMap<Model, Map<Specification, BatchKey>>();
+		this.batches = new HashMap<BatchKey, Batch>();
+		this.batchesByModelId = new ArrayList<TreeSet<Batch>>();
+		this.currentBatch = null;
+		this.runLength = 0;
+	}
+
+	/** The default largest number of orders of one batch selected in a row. */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 10;
+
+	//--------------------------------------------------------------------------
+	// SchedulingStrategy methods.
+	//--------------------------------------------------------------------------
+	@Override
+	public String getName() {
+		return "Automatic batch strategy";
+	}
+
+	@Override
+	public int compare(O o, O p) {
+		return this.getComparator().compare(o, p);
+	}
+
+	/**
+	 * Sort the specified orderQueue in first in first out order and rebuild
+	 * the batches from it.
+	 */
+	@Override
+	public void sort(List<O> orderQueue) {
+		Collections.sort(orderQueue, this.getComparator());
+		this.adopt(orderQueue);
+	}
+
+	/**
+	 * Rebuild the batches from the specified orderQueue and start without a
+	 * current batch.
+	 */
+	@Override
+	public void adopt(List<O> orderQueue) {
+		this.keys.clear();
+		this.batches.clear();
+		this.batchesByModelId.clear();
+		this.currentBatch = null;
+		this.runLength = 0;
+		for (O order : orderQueue) {
+			this.index(order);
+		}
+	}
+
+	@Override
+	public boolean isDone(List<O> orderQueue) {
+		return false;
+	}
+
+	@Override
+	public void addTo(O order, List<O> orderQueue) {
+		super.addTo(order, orderQueue);
+		this.adoptOrder(order);
+	}
+
+	/**
+	 * Add the specified order to its batch.
+	 */
+	@Override
+	public void adoptOrder(O order) {
+		this.index(order);
+	}
+
+	/**
+	 * Remove the specified order from the specified orderQueue and its batch.
+	 */
+	@Override
+	public boolean removeFrom(O order, List<O> orderQueue) {
+		boolean result = super.removeFrom(order, orderQueue);
+		if (!result) {
+			return false;
+		}
+
+		BatchKey key = this.findKey(order);
+		Batch batch = key == null ? null : this.batches.get(key);
+		if (batch != null && batch.contains(order)) {
+			this.detach(batch);
+			if (batch.remove(order)) {
+				this.evictKey(order);
+			}
+			if (batch.isEmpty()) {
+				this.batches.remove(key);
+			} else {
+				this.attach(batch);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Make the batch of the specified order the current batch, or continue
+	 * its run if it already is.
+	 */
+	@Override
+	public void takeOrder(O order) {
+		BatchKey key = this.findKey(order);
+		if (key == null) {
+			key = new BatchKey(order);
+		}
+		if (key.equals(this.currentBatch)) {
+			this.runLength++;
+		} else {
+			this.currentBatch = key;
+			this.runLength = 1;
+		}
+	}
+
+	/**
+	 * Select the oldest accepted order of the current batch, unless the batch
+	 * has no accepted order left or maxBatchSize of its orders were taken
+	 * in a row. Otherwise select the oldest accepted order of the batch with
+	 * the oldest pending order, of the batches with an accepted order.
+	 */
+	@Override
+	public Optional<O> selectNext(List<O> orderQueue, Set<Model> acceptedModels,
+			Optional<VirtualAssemblyLine> line) {
+		if (this.currentBatch != null && this.runLength < this.getMaxBatchSize()) {
+			Batch batch = this.batches.get(this.currentBatch);
+			O result = batch == null ? null : batch.getOldestAccepted(acceptedModels);
+			if (result != null) {
+				return Optional.of(result);
+			}
+		}
+
+		Batch oldest = null;
+		for (Model model : acceptedModels) {
+			Batch batch = this.getOldestAccepting(model.getId(), acceptedModels);
+			if (batch != null && (oldest == null || this.ordering.compare(batch.head, oldest.head) < 0)) {
+				oldest = batch;
+			}
+		}
+		if (oldest == null) {
+			return Optional.absent();
+		}
+		return Optional.of(oldest.getOldestAccepted(acceptedModels));
+	}
+
+	//--------------------------------------------------------------------------
+	// Batches
+	//--------------------------------------------------------------------------
+	/**
+	 * Add the specified order to its batch.
+	 *
+	 * @param order
+	 * 		The order to add.
+	 */
+	private void index(O order) {
+		BatchKey key = this.getKey(order);
+		Batch batch = this.batches.get(key);
+		if (batch == null) {
+			batch = new Batch();
+			this.batches.put(key, batch);
+		} else {
+			this.detach(batch);
+		}
+		batch.add(order);
+		this.attach(batch);
+	}
+
+	/**
+	 * Get the key of the batch of the specified order. Keys are cached per
+	 * Model and Specification while the batch has an order of that Model,
+	 * such that they are only built once.
+	 *
+	 * @param order
+	 * 		The order of which to get the batch key.
+	 *
+	 * @return The key of the batch of the order.
+	 */
+	private BatchKey getKey(O order) {
+		Map<Specification, BatchKey> keysOfModel = this.keys.get(order.getModel());
+		if (keysOfModel == null) {
+			keysOfModel = new HashMap<Specification, BatchKey>();
+			this.keys.put(order.getModel(), keysOfModel);
+		}
+		BatchKey result = keysOfModel.get(order.getSpecifications());
+		if (result == null) {
+			result = new BatchKey(order);
+			keysOfModel.put(order.getSpecifications(), result);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the cached key of the batch of the specified order.
+	 *
+	 * @param order
+	 * 		The order of which to get the batch key.
+	 *
+	 * @return The cached key of the batch of the order, null if its batch has
+	 * 		no order of its Model.
+	 */
+	private BatchKey findKey(O order) {
+		Map<Specification, BatchKey> keysOfModel = this.keys.get(order.getModel());
+		return keysOfModel == null ? null : keysOfModel.get(order.getSpecifications());
+	}
+
+	/**
+	 * Remove the cached key of the batch of the specified order, once its
+	 * batch has no order of its Model left.
+	 *
+	 * @param order
+	 * 		The last order of its Model removed from its batch.
+	 */
+	private void evictKey(O order) {
+		Map<Specification, BatchKey> keysOfModel = this.keys.get(order.getModel());
+		keysOfModel.remove(order.getSpecifications());
+		if (keysOfModel.isEmpty()) {
+			this.keys.remove(order.getModel());
+		}
+	}
+
+	/**
+	 * Get the oldest batch with an order of a Model with the specified id and
+	 * an order of a Model in the specified set. Models may share an id, so
+	 * the batches of the id are checked for an accepted order in turn.
+	 *
+	 * @param id
+	 * 		The Model id.
+	 * @param acceptedModels
+	 * 		The set of accepted Models.
+	 *
+	 * @return The oldest batch of the id with an accepted order, null if there
+	 * 		is none.
+	 */
+	private Batch getOldestAccepting(int id, Set<Model> acceptedModels) {
+		if (id >= this.batchesByModelId.size()) {
+			return null;
+		}
+		for (Batch batch : this.batchesByModelId.get(id)) {
+			if (batch.accepts(acceptedModels)) {
+				return batch;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Add the specified batch to the batches of the ids of its Models, with
+	 * its current oldest order as head.
+	 *
+	 * @param batch
+	 * 		The batch to attach, which has at least one order.
+	 */
+	private void attach(Batch batch) {
+		batch.head = null;
+		for (TreeSet<O> group : batch.groups.values()) {
+			if (batch.head == null || this.ordering.compare(group.first(), batch.head) < 0) {
+				batch.head = group.first();
+			}
+		}
+		for (Model model : batch.groups.keySet()) {
+			while (this.batchesByModelId.size() <= model.getId()) {
+				this.batchesByModelId.add(new TreeSet<Batch>(this.batchOrdering));
+			}
+			this.batchesByModelId.get(model.getId()).add(batch);
+		}
+	}
+
+	/**
+	 * Remove the specified batch from the batches of the ids of its Models,
+	 * before its orders change.
+	 *
+	 * @param batch
+	 * 		The batch to detach.
+	 */
+	private void detach(Batch batch) {
+		for (Model model : batch.groups.keySet()) {
+			this.batchesByModelId.get(model.getId()).remove(batch);
+		}
+	}
+
+	/**
+	 * Get the number of batches of this AutoBatchStrategy.
+	 *
+	 * @return The number of batches with at least one order.
+	 */
+	public int getNbOfBatches() {
+		return this.batches.size();
+	}
+
+	/**
+	 * Get the number of cached batch keys of this AutoBatchStrategy.
+	 *
+	 * @return The number of Models and Specifications with a pending order.
+	 */
+	int getNbOfKeys() {
+		int result = 0;
+		for (Map<Specification, BatchKey> keysOfModel : this.keys.values()) {
+			result += keysOfModel.size();
+		}
+		return result;
+	}
+
+	/** The key of the batch of every Model and Specification with an order. */
+	private final Map<Model, Map<Specification, BatchKey>> keys;
+
+	/** The batches with at least one order. */
+	private final Map<BatchKey, Batch> batches;
+
+	/** The batches with an order of a Model of every id, oldest head first. */
+	private final List<TreeSet<Batch>> batchesByModelId;
+
+	/** The batch of the last taken order, null if none was taken. */
+	private BatchKey currentBatch;
+
+	/** The number of orders of the current batch taken in a row. */
+	private int runLength;
+
+	/** The total ordering of the orders within the index. */
+	private final Comparator<O> ordering;
+
+	/** The ordering of the batches by their head. */
+	private final Comparator<Batch> batchOrdering = new Comparator<Batch>() {
+		@Override
+		public int compare(Batch b, Batch c) {
+			return ordering.compare(b.head, c.head);
+		}
+	};
+
+	/**
+	 * Create the total ordering of the orders within the index: first in
+	 * first out, then by order number.
+	 *
+	 * @return The ordering of the index.
+	 */
+	private Comparator<O> newOrdering() {
+		final FifoComparator fifo = this.getComparator();
+		return new Comparator<O>() {
+			@Override
+			public int compare(O o, O p) {
+				int result = fifo.compare(o, p);
+				if (result != 0) {
+					return result;
+				}
+				return Integer.compare(o.getOrderNumber(), p.getOrderNumber());
+			}
+		};
+	}
+
+	/**
+	 * A batch: its orders grouped by Model, such that the oldest order of an
+	 * accepted Model is found without walking the orders of other Models.
+	 */
+	private class Batch {
+
+		private void add(O order) {
+			TreeSet<O> group = this.groups.get(order.getModel());
+			if (group == null) {
+				group = new TreeSet<O>(ordering);
+				this.groups.put(order.getModel(), group);
+			}
+			group.add(order);
+		}
+
+		private boolean contains(O order) {
+			TreeSet<O> group = this.groups.get(order.getModel());
+			return group != null && group.contains(order);
+		}
+
+		/**
+		 * Remove the specified order, and return whether it was the last
+		 * order of its Model.
+		 */
+		private boolean remove(O order) {
+			TreeSet<O> group = this.groups.get(order.getModel());
+			group.remove(order);
+			if (group.isEmpty()) {
+				this.groups.remove(order.getModel());
+				return true;
+			}
+			return false;
+		}
+
+		private boolean isEmpty() {
+			return this.groups.isEmpty();
+		}
+
+		private boolean accepts(Set<Model> acceptedModels) {
+			for (Model model : this.groups.keySet()) {
+				if (acceptedModels.contains(model)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private O getOldestAccepted(Set<Model> acceptedModels) {
+			O result = null;
+			for (Map.Entry<Model, TreeSet<O>> group : this.groups.entrySet()) {
+				if (acceptedModels.contains(group.getKey()) &&
+						(result == null || ordering.compare(group.getValue().first(), result) < 0)) {
+					result = group.getValue().first();
+				}
+			}
+			return result;
+		}
+
+		/** The orders of this batch per Model, oldest first. */
+		private final Map<Model, TreeSet<O>> groups = new HashMap<Model, TreeSet<O>>();
+
+		/** The oldest order of this batch when it was last attached. */
+		private O head;
+	}
+
+	/**
+	 * The key of a batch: the Specification of its orders and the minutes
+	 * their Model spends on every type of work post.
+	 */
+	private static class BatchKey {
+
+		private BatchKey(Order order) {
+			this.specification = order.getSpecifications();
+			TaskType[] types = TaskType.values();
+			this.minutes = new int[types.length];
+			for (int i = 0; i < types.length; i++) {
+				this.minutes[i] = order.getModel().getMinsOnWorkPostOfType(types[i]);
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.specification.hashCode() + Arrays.hashCode(this.minutes);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof BatchKey))
+				return false;
+			BatchKey other = (BatchKey) obj;
+			return this.specification.equals(other.specification) &&
+					Arrays.equals(this.minutes, other.minutes);
+		}
+
+		private final Specification specification;
+		private final int[] minutes;
+	}
+
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the largest number of orders of one batch that are selected in a
+	 * row while older orders of other batches are pending.
+	 *
+	 * @return The maximum batch size of this AutoBatchStrategy.
+	 */
+	public int getMaxBatchSize() {
+		return this.maxBatchSize;
+	}
+
+	/** The maximum batch size. */
+	private final int maxBatchSize;
+
+	//--------------------------------------------------------------------------
+	// Comparator methods
+	//--------------------------------------------------------------------------
+	/** The comparator used to compare orders. */
+	private FifoComparator comparator;
+
+	private FifoComparator getComparator() {
+		return this.comparator;
+	}
+}
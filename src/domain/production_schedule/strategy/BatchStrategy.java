@@ -3,6 +3,8 @@ package domain.production_schedule.strategy;
 import java.util.Collections;
 import java.util.List;
 
+import com.google.common.base.Optional;
+
 import domain.car.Specification;
 import domain.order.Order;
 
@@ -49,8 +51,16 @@ public class BatchStrategy<O extends Order> extends SchedulingStrategy<O> {
 		Collections.sort(orderQueue, this.getComparator());
 	}
 
+	@Override
+	public Optional<Specification> getBatchSpecification() {
+		return Optional.of(this.getComparator().getSpecification());
+	}
+
 	@Override
 	public boolean isDone(List<O> orderQueue) {
+		if (orderQueue.isEmpty()) {
+			return true;
+		}
 		return ! this.getComparator().getSpecification()
 				.equals(orderQueue.get(0).getSpecifications());
 	}
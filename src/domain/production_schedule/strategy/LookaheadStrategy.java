@@ -0,0 +1,425 @@
+package domain.production_schedule.strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Model;
+import domain.order.Order;
+
+/**
+ * The LookaheadStrategy keeps its orders in first in first out order, but
+ * selects the next order of an AssemblyLine by looking ahead at the first
+ * orders the line accepts. It searches the sequence of these orders that
+ * the line finishes first, and selects the first order of that sequence.
+ *
+ * Because the work of the orders is fixed, the sequence that finishes first
+ * is the one in which the work posts stand idle the shortest, which matters
+ * when orders of Models with different times per work post, such as cars
+ * and trucks, are mixed on one line.
+ *
+ * The sequences are searched with a beam search: orders are appended one at
+ * a time and only the beamWidth partial sequences that finish first are
+ * extended, so a selection evaluates at most depth * depth * beamWidth
+ * makespans of the VirtualAssemblyLine. To avoid starving an order, only
+ * orders submitted at most maxOvertakeMinutes after the first accepted order
+ * can be selected before it.
+ *
+ * The orders of every Model are kept in an index that is updated when an
+ * order is added or removed, so the candidates are found among the first
+ * depth orders of every accepted Model instead of by scanning the queue.
+ * Only sort and adopt rebuild the index, so an instance should only be used
+ * by one SchedulerContext.
+ *
+ * The LookaheadStrategy is experimental: it is not offered to users, since
+ * it does not beat first in first out on the default layout of lines.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class LookaheadStrategy<O extends Order> extends SchedulingStrategy<O> {
+	//--------------------------------------------------------------------------
+	// Constructors
+	//--------------------------------------------------------------------------
+	/**
+	 * Initialise a new LookaheadStrategy with the default depth, beam width
+	 * and overtake window.
+	 */
+	public LookaheadStrategy() {
+		this(DEFAULT_DEPTH, DEFAULT_BEAM_WIDTH, DEFAULT_MAX_OVERTAKE_MINUTES);
+	}
+
+	/**
+	 * Initialise a new LookaheadStrategy with the specified parameters.
+	 *
+	 * @param depth
+	 * 		The number of orders that are looked ahead at.
+	 * @param beamWidth
+	 * 		The number of partial sequences that are extended.
+	 * @param maxOvertakeMinutes
+	 * 		The number of minutes an order can be submitted after the first
+	 * 		accepted order and still be selected before it.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| depth < 1 || beamWidth < 1 || maxOvertakeMinutes < 0
+	 */
+	public LookaheadStrategy(int depth, int beamWidth, int maxOvertakeMinutes)
+			throws IllegalArgumentException {
+		if (depth < 1) {
+			throw new IllegalArgumentException("depth should be strictly positive.");
+		}
+		if (beamWidth < 1) {
+			throw new IllegalArgumentException("beamWidth should be strictly positive.");
+		}
+		if (maxOvertakeMinutes < 0) {
+			throw new IllegalArgumentException("maxOvertakeMinutes cannot be negative.");
+		}
+		this.comparator = new FifoComparator();
+		this.depth = depth;
+		this.beamWidth = beamWidth;
+		this.maxOvertakeMinutes = maxOvertakeMinutes;
+		this.ordering = this.newOrdering();
+		this.ordersByModel = new HashMap<Model, TreeSet<O>>();
+	}
+
+	/** The default number of orders that are looked ahead at. */
+	public static final int DEFAULT_DEPTH = 4;
+
+	/** The default number of partial sequences that are extended. */
+	public static final int DEFAULT_BEAM_WIDTH = 4;
+
+	/** By default orders of the same day can overtake each other. */
+	public static final int DEFAULT_MAX_OVERTAKE_MINUTES = 24 * 60;
+
+	//--------------------------------------------------------------------------
+	// SchedulingStrategy methods.
+	//--------------------------------------------------------------------------
+	@Override
+	public String getName() {
+		return "Lookahead strategy";
+	}
+
+	@Override
+	public int compare(O o, O p) {
+		return this.getComparator().compare(o, p);
+	}
+
+	/**
+	 * Sort the specified orderQueue in first in first out order and rebuild
+	 * the index from it.
+	 */
+	@Override
+	public void sort(List<O> orderQueue) {
+		Collections.sort(orderQueue, this.getComparator());
+		this.adopt(orderQueue);
+	}
+
+	/**
+	 * Rebuild the index from the specified orderQueue.
+	 */
+	@Override
+	public void adopt(List<O> orderQueue) {
+		this.ordersByModel.clear();
+		for (O order : orderQueue) {
+			this.index(order);
+		}
+	}
+
+	@Override
+	public void addTo(O order, List<O> orderQueue) {
+		super.addTo(order, orderQueue);
+		this.adoptOrder(order);
+	}
+
+	/**
+	 * Add the specified order to the index.
+	 */
+	@Override
+	public void adoptOrder(O order) {
+		this.index(order);
+	}
+
+	/**
+	 * Remove the specified order from the specified orderQueue and the index.
+	 */
+	@Override
+	public boolean removeFrom(O order, List<O> orderQueue) {
+		if (!super.removeFrom(order, orderQueue)) {
+			return false;
+		}
+		TreeSet<O> orders = this.ordersByModel.get(order.getModel());
+		if (orders != null && orders.remove(order) && orders.isEmpty()) {
+			this.ordersByModel.remove(order.getModel());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean isDone(List<O> orderQueue) {
+		return false;
+	}
+
+	/**
+	 * Select the first order of the sequence of the first accepted orders
+	 * that the specified line finishes first. Without a line, or with a
+	 * single candidate, the first accepted order is selected.
+	 */
+	@Override
+	public Optional<O> selectNext(List<O> orderQueue, Set<Model> acceptedModels,
+			Optional<VirtualAssemblyLine> line) {
+		List<O> candidates = this.getCandidates(acceptedModels);
+		if (candidates.isEmpty()) {
+			return Optional.absent();
+		}
+		if (candidates.size() == 1 || !line.isPresent()) {
+			return Optional.of(candidates.get(0));
+		}
+		return Optional.of(candidates.get(this.search(candidates, line.get())));
+	}
+
+	//--------------------------------------------------------------------------
+	// Lookahead
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the first orders of the index with a Model in the specified set,
+	 * that were submitted at most maxOvertakeMinutes after the first of them.
+	 * Only the first depth orders of every accepted Model are looked at.
+	 *
+	 * @param acceptedModels
+	 * 		The set of accepted Models.
+	 *
+	 * @return At most depth candidates, in first in first out order.
+	 */
+	private List<O> getCandidates(Set<Model> acceptedModels) {
+		List<O> firstOrders = new ArrayList<O>();
+		for (Model model : acceptedModels) {
+			TreeSet<O> orders = this.ordersByModel.get(model);
+			if (orders == null) {
+				continue;
+			}
+			int nbOfOrders = 0;
+			for (O order : orders) {
+				firstOrders.add(order);
+				if (++nbOfOrders == this.getDepth()) {
+					break;
+				}
+			}
+		}
+		Collections.sort(firstOrders, this.ordering);
+
+		List<O> result = new ArrayList<O>(this.getDepth());
+		DateTime latestSubmission = null;
+		for (O order : firstOrders) {
+			if (latestSubmission == null) {
+				latestSubmission = order.getSubmissionTime().addTime(0, 0, this.getMaxOvertakeMinutes());
+			} else if (order.getSubmissionTime().compareTo(latestSubmission) > 0) {
+				break;
+			}
+			result.add(order);
+			if (result.size() == this.getDepth()) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Add the specified order to the orders of its Model in the index.
+	 *
+	 * @param order
+	 * 		The order to add.
+	 */
+	private void index(O order) {
+		TreeSet<O> orders = this.ordersByModel.get(order.getModel());
+		if (orders == null) {
+			orders = new TreeSet<O>(this.ordering);
+			this.ordersByModel.put(order.getModel(), orders);
+		}
+		orders.add(order);
+	}
+
+	/** The orders of every Model with at least one order, oldest first. */
+	private final Map<Model, TreeSet<O>> ordersByModel;
+
+	/** The total ordering of the orders within the index. */
+	private final Comparator<O> ordering;
+
+	/**
+	 * Create the total ordering of the orders within the index: first in
+	 * first out, then by order number.
+	 *
+	 * @return The ordering of the index.
+	 */
+	private Comparator<O> newOrdering() {
+		final FifoComparator fifo = this.getComparator();
+		return new Comparator<O>() {
+			@Override
+			public int compare(O o, O p) {
+				int result = fifo.compare(o, p);
+				if (result != 0) {
+					return result;
+				}
+				return Integer.compare(o.getOrderNumber(), p.getOrderNumber());
+			}
+		};
+	}
+
+	/**
+	 * Search the sequence of all specified candidates that the specified line
+	 * finishes first, preferring earlier candidates on ties.
+	 *
+	 * @param candidates
+	 * 		The candidates, in first in first out order.
+	 * @param line
+	 * 		The VirtualAssemblyLine of the line.
+	 *
+	 * @return The index of the first candidate of the best sequence found.
+	 */
+	private int search(List<O> candidates, VirtualAssemblyLine line) {
+		List<Sequence> beam = new ArrayList<Sequence>();
+		beam.add(new Sequence(new int[0], 0));
+
+		for (int length = 1; length <= candidates.size(); length++) {
+			List<Sequence> extended = new ArrayList<Sequence>();
+			for (Sequence sequence : beam) {
+				for (int i = 0; i < candidates.size(); i++) {
+					if (!sequence.contains(i)) {
+						int[] indices = sequence.append(i);
+						extended.add(new Sequence(indices, makespan(candidates, indices, line)));
+					}
+				}
+			}
+			Collections.sort(extended, SEQUENCE_ORDER);
+			beam = extended.subList(0, Math.min(this.getBeamWidth(), extended.size()));
+		}
+		return beam.get(0).indices[0];
+	}
+
+	/**
+	 * Get the time in minutes the specified line needs to finish its current
+	 * orders and the specified sequence of candidates.
+	 *
+	 * @param candidates
+	 * 		The candidates.
+	 * @param indices
+	 * 		The indices of the candidates, in the order they are put on the line.
+	 * @param line
+	 * 		The VirtualAssemblyLine of the line.
+	 *
+	 * @return The makespan of the sequence in minutes.
+	 */
+	private static long makespan(List<? extends Order> candidates, int[] indices,
+			VirtualAssemblyLine line) {
+		// The VirtualAssemblyLine puts the last order of its input on first.
+		List<Order> input = new ArrayList<Order>(indices.length);
+		for (int i = indices.length - 1; i >= 0; i--) {
+			input.add(candidates.get(indices[i]));
+		}
+		return line.timeToFinish(input).getInMinutes();
+	}
+
+	/**
+	 * A partial sequence of candidates and the time the line needs to finish it.
+	 */
+	private static class Sequence {
+
+		private Sequence(int[] indices, long makespan) {
+			this.indices = indices;
+			this.makespan = makespan;
+		}
+
+		private boolean contains(int index) {
+			for (int i : this.indices) {
+				if (i == index) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private int[] append(int index) {
+			int[] result = new int[this.indices.length + 1];
+			System.arraycopy(this.indices, 0, result, 0, this.indices.length);
+			result[this.indices.length] = index;
+			return result;
+		}
+
+		private final int[] indices;
+		private final long makespan;
+	}
+
+	/** Orders Sequences by makespan, then lexicographically by their indices. */
+	private static final Comparator<Sequence> SEQUENCE_ORDER = new Comparator<Sequence>() {
+		@Override
+		public int compare(Sequence s, Sequence t) {
+			if (s.makespan != t.makespan) {
+				return s.makespan < t.makespan ? -1 : 1;
+			}
+			for (int i = 0; i < s.indices.length; i++) {
+				if (s.indices[i] != t.indices[i]) {
+					return s.indices[i] - t.indices[i];
+				}
+			}
+			return 0;
+		}
+	};
+
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the number of orders this LookaheadStrategy looks ahead at.
+	 *
+	 * @return The depth of this LookaheadStrategy.
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/** The number of orders that are looked ahead at. */
+	private final int depth;
+
+	/**
+	 * Get the number of partial sequences this LookaheadStrategy extends.
+	 *
+	 * @return The beam width of this LookaheadStrategy.
+	 */
+	public int getBeamWidth() {
+		return this.beamWidth;
+	}
+
+	/** The number of partial sequences that are extended. */
+	private final int beamWidth;
+
+	/**
+	 * Get the number of minutes an order can be submitted after the first
+	 * accepted order and still be selected before it.
+	 *
+	 * @return The overtake window of this LookaheadStrategy in minutes.
+	 */
+	public int getMaxOvertakeMinutes() {
+		return this.maxOvertakeMinutes;
+	}
+
+	/** The overtake window in minutes. */
+	private final int maxOvertakeMinutes;
+
+	//--------------------------------------------------------------------------
+	// Comparator methods
+	//--------------------------------------------------------------------------
+	/** The comparator used to compare orders. */
+	private FifoComparator comparator;
+
+	private FifoComparator getComparator() {
+		return this.comparator;
+	}
+}
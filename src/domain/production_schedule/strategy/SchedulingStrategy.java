@@ -1,7 +1,13 @@
 package domain.production_schedule.strategy;
 
 import java.util.List;
+import java.util.Set;
 
+import com.google.common.base.Optional;
+
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Model;
+import domain.car.Specification;
 import domain.order.Order;
 
 /** 
@@ -32,6 +38,8 @@ public abstract class SchedulingStrategy<O extends Order> implements SchedulingS
 	
 	/**
 	 * Sort the specified orderQueue according to the internal SchedulingStrategy.
+	 * A SchedulerContext does not use this method: it keeps its queue in the
+	 * ordering of getBatchSpecification at all times.
 	 * 
 	 * @param orderQueue
 	 * 		the queue of orders that should be sorted according to this SchedulingStrategy.
@@ -41,8 +49,51 @@ public abstract class SchedulingStrategy<O extends Order> implements SchedulingS
 	 */
 	public abstract void sort(List<O> orderQueue);
 	
+	/**
+	 * Get the Specification of the orders this SchedulingStrategy puts first
+	 * in its ordering. The other orders, and the orders of the Specification
+	 * among themselves, are ordered first in first out.
+	 * 
+	 * A SchedulerContext keeps its queue in both orderings at all times, such
+	 * that it can switch to this SchedulingStrategy without sorting. By 
+	 * default the orders are ordered first in first out; a SchedulingStrategy
+	 * with another ordering cannot be used by a SchedulerContext.
+	 * 
+	 * @return The Specification of the orders put first, absent if all orders
+	 * 		are ordered first in first out.
+	 */
+	public Optional<Specification> getBatchSpecification() {
+		return Optional.absent();
+	}
+	
+	/**
+	 * Start scheduling the specified orderQueue, which is already sorted 
+	 * according to this SchedulingStrategy. SchedulingStrategies that keep
+	 * track of the orders of their queue rebuild that state here. By default
+	 * nothing happens.
+	 * 
+	 * @param orderQueue
+	 * 		The queue of orders, sorted according to this SchedulingStrategy.
+	 */
+	public void adopt(List<O> orderQueue) {
+	}
+	
+	/**
+	 * Start scheduling the specified order, which was added to the queue of
+	 * this SchedulingStrategy at its position in the ordering. 
+	 * SchedulingStrategies that keep track of the orders of their queue add
+	 * the order to that state here. By default nothing happens.
+	 * 
+	 * @param order
+	 * 		The order that was added.
+	 */
+	public void adoptOrder(O order) {
+	}
+	
 	/**
 	 * Add the specified order to the specified orderQueue according to the internal SchedulingStrategy.
+	 * A SchedulerContext does not use this method: its queue puts an added
+	 * order at its position itself, after which it calls adoptOrder.
 	 * 
 	 * @param order
 	 * 		the Order that should be added to the specified orderQueue.
@@ -68,6 +119,35 @@ public abstract class SchedulingStrategy<O extends Order> implements SchedulingS
 		}
 	}
 	
+	/**
+	 * Remove the specified order from the specified orderQueue.
+	 * 
+	 * @param order
+	 * 		The Order that should be removed from the specified orderQueue.
+	 * @param orderQueue
+	 * 		The orderQueue from which the specified Order should be removed.
+	 * 
+	 * @return Whether the orderQueue contained the order.
+	 * 
+	 * @postcondition | !(new orderQueue).contains(order)
+	 */
+	public boolean removeFrom(O order, List<O> orderQueue) {
+		return orderQueue.remove(order);
+	}
+	
+	/**
+	 * Note that the specified order, which was removed from the queue of this
+	 * SchedulingStrategy, is taken to be assembled. An order that is removed
+	 * for any other reason is not taken. SchedulingStrategies whose selection
+	 * depends on the orders taken before update that state here. By default
+	 * nothing happens.
+	 * 
+	 * @param order
+	 * 		The order that is taken.
+	 */
+	public void takeOrder(O order) {
+	}
+	
 	/**
 	 * Compare the two specified orders according to the specified internal SchedulingStrategy
 	 * 
@@ -85,6 +165,35 @@ public abstract class SchedulingStrategy<O extends Order> implements SchedulingS
 	@Override
 	public abstract String getName();
 	
+	/**
+	 * Select the next Order of the specified orderQueue with a Model in the 
+	 * specified set of Models, to be put on the AssemblyLine represented by 
+	 * the specified VirtualAssemblyLine. By default this is the first such 
+	 * Order in the queue; SchedulingStrategies that take the state of the 
+	 * AssemblyLine into account can select another one.
+	 * 
+	 * @param orderQueue
+	 * 		The queue of orders, sorted according to this SchedulingStrategy. 
+	 * 		It is not modified.
+	 * @param acceptedModels
+	 * 		The set of Models the result is allowed to have.
+	 * @param line
+	 * 		The VirtualAssemblyLine of the AssemblyLine the Order is selected 
+	 * 		for, if it is known.
+	 * 
+	 * @return The selected Order, absent if no Order of orderQueue has a Model
+	 * 		in acceptedModels.
+	 */
+	public Optional<O> selectNext(List<O> orderQueue, Set<Model> acceptedModels,
+			Optional<VirtualAssemblyLine> line) {
+		for (O order : orderQueue) {
+			if (acceptedModels.contains(order.getModel())) {
+				return Optional.of(order);
+			}
+		}
+		return Optional.absent();
+	}
+	
 	/**
 	 * Search for the position at which the specified Order should be added
 	 * to the specified list of Orders.
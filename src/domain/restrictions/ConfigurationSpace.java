@@ -0,0 +1,223 @@
+package domain.restrictions;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import domain.car.Model;
+import domain.car.Option;
+import domain.car.OptionCategory;
+
+/**
+ * A ConfigurationSpace holds every valid configuration of a Model: every
+ * choice of one Option per OptionCategory with more than one Option that,
+ * together with the solitary Options of the Model, passes all restrictions of
+ * an OptionRestrictionManager.
+ *
+ * The valid configurations are enumerated once and numbered. For every Option
+ * the space keeps the set of valid configurations that contain it, so that a
+ * partial choice of Options can be narrowed down to its remaining valid
+ * configurations by intersecting these sets.
+ *
+ * Models with more than MAX_CONFIGURATIONS possible configurations are not
+ * enumerated. Their space is not exhaustive, and leaves the restrictions to be
+ * checked when an order is submitted.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class ConfigurationSpace {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct the ConfigurationSpace of the specified Model under the
+	 * restrictions of the specified OptionRestrictionManager.
+	 *
+	 * @param model
+	 * 		The Model of the new ConfigurationSpace.
+	 * @param restrictions
+	 * 		The restrictions a configuration has to pass.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| model == null || restrictions == null
+	 */
+	public ConfigurationSpace(Model model, OptionRestrictionManager restrictions)
+			throws IllegalArgumentException {
+		if (model == null || restrictions == null) {
+			throw new IllegalArgumentException("Arguments cannot be null.");
+		}
+		this.model = model;
+		this.categories = new ArrayList<OptionCategory>();
+		this.positions = new HashMap<Option, int[]>();
+
+		List<Option> solitaryOptions = new ArrayList<Option>();
+		long nbOfCandidates = 1;
+		for (OptionCategory category : model.getOptionCategories()) {
+			if (category.getAmountOfOptions() == 1) {
+				solitaryOptions.add(category.getOption(0));
+				continue;
+			}
+			for (int i = 0; i < category.getAmountOfOptions(); i++) {
+				Option option = category.getOption(i);
+				if (!this.positions.containsKey(option)) {
+					this.positions.put(option, new int[] { this.categories.size(), i });
+				}
+			}
+			this.categories.add(category);
+			nbOfCandidates = Math.min(nbOfCandidates * category.getAmountOfOptions(),
+					MAX_CONFIGURATIONS + 1);
+		}
+
+		this.supports = new BitSet[this.categories.size()][];
+		for (int c = 0; c < this.categories.size(); c++) {
+			this.supports[c] = new BitSet[this.categories.get(c).getAmountOfOptions()];
+			for (int i = 0; i < this.supports[c].length; i++) {
+				this.supports[c][i] = new BitSet();
+			}
+		}
+		this.valid = new BitSet();
+		this.exhaustive = nbOfCandidates <= MAX_CONFIGURATIONS;
+		if (this.exhaustive) {
+			this.enumerate(restrictions, solitaryOptions);
+		}
+	}
+
+	/**
+	 * Number every candidate configuration that passes the restrictions, and
+	 * add it to the supports of its Options.
+	 */
+	private void enumerate(OptionRestrictionManager restrictions, List<Option> solitaryOptions) {
+		int nbOfCategories = this.categories.size();
+		int[] choice = new int[nbOfCategories];
+		List<Option> options = new ArrayList<Option>(solitaryOptions);
+		for (int c = 0; c < nbOfCategories; c++) {
+			options.add(null);
+		}
+		int base = solitaryOptions.size();
+
+		int nbOfValid = 0;
+		while (true) {
+			for (int c = 0; c < nbOfCategories; c++) {
+				options.set(base + c, this.categories.get(c).getOption(choice[c]));
+			}
+			if (restrictions.checkValidity(this.model, options)) {
+				for (int c = 0; c < nbOfCategories; c++) {
+					this.supports[c][choice[c]].set(nbOfValid);
+				}
+				this.valid.set(nbOfValid);
+				nbOfValid++;
+			}
+
+			// Advance the choice as a mixed radix counter.
+			int c = nbOfCategories - 1;
+			while (c >= 0 && ++choice[c] == this.categories.get(c).getAmountOfOptions()) {
+				choice[c] = 0;
+				c--;
+			}
+			if (c < 0) {
+				return;
+			}
+		}
+	}
+
+	/** The largest number of candidate configurations that is enumerated. */
+	public static final int MAX_CONFIGURATIONS = 1 << 20;
+
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * @return The Model of this ConfigurationSpace.
+	 */
+	public Model getModel() {
+		return this.model;
+	}
+
+	/** The Model of this ConfigurationSpace. */
+	private final Model model;
+
+	/**
+	 * @return True if the valid configurations were enumerated, false if the
+	 * 		Model has too many configurations.
+	 */
+	public boolean isExhaustive() {
+		return this.exhaustive;
+	}
+
+	/** Whether the valid configurations were enumerated. */
+	private final boolean exhaustive;
+
+	/**
+	 * @return The number of valid configurations, 0 if this space is not
+	 * 		exhaustive.
+	 */
+	public int getNbOfConfigurations() {
+		return this.valid.cardinality();
+	}
+
+	/** The OptionCategories of the Model with more than one Option. */
+	private final List<OptionCategory> categories;
+
+	/** The index of the category and of the Option within it of every Option. */
+	private final Map<Option, int[]> positions;
+
+	/** The valid configurations containing every Option of every category. */
+	private final BitSet[][] supports;
+
+	/** All valid configurations. */
+	private final BitSet valid;
+
+	//--------------------------------------------------------------------------
+	// Queries
+	//--------------------------------------------------------------------------
+	/**
+	 * Get a new set of all valid configurations, to be narrowed down with
+	 * narrow.
+	 *
+	 * @return A copy of the set of all valid configurations.
+	 */
+	BitSet getAllConfigurations() {
+		return (BitSet) this.valid.clone();
+	}
+
+	/**
+	 * Check whether the specified Option is an Option of a category of the
+	 * Model with more than one Option.
+	 *
+	 * @param option
+	 * 		The Option.
+	 *
+	 * @return True if the Option can be chosen in this space.
+	 */
+	boolean isChoosable(Option option) {
+		return this.positions.containsKey(option);
+	}
+
+	/**
+	 * Check whether the specified Option is part of one of the specified
+	 * configurations.
+	 *
+	 * @pre isChoosable(option)
+	 */
+	boolean intersects(BitSet configurations, Option option) {
+		return this.supportOf(option).intersects(configurations);
+	}
+
+	/**
+	 * Remove all configurations that do not contain the specified Option from
+	 * the specified configurations.
+	 *
+	 * @pre isChoosable(option)
+	 */
+	void narrow(BitSet configurations, Option option) {
+		configurations.and(this.supportOf(option));
+	}
+
+	private BitSet supportOf(Option option) {
+		int[] position = this.positions.get(option);
+		return this.supports[position[0]][position[1]];
+	}
+}
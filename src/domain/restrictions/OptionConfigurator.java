@@ -0,0 +1,129 @@
+package domain.restrictions;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import domain.car.Option;
+import domain.car.OptionCategory;
+import exceptions.OptionRestrictionException;
+
+/**
+ * An OptionConfigurator keeps track of the Options chosen so far for an order
+ * of the Model of a ConfigurationSpace, and of the valid configurations that
+ * can still be reached with them. Only Options that are part of such a
+ * configuration can be chosen, so that a complete choice always passes the
+ * restrictions.
+ *
+ * Choosing an Option intersects the remaining configurations with the
+ * configurations of the Option, which costs a pass over a bit set.
+ *
+ * If the ConfigurationSpace is not exhaustive, every Option of the Model can
+ * be chosen, and the restrictions are only checked on submission.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class OptionConfigurator {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new OptionConfigurator without chosen Options in the
+	 * specified ConfigurationSpace.
+	 *
+	 * @param space
+	 * 		The ConfigurationSpace of the Model of the order.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| space == null
+	 */
+	public OptionConfigurator(ConfigurationSpace space) throws IllegalArgumentException {
+		if (space == null) {
+			throw new IllegalArgumentException("Space cannot be null.");
+		}
+		this.space = space;
+		this.remaining = space.getAllConfigurations();
+	}
+
+	/** The ConfigurationSpace of the Model of the order. */
+	private final ConfigurationSpace space;
+
+	/** The valid configurations that contain all chosen Options. */
+	private final BitSet remaining;
+
+	//--------------------------------------------------------------------------
+	// Choosing
+	//--------------------------------------------------------------------------
+	/**
+	 * Check whether the specified Option can still lead to a valid
+	 * configuration together with the chosen Options.
+	 *
+	 * @param option
+	 * 		The Option.
+	 *
+	 * @return True if the Option is an Option of the Model and is part of a
+	 * 		remaining valid configuration.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| option == null
+	 */
+	public boolean isSelectable(Option option) throws IllegalArgumentException {
+		if (option == null) {
+			throw new IllegalArgumentException("Option cannot be null.");
+		}
+		if (!this.space.isChoosable(option)) {
+			return false;
+		}
+		return !this.space.isExhaustive() || this.space.intersects(this.remaining, option);
+	}
+
+	/**
+	 * Get the Options of the specified OptionCategory that can still lead to a
+	 * valid configuration.
+	 *
+	 * @param category
+	 * 		The OptionCategory.
+	 *
+	 * @return The selectable Options of the category, in the order of the
+	 * 		category.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| category == null
+	 */
+	public List<Option> getSelectableOptions(OptionCategory category)
+			throws IllegalArgumentException {
+		if (category == null) {
+			throw new IllegalArgumentException("Category cannot be null.");
+		}
+		List<Option> result = new ArrayList<Option>();
+		for (int i = 0; i < category.getAmountOfOptions(); i++) {
+			Option option = category.getOption(i);
+			if (this.isSelectable(option)) {
+				result.add(option);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Choose the specified Option, and prune the configurations without it.
+	 *
+	 * @param option
+	 * 		The chosen Option.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| option == null
+	 * @throws OptionRestrictionException
+	 * 		| !isSelectable(option)
+	 */
+	public void select(Option option) throws IllegalArgumentException, OptionRestrictionException {
+		if (!this.isSelectable(option)) {
+			throw new OptionRestrictionException(
+					"This option cannot lead to an order that passes the restrictions.");
+		}
+		if (this.space.isExhaustive()) {
+			this.space.narrow(this.remaining, option);
+		}
+	}
+}
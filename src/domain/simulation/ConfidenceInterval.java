@@ -0,0 +1,173 @@
+package domain.simulation;
+
+import util.annotations.Immutable;
+
+/**
+ * A ConfidenceInterval describes the 95% confidence interval of the mean of
+ * a number of independent samples, based on the Student t-distribution.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@Immutable
+public class ConfidenceInterval {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct the 95% ConfidenceInterval of the mean of the given samples.
+	 * A single sample results in an interval of width zero.
+	 * 
+	 * @param samples
+	 * 		The samples to construct the ConfidenceInterval of.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| samples == null || samples.length == 0
+	 */
+	public ConfidenceInterval(double[] samples) throws IllegalArgumentException {
+		if (samples == null || samples.length == 0) {
+			throw new IllegalArgumentException("samples cannot be null or empty.");
+		}
+		
+		double sum = 0;
+		for (double sample : samples) {
+			sum += sample;
+		}
+		double mean = sum / samples.length;
+		
+		double squares = 0;
+		for (double sample : samples) {
+			squares += (sample - mean) * (sample - mean);
+		}
+		
+		this.nbOfSamples = samples.length;
+		this.mean = mean;
+		if (samples.length > 1) {
+			this.standardDeviation = Math.sqrt(squares / (samples.length - 1));
+			this.halfWidth = getCriticalValue(samples.length - 1) * 
+					this.standardDeviation / Math.sqrt(samples.length);
+		} else {
+			this.standardDeviation = 0;
+			this.halfWidth = 0;
+		}
+	}
+	
+	//--------------------------------------------------------------------------
+	// Critical values
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the two-sided 95% critical value of the Student t-distribution with
+	 * the given degrees of freedom.
+	 * 
+	 * @param degreesOfFreedom
+	 * 		The degrees of freedom, at least one.
+	 * 
+	 * @return The critical value, approximated by the normal distribution for
+	 * 		more than thirty degrees of freedom.
+	 */
+	static double getCriticalValue(int degreesOfFreedom) {
+		if (degreesOfFreedom > 30) {
+			return 1.960;
+		}
+		switch (degreesOfFreedom) {
+		case 1:  return 12.706;
+		case 2:  return 4.303;
+		case 3:  return 3.182;
+		case 4:  return 2.776;
+		case 5:  return 2.571;
+		case 6:  return 2.447;
+		case 7:  return 2.365;
+		case 8:  return 2.306;
+		case 9:  return 2.262;
+		case 10: return 2.228;
+		case 11: return 2.201;
+		case 12: return 2.179;
+		case 13: return 2.160;
+		case 14: return 2.145;
+		case 15: return 2.131;
+		case 16: return 2.120;
+		case 17: return 2.110;
+		case 18: return 2.101;
+		case 19: return 2.093;
+		case 20: return 2.086;
+		case 25: return 2.060;
+		default:
+			return degreesOfFreedom < 25 ? 2.080 : 2.045;
+		}
+	}
+	
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the number of samples of this ConfidenceInterval.
+	 * 
+	 * @return The number of samples.
+	 */
+	public int getNbOfSamples() {
+		return this.nbOfSamples;
+	}
+	
+	/** The number of samples. */
+	private final int nbOfSamples;
+	
+	/**
+	 * Get the sample mean of this ConfidenceInterval.
+	 * 
+	 * @return The sample mean.
+	 */
+	public double getMean() {
+		return this.mean;
+	}
+	
+	/** The sample mean. */
+	private final double mean;
+	
+	/**
+	 * Get the sample standard deviation of this ConfidenceInterval.
+	 * 
+	 * @return The sample standard deviation.
+	 */
+	public double getStandardDeviation() {
+		return this.standardDeviation;
+	}
+	
+	/** The sample standard deviation. */
+	private final double standardDeviation;
+	
+	/**
+	 * Get the half width of this ConfidenceInterval.
+	 * 
+	 * @return The distance between the mean and either bound.
+	 */
+	public double getHalfWidth() {
+		return this.halfWidth;
+	}
+	
+	/** The half width of this ConfidenceInterval. */
+	private final double halfWidth;
+	
+	/**
+	 * Get the lower bound of this ConfidenceInterval.
+	 * 
+	 * @return getMean() - getHalfWidth()
+	 */
+	public double getLowerBound() {
+		return this.getMean() - this.getHalfWidth();
+	}
+	
+	/**
+	 * Get the upper bound of this ConfidenceInterval.
+	 * 
+	 * @return getMean() + getHalfWidth()
+	 */
+	public double getUpperBound() {
+		return this.getMean() + this.getHalfWidth();
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%.2f +/- %.2f (n = %d)", 
+				this.getMean(), this.getHalfWidth(), this.getNbOfSamples());
+	}
+}
@@ -0,0 +1,177 @@
+package domain.simulation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The MonteCarloRunner runs a set of ScenarioConfigurations in parallel, each
+ * on its own independently constructed system, and aggregates the results of
+ * the replications of each scenario into ScenarioSummaries.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class MonteCarloRunner {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new MonteCarloRunner that uses one thread per available 
+	 * processor.
+	 */
+	public MonteCarloRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Construct a new MonteCarloRunner that uses the given number of threads.
+	 * 
+	 * @param nbOfThreads
+	 * 		The number of scenarios run concurrently.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| nbOfThreads <= 0
+	 */
+	public MonteCarloRunner(int nbOfThreads) throws IllegalArgumentException {
+		if (nbOfThreads <= 0) {
+			throw new IllegalArgumentException("nbOfThreads should be strictly positive.");
+		}
+		this.nbOfThreads = nbOfThreads;
+	}
+	
+	/**
+	 * Get the number of threads of this MonteCarloRunner.
+	 * 
+	 * @return The number of threads.
+	 */
+	public int getNbOfThreads() {
+		return this.nbOfThreads;
+	}
+	
+	/** The number of threads of this MonteCarloRunner. */
+	private final int nbOfThreads;
+	
+	//--------------------------------------------------------------------------
+	// Replication
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the given number of replications of the given configuration, seeded
+	 * with consecutive seeds starting at the seed of configuration.
+	 * 
+	 * @param configuration
+	 * 		The ScenarioConfiguration to replicate.
+	 * @param nbOfReplications
+	 * 		The number of replications.
+	 * 
+	 * @return The list of replications.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| configuration == null || nbOfReplications <= 0
+	 */
+	public static List<ScenarioConfiguration> replicate(ScenarioConfiguration configuration,
+			int nbOfReplications) throws IllegalArgumentException {
+		if (configuration == null) {
+			throw new IllegalArgumentException("configuration cannot be null.");
+		}
+		if (nbOfReplications <= 0) {
+			throw new IllegalArgumentException("nbOfReplications should be strictly positive.");
+		}
+		List<ScenarioConfiguration> result = new ArrayList<>();
+		for (int i = 0; i < nbOfReplications; i++) {
+			result.add(configuration.withSeed(configuration.getSeed() + i));
+		}
+		return result;
+	}
+	
+	//--------------------------------------------------------------------------
+	// Running
+	//--------------------------------------------------------------------------
+	/**
+	 * Run all given configurations in parallel.
+	 * 
+	 * @param configurations
+	 * 		The ScenarioConfigurations to run.
+	 * 
+	 * @return The ScenarioResults, in the order of configurations.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| configurations == null || configurations.contains(null)
+	 * @throws ExecutionException
+	 * 		When a run threw an exception.
+	 * @throws InterruptedException
+	 * 		When interrupted while waiting for the runs to finish.
+	 */
+	public List<ScenarioResult> run(List<ScenarioConfiguration> configurations) 
+			throws IllegalArgumentException, ExecutionException, InterruptedException {
+		if (configurations == null) {
+			throw new IllegalArgumentException("configurations cannot be null.");
+		}
+		List<ScenarioRunner> runners = new ArrayList<>();
+		for (ScenarioConfiguration configuration : configurations) {
+			runners.add(new ScenarioRunner(configuration));
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(this.getNbOfThreads());
+		try {
+			List<ScenarioResult> result = new ArrayList<>();
+			for (Future<ScenarioResult> future : executor.invokeAll(runners)) {
+				result.add(future.get());
+			}
+			return result;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Run all given configurations in parallel and summarise the results
+	 * per scenario name.
+	 * 
+	 * @param configurations
+	 * 		The ScenarioConfigurations to run.
+	 * 
+	 * @return A ScenarioSummary per scenario name, in order of first appearance.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| configurations == null || configurations.contains(null)
+	 * @throws ExecutionException
+	 * 		When a run threw an exception.
+	 * @throws InterruptedException
+	 * 		When interrupted while waiting for the runs to finish.
+	 */
+	public List<ScenarioSummary> runAndSummarise(List<ScenarioConfiguration> configurations)
+			throws IllegalArgumentException, ExecutionException, InterruptedException {
+		return summarise(this.run(configurations));
+	}
+	
+	/**
+	 * Group the given results by scenario name and summarise each group.
+	 * 
+	 * @param results
+	 * 		The ScenarioResults to summarise.
+	 * 
+	 * @return A ScenarioSummary per scenario name, in order of first appearance.
+	 */
+	public static List<ScenarioSummary> summarise(List<ScenarioResult> results) {
+		Map<String, List<ScenarioResult>> groups = new LinkedHashMap<>();
+		for (ScenarioResult result : results) {
+			String name = result.getConfiguration().getName();
+			if (!groups.containsKey(name)) {
+				groups.put(name, new ArrayList<ScenarioResult>());
+			}
+			groups.get(name).add(result);
+		}
+		
+		List<ScenarioSummary> summaries = new ArrayList<>();
+		for (Map.Entry<String, List<ScenarioResult>> group : groups.entrySet()) {
+			summaries.add(new ScenarioSummary(group.getKey(), group.getValue()));
+		}
+		return summaries;
+	}
+}
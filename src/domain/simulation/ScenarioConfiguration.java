@@ -0,0 +1,205 @@
+package domain.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import util.annotations.Immutable;
+
+/**
+ * A ScenarioConfiguration describes a single simulated plant run: the seed
+ * of its randomness, the scheduling algorithm used, the layout of its 
+ * AssemblyLines and the workload that is placed on it.
+ * 
+ * Configurations that only differ in their seed are replications of the same
+ * scenario and share its name.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@Immutable
+public class ScenarioConfiguration {
+	//--------------------------------------------------------------------------
+	// Algorithm
+	//--------------------------------------------------------------------------
+	/**
+	 * The scheduling algorithm a scenario runs with.
+	 */
+	public enum Algorithm {
+		/** The default first in first out algorithm. */
+		FIFO,
+		/** A batch algorithm on an eligible batch, picked every day. */
+		BATCH
+	}
+	
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new ScenarioConfiguration with the given parameters.
+	 * 
+	 * @param name
+	 * 		The name of the scenario.
+	 * @param seed
+	 * 		The seed of all random choices of the scenario.
+	 * @param algorithm
+	 * 		The scheduling algorithm of the scenario.
+	 * @param lineLayout
+	 * 		For each AssemblyLine, the names of the Models it accepts.
+	 * @param days
+	 * 		The number of days on which orders are placed.
+	 * @param ordersPerDay
+	 * 		The number of standard orders placed each day.
+	 * @param minutesPerTask
+	 * 		The number of minutes each assembly task takes.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| name == null || algorithm == null || lineLayout == null || 
+	 * 		| lineLayout.isEmpty() || days <= 0 || ordersPerDay < 0 || 
+	 * 		| minutesPerTask <= 0
+	 */
+	public ScenarioConfiguration(String name, 
+			                     long seed,
+			                     Algorithm algorithm,
+			                     List<List<String>> lineLayout,
+			                     int days,
+			                     int ordersPerDay,
+			                     int minutesPerTask) throws IllegalArgumentException {
+		if (name == null) {
+			throw new IllegalArgumentException("name cannot be null.");
+		}
+		if (algorithm == null) {
+			throw new IllegalArgumentException("algorithm cannot be null.");
+		}
+		if (lineLayout == null || lineLayout.isEmpty()) {
+			throw new IllegalArgumentException("lineLayout cannot be null or empty.");
+		}
+		if (days <= 0) {
+			throw new IllegalArgumentException("days should be strictly positive.");
+		}
+		if (ordersPerDay < 0) {
+			throw new IllegalArgumentException("ordersPerDay cannot be negative.");
+		}
+		if (minutesPerTask <= 0) {
+			throw new IllegalArgumentException("minutesPerTask should be strictly positive.");
+		}
+		
+		List<List<String>> layout = new ArrayList<>();
+		for (List<String> line : lineLayout) {
+			if (line == null || line.isEmpty()) {
+				throw new IllegalArgumentException("A line layout cannot be null or empty.");
+			}
+			layout.add(Collections.unmodifiableList(new ArrayList<>(line)));
+		}
+		
+		this.name = name;
+		this.seed = seed;
+		this.algorithm = algorithm;
+		this.lineLayout = Collections.unmodifiableList(layout);
+		this.days = days;
+		this.ordersPerDay = ordersPerDay;
+		this.minutesPerTask = minutesPerTask;
+	}
+	
+	/**
+	 * Get a replication of this ScenarioConfiguration that uses the given seed.
+	 * 
+	 * @param newSeed
+	 * 		The seed of the replication.
+	 * 
+	 * @return A ScenarioConfiguration equal to this one, except for its seed.
+	 */
+	public ScenarioConfiguration withSeed(long newSeed) {
+		return new ScenarioConfiguration(this.getName(), newSeed, 
+				this.getAlgorithm(), this.getLineLayout(), this.getDays(),
+				this.getOrdersPerDay(), this.getMinutesPerTask());
+	}
+	
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the name of this scenario.
+	 * 
+	 * @return The name of this scenario.
+	 */
+	public String getName() {
+		return this.name;
+	}
+	
+	/** The name of this scenario. */
+	private final String name;
+	
+	/**
+	 * Get the seed of all random choices of this scenario.
+	 * 
+	 * @return The seed of this scenario.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+	
+	/** The seed of this scenario. */
+	private final long seed;
+	
+	/**
+	 * Get the scheduling algorithm of this scenario.
+	 * 
+	 * @return The scheduling algorithm of this scenario.
+	 */
+	public Algorithm getAlgorithm() {
+		return this.algorithm;
+	}
+	
+	/** The scheduling algorithm of this scenario. */
+	private final Algorithm algorithm;
+	
+	/**
+	 * Get the line layout of this scenario.
+	 * 
+	 * @return An unmodifiable list containing, per AssemblyLine, the names of
+	 * 		the Models it accepts.
+	 */
+	public List<List<String>> getLineLayout() {
+		return this.lineLayout;
+	}
+	
+	/** The line layout of this scenario. */
+	private final List<List<String>> lineLayout;
+	
+	/**
+	 * Get the number of days on which orders are placed.
+	 * 
+	 * @return The number of days of this scenario.
+	 */
+	public int getDays() {
+		return this.days;
+	}
+	
+	/** The number of days of this scenario. */
+	private final int days;
+	
+	/**
+	 * Get the number of standard orders placed each day.
+	 * 
+	 * @return The number of orders per day of this scenario.
+	 */
+	public int getOrdersPerDay() {
+		return this.ordersPerDay;
+	}
+	
+	/** The number of orders per day of this scenario. */
+	private final int ordersPerDay;
+	
+	/**
+	 * Get the number of minutes each assembly task takes.
+	 * 
+	 * @return The number of minutes per task of this scenario.
+	 */
+	public int getMinutesPerTask() {
+		return this.minutesPerTask;
+	}
+	
+	/** The number of minutes per task of this scenario. */
+	private final int minutesPerTask;
+}
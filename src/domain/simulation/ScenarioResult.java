@@ -0,0 +1,114 @@
+package domain.simulation;
+
+import util.annotations.Immutable;
+
+/**
+ * A ScenarioResult contains the measurements of a single run of a 
+ * ScenarioConfiguration.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@Immutable
+public class ScenarioResult {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new ScenarioResult of the given configuration.
+	 * 
+	 * @param configuration
+	 * 		The ScenarioConfiguration that was run.
+	 * @param completedOrders
+	 * 		The number of orders completed at the end of the run.
+	 * @param pendingOrders
+	 * 		The number of orders still pending at the end of the run.
+	 * @param averageCarsPerDay
+	 * 		The average number of cars produced per day.
+	 * @param averageDelay
+	 * 		The average delay in minutes of the delayed orders.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| configuration == null || completedOrders < 0 || pendingOrders < 0
+	 */
+	public ScenarioResult(ScenarioConfiguration configuration,
+			              int completedOrders,
+			              int pendingOrders,
+			              double averageCarsPerDay,
+			              double averageDelay) throws IllegalArgumentException {
+		if (configuration == null) {
+			throw new IllegalArgumentException("configuration cannot be null.");
+		}
+		if (completedOrders < 0 || pendingOrders < 0) {
+			throw new IllegalArgumentException("Order counts cannot be negative.");
+		}
+		this.configuration = configuration;
+		this.completedOrders = completedOrders;
+		this.pendingOrders = pendingOrders;
+		this.averageCarsPerDay = averageCarsPerDay;
+		this.averageDelay = averageDelay;
+	}
+	
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the ScenarioConfiguration that produced this ScenarioResult.
+	 * 
+	 * @return The ScenarioConfiguration of this ScenarioResult.
+	 */
+	public ScenarioConfiguration getConfiguration() {
+		return this.configuration;
+	}
+	
+	/** The ScenarioConfiguration of this ScenarioResult. */
+	private final ScenarioConfiguration configuration;
+	
+	/**
+	 * Get the number of orders completed at the end of the run.
+	 * 
+	 * @return The number of completed orders.
+	 */
+	public int getCompletedOrders() {
+		return this.completedOrders;
+	}
+	
+	/** The number of completed orders. */
+	private final int completedOrders;
+	
+	/**
+	 * Get the number of orders still pending at the end of the run.
+	 * 
+	 * @return The number of pending orders.
+	 */
+	public int getPendingOrders() {
+		return this.pendingOrders;
+	}
+	
+	/** The number of pending orders. */
+	private final int pendingOrders;
+	
+	/**
+	 * Get the average number of cars produced per finished day.
+	 * 
+	 * @return The average number of cars produced per day.
+	 */
+	public double getAverageCarsPerDay() {
+		return this.averageCarsPerDay;
+	}
+	
+	/** The average number of cars produced per day. */
+	private final double averageCarsPerDay;
+	
+	/**
+	 * Get the average delay in minutes of the delayed orders.
+	 * 
+	 * @return The average delay.
+	 */
+	public double getAverageDelay() {
+		return this.averageDelay;
+	}
+	
+	/** The average delay. */
+	private final double averageDelay;
+}
@@ -0,0 +1,123 @@
+package domain.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import domain.Manufacturer;
+import domain.car.Model;
+import domain.car.Specification;
+import domain.handlers.InitialisationHandler;
+import domain.initialdata.InitialDataLoader;
+
+/**
+ * The ScenarioRunner runs a single ScenarioConfiguration on a freshly 
+ * constructed system. Because every run owns its complete object graph and
+ * all random choices are drawn from one seeded Random, ScenarioRunners can 
+ * be executed concurrently and each run is reproducible from its seed.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class ScenarioRunner implements Callable<ScenarioResult> {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new ScenarioRunner for the given configuration.
+	 * 
+	 * @param configuration
+	 * 		The ScenarioConfiguration to run.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| configuration == null
+	 */
+	public ScenarioRunner(ScenarioConfiguration configuration) throws IllegalArgumentException {
+		if (configuration == null) {
+			throw new IllegalArgumentException("configuration cannot be null.");
+		}
+		this.configuration = configuration;
+	}
+	
+	/**
+	 * Get the ScenarioConfiguration of this ScenarioRunner.
+	 * 
+	 * @return The ScenarioConfiguration of this ScenarioRunner.
+	 */
+	public ScenarioConfiguration getConfiguration() {
+		return this.configuration;
+	}
+	
+	/** The ScenarioConfiguration of this ScenarioRunner. */
+	private final ScenarioConfiguration configuration;
+	
+	//--------------------------------------------------------------------------
+	// Running
+	//--------------------------------------------------------------------------
+	/**
+	 * Run the ScenarioConfiguration of this ScenarioRunner. Each day the 
+	 * configured number of orders is placed, of Models accepted by at least
+	 * one line, after which all available work is completed.
+	 * 
+	 * @return The ScenarioResult of the run.
+	 */
+	@Override
+	public ScenarioResult call() {
+		ScenarioConfiguration config = this.getConfiguration();
+		Random random = new Random(config.getSeed());
+		
+		InitialisationHandler system = new InitialisationHandler(config.getLineLayout(), random);
+		InitialDataLoader loader = system.getInitialDataLoader();
+		Manufacturer manufacturer = system.getManufacturer();
+		List<Model> models = this.getAcceptedModels(manufacturer.getVehicleModels());
+		
+		for (int day = 0; day < config.getDays(); day++) {
+			for (int i = 0; i < config.getOrdersPerDay(); i++) {
+				Model model = models.get(random.nextInt(models.size()));
+				loader.placeRandomStandardOrderOfModel(1, model);
+			}
+			if (config.getAlgorithm() == ScenarioConfiguration.Algorithm.BATCH) {
+				List<Specification> batches = manufacturer.getCurrentBatches();
+				if (!batches.isEmpty()) {
+					manufacturer.setBatchAlgorithm(batches.get(random.nextInt(batches.size())));
+				}
+			}
+			loader.completeAllAvailableTasks(config.getMinutesPerTask());
+		}
+		
+		return new ScenarioResult(config,
+				manufacturer.getCompletedOrderContainers().size(),
+				manufacturer.getProductionSchedule().getAllPendingOrders().size(),
+				system.getCarsProducedRegistrar().getAverage(),
+				system.getDelayRegistrar().getAverage());
+	}
+	
+	/**
+	 * Get the Models of the given list that are accepted by at least one line
+	 * of the line layout of this ScenarioRunner.
+	 * 
+	 * @param models
+	 * 		The Models to filter.
+	 * 
+	 * @return The accepted Models, in their original order.
+	 * 
+	 * @throws IllegalStateException
+	 * 		| no Model is accepted by any line
+	 */
+	private List<Model> getAcceptedModels(List<Model> models) throws IllegalStateException {
+		List<Model> result = new ArrayList<>();
+		for (Model model : models) {
+			for (List<String> line : this.getConfiguration().getLineLayout()) {
+				if (line.contains(model.getName())) {
+					result.add(model);
+					break;
+				}
+			}
+		}
+		if (result.isEmpty()) {
+			throw new IllegalStateException("No Model is accepted by any line.");
+		}
+		return result;
+	}
+}
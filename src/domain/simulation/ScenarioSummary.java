@@ -0,0 +1,153 @@
+package domain.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import util.annotations.Immutable;
+
+/**
+ * A ScenarioSummary aggregates the ScenarioResults of all replications of a
+ * single scenario into confidence intervals.
+ * 
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@Immutable
+public class ScenarioSummary {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new ScenarioSummary of the given results.
+	 * 
+	 * @param name
+	 * 		The name of the summarised scenario.
+	 * @param results
+	 * 		The results of the replications of the scenario.
+	 * 
+	 * @throws IllegalArgumentException
+	 * 		| name == null || results == null || results.isEmpty()
+	 */
+	public ScenarioSummary(String name, List<ScenarioResult> results) throws IllegalArgumentException {
+		if (name == null) {
+			throw new IllegalArgumentException("name cannot be null.");
+		}
+		if (results == null || results.isEmpty()) {
+			throw new IllegalArgumentException("results cannot be null or empty.");
+		}
+		
+		double[] completed = new double[results.size()];
+		double[] pending = new double[results.size()];
+		double[] carsPerDay = new double[results.size()];
+		double[] delay = new double[results.size()];
+		for (int i = 0; i < results.size(); i++) {
+			ScenarioResult result = results.get(i);
+			completed[i] = result.getCompletedOrders();
+			pending[i] = result.getPendingOrders();
+			carsPerDay[i] = result.getAverageCarsPerDay();
+			delay[i] = result.getAverageDelay();
+		}
+		
+		this.name = name;
+		this.results = Collections.unmodifiableList(new ArrayList<>(results));
+		this.completedOrders = new ConfidenceInterval(completed);
+		this.pendingOrders = new ConfidenceInterval(pending);
+		this.averageCarsPerDay = new ConfidenceInterval(carsPerDay);
+		this.averageDelay = new ConfidenceInterval(delay);
+	}
+	
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the name of the summarised scenario.
+	 * 
+	 * @return The name of the scenario.
+	 */
+	public String getName() {
+		return this.name;
+	}
+	
+	/** The name of the scenario. */
+	private final String name;
+	
+	/**
+	 * Get the results this ScenarioSummary aggregates.
+	 * 
+	 * @return An unmodifiable list of the summarised results.
+	 */
+	public List<ScenarioResult> getResults() {
+		return this.results;
+	}
+	
+	/** The summarised results. */
+	private final List<ScenarioResult> results;
+	
+	/**
+	 * Get the confidence interval of the number of completed orders.
+	 * 
+	 * @return The confidence interval of the number of completed orders.
+	 */
+	public ConfidenceInterval getCompletedOrders() {
+		return this.completedOrders;
+	}
+	
+	/** The confidence interval of the number of completed orders. */
+	private final ConfidenceInterval completedOrders;
+	
+	/**
+	 * Get the confidence interval of the number of pending orders.
+	 * 
+	 * @return The confidence interval of the number of pending orders.
+	 */
+	public ConfidenceInterval getPendingOrders() {
+		return this.pendingOrders;
+	}
+	
+	/** The confidence interval of the number of pending orders. */
+	private final ConfidenceInterval pendingOrders;
+	
+	/**
+	 * Get the confidence interval of the average number of cars produced per day.
+	 * 
+	 * @return The confidence interval of the average number of cars per day.
+	 */
+	public ConfidenceInterval getAverageCarsPerDay() {
+		return this.averageCarsPerDay;
+	}
+	
+	/** The confidence interval of the average number of cars per day. */
+	private final ConfidenceInterval averageCarsPerDay;
+	
+	/**
+	 * Get the confidence interval of the average delay.
+	 * 
+	 * @return The confidence interval of the average delay.
+	 */
+	public ConfidenceInterval getAverageDelay() {
+		return this.averageDelay;
+	}
+	
+	/** The confidence interval of the average delay. */
+	private final ConfidenceInterval averageDelay;
+	
+	//--------------------------------------------------------------------------
+	// Reporting
+	//--------------------------------------------------------------------------
+	/**
+	 * Get a human-readable report of this ScenarioSummary.
+	 * 
+	 * @return A report of all confidence intervals of this ScenarioSummary.
+	 */
+	public String getReport() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("==== SCENARIO " + this.getName() + " ====\n");
+		builder.append("Completed orders: " + this.getCompletedOrders() + "\n");
+		builder.append("Pending orders: " + this.getPendingOrders() + "\n");
+		builder.append("Cars produced per day: " + this.getAverageCarsPerDay() + "\n");
+		builder.append("Average delay: " + this.getAverageDelay() + "\n");
+		builder.append("==== END SCENARIO " + this.getName() + " ====\n");
+		return builder.toString();
+	}
+}
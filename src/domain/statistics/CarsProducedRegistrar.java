@@ -124,7 +124,7 @@ public class CarsProducedRegistrar extends RegistrarWithWorkingDay {
 	 * Get the running average of cars produced in a day.
 	 * @return The running average
 	 */
-	protected double getAverage() {
+	public double getAverage() {
 		return this.average;
 	}
 	
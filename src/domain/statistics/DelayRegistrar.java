@@ -98,7 +98,7 @@ public class DelayRegistrar extends RegistrarWithWorkingDay {
 	 * @return
 	 * 		The running average.
 	 */
-	protected double getAverage() {
+	public double getAverage() {
 		return this.average;
 	}
 	
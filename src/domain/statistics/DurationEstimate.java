@@ -0,0 +1,150 @@
+package domain.statistics;
+
+import util.annotations.Immutable;
+
+/**
+ * A DurationEstimate is a snapshot of the estimate a DurationEstimator keeps
+ * of a duration: the decayed mean and variance of the recorded durations, and
+ * the confidence interval of that mean.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+@Immutable
+public class DurationEstimate {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new DurationEstimate.
+	 *
+	 * @param count
+	 * 		The number of recorded durations.
+	 * @param mean
+	 * 		The decayed mean of the durations in minutes.
+	 * @param variance
+	 * 		The decayed variance of the durations.
+	 * @param effectiveCount
+	 * 		The number of equally weighted durations the decayed durations are
+	 * 		worth.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| count <= 0 || variance < 0 || effectiveCount <= 0
+	 */
+	DurationEstimate(long count, double mean, double variance, double effectiveCount)
+			throws IllegalArgumentException {
+		if (count <= 0 || variance < 0 || effectiveCount <= 0) {
+			throw new IllegalArgumentException("Invalid estimate.");
+		}
+		this.count = count;
+		this.mean = mean;
+		this.variance = variance;
+		this.effectiveCount = effectiveCount;
+	}
+
+	//--------------------------------------------------------------------------
+	// Properties
+	//--------------------------------------------------------------------------
+	/**
+	 * @return The number of recorded durations.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * @return The decayed mean of the recorded durations in minutes.
+	 */
+	public double getMean() {
+		return this.mean;
+	}
+
+	/**
+	 * @return The decayed mean rounded to whole minutes.
+	 */
+	public long getMeanInMinutes() {
+		return Math.round(this.mean);
+	}
+
+	/**
+	 * @return The decayed variance of the recorded durations.
+	 */
+	public double getVariance() {
+		return this.variance;
+	}
+
+	/**
+	 * @return The decayed standard deviation of the recorded durations.
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(this.variance);
+	}
+
+	/**
+	 * @return The number of equally weighted durations the decayed durations
+	 * 		are worth.
+	 */
+	public double getEffectiveCount() {
+		return this.effectiveCount;
+	}
+
+	/**
+	 * @return The standard error of the mean.
+	 */
+	public double getStandardError() {
+		return Math.sqrt(this.variance / this.effectiveCount);
+	}
+
+	/** The number of recorded durations. */
+	private final long count;
+	/** The decayed mean of the durations. */
+	private final double mean;
+	/** The decayed variance of the durations. */
+	private final double variance;
+	/** The effective number of durations. */
+	private final double effectiveCount;
+
+	//--------------------------------------------------------------------------
+	// Confidence interval
+	//--------------------------------------------------------------------------
+	/** The z-score of a 95% confidence interval. */
+	public static final double Z_95 = 1.96;
+
+	/**
+	 * Get the lower bound of the confidence interval of the mean with the
+	 * specified z-score.
+	 *
+	 * @param z
+	 * 		The z-score of the interval, for instance Z_95.
+	 *
+	 * @return getMean() - z * getStandardError()
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| z < 0
+	 */
+	public double getLowerBound(double z) throws IllegalArgumentException {
+		if (z < 0) {
+			throw new IllegalArgumentException("z cannot be negative.");
+		}
+		return this.mean - z * this.getStandardError();
+	}
+
+	/**
+	 * Get the upper bound of the confidence interval of the mean with the
+	 * specified z-score.
+	 *
+	 * @param z
+	 * 		The z-score of the interval, for instance Z_95.
+	 *
+	 * @return getMean() + z * getStandardError()
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| z < 0
+	 */
+	public double getUpperBound(double z) throws IllegalArgumentException {
+		if (z < 0) {
+			throw new IllegalArgumentException("z cannot be negative.");
+		}
+		return this.mean + z * this.getStandardError();
+	}
+}
@@ -0,0 +1,262 @@
+package domain.statistics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.base.Optional;
+
+import domain.car.Model;
+import domain.car.Specification;
+
+/**
+ * A DurationEstimator keeps an online estimate of a duration per Model and
+ * per Model and Specification. Every recorded duration updates the decayed
+ * count, mean and variance of both levels, weighing a duration recorded n
+ * durations ago with decay^n.
+ *
+ * The estimates are kept in primitive arrays, one slot per level. Recording
+ * a duration of a known Model and Specification allocates nothing; only the
+ * first duration of a new key grows the arrays.
+ *
+ * @author Martinus Wilhelmus Tegelaers
+ *
+ */
+public class DurationEstimator {
+	//--------------------------------------------------------------------------
+	// Constructor
+	//--------------------------------------------------------------------------
+	/**
+	 * Construct a new DurationEstimator without durations, that weighs every
+	 * earlier duration with the specified decay.
+	 *
+	 * @param decay
+	 * 		The weight of a duration relative to the next one. A decay of 1
+	 * 		weighs all durations equally.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| !(decay > 0 && decay <= 1)
+	 */
+	public DurationEstimator(double decay) throws IllegalArgumentException {
+		if (!(decay > 0 && decay <= 1)) {
+			throw new IllegalArgumentException("Decay should be in ]0, 1].");
+		}
+		this.decay = decay;
+		this.modelSlots = new HashMap<Model, Integer>();
+		this.specificationSlots = new HashMap<Model, Map<Specification, Integer>>();
+		this.counts = new long[INITIAL_CAPACITY];
+		this.weights = new double[INITIAL_CAPACITY];
+		this.squaredWeights = new double[INITIAL_CAPACITY];
+		this.means = new double[INITIAL_CAPACITY];
+		this.squaredDeviations = new double[INITIAL_CAPACITY];
+		this.nbOfSlots = 0;
+	}
+
+	/** The weight of a duration relative to the next one. */
+	private final double decay;
+
+	//--------------------------------------------------------------------------
+	// Recording
+	//--------------------------------------------------------------------------
+	/**
+	 * Record a duration of the specified Model and Specification.
+	 *
+	 * @param model
+	 * 		The Model of the order.
+	 * @param specification
+	 * 		The Specification of the order.
+	 * @param minutes
+	 * 		The duration in minutes.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| model == null || specification == null || minutes < 0
+	 */
+	public void record(Model model, Specification specification, double minutes)
+			throws IllegalArgumentException {
+		if (model == null || specification == null) {
+			throw new IllegalArgumentException("Model and specification cannot be null.");
+		}
+		if (minutes < 0) {
+			throw new IllegalArgumentException("A duration cannot be negative.");
+		}
+		this.update(this.getOrCreateModelSlot(model), minutes);
+		this.update(this.getOrCreateSpecificationSlot(model, specification), minutes);
+	}
+
+	/**
+	 * Add the specified duration to the estimate of the specified slot.
+	 */
+	private void update(int slot, double minutes) {
+		double weight = this.decay * this.weights[slot] + 1;
+		double deviation = minutes - this.means[slot];
+		double mean = this.means[slot] + deviation / weight;
+
+		this.counts[slot]++;
+		this.weights[slot] = weight;
+		this.squaredWeights[slot] = this.decay * this.decay * this.squaredWeights[slot] + 1;
+		this.squaredDeviations[slot] = this.decay * this.squaredDeviations[slot]
+				+ deviation * (minutes - mean);
+		this.means[slot] = mean;
+	}
+
+	//--------------------------------------------------------------------------
+	// Estimates
+	//--------------------------------------------------------------------------
+	/**
+	 * Get the estimate of the durations of the specified Model.
+	 *
+	 * @param model
+	 * 		The Model.
+	 *
+	 * @return The estimate, absent if no duration of the Model was recorded.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| model == null
+	 */
+	public Optional<DurationEstimate> getEstimate(Model model) throws IllegalArgumentException {
+		if (model == null) {
+			throw new IllegalArgumentException("Model cannot be null.");
+		}
+		return this.estimateOf(this.modelSlots.get(model));
+	}
+
+	/**
+	 * Get the estimate of the durations of the specified Model and
+	 * Specification.
+	 *
+	 * @param model
+	 * 		The Model.
+	 * @param specification
+	 * 		The Specification.
+	 *
+	 * @return The estimate, absent if no duration of the Model and
+	 * 		Specification was recorded.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| model == null || specification == null
+	 */
+	public Optional<DurationEstimate> getEstimate(Model model, Specification specification)
+			throws IllegalArgumentException {
+		if (model == null || specification == null) {
+			throw new IllegalArgumentException("Model and specification cannot be null.");
+		}
+		return this.estimateOf(this.getSpecificationSlot(model, specification));
+	}
+
+	/**
+	 * Get the most specific estimate of the durations of the specified Model
+	 * and Specification that is based on at least the specified number of
+	 * durations: the estimate of the Specification if it has enough durations,
+	 * the estimate of the Model otherwise.
+	 *
+	 * @param model
+	 * 		The Model.
+	 * @param specification
+	 * 		The Specification.
+	 * @param minCount
+	 * 		The smallest number of durations of a Specification estimate.
+	 *
+	 * @return The estimate, absent if no duration of the Model was recorded.
+	 *
+	 * @throws IllegalArgumentException
+	 * 		| model == null || specification == null
+	 */
+	public Optional<DurationEstimate> getBestEstimate(Model model, Specification specification,
+			long minCount) throws IllegalArgumentException {
+		Optional<DurationEstimate> estimate = this.getEstimate(model, specification);
+		if (estimate.isPresent() && estimate.get().getCount() >= minCount) {
+			return estimate;
+		}
+		return this.getEstimate(model);
+	}
+
+	/**
+	 * Get the estimate of the specified slot.
+	 */
+	private Optional<DurationEstimate> estimateOf(Integer slot) {
+		if (slot == null) {
+			return Optional.absent();
+		}
+		double weight = this.weights[slot];
+		double squaredWeight = this.squaredWeights[slot];
+		// The reliability weights correction of the variance, zero for a
+		// single duration.
+		double normaliser = weight - squaredWeight / weight;
+		double variance = normaliser > 0 ? Math.max(0, this.squaredDeviations[slot] / normaliser) : 0;
+		return Optional.of(new DurationEstimate(this.counts[slot], this.means[slot],
+				variance, weight * weight / squaredWeight));
+	}
+
+	//--------------------------------------------------------------------------
+	// Slots
+	//--------------------------------------------------------------------------
+	private int getOrCreateModelSlot(Model model) {
+		Integer slot = this.modelSlots.get(model);
+		if (slot == null) {
+			slot = this.newSlot();
+			this.modelSlots.put(model, slot);
+		}
+		return slot;
+	}
+
+	private Integer getSpecificationSlot(Model model, Specification specification) {
+		Map<Specification, Integer> slots = this.specificationSlots.get(model);
+		return slots == null ? null : slots.get(specification);
+	}
+
+	private int getOrCreateSpecificationSlot(Model model, Specification specification) {
+		Map<Specification, Integer> slots = this.specificationSlots.get(model);
+		if (slots == null) {
+			slots = new HashMap<Specification, Integer>();
+			this.specificationSlots.put(model, slots);
+		}
+		Integer slot = slots.get(specification);
+		if (slot == null) {
+			slot = this.newSlot();
+			slots.put(specification, slot);
+		}
+		return slot;
+	}
+
+	/**
+	 * Claim a new slot, growing the arrays if they are full.
+	 */
+	private int newSlot() {
+		if (this.nbOfSlots == this.counts.length) {
+			int capacity = 2 * this.counts.length;
+			this.counts = Arrays.copyOf(this.counts, capacity);
+			this.weights = Arrays.copyOf(this.weights, capacity);
+			this.squaredWeights = Arrays.copyOf(this.squaredWeights, capacity);
+			this.means = Arrays.copyOf(this.means, capacity);
+			this.squaredDeviations = Arrays.copyOf(this.squaredDeviations, capacity);
+		}
+		return this.nbOfSlots++;
+	}
+
+	/** The initial number of slots. */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** The slot of every Model. */
+	private final Map<Model, Integer> modelSlots;
+
+	/** The slot of every Specification of every Model. */
+	private final Map<Model, Map<Specification, Integer>> specificationSlots;
+
+	/** The number of slots in use. */
+	private int nbOfSlots;
+
+	/** The number of recorded durations of every slot. */
+	private long[] counts;
+
+	/** The decayed sum of the weights of every slot. */
+	private double[] weights;
+
+	/** The decayed sum of the squared weights of every slot. */
+	private double[] squaredWeights;
+
+	/** The decayed mean of every slot. */
+	private double[] means;
+
+	/** The decayed sum of squared deviations from the mean of every slot. */
+	private double[] squaredDeviations;
+}
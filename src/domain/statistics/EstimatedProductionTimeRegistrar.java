@@ -1,15 +1,17 @@
 package domain.statistics;
 
-import java.util.HashMap;
+import com.google.common.base.Optional;
 
 import domain.DateTime;
 import domain.car.Model;
 import domain.clock.Clock;
+import domain.order.OrderView;
 
 /**
  * Registrar that keeps a list of models that have been made and the amount of
- * time it took. Keeps an estimate of the production time and updates this when
- * another order of that model is processed.
+ * time it took. Keeps an estimate of the production time per model and
+ * specification, and updates it when another order of that model is
+ * processed.
  * 
  * @author Frederik Goovaerts, Thomas Vochten
  */
@@ -17,8 +19,11 @@ public class EstimatedProductionTimeRegistrar implements Registrar {
 	
 	//--------- Constants ---------//
 
-	private final double OLD_ESTIMATE_WEIGHT = 0.75;
-	private final double NEW_ESTIMATE_WEIGHT = 1-OLD_ESTIMATE_WEIGHT;
+	/** The weight of an earlier production time relative to the next one. */
+	private static final double OLD_ESTIMATE_WEIGHT = 0.75;
+	
+	/** The smallest number of production times of a Specification estimate. */
+	private static final long MIN_SPECIFICATION_COUNT = 3;
 
 	//----- end of Constants -----//
 
@@ -37,7 +42,7 @@ public class EstimatedProductionTimeRegistrar implements Registrar {
 		if (clock == null)
 			throw new IllegalArgumentException("clock can not be null!");
 		this.clock = clock;
-		this.completionTimes = new HashMap<>();
+		this.productionTimes = new DurationEstimator(OLD_ESTIMATE_WEIGHT);
 	}
 	
 	//--------------------------------------------------------------------------
@@ -65,17 +70,11 @@ public class EstimatedProductionTimeRegistrar implements Registrar {
 	 */
 	@Override
 	public void addStatistics(ProcedureStatistics statistics) {
-		Model completedModel = statistics.getCompletedOrder().getModel();
-		DateTime submissionTime = statistics.getCompletedOrder().getSubmissionTime();
-		DateTime productionTime = this.getCurrentTime().subtractTime(submissionTime);
-		if(!this.hasCompletionEstimate(completedModel)){
-			this.setCompletionEstimate(completedModel, productionTime);
-		} else {
-			DateTime earlierProductionTime = this.getCompletionTimeOfModel(completedModel);
-			DateTime newEstimate =  earlierProductionTime.multiplyWithScalar(OLD_ESTIMATE_WEIGHT)
-					.addTime(productionTime.multiplyWithScalar(NEW_ESTIMATE_WEIGHT));
-			this.setCompletionEstimate(completedModel, newEstimate);
-		}
+		OrderView order = statistics.getCompletedOrder();
+		long productionMinutes = this.getCurrentTime().getInMinutes()
+				- order.getSubmissionTime().getInMinutes();
+		this.getProductionTimeEstimator().record(order.getModel(), order.getSpecifications(),
+				Math.max(0, productionMinutes));
 	}
 
 	/* (non-Javadoc)
@@ -103,8 +102,18 @@ public class EstimatedProductionTimeRegistrar implements Registrar {
 	// Catalog of completion times for models
 	//--------------------------------------------------------------------------
 	
-	/** Map which records an estimated production time for each model */
-	private HashMap<Model, DateTime> completionTimes;
+	/** Estimator of the time between submitting and completing an order */
+	private final DurationEstimator productionTimes;
+	
+	/**
+	 * Get the estimator of the time between submitting and completing an
+	 * order, per model and specification.
+	 * 
+	 * @return the production time estimator
+	 */
+	public DurationEstimator getProductionTimeEstimator() {
+		return this.productionTimes;
+	}
 	
 	/**
 	 * Get an estimated production duration based on given model.
@@ -120,36 +129,40 @@ public class EstimatedProductionTimeRegistrar implements Registrar {
 	public DateTime getCompletionTimeOfModel(Model model){
 		if (model == null)
 			throw new IllegalArgumentException("model can not be null!");
-		if(!hasCompletionEstimate(model))
-			return this.getCurrentTime().addTime(new DateTime(1, 0, 0));
-		return this.getCurrentTime().addTime(completionTimes.get(model));
+		return this.toCompletionTime(this.getProductionTimeEstimator().getEstimate(model));
 	}
 	
 	/**
-	 * Check whether or not this registrar already has an estimate for given
-	 * model.
+	 * Get an estimated production duration of given order, based on its
+	 * specification if enough orders of that specification were produced and
+	 * on its model otherwise. If no previous estimates are saved, the default
+	 * estimate of a day is returned.
 	 * 
-	 * @param model
-	 * 		The model to check for.
+	 * @param order
+	 * 		The order to get an estimation for
 	 * 
-	 * @return whether or not this model has an estimate in the registrar
+	 * @return the estimated duration of production
 	 */
-	private boolean hasCompletionEstimate(Model model){
-		if (model == null)
-			throw new IllegalArgumentException("model can not be null!");
-		return completionTimes.containsKey(model);
+	public DateTime getCompletionTimeOfOrder(OrderView order){
+		if (order == null)
+			throw new IllegalArgumentException("order can not be null!");
+		return this.toCompletionTime(this.getProductionTimeEstimator().getBestEstimate(
+				order.getModel(), order.getSpecifications(), MIN_SPECIFICATION_COUNT));
 	}
 	
 	/**
-	 * Internal method to set the estimate for given model to given value.
+	 * Internal method to turn an estimated production time into an absolute
+	 * completion time, a day from now if there is no estimate.
 	 * 
-	 * @param model
-	 * 		The model to update the estimate for
-	 * @param time
-	 * 		The new estimate
+	 * @param estimate
+	 * 		The estimate of the production time
+	 * 
+	 * @return the estimated completion time
 	 */
-	private void setCompletionEstimate(Model model, DateTime time){
-		this.completionTimes. put(model, time);
+	private DateTime toCompletionTime(Optional<DurationEstimate> estimate){
+		if(!estimate.isPresent())
+			return this.getCurrentTime().addTime(new DateTime(1, 0, 0));
+		return this.getCurrentTime().addTime(0, 0, (int) estimate.get().getMeanInMinutes());
 	}
 
 	/**
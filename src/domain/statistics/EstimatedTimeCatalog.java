@@ -54,7 +54,7 @@ public class EstimatedTimeCatalog {
 	 * @return the estimated completion time of given order
 	 */
 	public DateTime getEstimatedCompletionTime(OrderView order){
-		return this.getRegistrar().getCompletionTimeOfModel(order.getModel());
+		return this.getRegistrar().getCompletionTimeOfOrder(order);
 	}
 
 	/**
@@ -4,6 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import domain.DateTime;
+import domain.metrics.Counter;
+import domain.metrics.Histogram;
+import domain.metrics.MetricsRegistry;
 import domain.order.CompletedOrderEvent;
 import domain.order.CompletedOrderObserver;
 import domain.clock.TimeObserver;
@@ -35,6 +38,8 @@ public class StatisticsLogger implements TimeObserver, CompletedOrderObserver {
 	 * 		The statistical event to report.
 	 */
 	public void addStatistics(ProcedureStatistics statistics) {
+		this.proceduresLogged.increment();
+		this.orderDelay.record(statistics.getDelay());
 		for (RegistrarWithWorkingDay registrar : this.getRegistrarsWorkingDay()) {
 			registrar.addStatistics(statistics);
 		}
@@ -50,6 +55,7 @@ public class StatisticsLogger implements TimeObserver, CompletedOrderObserver {
 	 * 		for deriving meaning from that report.
 	 */
 	public String getReport() {
+		this.reports.increment();
 		StringBuilder report = new StringBuilder();
 		for (RegistrarWithWorkingDay registrar : this.getRegistrarsWorkingDay()) {
 			report.append(registrar.getStatistics());
@@ -138,4 +144,32 @@ public class StatisticsLogger implements TimeObserver, CompletedOrderObserver {
 			throws IllegalArgumentException {
 		this.addStatistics(event.getProcedureStatistics());
 	}
-}
\ No newline at end of file
+	
+	//--------------------------------------------------------------------------
+	// Metrics
+	//--------------------------------------------------------------------------
+	/**
+	 * Report the metrics of this StatisticsLogger in the specified
+	 * MetricsRegistry from now on. Until then, they are not reported.
+	 * 
+	 * @param registry
+	 * 		The MetricsRegistry of the system of this StatisticsLogger.
+	 * @throws IllegalArgumentException
+	 * 		| registry == null
+	 */
+	public void setMetricsRegistry(MetricsRegistry registry) throws IllegalArgumentException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Registry cannot be null.");
+		}
+		this.proceduresLogged = registry.counter("statistics.procedures.logged");
+		this.orderDelay = registry.histogram("statistics.delay.minutes");
+		this.reports = registry.counter("statistics.reports");
+	}
+	
+	/** The number of ProcedureStatistics reported to this StatisticsLogger. */
+	private Counter proceduresLogged = new Counter();
+	/** The delay in minutes of the completed orders. */
+	private Histogram orderDelay = new Histogram();
+	/** The number of reports requested from this StatisticsLogger. */
+	private Counter reports = new Counter();
+}
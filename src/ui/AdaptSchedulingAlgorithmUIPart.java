@@ -70,6 +70,8 @@ public class AdaptSchedulingAlgorithmUIPart {
 					break;
 			case "Batch strategy": setBatchAlg();
 					break;
+			case "Automatic batch strategy": setAutoBatchAlg();
+					break;
 			default: exitMenu = true;
 					break;
 			}
@@ -95,6 +97,12 @@ public class AdaptSchedulingAlgorithmUIPart {
 		System.out.println(helper.SEPERATOR);
 	}
 
+	private void setAutoBatchAlg() {
+		System.out.println("Switching the system to automatic batch mode!");
+		getHandler().setAutoBatchAlgorithm();
+		System.out.println(helper.SEPERATOR);
+	}
+
 	private void setBatchAlg() {
 		System.out.println("You have selected the Batch algorithm, this needs a specification.");
 		System.out.println("Please select the desired specification:");
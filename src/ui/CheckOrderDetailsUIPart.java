@@ -2,6 +2,8 @@ package ui;
 
 import java.util.List;
 
+import com.google.common.base.Optional;
+
 import domain.car.Option;
 import domain.car.Specification;
 import domain.car.Model;
@@ -143,6 +145,10 @@ public class CheckOrderDetailsUIPart {
 			//Print ETA
 			System.out.println("Estimated Completion Time: " +
 					this.getHandler().getEstimatedCompletionTime(chosenOrder).toString());
+			//Print position in the queue
+			Optional<Integer> position = this.getHandler().getQueuePosition(chosenOrder);
+			if(position.isPresent())
+				System.out.println("Orders ahead in the queue: " + position.get());
 		}
 		System.out.println(helper.SEPERATOR);
 		
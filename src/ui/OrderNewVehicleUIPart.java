@@ -176,15 +176,17 @@ public class OrderNewVehicleUIPart {
 		System.out.println("Which options would you like?" + helper.CRLF);
 		while(this.getHandler().hasUnfilledOptions() && !cancelOrder){
 			OptionCategory cat = this.getHandler().getNextOptionCategory();
-			for(int i = 0; i<cat.getAmountOfOptions();i++){
-				System.out.println((i+1) + ") " + cat.getOption(i).getName());
+			List<Option> selectable = this.getHandler().getSelectableOptions();
+			System.out.println(cat.getName() + ":");
+			for(int i = 0; i<selectable.size();i++){
+				System.out.println((i+1) + ") " + selectable.get(i).getName());
 			}
-			System.out.println((cat.getAmountOfOptions() + 1 ) + ") Cancel placing an order");
-			int choice = helper.getIntFromUser(1, cat.getAmountOfOptions() + 1);
-			if(choice == cat.getAmountOfOptions()+1){
+			System.out.println((selectable.size() + 1 ) + ") Cancel placing an order");
+			int choice = helper.getIntFromUser(1, selectable.size() + 1);
+			if(choice == selectable.size()+1){
 				cancelOrder = true;
 			} else {
-				this.getHandler().selectOption(cat.getOption(choice-1));
+				this.getHandler().selectOption(selectable.get(choice-1));
 			}
 		}
 		if(cancelOrder)
@@ -5,7 +5,8 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ DateTimeTest.class })
+@SuiteClasses({ DateTimeTest.class,
+				FlightRecorderEventsTest.class })
 public class DomainTestSuite {
 
 }
@@ -0,0 +1,184 @@
+package domain;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import domain.car.Model;
+import domain.clock.Clock;
+import domain.handlers.InitialisationHandler;
+import domain.initialdata.InitialDataLoader;
+import domain.production_schedule.OrderRequest;
+import domain.production_schedule.SchedulerContext;
+import domain.production_schedule.strategy.FifoStrategy;
+import domain.order.StandardOrder;
+
+public class FlightRecorderEventsTest {
+	
+	private static final String[] EVENTS = { "swop.LineActivation", 
+		"swop.LineAdvance", "swop.ClockFire", "swop.PopOrder" };
+	
+	private Recording recording;
+	private File dump;
+	
+	@Before
+	public void setUp() throws IOException {
+		recording = new Recording();
+		for (String event : EVENTS) {
+			recording.enable(event);
+		}
+		dump = File.createTempFile("swop", ".jfr");
+		recording.start();
+	}
+	
+	@After
+	public void tearDown() {
+		recording.close();
+		dump.delete();
+	}
+	
+	@Test
+	public void simulation_emitsEvents() throws IOException {
+		InitialisationHandler init = new InitialisationHandler(
+				InitialisationHandler.getDefaultLineLayout(), new Random(7));
+		InitialDataLoader loader = init.getInitialDataLoader();
+		loader.placeIdenticalStandardOrder(4);
+		loader.placeSingleTaskOrder(2);
+		loader.completeAllAvailableTasks(50);
+		
+		SchedulerContext context = new SchedulerContext(new FifoStrategy<StandardOrder>());
+		context.popOrder(new OrderRequest(new Model[] { Mockito.mock(Model.class) }));
+		
+		List<RecordedEvent> events = this.stopAndRead();
+		Set<String> names = new HashSet<String>();
+		for (RecordedEvent event : events) {
+			names.add(event.getEventType().getName());
+		}
+		for (String event : EVENTS) {
+			assertTrue(event + " was not recorded", names.contains(event));
+		}
+		
+		for (RecordedEvent event : events) {
+			String name = event.getEventType().getName();
+			if (name.equals("swop.LineActivation")) {
+				assertNotNull(event.getString("decision"));
+			} else if (name.equals("swop.PopOrder")) {
+				assertEquals("STANDARD", event.getString("orderType"));
+				assertFalse(event.getBoolean("found"));
+				assertEquals(0, event.getInt("scanLength"));
+			}
+		}
+	}
+	
+	private List<RecordedEvent> stopAndRead() throws IOException {
+		recording.stop();
+		recording.dump(dump.toPath());
+		List<RecordedEvent> result = new ArrayList<RecordedEvent>();
+		for (RecordedEvent event : RecordingFile.readAllEvents(dump.toPath())) {
+			result.add(event);
+		}
+		return result;
+	}
+	
+	@Test
+	public void clock_withoutFlightRecorder() throws Exception {
+		ClassLoader loader = new WithoutFlightRecorderLoader(this.getClass().getClassLoader());
+		Class<?> dateTime = loader.loadClass("domain.DateTime");
+		Class<?> clockClass = loader.loadClass("domain.clock.Clock");
+		Class<?> actorClass = loader.loadClass("domain.clock.EventActor");
+		assertNotSame(Clock.class, clockClass);
+		
+		Object clock = clockClass.getConstructor(dateTime).newInstance(
+				dateTime.getConstructor(int.class, int.class, int.class).newInstance(0, 6, 0));
+		final AtomicInteger activations = new AtomicInteger();
+		Object actor = Proxy.newProxyInstance(loader, new Class<?>[] { actorClass }, 
+				new InvocationHandler() {
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						if (method.getName().equals("hashCode")) {
+							return System.identityHashCode(proxy);
+						} else if (method.getName().equals("equals")) {
+							return proxy == args[0];
+						} else if (method.getName().equals("activate")) {
+							activations.incrementAndGet();
+						}
+						return null;
+					}
+				});
+		clockClass.getMethod("register", actorClass).invoke(clock, actor);
+		clockClass.getMethod("constructEvent", dateTime, actorClass).invoke(clock, 
+				dateTime.getConstructor(int.class, int.class, int.class).newInstance(0, 1, 0), actor);
+		assertEquals(1, activations.get());
+	}
+	
+	/**
+	 * A ClassLoader that loads its own copy of the domain classes, in which
+	 * jdk.jfr cannot be loaded.
+	 */
+	private static class WithoutFlightRecorderLoader extends ClassLoader {
+		
+		private WithoutFlightRecorderLoader(ClassLoader parent) {
+			super(parent);
+		}
+		
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (name.startsWith("jdk.jfr.")) {
+				throw new ClassNotFoundException(name);
+			}
+			if (!name.startsWith("domain.")) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (this.getClassLoadingLock(name)) {
+				Class<?> result = this.findLoadedClass(name);
+				if (result == null) {
+					byte[] bytes = this.read(name.replace('.', '/') + ".class");
+					result = this.defineClass(name, bytes, 0, bytes.length);
+				}
+				if (resolve) {
+					this.resolveClass(result);
+				}
+				return result;
+			}
+		}
+		
+		private byte[] read(String resource) throws ClassNotFoundException {
+			InputStream in = this.getParent().getResourceAsStream(resource);
+			if (in == null) {
+				throw new ClassNotFoundException(resource);
+			}
+			try {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+					out.write(buffer, 0, n);
+				}
+				in.close();
+				return out.toByteArray();
+			} catch (IOException e) {
+				throw new ClassNotFoundException(resource, e);
+			}
+		}
+	}
+}
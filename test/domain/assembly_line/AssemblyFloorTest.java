@@ -0,0 +1,70 @@
+package domain.assembly_line;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import domain.DateTime;
+import domain.order.OrderStatusRegistry;
+import domain.order.OrderView;
+import domain.statistics.StatisticsLogger;
+
+public class AssemblyFloorTest {
+
+	@Rule public ExpectedException expected = ExpectedException.none();
+
+	@Mock StatisticsLogger logger;
+	@Mock AssemblyLineFacade line1;
+	@Mock AssemblyLineFacade line2;
+	@Mock OrderView order;
+	@Mock OrderView pending;
+	@Mock DateTime time;
+
+	AssemblyFloor floor;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(order.getOrderNumber()).thenReturn(1);
+		Mockito.when(pending.getOrderNumber()).thenReturn(2);
+		Mockito.when(line2.contains(order)).thenReturn(true);
+		Mockito.when(line2.getEstimatedCompletionTime(order)).thenReturn(time);
+		floor = new AssemblyFloor(Arrays.asList(line1, line2), logger);
+	}
+
+	@Test
+	public void contains_scansLines() {
+		assertTrue(floor.contains(order));
+		assertFalse(floor.contains(pending));
+		assertEquals(time, floor.getEstimatedCompletionTime(order));
+	}
+
+	@Test
+	public void contains_looksUpRegistry() {
+		OrderStatusRegistry registry = new OrderStatusRegistry();
+		floor.setOrderStatusRegistry(registry);
+		registry.setAssembling(order, 1, 0);
+		registry.setScheduled(pending);
+
+		assertTrue(floor.contains(order));
+		assertFalse(floor.contains(pending));
+		assertEquals(time, floor.getEstimatedCompletionTime(order));
+		Mockito.verify(line1, Mockito.never()).contains(Mockito.any(OrderView.class));
+		Mockito.verify(line2, Mockito.never()).contains(pending);
+	}
+
+	@Test
+	public void getEstimatedCompletionTime_notOnFloor() {
+		floor.setOrderStatusRegistry(new OrderStatusRegistry());
+		expected.expect(IllegalStateException.class);
+		floor.getEstimatedCompletionTime(pending);
+	}
+}
@@ -16,8 +16,6 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
-import com.google.common.base.Optional;
-
 import domain.DateTime;
 import domain.Manufacturer;
 import domain.car.Model;
@@ -35,14 +33,11 @@ public class AssemblyLineControllerTest {
 	@Mock Manufacturer manufacturer;
 	@Mock SchedulerContext schedCon;
 	@Mock AssemblyLineState state;
-	@Mock DateTime argTime;
 	@Mock Order order;
 	@Mock Model model;
 	@Mock Clock clock;
 	
 	AssemblyLineController controller;
-	Optional<DateTime> deadLine;
-	Optional<DateTime> deadLineFar;
 	List<Model> models;
 	List<TaskType> types;
 
@@ -55,8 +50,6 @@ public class AssemblyLineControllerTest {
 		MockitoAnnotations.initMocks(this);
 		controller = new AssemblyLineController(schedCon, clock);
 		controller.setAssemblyLine(line);
-		deadLine = Optional.of(new DateTime(1, 9, 0));
-		deadLineFar = Optional.of(new DateTime(10, 6, 0));
 		models = new ArrayList<Model>();
 		models.add(model);
 		types = new ArrayList<TaskType>();
@@ -75,20 +68,34 @@ public class AssemblyLineControllerTest {
 		assertFalse(controller.timeExceedsToday(new DateTime(0, 1, 0)));
 	}
 	
+	private ActivationInputs deadlineInputs(int slack, boolean deadlineFits) {
+		ActivationInputs inputs = Mockito.mock(ActivationInputs.class);
+		Mockito.when(inputs.getCurrentTime()).thenReturn(new DateTime(0, 10, 0));
+		Mockito.when(inputs.acceptsOrders()).thenReturn(true);
+		Mockito.when(inputs.hasDeadlineOrder()).thenReturn(true);
+		Mockito.when(inputs.hasStandardOrder()).thenReturn(true);
+		Mockito.when(inputs.getStandardMakespan()).thenReturn(new DateTime(0, 3, 0));
+		Mockito.when(inputs.getDeadlineMakespan()).thenReturn(
+				deadlineFits ? new DateTime(0, 1, 0) : new DateTime(0, 13, 0));
+		Mockito.when(inputs.getDeadlineSlack()).thenReturn(slack);
+		return inputs;
+	}
+	
+	@Test
+	public void decide_standardWithSlack() {
+		assertEquals(ActivationDecision.STANDARD, AssemblyLineController.decide(deadlineInputs(0, true)));
+	}
+	
 	@Test
-	public void mustScheduleDeadline_true() {
-		Mockito.when(argTime.getDays()).thenReturn(0);
-		Mockito.when(order.getDeadline()).thenReturn(deadLine);
-		
-		assertTrue(controller.mustScheduleDeadline(argTime, order));
+	public void decide_deadlineWithoutSlack() {
+		assertEquals(ActivationDecision.DEADLINE, AssemblyLineController.decide(deadlineInputs(-1, true)));
 	}
 	
 	@Test
-	public void mustScheduleDeadline_false() {
-		Mockito.when(argTime.getDays()).thenReturn(0);
-		Mockito.when(order.getDeadline()).thenReturn(deadLineFar);
-		
-		assertFalse(controller.mustScheduleDeadline(argTime, order));
+	public void decide_fillerWithoutSlack() {
+		ActivationInputs inputs = deadlineInputs(-1, false);
+		Mockito.when(inputs.hasFillerOrders()).thenReturn(true);
+		assertEquals(ActivationDecision.SINGLE_TASK, AssemblyLineController.decide(inputs));
 	}
 	
 	@Test
@@ -42,6 +42,8 @@ import domain.clock.Clock;
 import domain.order.CompletedOrderCatalog;
 import domain.order.CompletedOrderEvent;
 import domain.order.Order;
+import domain.order.OrderStatus;
+import domain.order.OrderStatusRegistry;
 import domain.order.OrderView;
 import domain.statistics.StatisticsLogger;
 import exceptions.OrdersNotEmptyWhenAdvanceException;
@@ -227,6 +229,33 @@ public class AssemblyLineTest {
 		assertTrue(orders.contains(order3));
 	}
 	
+	@Test
+	public void getAssemblyProceduresTest() throws Exception {
+		List<Optional<AssemblyProcedure>> procedures = assemblyLine.getAssemblyProcedures();
+		assertEquals(assemblyLine.getAssemblyLineSize(), procedures.size());
+		assertEquals(procedure1, procedures.get(0).get());
+		assertFalse(procedures.get(1).isPresent());
+		
+		// The view reflects later changes of the WorkPosts.
+		Whitebox.invokeMethod(workPosts.get(1), "setAssemblyProcedure", Optional.of(procedure1));
+		assertEquals(procedure1, procedures.get(1).get());
+	}
+	
+	@Test
+	public void getWorkPostViews_unmodifiable() {
+		assertSame(assemblyLine.getWorkPostViews(), assemblyLine.getWorkPostViews());
+		expected.expect(UnsupportedOperationException.class);
+		assemblyLine.getWorkPostViews().clear();
+	}
+	
+	@Test
+	public void getTaskTypesTest() {
+		assertEquals(Arrays.asList(TaskType.BODY, TaskType.CARGO, TaskType.DRIVETRAIN,
+				TaskType.ACCESSORIES, TaskType.CERTIFICATION), assemblyLine.getTaskTypes());
+		expected.expect(UnsupportedOperationException.class);
+		assemblyLine.getTaskTypes().add(TaskType.BODY);
+	}
+	
 	@Test
 	public void getAssemblyTasksAtPost_valid() {
 		List<AssemblyTaskView> containers = assemblyLine.getAssemblyTasksAtPost(0);
@@ -270,6 +299,44 @@ public class AssemblyLineTest {
 		assertTrue(new AssemblyLine(workPosts, modelList, mockDeKlokMock).isEmpty());
 	}
 	
+	@Test
+	public void contains_onLine() {
+		assertTrue(assemblyLine.contains(order));
+		assertTrue(assemblyLine.contains(order3));
+		assertFalse(assemblyLine.contains(notOnAssemblyLine));
+	}
+	
+	@Test
+	public void contains_procedureMoved() throws Exception {
+		// procedure1 moves from the first to the empty second WorkPost.
+		workPosts.get(1).takeAssemblyProcedureFrom(workPosts.get(0));
+		assertTrue(assemblyLine.contains(order));
+		assertEquals(3, (int) Whitebox.<Integer> invokeMethod(assemblyLine, "getNbOfActiveWorkPosts"));
+		
+		Whitebox.invokeMethod(workPosts.get(1), "setAssemblyProcedure", Optional.<AssemblyProcedure> absent());
+		assertFalse(assemblyLine.contains(order));
+		assertEquals(2, (int) Whitebox.<Integer> invokeMethod(assemblyLine, "getNbOfActiveWorkPosts"));
+	}
+	
+	@Test
+	public void isEmpty_procedureRemoved() throws Exception {
+		List<WorkPost> workPosts = new ArrayList<WorkPost>();
+		workPosts.add(new WorkPost(TaskType.BODY, 0));
+		AssemblyLine line = new AssemblyLine(workPosts, modelList, mockDeKlokMock);
+		Whitebox.invokeMethod(workPosts.get(0), "setAssemblyProcedure", Optional.of(procedure1));
+		assertFalse(line.isEmpty());
+		assertTrue(line.contains(order));
+		Whitebox.invokeMethod(workPosts.get(0), "setAssemblyProcedure", Optional.<AssemblyProcedure> absent());
+		assertTrue(line.isEmpty());
+	}
+	
+	@Test
+	public void finishedAssemblyCounter_procedureMoved() {
+		// procedure3 has no tasks on the CERTIFICATION post it moves to.
+		workPosts.get(4).takeAssemblyProcedureFrom(workPosts.get(3));
+		assertEquals(1, Whitebox.getInternalState(assemblyLine, "finishedAssemblyCounter"));
+	}
+	
 	@Test
 	public void isValidWorkPost_tooBig() {
 		assertFalse(assemblyLine.isValidWorkPost(Integer.MAX_VALUE));
@@ -407,6 +474,55 @@ public class AssemblyLineTest {
 		assertFalse(assemblyLine.contains(notOnAssemblyLine));
 	}
 	
+	@Test
+	public void setOrderStatusRegistry_registersOrders() {
+		OrderStatusRegistry registry = statusRegistry();
+		assertEquals(OrderStatus.ASSEMBLING, registry.getStatus(1).get());
+		assertEquals(2, registry.getLineNumber(1));
+		assertEquals(0, registry.getWorkPostNumber(1));
+		assertEquals(2, registry.getWorkPostNumber(2));
+		assertEquals(3, registry.getWorkPostNumber(3));
+	}
+	
+	@Test
+	public void setOrderStatusRegistry_negativeLineNumber() {
+		expected.expect(IllegalArgumentException.class);
+		assemblyLine.setOrderStatusRegistry(new OrderStatusRegistry(), -1);
+	}
+	
+	@Test
+	public void orderStatus_procedureMoved() {
+		OrderStatusRegistry registry = statusRegistry();
+		workPosts.get(1).takeAssemblyProcedureFrom(workPosts.get(0));
+		assertEquals(1, registry.getWorkPostNumber(1));
+	}
+	
+	@Test
+	public void orderStatus_completed() {
+		OrderStatusRegistry registry = statusRegistry();
+		assemblyLine.getCurrentState().completeWorkpostTask(0, 0, 0);
+		assemblyLine.handleFinishedAssemblyProcedure(Optional.of(procedure1));
+		assertEquals(OrderStatus.COMPLETED, registry.getStatus(1).get());
+		assertEquals(2, registry.getNbOfOrders(OrderStatus.ASSEMBLING));
+	}
+	
+	@Test
+	public void completeWorkPostTask_learnsTaskDuration() {
+		TaskDurationTable table = new TaskDurationTable();
+		assemblyLine.setTaskDurationTable(table);
+		assemblyLine.getCurrentState().completeWorkpostTask(0, 0, 42);
+		assertEquals(42, table.getMinutes(task1.getOption()), 0);
+	}
+	
+	private OrderStatusRegistry statusRegistry() {
+		Mockito.when(order.getOrderNumber()).thenReturn(1);
+		Mockito.when(order2.getOrderNumber()).thenReturn(2);
+		Mockito.when(order3.getOrderNumber()).thenReturn(3);
+		OrderStatusRegistry registry = new OrderStatusRegistry();
+		assemblyLine.setOrderStatusRegistry(registry, 2);
+		return registry;
+	}
+	
 	@Test
 	public void handleFinishedAssemblyProcedureTest() {
 		assemblyLine.getCurrentState().completeWorkpostTask(0, 0, 0);
@@ -6,16 +6,21 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ ActiveStateTest.class,
+				AssemblyFloorTest.class,
 				AssemblyLineBuilderTest.class,
 				AssemblyLineControllerTest.class,
 				AssemblyLineTest.class,
 				AssemblyProcedureTest.class,
 				AssemblyTaskTest.class,
+				CompletionForecastTest.class,
+				DeadlinePlanTest.class,
+				FloorDispatcherTest.class,
 				BrokenStateTest.class,
 				LayoutFactoryTest.class,
 				LayoutManipulatorTest.class,
 				OperationalStateTest.class,
 				StateCatalogTest.class,
+				TaskDurationTableTest.class,
 				WorkPostTest.class })
 public class AssemblyLineTestSuite {
 
@@ -202,6 +202,19 @@ public class AssemblyProcedureTest {
 		assertFalse(containers.contains(engine));
 	}
 	
+	@Test
+	public void getTasksOfType_noTasks() {
+		assertTrue(procedure.getAssemblyTasks(TaskType.CERTIFICATION).isEmpty());
+		assertTrue(procedure.getAssemblyTasks(null).isEmpty());
+	}
+	
+	@Test
+	public void getTasksOfType_unmodifiable() {
+		assertSame(procedure.getAssemblyTasks(TaskType.BODY), procedure.getAssemblyTasks(TaskType.BODY));
+		exception.expect(UnsupportedOperationException.class);
+		procedure.getAssemblyTasks(TaskType.BODY).clear();
+	}
+	
 	@Test
 	public void getTask_NegativeNumber() {
 		exception.expect(IllegalArgumentException.class);
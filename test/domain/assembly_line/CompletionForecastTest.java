@@ -0,0 +1,247 @@
+package domain.assembly_line;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.CarModel;
+import domain.car.Model;
+import domain.car.ModelSet;
+import domain.car.OptionCategory;
+import domain.car.Specification;
+import domain.metrics.MetricsRegistry;
+import domain.order.Order;
+import domain.order.StandardOrder;
+import domain.production_schedule.OrderRequest;
+import domain.production_schedule.SchedulerContext;
+import domain.production_schedule.strategy.FifoStrategy;
+
+public class CompletionForecastTest {
+	@Rule public ExpectedException expected = ExpectedException.none();
+
+	static final TaskType[] TASK_TYPES = { TaskType.BODY, TaskType.DRIVETRAIN, TaskType.ACCESSORIES };
+
+	Model model;
+	@Mock Specification spec;
+	@Mock AssemblyLineState state;
+	@Mock AssemblyLineState brokenState;
+
+	SchedulerContext schedule;
+	CompletionForecast forecast;
+	DateTime now;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		model = new CarModel("Car", new ArrayList<OptionCategory>(), 60);
+		Mockito.when(state.acceptsOrders()).thenReturn(true);
+		Mockito.when(brokenState.acceptsOrders()).thenReturn(false);
+
+		schedule = new SchedulerContext(new FifoStrategy<StandardOrder>());
+		forecast = new CompletionForecast(schedule);
+		now = new DateTime(0, 8, 0);
+	}
+
+	private AssemblyLineFacade newLine(AssemblyLineState lineState) {
+		return newLine(lineState, newPosts());
+	}
+
+	private AssemblyLineFacade newLine(AssemblyLineState lineState, final List<Optional<Order>> posts) {
+		AssemblyLine line = Mockito.mock(AssemblyLine.class);
+		AssemblyLineFacade facade = Mockito.mock(AssemblyLineFacade.class);
+		Mockito.when(facade.getLine()).thenReturn(line);
+		Mockito.when(line.getCurrentState()).thenReturn(lineState);
+		Mockito.when(line.getOrdersPerWorkStation()).thenReturn(posts);
+		Mockito.when(line.getAcceptedModelSet()).thenReturn(new ModelSet(Arrays.asList(model)));
+		Mockito.when(line.newVirtualAssemblyLine()).thenAnswer(new Answer<VirtualAssemblyLine>() {
+			@Override
+			public VirtualAssemblyLine answer(InvocationOnMock invocation) {
+				return new VirtualAssemblyLine(TASK_TYPES, posts);
+			}
+		});
+		return facade;
+	}
+
+	private List<Optional<Order>> newPosts() {
+		List<Optional<Order>> posts = new ArrayList<Optional<Order>>();
+		for (int i = 0; i < TASK_TYPES.length; i++) {
+			posts.add(Optional.<Order> absent());
+		}
+		return posts;
+	}
+
+	private Order pop() {
+		return schedule.popOrder(new OrderRequest(new Model[] { model })).get();
+	}
+
+	private List<StandardOrder> submit(int from, int nbOfOrders) {
+		List<StandardOrder> result = new ArrayList<StandardOrder>();
+		for (int i = from; i < from + nbOfOrders; i++) {
+			StandardOrder order = new StandardOrder(model, spec, i, new DateTime(0, 0, i));
+			schedule.addNewStandardOrder(order);
+			result.add(order);
+		}
+		return result;
+	}
+
+	private int minutes(Order order) {
+		DateTime time = forecast.getTimeToCompletion(order, now).get();
+		return (time.getDays() * 24 + time.getHours()) * 60 + time.getMinutes();
+	}
+
+	@Test
+	public void constructor_null() {
+		expected.expect(IllegalArgumentException.class);
+		new CompletionForecast(null);
+	}
+
+	@Test
+	public void setLines_null() {
+		expected.expect(IllegalArgumentException.class);
+		forecast.setLines(null);
+	}
+
+	@Test
+	public void getTimeToCompletion_null() {
+		forecast.setLines(Arrays.asList(newLine(state)));
+		expected.expect(IllegalArgumentException.class);
+		forecast.getTimeToCompletion(null, now);
+	}
+
+	@Test
+	public void getTimeToCompletion_singleLine() {
+		forecast.setLines(Arrays.asList(newLine(state)));
+		List<StandardOrder> orders = submit(1, 3);
+
+		assertEquals(180, minutes(orders.get(0)));
+		assertEquals(240, minutes(orders.get(1)));
+		assertEquals(300, minutes(orders.get(2)));
+	}
+
+	@Test
+	public void getTimeToCompletion_spreadOverLines() {
+		forecast.setLines(Arrays.asList(newLine(state), newLine(state)));
+		List<StandardOrder> orders = submit(1, 3);
+
+		assertEquals(180, minutes(orders.get(0)));
+		assertEquals(180, minutes(orders.get(1)));
+		assertEquals(240, minutes(orders.get(2)));
+	}
+
+	@Test
+	public void getTimeToCompletion_lineNotAccepting() {
+		forecast.setLines(Arrays.asList(newLine(brokenState)));
+		List<StandardOrder> orders = submit(1, 1);
+
+		assertFalse(forecast.getTimeToCompletion(orders.get(0), now).isPresent());
+	}
+
+	@Test
+	public void getTimeToCompletion_appendedOrder() {
+		forecast.setLines(Arrays.asList(newLine(state)));
+		List<StandardOrder> orders = submit(1, 2);
+		assertEquals(240, minutes(orders.get(1)));
+
+		orders.addAll(submit(3, 1));
+		assertEquals(180, minutes(orders.get(0)));
+		assertEquals(240, minutes(orders.get(1)));
+		assertEquals(300, minutes(orders.get(2)));
+	}
+
+	@Test
+	public void getTimeToCompletion_removedOrder() {
+		forecast.setLines(Arrays.asList(newLine(state)));
+		List<StandardOrder> orders = submit(1, 3);
+		assertEquals(300, minutes(orders.get(2)));
+
+		schedule.removeOrder(orders.get(0));
+		assertFalse(forecast.getTimeToCompletion(orders.get(0), now).isPresent());
+		assertEquals(180, minutes(orders.get(1)));
+		assertEquals(240, minutes(orders.get(2)));
+	}
+
+	@Test
+	public void getTimeToCompletion_rewindToCheckpoint() {
+		forecast.setLines(Arrays.asList(newLine(state), newLine(state)));
+		int nbOfOrders = 2 * CompletionForecast.CHECKPOINT_INTERVAL + 10;
+		List<StandardOrder> orders = submit(1, nbOfOrders);
+		minutes(orders.get(0));
+
+		schedule.removeOrder(orders.get(CompletionForecast.CHECKPOINT_INTERVAL + 5));
+		StandardOrder last = orders.get(nbOfOrders - 1);
+		int incremental = minutes(last);
+
+		CompletionForecast fresh = new CompletionForecast(schedule);
+		fresh.setLines(Arrays.asList(newLine(state), newLine(state)));
+		assertEquals(fresh.getTimeToCompletion(last, now).get(), new DateTime(0, 0, incremental));
+	}
+
+	@Test
+	public void getTimeToCompletion_poppedOrdersShift() {
+		MetricsRegistry registry = new MetricsRegistry();
+		forecast.setMetricsRegistry(registry);
+		List<Optional<Order>> posts = newPosts();
+		forecast.setLines(Arrays.asList(newLine(state, posts)));
+		List<StandardOrder> orders = submit(1, 3);
+		assertEquals(180, minutes(orders.get(0)));
+
+		posts.set(0, Optional.of(pop()));
+		assertEquals(180, minutes(orders.get(0)));
+		assertEquals(240, minutes(orders.get(1)));
+		assertEquals(300, minutes(orders.get(2)));
+
+		now = now.addTime(0, 1, 0);
+		posts.set(1, posts.get(0));
+		posts.set(0, Optional.of(pop()));
+		assertEquals(120, minutes(orders.get(0)));
+		assertEquals(180, minutes(orders.get(1)));
+		assertEquals(240, minutes(orders.get(2)));
+		assertEquals(1, registry.counter("assembly_floor.forecast.full").getCount());
+	}
+
+	@Test
+	public void getTimeToCompletion_overdueEstimate() {
+		MetricsRegistry registry = new MetricsRegistry();
+		forecast.setMetricsRegistry(registry);
+		List<Optional<Order>> posts = newPosts();
+		forecast.setLines(Arrays.asList(newLine(state, posts)));
+		List<StandardOrder> orders = submit(1, 2);
+		assertEquals(180, minutes(orders.get(0)));
+
+		posts.set(0, Optional.of(pop()));
+		now = now.addTime(0, 4, 0);
+		assertEquals(180, minutes(orders.get(0)));
+		assertEquals(240, minutes(orders.get(1)));
+		assertEquals(2, registry.counter("assembly_floor.forecast.full").getCount());
+	}
+
+	@Test
+	public void getTimeToCompletion_unknownOrderOnLine() {
+		MetricsRegistry registry = new MetricsRegistry();
+		forecast.setMetricsRegistry(registry);
+		List<Optional<Order>> posts = newPosts();
+		forecast.setLines(Arrays.asList(newLine(state, posts)));
+		List<StandardOrder> orders = submit(1, 1);
+		assertEquals(180, minutes(orders.get(0)));
+
+		posts.set(0, Optional.<Order> of(new StandardOrder(model, spec, 99, now)));
+		assertEquals(240, minutes(orders.get(0)));
+		assertEquals(2, registry.counter("assembly_floor.forecast.full").getCount());
+	}
+}
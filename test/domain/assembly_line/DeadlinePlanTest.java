@@ -0,0 +1,140 @@
+package domain.assembly_line;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Option;
+import domain.car.Specification;
+import domain.order.Order;
+
+public class DeadlinePlanTest {
+
+	@Rule public ExpectedException expected = ExpectedException.none();
+
+	private static final List<TaskType> POSTS =
+			Arrays.asList(TaskType.BODY, TaskType.DRIVETRAIN, TaskType.ACCESSORIES);
+
+	@Mock Order standard;
+	@Mock Order bodyTask;
+	@Mock Order paintTask;
+
+	VirtualAssemblyLine emptyLine;
+	TaskDurationTable durations;
+	List<Order> none;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(standard.getMinutesOnPostOfType(Mockito.any(TaskType.class))).thenReturn(50);
+		Mockito.when(standard.getDeadline()).thenReturn(Optional.<DateTime> absent());
+		Mockito.when(bodyTask.getMinutesOnPostOfType(TaskType.BODY)).thenReturn(60);
+		Mockito.when(paintTask.getMinutesOnPostOfType(TaskType.BODY)).thenReturn(60);
+
+		List<Optional<Order>> state = new ArrayList<>();
+		for (int i = 0; i < POSTS.size(); i++) {
+			state.add(Optional.<Order> absent());
+		}
+		durations = new TaskDurationTable();
+		emptyLine = new VirtualAssemblyLine(POSTS.toArray(new TaskType[POSTS.size()]), state, durations);
+		none = new ArrayList<Order>();
+	}
+
+	private DeadlinePlan plan(DateTime now, int overTime, List<Order> first, Order... deadlineOrders) {
+		return new DeadlinePlan(emptyLine, POSTS, durations, now, overTime, first, Arrays.asList(deadlineOrders));
+	}
+
+	@Test
+	public void constructor_null() {
+		expected.expect(IllegalArgumentException.class);
+		new DeadlinePlan(null, POSTS, durations, new DateTime(0, 8, 0), 0, none, none);
+	}
+
+	@Test
+	public void constructor_noDeadline() {
+		expected.expect(IllegalArgumentException.class);
+		plan(new DateTime(0, 8, 0), 0, none, standard);
+	}
+
+	@Test
+	public void getSlack_noOrders() {
+		assertEquals(Integer.MAX_VALUE, plan(new DateTime(0, 8, 0), 0, none).getSlack());
+	}
+
+	@Test
+	public void getSlack_emptyLine() {
+		Mockito.when(bodyTask.getDeadline()).thenReturn(Optional.of(new DateTime(0, 10, 0)));
+		DeadlinePlan plan = plan(new DateTime(0, 8, 0), 0, none, bodyTask);
+
+		assertEquals(60, plan.getSlack());
+		assertTrue(plan.getPredictedMisses().isEmpty());
+	}
+
+	@Test
+	public void getSlack_earliestDeadlineFirst() {
+		Mockito.when(bodyTask.getDeadline()).thenReturn(Optional.of(new DateTime(0, 10, 0)));
+		Mockito.when(paintTask.getDeadline()).thenReturn(Optional.of(new DateTime(0, 12, 0)));
+		DeadlinePlan plan = plan(new DateTime(0, 8, 0), 0, none, bodyTask, paintTask);
+
+		assertEquals(60, plan.getSlack(0));
+		assertEquals(60, plan.getSlack());
+		assertTrue(plan.getSlack(1) < 240);
+	}
+
+	@Test
+	public void getSlack_standardOrderFirst() {
+		Mockito.when(bodyTask.getDeadline()).thenReturn(Optional.of(new DateTime(0, 9, 30)));
+		List<Order> first = new ArrayList<Order>(Arrays.asList(standard));
+
+		assertEquals(30, plan(new DateTime(0, 8, 0), 0, none, bodyTask).getSlack());
+		DeadlinePlan plan = plan(new DateTime(0, 8, 0), 0, first, bodyTask);
+		assertTrue(plan.getSlack() < 0);
+		assertEquals(Arrays.asList(bodyTask), plan.getPredictedMisses());
+	}
+
+	@Test
+	public void getSlack_nextDay() {
+		Mockito.when(bodyTask.getDeadline()).thenReturn(Optional.of(new DateTime(1, 8, 0)));
+		DeadlinePlan plan = plan(new DateTime(0, 21, 30), 0, none, bodyTask);
+
+		// The order is finished at 7:00 on the next day.
+		assertEquals(60, plan.getSlack());
+	}
+
+	@Test
+	public void getSlack_nextDayLearnedMinutes() {
+		Option paint = new Option(TaskType.BODY, "red", "paint red");
+		Mockito.when(bodyTask.getSpecifications()).thenReturn(new Specification(paint));
+		Mockito.when(bodyTask.getDeadline()).thenReturn(Optional.of(new DateTime(1, 8, 0)));
+		durations.record(paint, 90);
+		DeadlinePlan plan = plan(new DateTime(0, 21, 30), 0, none, bodyTask);
+
+		// The next day the order takes the learned 90 minutes, until 7:30.
+		assertEquals(30, plan.getSlack());
+	}
+
+	@Test
+	public void getSlack_overTime() {
+		Mockito.when(bodyTask.getDeadline()).thenReturn(Optional.of(new DateTime(0, 22, 0)));
+
+		assertEquals(30, plan(new DateTime(0, 20, 30), 0, none, bodyTask).getSlack());
+		// With an hour of overtime the day ends at 21:00.
+		DeadlinePlan plan = plan(new DateTime(0, 20, 30), 60, none, bodyTask);
+		assertEquals(-9 * 60, plan.getSlack());
+		assertEquals(Arrays.asList(bodyTask), plan.getPredictedMisses());
+	}
+}
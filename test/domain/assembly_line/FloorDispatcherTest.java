@@ -0,0 +1,192 @@
+package domain.assembly_line;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Model;
+import domain.car.ModelSet;
+import domain.clock.Clock;
+import domain.clock.EventActor;
+import domain.order.Order;
+import domain.order.StandardOrder;
+import domain.production_schedule.OrderRequest;
+import domain.production_schedule.SchedulerContext;
+
+public class FloorDispatcherTest {
+
+	@Rule public ExpectedException expected = ExpectedException.none();
+
+	@Mock SchedulerContext schedCon;
+	@Mock Clock clock;
+	@Mock AssemblyLine line1;
+	@Mock AssemblyLine line2;
+	@Mock AssemblyLineState state;
+	@Mock Model car;
+	@Mock Model truck;
+	@Mock StandardOrder carOrder;
+	@Mock StandardOrder truckOrder;
+
+	FloorDispatcher dispatcher;
+	AssemblyLineController controller1;
+	AssemblyLineController controller2;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		dispatcher = new FloorDispatcher();
+		controller1 = newController(line1, Arrays.asList(car, truck));
+		controller2 = newController(line2, Arrays.asList(car));
+
+		Mockito.when(clock.getCurrentTime()).thenReturn(new DateTime(0, 8, 0));
+		Mockito.when(state.acceptsOrders()).thenReturn(true);
+		Mockito.when(carOrder.getMinutesOnPostOfType(TaskType.BODY)).thenReturn(50);
+		Mockito.when(truckOrder.getMinutesOnPostOfType(TaskType.BODY)).thenReturn(60);
+		Mockito.when(schedCon.containsOrder(Mockito.any(Order.class))).thenReturn(true);
+	}
+
+	private AssemblyLineController newController(AssemblyLine line, List<Model> models) {
+		AssemblyLineController result = new AssemblyLineController(schedCon, clock);
+		result.setAssemblyLine(line);
+		result.setDispatcher(Optional.of(dispatcher));
+		Mockito.when(line.getAcceptedModels()).thenReturn(models);
+		Mockito.when(line.getAcceptedModelSet()).thenReturn(new ModelSet(models));
+		Mockito.when(line.getCurrentState()).thenReturn(state);
+		Mockito.when(line.newVirtualAssemblyLine()).thenReturn(emptyLine());
+		return result;
+	}
+
+	private static VirtualAssemblyLine emptyLine() {
+		List<Optional<Order>> posts = new ArrayList<Optional<Order>>();
+		posts.add(Optional.<Order> absent());
+		return new VirtualAssemblyLine(new TaskType[] { TaskType.BODY }, posts);
+	}
+
+	private void activate(AssemblyLineController... controllers) {
+		Mockito.when(clock.getActorsToActivate()).thenReturn(Arrays.<EventActor> asList(controllers));
+	}
+
+	@Test
+	public void getStandardOrder_null() {
+		expected.expect(IllegalArgumentException.class);
+		dispatcher.getStandardOrder(controller1, null);
+	}
+
+	@Test
+	public void getStandardOrder_alone() {
+		activate(controller1);
+		Mockito.when(schedCon.getOrder(Mockito.any(OrderRequest.class)))
+				.thenReturn(Optional.<Order> of(carOrder));
+
+		assertEquals(carOrder, controller1.requestStandardOrder(emptyLine()).get());
+		Mockito.verify(schedCon).getOrder(Mockito.any(OrderRequest.class));
+	}
+
+	@Test
+	public void getStandardOrder_joint() {
+		activate(controller1, controller2);
+		// The strategy selects the car order first, only line 1 accepts trucks.
+		Mockito.when(schedCon.getNextStandardOrders(Mockito.anySetOf(Model.class),
+				Mockito.<Optional<VirtualAssemblyLine>> any(), Mockito.anyInt()))
+				.thenReturn(Arrays.asList(carOrder, truckOrder)).thenReturn(Arrays.asList(carOrder));
+
+		assertEquals(truckOrder, dispatcher.getStandardOrder(controller1, emptyLine()).get());
+		assertEquals(carOrder, dispatcher.getStandardOrder(controller2, emptyLine()).get());
+		Mockito.verify(schedCon, Mockito.times(2)).getNextStandardOrders(Mockito.anySetOf(Model.class),
+				Mockito.<Optional<VirtualAssemblyLine>> any(), Mockito.anyInt());
+		Mockito.verify(schedCon, Mockito.never()).getOrder(Mockito.any(OrderRequest.class));
+	}
+
+	@Test
+	public void getStandardOrder_jointPrefersShorterMakespan() {
+		activate(controller1, controller2);
+		Mockito.when(schedCon.getNextStandardOrders(Mockito.anySetOf(Model.class),
+				Mockito.<Optional<VirtualAssemblyLine>> any(), Mockito.anyInt()))
+				.thenReturn(Arrays.asList(truckOrder, carOrder)).thenReturn(Arrays.<StandardOrder> asList());
+
+		assertEquals(carOrder, dispatcher.getStandardOrder(controller1, emptyLine()).get());
+		assertFalse(dispatcher.getStandardOrder(controller2, emptyLine()).isPresent());
+	}
+
+	@Test
+	public void getStandardOrder_reservationRemoved() {
+		activate(controller1, controller2);
+		Mockito.when(schedCon.getNextStandardOrders(Mockito.anySetOf(Model.class),
+				Mockito.<Optional<VirtualAssemblyLine>> any(), Mockito.anyInt()))
+				.thenReturn(Arrays.asList(carOrder, truckOrder)).thenReturn(Arrays.asList(carOrder));
+		dispatcher.getStandardOrder(controller1, emptyLine());
+
+		// The order reserved for line 2 is served to a line that activates alone.
+		AssemblyLine line3 = Mockito.mock(AssemblyLine.class);
+		AssemblyLineController controller3 = newController(line3, Arrays.asList(car));
+		activate(controller3);
+		Mockito.when(schedCon.getOrder(Mockito.any(OrderRequest.class)))
+				.thenReturn(Optional.<Order> of(carOrder)).thenReturn(Optional.<Order> absent());
+		assertEquals(carOrder, dispatcher.getStandardOrder(controller3, emptyLine()).get());
+
+		activate(controller2);
+		assertFalse(dispatcher.getStandardOrder(controller2, emptyLine()).isPresent());
+		Mockito.verify(schedCon, Mockito.times(2)).getOrder(Mockito.any(OrderRequest.class));
+	}
+
+	@Test
+	public void getStandardOrder_reservedOrderCancelled() {
+		activate(controller1, controller2);
+		Mockito.when(schedCon.getNextStandardOrders(Mockito.anySetOf(Model.class),
+				Mockito.<Optional<VirtualAssemblyLine>> any(), Mockito.anyInt()))
+				.thenReturn(Arrays.asList(carOrder, truckOrder)).thenReturn(Arrays.asList(carOrder));
+		assertEquals(truckOrder, dispatcher.getStandardOrder(controller1, emptyLine()).get());
+
+		// The order reserved for line 2 is cancelled before line 2 requests it.
+		Mockito.when(schedCon.containsOrder(carOrder)).thenReturn(false);
+		activate(controller2);
+		Mockito.when(schedCon.getOrder(Mockito.any(OrderRequest.class)))
+				.thenReturn(Optional.<Order> absent());
+		assertFalse(dispatcher.getStandardOrder(controller2, emptyLine()).isPresent());
+		Mockito.verify(schedCon).getOrder(Mockito.any(OrderRequest.class));
+	}
+
+	@Test
+	public void getStandardOrder_reservationExpired() {
+		activate(controller1, controller2);
+		Mockito.when(schedCon.getNextStandardOrders(Mockito.anySetOf(Model.class),
+				Mockito.<Optional<VirtualAssemblyLine>> any(), Mockito.anyInt()))
+				.thenReturn(Arrays.asList(carOrder, truckOrder)).thenReturn(Arrays.asList(carOrder));
+		dispatcher.getStandardOrder(controller1, emptyLine());
+
+		// Line 2 did not request its order before the time changed.
+		Mockito.when(clock.getCurrentTime()).thenReturn(new DateTime(0, 9, 0));
+		activate(controller2);
+		Mockito.when(schedCon.getOrder(Mockito.any(OrderRequest.class)))
+				.thenReturn(Optional.<Order> absent());
+		assertFalse(dispatcher.getStandardOrder(controller2, emptyLine()).isPresent());
+		Mockito.verify(schedCon).getOrder(Mockito.any(OrderRequest.class));
+	}
+
+	@Test
+	public void getStandardOrder_lineNotAcceptingOrders() {
+		AssemblyLineState broken = Mockito.mock(AssemblyLineState.class);
+		Mockito.when(line2.getCurrentState()).thenReturn(broken);
+		activate(controller1, controller2);
+		Mockito.when(schedCon.getOrder(Mockito.any(OrderRequest.class)))
+				.thenReturn(Optional.<Order> of(carOrder));
+
+		assertEquals(carOrder, dispatcher.getStandardOrder(controller1, emptyLine()).get());
+		Mockito.verify(schedCon, Mockito.never()).getNextStandardOrders(Mockito.anySetOf(Model.class),
+				Mockito.<Optional<VirtualAssemblyLine>> any(), Mockito.anyInt());
+	}
+}
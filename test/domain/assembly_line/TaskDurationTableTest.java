@@ -0,0 +1,121 @@
+package domain.assembly_line;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.base.Optional;
+
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Option;
+import domain.car.Specification;
+import domain.order.Order;
+
+public class TaskDurationTableTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	static final double DELTA = 1e-9;
+
+	@Mock Order order;
+
+	Option body;
+	Option paint;
+	Option engine;
+	TaskDurationTable table;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		body = new Option(TaskType.BODY, "sedan", "");
+		paint = new Option(TaskType.BODY, "red", "");
+		engine = new Option(TaskType.DRIVETRAIN, "v8", "");
+		Mockito.when(order.getSpecifications()).thenReturn(new Specification(Arrays.asList(body, paint, engine)));
+		Mockito.when(order.getMinutesOnPostOfType(TaskType.BODY)).thenReturn(60);
+		Mockito.when(order.getMinutesOnPostOfType(TaskType.DRIVETRAIN)).thenReturn(60);
+		Mockito.when(order.getMinutesOnPostOfType(TaskType.ACCESSORIES)).thenReturn(60);
+		table = new TaskDurationTable();
+	}
+
+	@Test
+	public void record_nullOption() {
+		exception.expect(IllegalArgumentException.class);
+		table.record(null, 10);
+	}
+
+	@Test
+	public void record_negativeMinutes() {
+		exception.expect(IllegalArgumentException.class);
+		table.record(body, -1);
+	}
+
+	@Test
+	public void getMinutes_notLearned() {
+		assertFalse(table.hasMinutes(body));
+		exception.expect(IllegalArgumentException.class);
+		table.getMinutes(body);
+	}
+
+	@Test
+	public void record_decayedMean() {
+		table.record(body, 40);
+		assertEquals(40, table.getMinutes(body), DELTA);
+		table.record(body, 80);
+		// Weights 0.75 and 1.
+		assertEquals(40 + 40 / 1.75, table.getMinutes(body), DELTA);
+		assertTrue(table.hasMinutes(new Option(TaskType.BODY, "sedan", "")));
+	}
+
+	@Test
+	public void getMinutesOnPostOfType_nothingLearned() {
+		assertEquals(60, table.getMinutesOnPostOfType(order, TaskType.BODY));
+	}
+
+	@Test
+	public void getMinutesOnPostOfType_partlyLearned() {
+		table.record(body, 50);
+		// Paint gets half of the fixed 60 minutes.
+		assertEquals(80, table.getMinutesOnPostOfType(order, TaskType.BODY));
+		assertEquals(60, table.getMinutesOnPostOfType(order, TaskType.DRIVETRAIN));
+
+		table.record(paint, 10);
+		assertEquals(60, table.getMinutesOnPostOfType(order, TaskType.BODY));
+	}
+
+	@Test
+	public void getMinutesOnPostOfType_noOptionsOfType() {
+		table.record(body, 50);
+		assertEquals(60, table.getMinutesOnPostOfType(order, TaskType.ACCESSORIES));
+	}
+
+	@Test
+	public void record_growsSlots() {
+		for (int i = 0; i < 100; i++) {
+			table.record(new Option(TaskType.BODY, "option" + i, ""), i);
+		}
+		assertEquals(42, table.getMinutes(new Option(TaskType.BODY, "option42", "")), DELTA);
+	}
+
+	@Test
+	public void virtualAssemblyLine_usesLearnedMinutes() {
+		TaskType[] types = { TaskType.BODY, TaskType.DRIVETRAIN };
+		List<Optional<Order>> posts = new ArrayList<Optional<Order>>();
+		posts.add(Optional.<Order> absent());
+		posts.add(Optional.<Order> absent());
+		table.record(body, 100);
+		table.record(paint, 20);
+		table.record(engine, 30);
+
+		VirtualAssemblyLine line = new VirtualAssemblyLine(types, posts, table);
+		assertEquals(120 + 30, line.timeToFinish(Arrays.asList(order)).getInMinutes());
+	}
+}
@@ -233,6 +233,13 @@ public class WorkPostTest {
 		Mockito.verify(assemblyProcedure, Mockito.times(1)).completeTask(0, workPostType);
 	}
 	
+	@Test
+	public void completeTask_notifiesTaskComplete() {
+		workPost.setAssemblyProcedure(Optional.fromNullable(realProcedure));
+		workPost.completeTask(1, 45);
+		Mockito.verify(observer).notifyTaskComplete(realTask2, 45);
+	}
+	
 	@Test
 	public void completeTask_negativeMins() {
 		exception.expect(IllegalArgumentException.class);
@@ -268,5 +275,20 @@ public class WorkPostTest {
 		assertEquals(Optional.absent(), workPost.getAssemblyProcedure());
 		assertEquals(0, (int) Whitebox.getInternalState(workPost, "minutesOfWork"));
 	}
+	
+	@Test
+	public void takeProcedureFrom_notifiesObservers() {
+		emptyWorkPost.register(observer);
+		emptyWorkPost.takeAssemblyProcedureFrom(workPost);
+		Mockito.verify(observer).notifyProcedureChanged(emptyWorkPost, Optional.<AssemblyProcedure> absent());
+		Mockito.verify(observer).notifyProcedureChanged(workPost, Optional.of(assemblyProcedure));
+	}
+	
+	@Test
+	public void setAssemblyProcedure_sameProcedure() {
+		workPost.setAssemblyProcedure(Optional.of(assemblyProcedure));
+		Mockito.verify(observer, Mockito.never()).notifyProcedureChanged(
+				Mockito.any(WorkPost.class), Mockito.<Optional<AssemblyProcedure>> any());
+	}
 
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package domain.assembly_line.trace;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import domain.assembly_line.ActivationDecision;
+import domain.handlers.InitialisationHandler;
+import domain.initialdata.InitialDataLoader;
+
+public class DecisionReplayerTest {
+	
+	private static final int KNOWN = DecisionRecord.ACCEPTS_KNOWN | DecisionRecord.ACCEPTS | 
+			DecisionRecord.DEADLINE_KNOWN | DecisionRecord.STANDARD_KNOWN;
+	
+	@Test
+	public void replay_simulation_reproducesAllDecisions() {
+		InitialisationHandler init = new InitialisationHandler(
+				InitialisationHandler.getDefaultLineLayout(), new Random(11));
+		DecisionTrace trace = new DecisionTrace(4096);
+		init.getManufacturer().setDecisionTrace(trace);
+		
+		InitialDataLoader loader = init.getInitialDataLoader();
+		loader.placeIdenticalStandardOrder(10);
+		loader.placeSingleTaskOrder(4);
+		loader.completeAllAvailableTasks(200);
+		
+		assertTrue(trace.getRecordCount() > 0);
+		DecisionReplayer replayer = new DecisionReplayer();
+		assertEquals(trace.getRecords().size(), replayer.replay(trace.getRecords()));
+		assertEquals(0, replayer.getNbOfMismatches());
+		assertTrue(replayer.getIncidents().isEmpty());
+	}
+	
+	@Test
+	public void replay_mismatch() {
+		// A StandardOrder of 60 minutes at 8:00 fits in the day.
+		DecisionRecord record = new DecisionRecord(0, 8 * 60, 0, ActivationDecision.WRAP_UP,
+				KNOWN | DecisionRecord.HAS_STANDARD, DecisionRecord.UNKNOWN, 
+				DecisionRecord.UNKNOWN, 60, DecisionRecord.UNKNOWN_SLACK, DecisionRecord.UNKNOWN, 3, 0);
+		DecisionReplayer replayer = new DecisionReplayer();
+		
+		assertFalse(replayer.replay(record));
+		assertEquals(1, replayer.getNbOfReplayed());
+		assertEquals(1, replayer.getNbOfMismatches());
+		assertTrue(replayer.getIncidents().get(0).contains("replayed as STANDARD"));
+	}
+	
+	@Test
+	public void replay_divergence() {
+		// Without orders the decision depends on whether the line is empty.
+		DecisionRecord record = new DecisionRecord(0, 8 * 60, 0, ActivationDecision.IDLE,
+				KNOWN, DecisionRecord.UNKNOWN, DecisionRecord.UNKNOWN, 
+				DecisionRecord.UNKNOWN, DecisionRecord.UNKNOWN_SLACK, DecisionRecord.UNKNOWN, 
+				DecisionRecord.UNKNOWN, 0);
+		DecisionReplayer replayer = new DecisionReplayer();
+		
+		assertFalse(replayer.replay(record));
+		assertTrue(replayer.getIncidents().get(0).contains("isLineEmpty"));
+	}
+	
+	@Test
+	public void replay_negativeSlack() {
+		// Putting the StandardOrder first would make a deadline order late.
+		DecisionRecord record = new DecisionRecord(0, 8 * 60, 0, ActivationDecision.DEADLINE,
+				KNOWN | DecisionRecord.HAS_DEADLINE | DecisionRecord.HAS_STANDARD, 1, 45, 60, 
+				-15, 7, 3, 1);
+		
+		assertTrue(new DecisionReplayer().replay(record));
+	}
+	
+	@Test
+	public void replay_positiveSlack() {
+		// The deadline orders can wait for the StandardOrder.
+		DecisionRecord record = new DecisionRecord(0, 8 * 60, 0, ActivationDecision.STANDARD,
+				KNOWN | DecisionRecord.HAS_DEADLINE | DecisionRecord.HAS_STANDARD, 1, 45, 60, 
+				0, 7, 3, 1);
+		
+		assertTrue(new DecisionReplayer().replay(record));
+	}
+}
@@ -0,0 +1,131 @@
+package domain.assembly_line.trace;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import domain.assembly_line.ActivationDecision;
+
+public class DecisionTraceTest {
+	
+	@Rule public ExpectedException expected = ExpectedException.none();
+	
+	private File file;
+	
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("decisions", ".trace");
+	}
+	
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+	
+	private static DecisionRecord record(int time) {
+		return new DecisionRecord(1, time, 20, ActivationDecision.STANDARD, 
+				DecisionRecord.ACCEPTS_KNOWN | DecisionRecord.ACCEPTS | 
+				DecisionRecord.DEADLINE_KNOWN | DecisionRecord.STANDARD_KNOWN | 
+				DecisionRecord.HAS_STANDARD,
+				DecisionRecord.UNKNOWN, DecisionRecord.UNKNOWN, 180, 
+				DecisionRecord.UNKNOWN_SLACK, DecisionRecord.UNKNOWN, time, 1);
+	}
+	
+	@Test
+	public void constructor_illegalCapacity() {
+		expected.expect(IllegalArgumentException.class);
+		new DecisionTrace(0);
+	}
+	
+	@Test
+	public void record_null() {
+		expected.expect(IllegalArgumentException.class);
+		new DecisionTrace(4).record(null);
+	}
+	
+	@Test
+	public void getRecords_notFull() {
+		DecisionTrace trace = new DecisionTrace(4);
+		trace.record(record(10));
+		trace.record(record(20));
+		
+		assertEquals(2, trace.getRecordCount());
+		List<DecisionRecord> records = trace.getRecords();
+		assertEquals(2, records.size());
+		assertEquals(record(10), records.get(0));
+		assertEquals(record(20), records.get(1));
+	}
+	
+	@Test
+	public void getRecords_wrapsAround() {
+		DecisionTrace trace = new DecisionTrace(3);
+		for (int i = 0; i < 7; i++) {
+			trace.record(record(i));
+		}
+		
+		assertEquals(7, trace.getRecordCount());
+		List<DecisionRecord> records = trace.getRecords();
+		assertEquals(3, records.size());
+		assertEquals(record(4), records.get(0));
+		assertEquals(record(5), records.get(1));
+		assertEquals(record(6), records.get(2));
+	}
+	
+	@Test
+	public void spooledTo_read() throws IOException {
+		DecisionTrace trace = DecisionTrace.spooledTo(file, 2);
+		trace.record(record(1));
+		trace.record(record(2));
+		trace.record(record(3));
+		trace.flush();
+		
+		DecisionTrace read = DecisionTrace.read(file);
+		assertEquals(3, read.getRecordCount());
+		assertEquals(2, read.getCapacity());
+		assertEquals(trace.getRecords(), read.getRecords());
+	}
+	
+	@Test
+	public void getRecords_negativeSlack() {
+		DecisionRecord record = new DecisionRecord(0, 600, 0, ActivationDecision.DEADLINE, 
+				DecisionRecord.DEADLINE_KNOWN | DecisionRecord.HAS_DEADLINE | 
+				DecisionRecord.STANDARD_KNOWN | DecisionRecord.HAS_STANDARD, 
+				1, 45, 60, -15, 7, 3, 1);
+		DecisionTrace trace = new DecisionTrace(1);
+		trace.record(record);
+		
+		assertEquals(record, trace.getRecords().get(0));
+		assertEquals(-15, trace.getRecords().get(0).getDeadlineSlack());
+	}
+	
+	@Test
+	public void read_notATrace() throws IOException {
+		DecisionTrace.spooledTo(file, 1);
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		raf.writeInt(0);
+		raf.close();
+		
+		expected.expect(IllegalStateException.class);
+		DecisionTrace.read(file);
+	}
+	
+	@Test
+	public void record_unevaluatedInput() {
+		DecisionRecord record = record(1);
+		assertTrue(record.hasStandardOrder());
+		assertFalse(record.hasDeadlineOrder());
+		assertEquals(180, record.getStandardMakespan().getInMinutes());
+		
+		expected.expect(IllegalStateException.class);
+		record.isLineEmpty();
+	}
+}
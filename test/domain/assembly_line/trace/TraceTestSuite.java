@@ -0,0 +1,12 @@
+package domain.assembly_line.trace;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses({ DecisionReplayerTest.class,
+				DecisionTraceTest.class })
+public class TraceTestSuite {
+
+}
@@ -5,7 +5,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ VirtualAssemblyLineTest.class })
+@SuiteClasses({ VirtualAssemblyLineTest.class, VirtualLineSimulationTest.class })
 public class VirtualAssemblyLineTestSuite {
 
 }
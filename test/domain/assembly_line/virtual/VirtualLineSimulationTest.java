@@ -0,0 +1,137 @@
+package domain.assembly_line.virtual;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.TaskType;
+import domain.order.Order;
+
+public class VirtualLineSimulationTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	TaskType[] seq3 = {TaskType.BODY, TaskType.DRIVETRAIN, TaskType.ACCESSORIES};
+
+	@Mock Order onLine;
+	@Mock Order order1;
+	@Mock Order order2;
+	@Mock Order order3;
+
+	VirtualAssemblyLine line;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		stub(onLine, 50, 50, 50);
+		stub(order1, 60, 30, 90);
+		stub(order2, 40, 80, 20);
+		stub(order3, 70, 0, 60);
+
+		List<Optional<Order>> curState = new ArrayList<>();
+		curState.add(Optional.<Order> absent());
+		curState.add(Optional.of(onLine));
+		curState.add(Optional.<Order> absent());
+		line = new VirtualAssemblyLine(seq3, curState);
+	}
+
+	private void stub(Order order, int body, int drivetrain, int accessories) {
+		Mockito.when(order.getMinutesOnPostOfType(TaskType.BODY)).thenReturn(body);
+		Mockito.when(order.getMinutesOnPostOfType(TaskType.DRIVETRAIN)).thenReturn(drivetrain);
+		Mockito.when(order.getMinutesOnPostOfType(TaskType.ACCESSORIES)).thenReturn(accessories);
+	}
+
+	@Test
+	public void testConstructorNull() {
+		exception.expect(IllegalArgumentException.class);
+		new VirtualLineSimulation(null);
+	}
+
+	@Test
+	public void testAppendNull() {
+		exception.expect(IllegalArgumentException.class);
+		new VirtualLineSimulation(line).append(null);
+	}
+
+	@Test
+	public void testAdvanceUntilFinished_matchesTimeToFinish() {
+		VirtualLineSimulation sim = new VirtualLineSimulation(line);
+		sim.append(order1);
+		sim.append(order2);
+		sim.append(order3);
+
+		long minutes = sim.advanceUntilFinished(order3);
+		assertTrue(sim.isFinished());
+		assertEquals(line.timeToFinish(Arrays.asList(order3, order2, order1)),
+				new DateTime(0, 0, (int) minutes));
+	}
+
+	@Test
+	public void testAdvanceUntilFinished_notOnLine() {
+		VirtualLineSimulation sim = new VirtualLineSimulation(line);
+		exception.expect(IllegalArgumentException.class);
+		sim.advanceUntilFinished(order1);
+	}
+
+	@Test
+	public void testAdvanceWhileQueued_keepsQueuedOrder() {
+		VirtualLineSimulation sim = new VirtualLineSimulation(line);
+		Map<Order, Long> completions = new HashMap<>();
+		sim.append(order1);
+		sim.advanceWhileQueued(completions);
+
+		assertTrue(sim.hasQueuedOrders());
+		assertEquals(0, sim.getElapsedMinutes());
+		assertTrue(completions.isEmpty());
+	}
+
+	@Test
+	public void testAdvanceWhileQueued_sameAsBatch() {
+		Map<Order, Long> incremental = new HashMap<>();
+		VirtualLineSimulation sim = new VirtualLineSimulation(line);
+		for (Order order : Arrays.asList(order1, order2, order3)) {
+			sim.append(order);
+			sim.advanceWhileQueued(incremental);
+		}
+		sim.advanceUntilFinished(incremental);
+
+		Map<Order, Long> batch = new HashMap<>();
+		VirtualLineSimulation other = new VirtualLineSimulation(line);
+		other.append(order1);
+		other.append(order2);
+		other.append(order3);
+		other.advanceUntilFinished(batch);
+
+		assertEquals(batch, incremental);
+		assertEquals(4, batch.size());
+		assertEquals(line.timeToFinish(Arrays.asList(order2, order1)),
+				new DateTime(0, 0, batch.get(order2).intValue()));
+	}
+
+	@Test
+	public void testCopy_isIndependent() {
+		VirtualLineSimulation sim = new VirtualLineSimulation(line);
+		sim.append(order1);
+		VirtualLineSimulation copy = sim.copy();
+		copy.append(order2);
+		copy.advanceUntilFinished(order2);
+
+		assertTrue(copy.isFinished());
+		assertFalse(sim.isFinished());
+		assertEquals(0, sim.getElapsedMinutes());
+	}
+}
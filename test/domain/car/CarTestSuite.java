@@ -7,9 +7,11 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({ CarModelTest.class,
 				ModelCatalogTest.class,
+				ModelSetTest.class,
 				ModelTest.class,
 				OptionCategoryTest.class,
 				OptionTest.class,
+				SpecificationTableTest.class,
 				TruckModelTest.class })
 public class CarTestSuite {
 
@@ -0,0 +1,126 @@
+package domain.car;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mockito;
+
+public class ModelSetTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+	
+	Model modelA;
+	Model modelB;
+	Model modelC;
+	ModelSet set;
+	
+	@Before
+	public void setUp() {
+		modelA = new CarModel("A", new ArrayList<OptionCategory>(), 50);
+		modelB = new CarModel("B", new ArrayList<OptionCategory>(), 60);
+		modelC = new TruckModel("C", new ArrayList<OptionCategory>(), 50, 90, 30);
+		new ModelCatalog(Arrays.asList(modelA, modelB), modelC);
+		set = new ModelSet(Arrays.asList(modelA, modelB, modelA));
+	}
+	
+	@Test
+	public void testIdsAreDistinct() {
+		assertNotEquals(modelA.getId(), modelB.getId());
+		assertNotEquals(modelB.getId(), modelC.getId());
+	}
+	
+	@Test
+	public void testIdsArePerCatalog() {
+		Model otherA = new CarModel("A", new ArrayList<OptionCategory>(), 50);
+		Model otherB = new CarModel("B", new ArrayList<OptionCategory>(), 60);
+		new ModelCatalog(Arrays.asList(otherA), otherB);
+		assertEquals(0, modelA.getId());
+		assertEquals(1, modelB.getId());
+		assertEquals(2, modelC.getId());
+		assertEquals(0, otherA.getId());
+		assertEquals(1, otherB.getId());
+	}
+	
+	@Test
+	public void testIdsKeptFromFirstCatalog() {
+		new ModelCatalog(Arrays.asList(modelC, modelB), null);
+		assertEquals(2, modelC.getId());
+		assertEquals(1, modelB.getId());
+	}
+	
+	@Test
+	public void testIdReadBeforeCatalog() {
+		Model otherA = new CarModel("A", new ArrayList<OptionCategory>(), 50);
+		Model otherB = new CarModel("B", new ArrayList<OptionCategory>(), 60);
+		// The set copies the default id of otherB, which may no longer change.
+		new ModelSet(Arrays.asList(otherB));
+		exception.expect(IllegalStateException.class);
+		new ModelCatalog(Arrays.asList(otherA, otherB), null);
+	}
+	
+	@Test
+	public void testSetBuiltAfterCatalog() {
+		Model otherA = new CarModel("A", new ArrayList<OptionCategory>(), 50);
+		Model otherB = new CarModel("B", new ArrayList<OptionCategory>(), 60);
+		new ModelCatalog(Arrays.asList(otherA, otherB), null);
+		ModelSet others = new ModelSet(Arrays.asList(otherA, otherB));
+		assertTrue(others.contains(otherA));
+		assertTrue(others.contains(otherB));
+	}
+	
+	@Test
+	public void testConstructorNull() {
+		exception.expect(IllegalArgumentException.class);
+		new ModelSet(null);
+	}
+	
+	@Test
+	public void testConstructorContainsNull() {
+		exception.expect(IllegalArgumentException.class);
+		new ModelSet(Arrays.asList(modelA, null));
+	}
+	
+	@Test
+	public void testContains() {
+		assertEquals(2, set.size());
+		assertTrue(set.contains(modelA));
+		assertTrue(set.contains(modelB));
+		assertFalse(set.contains(modelC));
+		assertFalse(set.contains(null));
+		assertFalse(set.contains("A"));
+	}
+	
+	@Test
+	public void testContainsSharedId() {
+		// Mocks are not constructed, so they share an id.
+		Model mock1 = Mockito.mock(Model.class);
+		Model mock2 = Mockito.mock(Model.class);
+		ModelSet mocks = new ModelSet(Arrays.asList(mock1));
+		assertTrue(mocks.contains(mock1));
+		assertFalse(mocks.contains(mock2));
+	}
+	
+	@Test
+	public void testIntersects() {
+		BitSet ids = new BitSet();
+		ids.set(modelC.getId());
+		assertFalse(set.intersects(ids));
+		ids.set(modelB.getId());
+		assertTrue(set.intersects(ids));
+	}
+	
+	@Test
+	public void testImmutable() {
+		exception.expect(UnsupportedOperationException.class);
+		Iterator<Model> it = set.iterator();
+		it.next();
+		it.remove();
+	}
+}
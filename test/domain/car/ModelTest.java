@@ -159,6 +159,23 @@ public class ModelTest {
 		assertFalse(testModel.checkOptionsValidity(optionsForValid));
 	}
 
+	@Test
+	public void testCheckOptionsValidityTwoOfSameCategory() {
+		ArrayList<Option> optionsForValid = new ArrayList<>();
+		optionsForValid.add(option1a);
+		optionsForValid.add(option2a);
+		optionsForValid.add(option1b);
+		assertFalse(testModel.checkOptionsValidity(optionsForValid));
+	}
+	
+	@Test
+	public void testCheckOptionsValidityEqualOption() {
+		ArrayList<Option> optionsForValid = new ArrayList<>();
+		optionsForValid.add(new Option(TaskType.BODY, "1a", "other desc"));
+		optionsForValid.add(option2b);
+		assertTrue(testModel.checkOptionsValidity(optionsForValid));
+	}
+
 	@Test
 	public void testGetNextOptionCategory() throws NoOptionCategoriesRemainingException {
 		ArrayList<Option> optionList = new ArrayList<>();
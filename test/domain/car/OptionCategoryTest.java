@@ -77,4 +77,11 @@ public class OptionCategoryTest {
 		assertTrue(optionCat.containsOption(option1a));
 		assertFalse(optionCat.containsOption(nonCatOption));
 	}
+	
+	@Test
+	public void testContainsEqualOption() {
+		Option equal = new Option(option1a.getType(), option1a.getName(), "other desc");
+		assertTrue(optionCat.containsOption(equal));
+		assertFalse(optionCat.containsOption(null));
+	}
 }
@@ -0,0 +1,68 @@
+package domain.car;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class SpecificationTableTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	@Mock Option option1;
+	@Mock Option option2;
+
+	SpecificationTable table;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		table = new SpecificationTable();
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(0, table.getNbOfSpecifications());
+	}
+
+	@Test
+	public void testIntern_sharesEqualSpecifications() {
+		Specification spec = new Specification(new ArrayList<Option>(Arrays.asList(option1, option2)));
+		Specification equalSpec = new Specification(new ArrayList<Option>(Arrays.asList(option1, option2)));
+		Specification otherSpec = new Specification(option1);
+
+		assertSame(spec, table.intern(spec));
+		assertSame(spec, table.intern(equalSpec));
+		assertSame(otherSpec, table.intern(otherSpec));
+		assertEquals(2, table.getNbOfSpecifications());
+	}
+
+	@Test
+	public void testIds() {
+		Specification spec = new Specification(option1);
+		Specification otherSpec = new Specification(option2);
+		assertEquals(0, table.getId(spec));
+		assertEquals(1, table.getId(otherSpec));
+		assertEquals(0, table.getId(new Specification(option1)));
+		assertSame(otherSpec, table.getSpecification(1));
+	}
+
+	@Test
+	public void testInternNull() {
+		exception.expect(IllegalArgumentException.class);
+		table.intern(null);
+	}
+
+	@Test
+	public void testGetSpecificationInvalidId() {
+		table.intern(new Specification(option1));
+		exception.expect(IllegalArgumentException.class);
+		table.getSpecification(1);
+	}
+}
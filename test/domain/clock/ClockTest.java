@@ -5,6 +5,9 @@ package domain.clock;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
 
@@ -15,6 +18,8 @@ import org.junit.rules.ExpectedException;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.reflect.Whitebox;
 
 import domain.DateTime;
@@ -294,6 +299,75 @@ public class ClockTest {
 		assertEquals(new DateTime(0, 15, 0), clock.getCurrentTime());
 	}
 	
+	@Test
+	public void getActorsToActivate() {
+		final List<List<EventActor>> seen = new ArrayList<>();
+		Answer<Void> record = new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) {
+				seen.add(new ArrayList<>(clock.getActorsToActivate()));
+				return null;
+			}
+		};
+		Mockito.doAnswer(record).when(actor1).activate();
+		Mockito.doAnswer(record).when(actor2).activate();
+		
+		assertTrue(clock.getActorsToActivate().isEmpty());
+		clock.constructEvent(new DateTime(0, 9, 0), actor1);
+		clock.constructEvent(new DateTime(0, 9, 0), actor2);
+		
+		assertEquals(2, seen.size());
+		assertEquals(2, seen.get(0).size());
+		assertTrue(seen.get(0).containsAll(Arrays.asList(actor1, actor2)));
+		assertEquals(Arrays.asList(seen.get(0).get(1)), seen.get(1));
+		assertTrue(clock.getActorsToActivate().isEmpty());
+	}
+	
+	@Test
+	public void getActorsToActivate_readOnlyView() {
+		assertSame(clock.getActorsToActivate(), clock.getActorsToActivate());
+		exception.expect(UnsupportedOperationException.class);
+		clock.getActorsToActivate().add(actor1);
+	}
+	
+	@Test
+	public void getActorsToActivate_nestedFiring() {
+		final List<List<EventActor>> before = new ArrayList<>();
+		final List<List<EventActor>> after = new ArrayList<>();
+		Answer<Void> reschedule = new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) {
+				EventActor actor = (EventActor) invocation.getMock();
+				before.add(new ArrayList<>(clock.getActorsToActivate()));
+				if (clock.getCurrentTime().equals(new DateTime(0, 15, 0))) {
+					// The second actor to reschedule fires the next group within its activation.
+					clock.constructEvent(new DateTime(0, 1, 0), actor);
+				}
+				after.add(new ArrayList<>(clock.getActorsToActivate()));
+				return null;
+			}
+		};
+		Mockito.doAnswer(reschedule).when(actor1).activate();
+		Mockito.doAnswer(reschedule).when(actor2).activate();
+		
+		clock.constructEvent(new DateTime(0, 9, 0), actor1);
+		clock.constructEvent(new DateTime(0, 9, 0), actor2);
+		
+		Mockito.verify(actor1, Mockito.times(2)).activate();
+		Mockito.verify(actor2, Mockito.times(2)).activate();
+		// Outer first, outer second, nested first and nested second activation.
+		assertEquals(4, before.size());
+		assertEquals(2, before.get(0).size());
+		assertEquals(before.get(0), after.get(0));
+		assertEquals(1, before.get(1).size());
+		assertEquals(2, before.get(2).size());
+		assertTrue(before.get(2).containsAll(Arrays.asList(actor1, actor2)));
+		// The group of the outer firing is restored after the nested firing.
+		assertEquals(before.get(1), after.get(3));
+		assertTrue(clock.getActorsToActivate().isEmpty());
+		assertEquals(new DateTime(0, 16, 0), clock.getCurrentTime());
+	}
+	
 	@Test
 	public void constructEvent_checkHeadQueue() {
 		clock.register(actor3);
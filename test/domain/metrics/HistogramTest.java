@@ -0,0 +1,71 @@
+package domain.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class HistogramTest {
+	
+	@Rule public ExpectedException expected = ExpectedException.none();
+	
+	private Histogram histogram;
+	
+	@Before
+	public void setUp() {
+		this.histogram = new MetricsRegistry().histogram("test");
+	}
+	
+	@Test
+	public void getBucket_bitLength() {
+		assertEquals(0, Histogram.getBucket(0));
+		assertEquals(1, Histogram.getBucket(1));
+		assertEquals(2, Histogram.getBucket(3));
+		assertEquals(3, Histogram.getBucket(4));
+		assertEquals(63, Histogram.getBucket(Long.MAX_VALUE));
+	}
+	
+	@Test
+	public void getPercentile_empty() {
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getPercentile(50));
+	}
+	
+	@Test
+	public void getPercentile_invalid() {
+		expected.expect(IllegalArgumentException.class);
+		histogram.getPercentile(101);
+	}
+	
+	@Test
+	public void record_values() {
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(5050, histogram.getSum());
+		assertEquals(100, histogram.getMax());
+		// The median 50 lies in bucket [32, 63].
+		assertEquals(63, histogram.getPercentile(50));
+		assertEquals(100, histogram.getPercentile(99));
+	}
+	
+	@Test
+	public void record_negative() {
+		histogram.record(-5);
+		assertEquals(1, histogram.getCount());
+		assertEquals(0, histogram.getSum());
+		assertEquals(0, histogram.getPercentile(100));
+	}
+	
+	@Test
+	public void reset_clearsValues() {
+		histogram.record(12);
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getSum());
+		assertEquals(0, histogram.getMax());
+	}
+}
@@ -0,0 +1,112 @@
+package domain.metrics;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class MetricsRegistryTest {
+	
+	@Rule public ExpectedException expected = ExpectedException.none();
+	
+	private MetricsRegistry registry;
+	
+	@Before
+	public void setUp() {
+		this.registry = new MetricsRegistry();
+	}
+	
+	@Test
+	public void counter_sameInstance() {
+		assertSame(registry.counter("a"), registry.counter("a"));
+		assertNotSame(registry.counter("a"), registry.counter("b"));
+	}
+	
+	@Test
+	public void counter_null() {
+		expected.expect(IllegalArgumentException.class);
+		registry.counter(null);
+	}
+	
+	@Test
+	public void gauge_nameOfCounter() {
+		registry.counter("a");
+		expected.expect(IllegalArgumentException.class);
+		registry.gauge("a");
+	}
+	
+	@Test
+	public void counter_negative() {
+		expected.expect(IllegalArgumentException.class);
+		registry.counter("a").add(-1);
+	}
+	
+	@Test
+	public void counter_concurrentIncrements() throws InterruptedException {
+		final Counter counter = registry.counter("a");
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10000; i++) {
+						counter.increment();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(40000, counter.getCount());
+	}
+	
+	@Test
+	public void snapshot_values() {
+		registry.counter("orders").add(3);
+		registry.gauge("depth").set(7);
+		registry.gauge("depth").add(-2);
+		registry.histogram("time").record(10);
+		
+		MetricsSnapshot snapshot = registry.snapshot();
+		registry.counter("orders").increment();
+		
+		assertEquals(3, snapshot.getCount("orders"));
+		assertEquals(0, snapshot.getCount("missing"));
+		assertEquals(5, snapshot.getGauge("depth"));
+		assertEquals(1, snapshot.getHistogram("time").getCount());
+		assertEquals(10, snapshot.getHistogram("time").getMax());
+		assertNull(snapshot.getHistogram("missing"));
+	}
+	
+	@Test
+	public void dump_containsAllMetrics() {
+		registry.counter("orders").add(3);
+		registry.gauge("depth").set(7);
+		registry.histogram("time").record(10);
+		
+		String dump = registry.dump();
+		assertTrue(dump.contains("counter   orders = 3"));
+		assertTrue(dump.contains("gauge     depth = 7"));
+		assertTrue(dump.contains("histogram time count=1"));
+	}
+	
+	@Test
+	public void reset_keepsGauges() {
+		registry.counter("orders").add(3);
+		registry.gauge("depth").set(7);
+		registry.histogram("time").record(10);
+		registry.reset();
+		
+		assertEquals(0, registry.counter("orders").getCount());
+		assertEquals(7, registry.gauge("depth").getValue());
+		assertEquals(0, registry.histogram("time").getCount());
+	}
+}
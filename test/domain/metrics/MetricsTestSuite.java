@@ -0,0 +1,12 @@
+package domain.metrics;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses({ HistogramTest.class,
+				MetricsRegistryTest.class })
+public class MetricsTestSuite {
+
+}
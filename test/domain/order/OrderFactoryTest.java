@@ -2,6 +2,7 @@ package domain.order;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
@@ -232,6 +233,21 @@ public class OrderFactoryTest {
 		assertEquals(o.getSubmissionTime(), dt1);	
 	}
 	
+	@Test
+	public void makeNewStandardOrder_internsSpecification() {
+		OrderFactory spiedOrderFactory = Mockito.spy(of);
+		Specification spec = new Specification(Arrays.asList(mockOption1));
+		Specification equalSpec = new Specification(Arrays.asList(mockOption1));
+		Mockito.doReturn(true).when(spiedOrderFactory).isValidInputStandardOrder(
+				Mockito.eq(m1), Mockito.any(Specification.class));
+		Mockito.doReturn(dt1).when(spiedOrderFactory).getCurrentTime();
+		
+		StandardOrder o = spiedOrderFactory.makeNewStandardOrder(m1, spec);
+		StandardOrder p = spiedOrderFactory.makeNewStandardOrder(m1, equalSpec);
+		assertSame(spec, o.getSpecifications());
+		assertSame(spec, p.getSpecifications());
+	}
+	
 	//--------------------------------------------------------------------------
 	// SingleOrder Tasks
 	//--------------------------------------------------------------------------
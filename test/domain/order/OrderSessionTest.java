@@ -3,6 +3,8 @@ package domain.order;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 import org.junit.Before;
@@ -15,11 +17,17 @@ import org.mockito.MockitoAnnotations;
 
 import domain.DateTime;
 import domain.Manufacturer;
+import domain.assembly_line.TaskType;
+import domain.car.CarModel;
 import domain.car.Model;
 import domain.car.Option;
 import domain.car.OptionCategory;
 import domain.order.Order;
 import domain.order.OrderSession;
+import domain.restrictions.ConfigurationSpace;
+import domain.restrictions.OptionRequiresOtherSetRestriction;
+import domain.restrictions.OptionRestrictionManager;
+import domain.restrictions.Restriction;
 import exceptions.IllegalVehicleOptionCombinationException;
 import exceptions.NoOptionCategoriesRemainingException;
 import exceptions.OptionRestrictionException;
@@ -63,6 +71,35 @@ public class OrderSessionTest {
 		session.addOption(null);
 	}
 	
+	@Test
+	public void testAddOptionPrunedByRestrictions() {
+		Option opt1 = new Option(TaskType.BODY, "1a", "1a desc");
+		Option opt2 = new Option(TaskType.DRIVETRAIN, "2a", "2a desc");
+		Option opt3 = new Option(TaskType.DRIVETRAIN, "2b", "2b desc");
+		List<OptionCategory> categories = new ArrayList<OptionCategory>();
+		categories.add(new OptionCategory(Arrays.asList(opt1, new Option(TaskType.BODY, "1b", "1b desc")), "Body"));
+		categories.add(new OptionCategory(Arrays.asList(opt2, opt3), "Engine"));
+		Model model = new CarModel("Car", categories, 60);
+		List<Restriction> restrictions = new ArrayList<Restriction>();
+		restrictions.add(new OptionRequiresOtherSetRestriction(opt1, new HashSet<Option>(Arrays.asList(opt2))));
+		Mockito.when(mockMan.isValidModel(model)).thenReturn(true);
+		Mockito.when(mockMan.getConfigurationSpace(model)).thenReturn(
+				new ConfigurationSpace(model, new OptionRestrictionManager(restrictions)));
+
+		session.chooseModel(model);
+		session.addOption(opt1);
+		assertEquals(Arrays.asList(opt2), session.getSelectableOptions());
+		exception.expect(OptionRestrictionException.class);
+		session.addOption(opt3);
+	}
+
+	@Test
+	public void testGetSelectableOptionsNoModelChosen()
+			throws NoOptionCategoriesRemainingException {
+		exception.expect(IllegalStateException.class);
+		session.getSelectableOptions();
+	}
+
 	@Test
 	public void testHasUnfilledOptions() {
 		Mockito.when(mockMan.isValidModel(mockModel)).thenReturn(true);
@@ -0,0 +1,120 @@
+package domain.order;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+public class OrderStatusRegistryTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	OrderStatusRegistry registry;
+	@Mock OrderView order1;
+	@Mock OrderView order2;
+	@Mock OrderView order3;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(order1.getOrderNumber()).thenReturn(1);
+		Mockito.when(order2.getOrderNumber()).thenReturn(2);
+		Mockito.when(order3.getOrderNumber()).thenReturn(3);
+		registry = new OrderStatusRegistry();
+	}
+
+	@Test
+	public void testConstructor() {
+		assertFalse(registry.getOrder(1).isPresent());
+		assertFalse(registry.getStatus(1).isPresent());
+		for (OrderStatus status : OrderStatus.values()) {
+			assertEquals(0, registry.getNbOfOrders(status));
+		}
+	}
+
+	@Test
+	public void testSetScheduled() {
+		registry.setScheduled(order1);
+		assertEquals(order1, registry.getOrder(1).get());
+		assertEquals(OrderStatus.SCHEDULED, registry.getStatus(1).get());
+		assertEquals(1, registry.getNbOfOrders(OrderStatus.SCHEDULED));
+	}
+
+	@Test
+	public void testSetScheduledNull() {
+		exception.expect(IllegalArgumentException.class);
+		registry.setScheduled(null);
+	}
+
+	@Test
+	public void testSetAssembling() {
+		registry.setScheduled(order1);
+		registry.setAssembling(order1, 1, 0);
+		assertEquals(OrderStatus.ASSEMBLING, registry.getStatus(1).get());
+		assertEquals(1, registry.getLineNumber(1));
+		assertEquals(0, registry.getWorkPostNumber(1));
+		assertEquals(0, registry.getNbOfOrders(OrderStatus.SCHEDULED));
+
+		registry.setAssembling(order1, 1, 2);
+		assertEquals(2, registry.getWorkPostNumber(1));
+		assertEquals(1, registry.getNbOfOrders(OrderStatus.ASSEMBLING));
+	}
+
+	@Test
+	public void testSetAssemblingNegativePost() {
+		exception.expect(IllegalArgumentException.class);
+		registry.setAssembling(order1, 0, -1);
+	}
+
+	@Test
+	public void testGetLineNumberNotAssembling() {
+		registry.setScheduled(order1);
+		exception.expect(IllegalStateException.class);
+		registry.getLineNumber(1);
+	}
+
+	@Test
+	public void testSetCompleted() {
+		registry.setAssembling(order1, 0, 2);
+		registry.setCompleted(order1);
+		assertEquals(OrderStatus.COMPLETED, registry.getStatus(1).get());
+		assertEquals(0, registry.getNbOfOrders(OrderStatus.ASSEMBLING));
+		assertEquals(Arrays.asList(order1), registry.getOrders(OrderStatus.COMPLETED));
+	}
+
+	@Test
+	public void testRemoveScheduled() {
+		registry.setScheduled(order1);
+		registry.setAssembling(order2, 0, 0);
+		registry.removeScheduled(order1);
+		registry.removeScheduled(order2);
+		registry.removeScheduled(order3);
+		assertFalse(registry.getStatus(1).isPresent());
+		assertEquals(OrderStatus.ASSEMBLING, registry.getStatus(2).get());
+		assertEquals(0, registry.getNbOfOrders(OrderStatus.SCHEDULED));
+	}
+
+	@Test
+	public void testGetOrdersPaged() {
+		registry.setScheduled(order3);
+		registry.setScheduled(order1);
+		registry.setScheduled(order2);
+		assertEquals(Arrays.asList(order1, order2, order3), registry.getOrders(OrderStatus.SCHEDULED));
+		assertEquals(Arrays.asList(order1, order2), registry.getOrders(OrderStatus.SCHEDULED, 0, 2));
+		assertEquals(Arrays.asList(order3), registry.getOrders(OrderStatus.SCHEDULED, 3, 2));
+		assertTrue(registry.getOrders(OrderStatus.SCHEDULED, 4, 2).isEmpty());
+		assertTrue(registry.getOrders(OrderStatus.COMPLETED, 0, 2).isEmpty());
+	}
+
+	@Test
+	public void testGetOrdersNegativeMax() {
+		exception.expect(IllegalArgumentException.class);
+		registry.getOrders(OrderStatus.SCHEDULED, 0, -1);
+	}
+}
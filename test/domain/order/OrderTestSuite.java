@@ -10,6 +10,7 @@ import org.junit.runners.Suite.SuiteClasses;
 				SingleTaskOrderTest.class,
 				StandardOrderTest.class,
 				OrderSessionTest.class,
+				OrderStatusRegistryTest.class,
 				SingleOrderSessionTest.class,
 				SingleTaskCatalogTest.class,
 				SpecificationTest.class })
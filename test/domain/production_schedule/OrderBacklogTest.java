@@ -0,0 +1,205 @@
+package domain.production_schedule;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.TaskType;
+import domain.car.CarModel;
+import domain.car.Model;
+import domain.car.ModelCatalog;
+import domain.car.Option;
+import domain.car.OptionCategory;
+import domain.car.Specification;
+import domain.order.Order;
+import domain.order.SingleTaskCatalog;
+import domain.order.SingleTaskOrder;
+import domain.order.StandardOrder;
+
+public class OrderBacklogTest {
+	@Rule public ExpectedException expected = ExpectedException.none();
+
+	File file;
+	Option red, blue, sport, paint;
+	Model model, singleTaskModel;
+	ModelCatalog models;
+	SingleTaskCatalog singleTasks;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("backlog", ".bin");
+		file.delete();
+
+		red = new Option(TaskType.BODY, "red", "info");
+		blue = new Option(TaskType.BODY, "blue", "info");
+		sport = new Option(TaskType.DRIVETRAIN, "sport", "info");
+		paint = new Option(TaskType.BODY, "paint", "info");
+		OptionCategory colour = new OptionCategory(Arrays.asList(red, blue), "colour");
+		OptionCategory engine = new OptionCategory(Arrays.asList(sport), "engine");
+		OptionCategory tasks = new OptionCategory(Arrays.asList(paint), "tasks");
+
+		model = new CarModel("test", Arrays.asList(colour, engine), 60);
+		singleTaskModel = new CarModel("single", new ArrayList<OptionCategory>(), 60);
+		models = new ModelCatalog(Arrays.asList(model), singleTaskModel);
+		singleTasks = new SingleTaskCatalog(Arrays.asList(tasks));
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	StandardOrder newStandardOrder(int number, Option... options) {
+		return new StandardOrder(model, new Specification(new ArrayList<Option>(Arrays.asList(options))),
+				number, new DateTime(0, 1, number), Optional.of(new DateTime(2, 0, 0)));
+	}
+
+	SingleTaskOrder newSingleTaskOrder(int number) {
+		return new SingleTaskOrder(singleTaskModel, new Specification(paint), number,
+				new DateTime(0, 0, number), new DateTime(1, 0, 0));
+	}
+
+	@Test
+	public void testOpen_roundTrip() throws IOException {
+		OrderBacklog backlog = OrderBacklog.open(file, 8, models, singleTasks);
+		StandardOrder first = newStandardOrder(3, red, sport);
+		StandardOrder second = newStandardOrder(1, blue);
+		SingleTaskOrder third = newSingleTaskOrder(2);
+		backlog.add(first);
+		backlog.add(second);
+		backlog.add(third);
+		backlog.flush();
+
+		OrderBacklog reopened = OrderBacklog.open(file, 100, models, singleTasks);
+		assertEquals(8, reopened.getCapacity());
+		assertEquals(3, reopened.getNbOfOrders());
+		assertEquals(Optional.of(3), reopened.getLastOrderNumber());
+
+		List<Order> orders = reopened.getOrders();
+		assertEquals(Arrays.<Order> asList(second, third, first), orders);
+		for (int i = 0; i < orders.size(); i++) {
+			Order original = Arrays.<Order> asList(second, third, first).get(i);
+			Order restored = orders.get(i);
+			assertEquals(original.getClass(), restored.getClass());
+			assertSame(original.getModel(), restored.getModel());
+			assertEquals(original.getSpecifications(), restored.getSpecifications());
+			assertEquals(original.getSubmissionTime(), restored.getSubmissionTime());
+			assertEquals(original.getDeadline(), restored.getDeadline());
+		}
+	}
+
+	@Test
+	public void testRemove_reusesSlot() {
+		OrderBacklog backlog = new OrderBacklog(2, models, singleTasks);
+		StandardOrder first = newStandardOrder(0, red);
+		StandardOrder second = newStandardOrder(1, blue);
+		backlog.add(first);
+		backlog.add(second);
+		assertTrue(backlog.remove(first));
+		assertFalse(backlog.remove(first));
+		assertFalse(backlog.contains(first));
+
+		StandardOrder third = newStandardOrder(2, red);
+		backlog.add(third);
+		assertEquals(Arrays.<Order> asList(second, third), backlog.getOrders());
+
+		expected.expect(IllegalStateException.class);
+		backlog.add(newStandardOrder(3, red));
+	}
+
+	@Test
+	public void testOpen_keepsFreeSlots() throws IOException {
+		OrderBacklog backlog = OrderBacklog.open(file, 2, models, singleTasks);
+		StandardOrder first = newStandardOrder(0, red);
+		backlog.add(first);
+		backlog.add(newStandardOrder(1, blue));
+		backlog.remove(first);
+
+		OrderBacklog reopened = OrderBacklog.open(file, 2, models, singleTasks);
+		assertEquals(1, reopened.getNbOfOrders());
+		reopened.add(newStandardOrder(2, red));
+		assertEquals(2, reopened.getNbOfOrders());
+	}
+
+	@Test
+	public void testAdd_growsBuffer() {
+		OrderBacklog backlog = new OrderBacklog(1000, models, singleTasks);
+		List<Order> orders = new ArrayList<Order>();
+		for (int i = 0; i < 1000; i++) {
+			StandardOrder order = newStandardOrder(i, i % 2 == 0 ? red : blue);
+			orders.add(order);
+			backlog.add(order);
+		}
+		assertEquals(1000, backlog.getNbOfOrders());
+		assertEquals(orders, backlog.getOrders());
+		assertEquals(Optional.of(999), backlog.getLastOrderNumber());
+
+		expected.expect(IllegalStateException.class);
+		backlog.add(newStandardOrder(1000, red));
+	}
+
+	@Test
+	public void testRemove_keepsIndex() {
+		OrderBacklog backlog = new OrderBacklog(500, models, singleTasks);
+		List<StandardOrder> orders = new ArrayList<StandardOrder>();
+		for (int i = 0; i < 500; i++) {
+			StandardOrder order = newStandardOrder(i * 16, red);
+			orders.add(order);
+			backlog.add(order);
+		}
+		for (int i = 0; i < 500; i += 2) {
+			assertTrue(backlog.remove(orders.get(i)));
+		}
+		for (int i = 0; i < 500; i++) {
+			assertEquals(i % 2 == 1, backlog.contains(orders.get(i)));
+		}
+		assertEquals(250, backlog.getNbOfOrders());
+		assertEquals(Optional.of(499 * 16), backlog.getLastOrderNumber());
+	}
+
+	@Test
+	public void testAddTwice() {
+		OrderBacklog backlog = new OrderBacklog(2, models, singleTasks);
+		backlog.add(newStandardOrder(0, red));
+		expected.expect(IllegalArgumentException.class);
+		backlog.add(newStandardOrder(0, blue));
+	}
+
+	@Test
+	public void testAdd_unknownOption() {
+		OrderBacklog backlog = new OrderBacklog(2, models, singleTasks);
+		StandardOrder order = newStandardOrder(0, new Option(TaskType.BODY, "green", "info"));
+		assertFalse(backlog.isStorable(order));
+		expected.expect(IllegalArgumentException.class);
+		backlog.add(order);
+	}
+
+	@Test
+	public void testConstructor_invalidCapacity() {
+		expected.expect(IllegalArgumentException.class);
+		new OrderBacklog(0, models, singleTasks);
+	}
+
+	@Test
+	public void testOpen_notABacklog() throws IOException {
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(new byte[64]);
+		out.close();
+		expected.expect(IllegalStateException.class);
+		OrderBacklog.open(file, 2, models, singleTasks);
+	}
+}
@@ -2,6 +2,8 @@ package domain.production_schedule;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.junit.Before;
@@ -12,7 +14,9 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.Mock;
 
 import domain.assembly_line.TaskType;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
 import domain.car.Model;
+import domain.car.ModelSet;
 import domain.production_schedule.OrderRequest;
 
 /**
@@ -25,6 +29,7 @@ public class OrderRequestTest {
 	//--------------------------------------------------------------------------
 	@Rule public ExpectedException exception = ExpectedException.none();
 	@Mock Model mockModel;
+	@Mock VirtualAssemblyLine mockLine;
 	TaskType mockTask;
 	
 	///--------------------------------------------------------------------------
@@ -57,6 +62,35 @@ public class OrderRequestTest {
 		assertTrue(res.contains(mockModel));
 	}
 	//--------------------------------------------------------------------------
+	@Test
+	public void testStandardOrderLineNull() {
+		exception.expect(IllegalArgumentException.class);
+		Model[] m = {mockModel};
+		new OrderRequest(m, null);
+	}
+	
+	@Test
+	public void testStandardOrderWithLine() {
+		Model[] m = {mockModel};
+		assertFalse(new OrderRequest(m).getVirtualAssemblyLine().isPresent());
+		assertEquals(mockLine, new OrderRequest(m, mockLine).getVirtualAssemblyLine().get());
+	}
+	
+	@Test
+	public void testStandardOrderModelSet() {
+		ModelSet models = new ModelSet(Arrays.asList(mockModel));
+		OrderRequest request = new OrderRequest(models, mockLine);
+		assertEquals(OrderRequest.Type.STANDARD, request.getOrderType());
+		assertSame(models, request.getModels());
+		assertEquals(mockLine, request.getVirtualAssemblyLine().get());
+	}
+	
+	@Test
+	public void testStandardOrderModelSetEmpty() {
+		exception.expect(IllegalArgumentException.class);
+		new OrderRequest(new ModelSet(new ArrayList<Model>()), mockLine);
+	}
+	
 	@Test
 	public void testSingleTaskOrderTaskNull() {
 		exception.expect(IllegalArgumentException.class);
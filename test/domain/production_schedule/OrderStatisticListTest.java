@@ -0,0 +1,193 @@
+package domain.production_schedule;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class OrderStatisticListTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	OrderStatisticList<String> list;
+
+	@Before
+	public void setUp() {
+		list = new OrderStatisticList<String>();
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(0, list.size());
+		assertTrue(list.isEmpty());
+		assertEquals(-1, list.indexOf("a"));
+		assertFalse(list.iterator().hasNext());
+	}
+
+	@Test
+	public void testAddAndGet() {
+		list.add("b");
+		list.add("d");
+		list.add(0, "a");
+		list.add(2, "c");
+		assertEquals(Arrays.asList("a", "b", "c", "d"), list);
+		assertEquals(2, list.indexOf("c"));
+		assertTrue(list.contains("d"));
+	}
+
+	@Test
+	public void testAddNull() {
+		exception.expect(IllegalArgumentException.class);
+		list.add(null);
+	}
+
+	@Test
+	public void testAddTwice() {
+		String element = "a";
+		list.add(element);
+		exception.expect(IllegalArgumentException.class);
+		list.add(element);
+	}
+
+	@Test
+	public void testGetOutOfBounds() {
+		list.add("a");
+		exception.expect(IndexOutOfBoundsException.class);
+		list.get(1);
+	}
+
+	@Test
+	public void testRemove() {
+		list.addAll(Arrays.asList("a", "b", "c", "d"));
+		assertTrue(list.remove("b"));
+		assertEquals("c", list.remove(1));
+		assertFalse(list.remove("e"));
+		assertEquals(Arrays.asList("a", "d"), list);
+		assertEquals(-1, list.indexOf("b"));
+		assertEquals(1, list.indexOf("d"));
+	}
+
+	@Test
+	public void testIndexOfEqualElement() {
+		list.add("a");
+		list.add("b");
+		assertEquals(1, list.indexOf(new String("b")));
+	}
+
+	@Test
+	public void testEqualElements_firstAndLast() {
+		String first = new String("b");
+		String last = new String("b");
+		list.addAll(Arrays.asList("a", first, "c", last));
+		assertEquals(1, list.indexOf(new String("b")));
+		assertEquals(3, list.lastIndexOf(new String("b")));
+		assertEquals(3, list.indexOf(last));
+		assertEquals(-1, list.indexOf(new String("e")));
+		assertFalse(list.contains(null));
+		assertTrue(list.remove(new String("b")));
+		assertSame(last, list.get(2));
+	}
+
+	@Test
+	public void testSort() {
+		list.addAll(Arrays.asList("d", "a", "c", "b"));
+		Collections.sort(list);
+		assertEquals(Arrays.asList("a", "b", "c", "d"), list);
+		for (int i = 0; i < list.size(); i++) {
+			assertEquals(i, list.indexOf(list.get(i)));
+		}
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		list.addAll(Arrays.asList("a", "b", "c", "d"));
+		Iterator<String> it = list.iterator();
+		while (it.hasNext()) {
+			if (it.next().compareTo("c") < 0) {
+				it.remove();
+			}
+		}
+		assertEquals(Arrays.asList("c", "d"), list);
+	}
+
+	@Test
+	public void testIteratorConcurrentModification() {
+		list.addAll(Arrays.asList("a", "b"));
+		Iterator<String> it = list.iterator();
+		it.next();
+		list.add("c");
+		exception.expect(ConcurrentModificationException.class);
+		it.next();
+	}
+
+	@Test
+	public void testRandomOperations_matchArrayList() {
+		Random random = new Random(17);
+		List<Integer> expected = new ArrayList<Integer>();
+		OrderStatisticList<Integer> actual = new OrderStatisticList<Integer>();
+		for (int i = 0; i < 2000; i++) {
+			if (expected.isEmpty() || random.nextInt(3) > 0) {
+				int index = random.nextInt(expected.size() + 1);
+				Integer element = new Integer(i);
+				expected.add(index, element);
+				actual.add(index, element);
+			} else if (random.nextBoolean()) {
+				int index = random.nextInt(expected.size());
+				assertSame(expected.remove(index), actual.remove(index));
+			} else {
+				Integer element = expected.get(random.nextInt(expected.size()));
+				expected.remove(element);
+				assertTrue(actual.remove(element));
+			}
+		}
+		assertEquals(expected, actual);
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), actual.get(i));
+			assertEquals(i, actual.indexOf(expected.get(i)));
+		}
+	}
+
+	@Test
+	public void testClear_reusesSlots() {
+		for (int i = 0; i < 100; i++) {
+			list.add("e" + i);
+		}
+		list.clear();
+		assertTrue(list.isEmpty());
+		assertEquals(-1, list.indexOf("e0"));
+		list.addAll(Arrays.asList("a", "b", "c"));
+		assertEquals(Arrays.asList("a", "b", "c"), list);
+		assertEquals(2, list.indexOf("c"));
+	}
+
+	@Test
+	public void testRemoveAndAdd_keepsIndex() {
+		List<String> elements = new ArrayList<String>();
+		for (int i = 0; i < 500; i++) {
+			String element = "e" + i;
+			elements.add(element);
+			list.add(element);
+		}
+		for (int i = 0; i < 500; i += 2) {
+			assertTrue(list.remove(elements.get(i)));
+		}
+		for (int i = 1; i < 500; i += 2) {
+			assertEquals(i / 2, list.indexOf(elements.get(i)));
+		}
+		for (int i = 0; i < 500; i += 2) {
+			assertFalse(list.contains(elements.get(i)));
+			list.add(elements.get(i));
+		}
+		assertEquals(500, list.size());
+		assertEquals(499, list.indexOf(elements.get(498)));
+	}
+}
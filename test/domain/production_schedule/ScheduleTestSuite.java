@@ -6,7 +6,10 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ SchedulerContextTest.class,
-				OrderRequestTest.class})
+				OrderRequestTest.class,
+				OrderStatisticListTest.class,
+				StandardOrderQueueTest.class,
+				OrderBacklogTest.class})
 public class ScheduleTestSuite {
 
 }
@@ -4,7 +4,9 @@ import static org.junit.Assert.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -14,20 +16,27 @@ import org.junit.rules.ExpectedException;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.powermock.reflect.Whitebox;
 
 import com.google.common.base.Optional;
 
 import domain.DateTime;
 import domain.order.Order;
+import domain.order.OrderStatus;
+import domain.order.OrderStatusRegistry;
+import domain.order.OrderView;
+import domain.order.SingleTaskCatalog;
 import domain.order.SingleTaskOrder;
 import domain.order.StandardOrder;
 import domain.car.CarModel;
+import domain.car.ModelCatalog;
 import domain.car.Model;
 import domain.car.Option;
 import domain.car.OptionCategory;
 import domain.car.Specification;
 import domain.assembly_line.TaskType;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.metrics.MetricsRegistry;
+import domain.metrics.MetricsSnapshot;
 import domain.production_schedule.OrderRequest;
 import domain.production_schedule.SchedulerContext;
 import domain.production_schedule.strategy.BatchStrategy;
@@ -96,6 +105,8 @@ public class SchedulerContextTest {
 		Mockito.when(completedOrder.isCompleted()).thenReturn(true);
 		Mockito.when(completedSingleTaskOrder.isCompleted()).thenReturn(true);
 		Mockito.when(completedStandardOrder.isCompleted()).thenReturn(true);
+		Mockito.when(strat.getBatchSpecification()).thenReturn(Optional.<Specification> absent());
+		Mockito.when(otherStrat.getBatchSpecification()).thenReturn(Optional.<Specification> absent());
 		schedCon = new SchedulerContext(strat);		
 	}
 
@@ -139,9 +150,62 @@ public class SchedulerContextTest {
 		assertEquals(strat, schedCon.getDefaultStrategy());
 	}
 
+	@Test
+	public void testSetSchedulingStrategyBatch() {
+		Model model = new CarModel("test", new ArrayList<OptionCategory>(), 60);
+		Specification spec = new Specification(new ArrayList<Option>(Arrays.asList(
+				new Option(TaskType.BODY, "john", "doe"))));
+		Specification otherSpec = new Specification(new ArrayList<Option>());
+		StandardOrder first = new StandardOrder(model, otherSpec, 0, new DateTime(0, 0, 0));
+		StandardOrder second = new StandardOrder(model, spec, 1, new DateTime(0, 0, 1));
+		StandardOrder third = new StandardOrder(model, otherSpec, 2, new DateTime(0, 0, 2));
+		StandardOrder fourth = new StandardOrder(model, spec, 3, new DateTime(0, 0, 3));
+		schedCon.setSchedulingStrategy(new FifoStrategy<StandardOrder>());
+		schedCon.addNewStandardOrder(fourth);
+		schedCon.addNewStandardOrder(first);
+		schedCon.addNewStandardOrder(third);
+		schedCon.addNewStandardOrder(second);
+		assertEquals(Arrays.asList(first, second, third, fourth), schedCon.getStandardOrderQueue());
+		
+		schedCon.setSchedulingStrategy(new BatchStrategy<StandardOrder>(spec));
+		assertEquals(Arrays.asList(second, fourth, first, third), schedCon.getStandardOrderQueue());
+		assertEquals(Optional.of(2), schedCon.getQueuePosition(first));
+		assertEquals(Optional.of(1), schedCon.getQueuePosition(fourth));
+		assertEquals(third, schedCon.getStandardOrderQueueView().get(3));
+		
+		Set<Model> models = new HashSet<Model>(Arrays.asList(model));
+		assertEquals(second, schedCon.popNextStandardOrder(models).get());
+		assertEquals(fourth, schedCon.popNextStandardOrder(models).get());
+		// The batch is done, so the default strategy takes over.
+		assertEquals(strat, schedCon.getCurrentSchedulingStrategy());
+		assertEquals(Arrays.asList(first, third), schedCon.getStandardOrderQueue());
+	}
+	
 	//--------------------------------------------------------------------------
 	// StandardOrder related methods.
 	//--------------------------------------------------------------------------
+	@Test
+	public void testGetQueuePosition() {
+		FifoStrategy<StandardOrder> realStrat = new FifoStrategy<>();
+		schedCon.setSchedulingStrategy(realStrat);
+		
+		schedCon.addNewStandardOrder(order2);
+		schedCon.addNewStandardOrder(order1);
+		assertEquals(Optional.of(0), schedCon.getQueuePosition(order1));
+		assertEquals(Optional.of(1), schedCon.getQueuePosition(order2));
+		assertFalse(schedCon.getQueuePosition(order3).isPresent());
+		
+		schedCon.removeOrder(order1);
+		assertEquals(Optional.of(0), schedCon.getQueuePosition(order2));
+		assertFalse(schedCon.getQueuePosition(order1).isPresent());
+	}
+	
+	@Test
+	public void testGetQueuePositionNull() {
+		exception.expect(IllegalArgumentException.class);
+		schedCon.getQueuePosition(null);
+	}
+	
 	@Test
 	public void testContainsOrder() {
 		FifoStrategy<StandardOrder> realStrat = new FifoStrategy<>();
@@ -151,6 +215,63 @@ public class SchedulerContextTest {
 		schedCon.addNewStandardOrder(order1);
 		assertTrue(schedCon.containsOrder(order1));
 	}
+	
+	@Test
+	public void testTakeOrder() {
+		FifoStrategy<StandardOrder> realStrat = Mockito.spy(new FifoStrategy<StandardOrder>());
+		schedCon.setSchedulingStrategy(realStrat);
+		schedCon.addNewStandardOrder(order1);
+		schedCon.addNewStandardOrder(order2);
+		
+		schedCon.removeOrder(order1);
+		Mockito.verify(realStrat, Mockito.never()).takeOrder(order1);
+		schedCon.takeOrder(order2);
+		Mockito.verify(realStrat).takeOrder(order2);
+		assertFalse(schedCon.containsOrder(order2));
+	}
+
+	@Test
+	public void testMetrics() {
+		FifoStrategy<StandardOrder> realStrat = new FifoStrategy<>();
+		schedCon.setSchedulingStrategy(realStrat);
+		MetricsRegistry registry = new MetricsRegistry();
+		schedCon.setMetricsRegistry(registry);
+		
+		schedCon.addNewStandardOrder(order1);
+		schedCon.addNewStandardOrder(order2);
+		schedCon.addNewSingleTaskOrder(order3);
+		assertEquals(2, registry.snapshot().getGauge("scheduler.queue.standard"));
+		schedCon.removeOrder(order1);
+		schedCon.removeOrder(order1);
+		
+		MetricsSnapshot after = registry.snapshot();
+		assertEquals(2, after.getCount("scheduler.orders.submitted.standard"));
+		assertEquals(1, after.getCount("scheduler.orders.submitted.single_task"));
+		assertEquals(1, after.getCount("scheduler.orders.removed"));
+		assertEquals(1, after.getGauge("scheduler.queue.standard"));
+		assertEquals(1, after.getGauge("scheduler.queue.single_task"));
+	}
+	
+	@Test
+	public void testMetrics_separateRegistries() {
+		SchedulerContext other = new SchedulerContext(new FifoStrategy<StandardOrder>());
+		schedCon.setSchedulingStrategy(new FifoStrategy<StandardOrder>());
+		MetricsRegistry registry = new MetricsRegistry();
+		MetricsRegistry otherRegistry = new MetricsRegistry();
+		schedCon.setMetricsRegistry(registry);
+		other.setMetricsRegistry(otherRegistry);
+		
+		schedCon.addNewStandardOrder(order1);
+		assertEquals(1, registry.snapshot().getCount("scheduler.orders.submitted.standard"));
+		assertEquals(0, otherRegistry.snapshot().getCount("scheduler.orders.submitted.standard"));
+		assertEquals(0, otherRegistry.snapshot().getGauge("scheduler.queue.standard"));
+	}
+	
+	@Test
+	public void testSetMetricsRegistryNull() {
+		exception.expect(IllegalArgumentException.class);
+		schedCon.setMetricsRegistry(null);
+	}
 
 	@Test
 	public void testGetAllPendingOrders() {
@@ -176,6 +297,54 @@ public class SchedulerContextTest {
 		assertEquals(order1, schedCon.getOrder(new OrderRequest(models)).get());
 	}
 	
+	@Test
+	public void testGetNextScheduledOrderStandardWithLine() {
+		schedCon.addNewStandardOrder(order1);
+		schedCon.addNewStandardOrder(order2);
+		VirtualAssemblyLine line = Mockito.mock(VirtualAssemblyLine.class);
+		Mockito.when(strat.selectNext(Mockito.anyListOf(StandardOrder.class), 
+				Mockito.anySetOf(Model.class), Mockito.eq(Optional.of(line))))
+				.thenReturn(Optional.of(order2));
+		Mockito.when(strat.removeFrom(Mockito.any(StandardOrder.class),
+				Mockito.anyListOf(StandardOrder.class))).thenCallRealMethod();
+
+		Model[] models = {carModel1, carModel2};
+		assertEquals(order2, schedCon.getOrder(new OrderRequest(models, line)).get());
+		assertEquals(order2, schedCon.popOrder(new OrderRequest(models, line)).get());
+		assertFalse(schedCon.getPendingStandardOrders().contains(order2));
+	}
+	
+	@Test
+	public void testGetNextStandardOrderNoPendingModel() {
+		Mockito.when(strat.selectNext(Mockito.anyListOf(StandardOrder.class), 
+				Mockito.anySetOf(Model.class), Mockito.<Optional<VirtualAssemblyLine>> any()))
+				.thenReturn(Optional.of(order2));
+		
+		// No StandardOrders are pending, so the strategy is not consulted.
+		Model[] models = {carModel1, carModel2};
+		assertFalse(schedCon.getOrder(new OrderRequest(models)).isPresent());
+		Mockito.verify(strat, Mockito.never()).selectNext(Mockito.anyListOf(StandardOrder.class), 
+				Mockito.anySetOf(Model.class), Mockito.<Optional<VirtualAssemblyLine>> any());
+	}
+	
+	@Test
+	public void testRemovalThroughStrategy() {
+		schedCon.addNewStandardOrder(order1);
+		schedCon.addNewStandardOrder(order2);
+		Mockito.when(strat.selectNext(Mockito.anyListOf(StandardOrder.class), 
+				Mockito.anySetOf(Model.class), Mockito.<Optional<VirtualAssemblyLine>> any()))
+				.thenReturn(Optional.of(order2));
+		
+		Model[] models = {carModel1, carModel2};
+		schedCon.popOrder(new OrderRequest(models));
+		Mockito.verify(strat).removeFrom(Mockito.eq(order2), Mockito.anyListOf(StandardOrder.class));
+		schedCon.removeOrder(order1);
+		Mockito.verify(strat).removeFrom(Mockito.eq(order1), Mockito.anyListOf(StandardOrder.class));
+		schedCon.removeOrder(order3);
+		Mockito.verify(strat, Mockito.times(2)).removeFrom(Mockito.any(StandardOrder.class), 
+				Mockito.anyListOf(StandardOrder.class));
+	}
+	
 	@Test
 	public void testGetNextScheduledOrderStandardModel1() {
 		FifoStrategy<StandardOrder> realStrat = new FifoStrategy<>();
@@ -305,6 +474,47 @@ public class SchedulerContextTest {
 		assertEquals(order4,schedCon.getOrder(new OrderRequest(tasks)).get());
 	}
 
+	@Test
+	public void testGetNextSingleTaskOrders() {
+		schedCon.addNewSingleTaskOrder(order5);
+		schedCon.addNewSingleTaskOrder(order3);
+		schedCon.addNewSingleTaskOrder(order4);
+		
+		Set<TaskType> accessories = new HashSet<>(Arrays.asList(TaskType.ACCESSORIES));
+		assertEquals(Arrays.asList(order4, order5), schedCon.getNextSingleTaskOrders(accessories, 5));
+		assertEquals(Arrays.asList(order4), schedCon.getNextSingleTaskOrders(accessories, 1));
+		Set<TaskType> all = new HashSet<>(Arrays.asList(TaskType.BODY, TaskType.ACCESSORIES));
+		assertEquals(Arrays.asList(order3, order4), schedCon.getNextSingleTaskOrders(all, 2));
+	}
+	
+	@Test
+	public void testGetNextStandardOrders() {
+		FifoStrategy<StandardOrder> realStrat = new FifoStrategy<>();
+		schedCon.setSchedulingStrategy(realStrat);
+		schedCon.addNewStandardOrder(order2);
+		schedCon.addNewStandardOrder(order1);
+		
+		Set<Model> models = new HashSet<>(Arrays.asList(carModel1, carModel2));
+		Optional<VirtualAssemblyLine> line = Optional.absent();
+		assertEquals(Arrays.asList(order1, order2), schedCon.getNextStandardOrders(models, line, 5));
+		assertEquals(Arrays.asList(order1), schedCon.getNextStandardOrders(models, line, 1));
+		assertTrue(schedCon.getNextStandardOrders(models, line, 0).isEmpty());
+		Set<Model> car2 = new HashSet<>(Arrays.asList(carModel2));
+		assertEquals(Arrays.asList(order2), schedCon.getNextStandardOrders(car2, line, 5));
+	}
+	
+	@Test
+	public void testGetNextStandardOrdersNegativeMax() {
+		exception.expect(IllegalArgumentException.class);
+		schedCon.getNextStandardOrders(new HashSet<Model>(), Optional.<VirtualAssemblyLine> absent(), -1);
+	}
+	
+	@Test
+	public void testGetNextSingleTaskOrdersNegativeMax() {
+		exception.expect(IllegalArgumentException.class);
+		schedCon.getNextSingleTaskOrders(new HashSet<TaskType>(), -1);
+	}
+	
 	@Test
 	public void testGetNextSingleTaskOrderEmpty() {
 		FifoStrategy<StandardOrder> realStrat = new FifoStrategy<>();
@@ -365,6 +575,15 @@ public class SchedulerContextTest {
 		assertEquals(1, schedCon.getPendingStandardOrders().size());
 	}
 
+	@Test
+	public void testAddNewStandardOrder_adoptedByStrategy() {
+		schedCon.addNewStandardOrder(order1);
+		assertTrue(schedCon.containsOrder(order1));
+		Mockito.verify(strat).adoptOrder(order1);
+		Mockito.verify(strat, Mockito.never()).addTo(Mockito.any(StandardOrder.class),
+				Mockito.anyListOf(StandardOrder.class));
+	}
+
 	@Test
 	public void testAddNewStandardOrderNull() {
 		exception.expect(IllegalArgumentException.class);
@@ -396,6 +615,88 @@ public class SchedulerContextTest {
 		assertTrue(schedCon.isValidPendingOrder(order5));
 	}
 	
+	//--------------------------------------------------------------------------
+	// Order status
+	//--------------------------------------------------------------------------
+	@Test
+	public void testOrderStatusRegistry() {
+		Mockito.when(order1.getOrderNumber()).thenReturn(1);
+		Mockito.when(order2.getOrderNumber()).thenReturn(2);
+		Mockito.when(order3.getOrderNumber()).thenReturn(3);
+		schedCon.setSchedulingStrategy(new FifoStrategy<StandardOrder>());
+		schedCon.addNewStandardOrder(order1);
+		
+		OrderStatusRegistry registry = new OrderStatusRegistry();
+		schedCon.setOrderStatusRegistry(registry);
+		assertEquals(OrderStatus.SCHEDULED, registry.getStatus(1).get());
+		
+		schedCon.addNewStandardOrder(order2);
+		schedCon.addNewSingleTaskOrder(order3);
+		assertEquals(3, registry.getNbOfOrders(OrderStatus.SCHEDULED));
+		
+		Model[] models = {carModel1};
+		assertEquals(order1, schedCon.popOrder(new OrderRequest(models)).get());
+		assertFalse(registry.getStatus(1).isPresent());
+		schedCon.removeOrder(order2);
+		assertFalse(registry.getStatus(2).isPresent());
+		TaskType[] tasks = {TaskType.BODY};
+		assertEquals(order3, schedCon.popOrder(new OrderRequest(tasks)).get());
+		assertEquals(0, registry.getNbOfOrders(OrderStatus.SCHEDULED));
+	}
+	
+	@Test
+	public void testSetOrderStatusRegistryNull() {
+		exception.expect(IllegalArgumentException.class);
+		schedCon.setOrderStatusRegistry(null);
+	}
+	
+	//--------------------------------------------------------------------------
+	// Order backlog
+	//--------------------------------------------------------------------------
+	@Test
+	public void testOrderBacklog() {
+		Option option = new Option(TaskType.BODY, "red", "info");
+		Option task = new Option(TaskType.BODY, "paint", "info");
+		OptionCategory colour = new OptionCategory(Arrays.asList(option), "colour");
+		Model model = new CarModel("test", Arrays.asList(colour), 60);
+		Model singleTaskModel = new CarModel("single", new ArrayList<OptionCategory>(), 60);
+		OrderBacklog backlog = new OrderBacklog(8, 
+				new ModelCatalog(Arrays.asList(model), singleTaskModel),
+				new SingleTaskCatalog(Arrays.asList(new OptionCategory(Arrays.asList(task), "tasks"))));
+		
+		StandardOrder pending = new StandardOrder(model, new Specification(option), 0, new DateTime(0, 0, 1));
+		schedCon.setSchedulingStrategy(new FifoStrategy<StandardOrder>());
+		schedCon.addNewStandardOrder(pending);
+		schedCon.setOrderBacklog(backlog);
+		assertTrue(backlog.contains(pending));
+		
+		StandardOrder added = new StandardOrder(model, new Specification(option), 1, new DateTime(0, 0, 2));
+		SingleTaskOrder single = new SingleTaskOrder(singleTaskModel, new Specification(task), 2, 
+				new DateTime(0, 0, 3), new DateTime(1, 0, 0));
+		schedCon.addNewStandardOrder(added);
+		schedCon.addNewSingleTaskOrder(single);
+		assertEquals(3, backlog.getNbOfOrders());
+		schedCon.removeOrder(pending);
+		assertFalse(backlog.contains(pending));
+		
+		SchedulerContext restored = new SchedulerContext(new FifoStrategy<StandardOrder>());
+		restored.setOrderBacklog(backlog);
+		assertEquals(Arrays.<OrderView> asList(added), restored.getPendingStandardOrders());
+		assertEquals(Arrays.<OrderView> asList(single), restored.getPendingSingleTaskOrders());
+		assertEquals(2, backlog.getNbOfOrders());
+		
+		Set<Model> models = new HashSet<Model>(Arrays.asList(model));
+		assertEquals(added, restored.popNextStandardOrder(models, 
+				Optional.<VirtualAssemblyLine> absent()).get());
+		assertFalse(backlog.contains(added));
+	}
+	
+	@Test
+	public void testSetOrderBacklogNull() {
+		exception.expect(IllegalArgumentException.class);
+		schedCon.setOrderBacklog(null);
+	}
+	
 	//--------------------------------------------------------------------------
 	// Specification-related methods
 	//--------------------------------------------------------------------------
@@ -408,16 +709,15 @@ public class SchedulerContextTest {
 				.asList(option1, option2)));
 		Specification incorrectSpec = new Specification(new ArrayList<Option>(Arrays
 				.asList(option1)));
-		StandardOrder goodOrder = new StandardOrder(model, correctSpec, 0, new DateTime(0, 0, 0));
-		StandardOrder badOrder = new StandardOrder(model, incorrectSpec, 1, new DateTime(1, 0, 0));
-		List<StandardOrder> queue = new ArrayList<StandardOrder>();
+		schedCon.setSchedulingStrategy(new FifoStrategy<StandardOrder>());
 		for (int i = 0; i < 2; i++) {
-			queue.add(badOrder);
+			schedCon.addNewStandardOrder(
+					new StandardOrder(model, incorrectSpec, i, new DateTime(1, 0, i)));
 		}
 		for (int i = 0; i < 3; i++) {
-			queue.add(goodOrder);
+			schedCon.addNewStandardOrder(
+					new StandardOrder(model, correctSpec, 2 + i, new DateTime(0, 0, i)));
 		}
-		Whitebox.setInternalState(schedCon, "standardOrderQueue", queue);
 		List<Specification> specs = schedCon.getEligibleBatches();
 		assertTrue(specs.contains(correctSpec));
 		assertFalse(specs.contains(incorrectSpec));
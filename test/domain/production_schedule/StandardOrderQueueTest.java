@@ -0,0 +1,167 @@
+package domain.production_schedule;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.TaskType;
+import domain.car.CarModel;
+import domain.car.Model;
+import domain.car.Option;
+import domain.car.OptionCategory;
+import domain.car.Specification;
+import domain.order.StandardOrder;
+import domain.production_schedule.strategy.BatchComparator;
+import domain.production_schedule.strategy.BatchStrategy;
+import domain.production_schedule.strategy.FifoComparator;
+
+public class StandardOrderQueueTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	Model model;
+	Specification[] specs;
+	StandardOrderQueue queue;
+
+	@Before
+	public void setUp() {
+		model = new CarModel("test", new ArrayList<OptionCategory>(), 60);
+		specs = new Specification[3];
+		for (int i = 0; i < specs.length; i++) {
+			specs[i] = new Specification(new ArrayList<Option>(Arrays.asList(
+					new Option(TaskType.BODY, "option" + i, "info"))));
+		}
+		queue = new StandardOrderQueue();
+	}
+
+	StandardOrder newOrder(int spec, int minute) {
+		return new StandardOrder(model, specs[spec], minute, new DateTime(0, 0, minute));
+	}
+
+	@Test
+	public void testFifoOrdering() {
+		StandardOrder a = newOrder(0, 0);
+		StandardOrder b = newOrder(1, 1);
+		StandardOrder c = newOrder(0, 2);
+		queue.add(c);
+		queue.add(0, a);
+		queue.add(b);
+		assertFalse(queue.getBatchSpecification().isPresent());
+		assertEquals(Arrays.asList(a, b, c), queue);
+		assertEquals(1, queue.indexOf(b));
+	}
+
+	@Test
+	public void testBatchOrdering() {
+		StandardOrder a = newOrder(0, 0);
+		StandardOrder b = newOrder(1, 1);
+		StandardOrder c = newOrder(0, 2);
+		StandardOrder d = newOrder(1, 3);
+		queue.addAll(Arrays.asList(d, c, b, a));
+		queue.setBatchSpecification(Optional.of(specs[1]));
+		assertEquals(Arrays.asList(b, d, a, c), queue);
+		assertEquals(a, queue.get(2));
+		assertEquals(c, queue.get(3));
+		assertEquals(3, queue.indexOf(c));
+		assertEquals(1, queue.indexOf(d));
+
+		queue.setBatchSpecification(Optional.<Specification> absent());
+		assertEquals(Arrays.asList(a, b, c, d), queue);
+	}
+
+	@Test
+	public void testBatchOrdering_noOrdersOfSpecification() {
+		StandardOrder a = newOrder(0, 0);
+		queue.add(a);
+		queue.setBatchSpecification(Optional.of(specs[2]));
+		assertEquals(Arrays.asList(a), queue);
+		assertEquals(0, queue.indexOf(a));
+	}
+
+	@Test
+	public void testSetBatchSpecificationNull() {
+		exception.expect(IllegalArgumentException.class);
+		queue.setBatchSpecification(null);
+	}
+
+	@Test
+	public void testAddTwice() {
+		StandardOrder a = newOrder(0, 0);
+		queue.add(a);
+		exception.expect(IllegalArgumentException.class);
+		queue.add(a);
+	}
+
+	@Test
+	public void testRemove_dropsEmptySpecifications() {
+		StandardOrder a = newOrder(0, 0);
+		StandardOrder b = newOrder(1, 1);
+		queue.add(a);
+		queue.add(b);
+		assertEquals(2, queue.getSpecifications().size());
+		assertTrue(queue.remove(a));
+		assertFalse(queue.remove(a));
+		assertEquals(0, queue.getNbOfOrders(specs[0]));
+		assertEquals(1, queue.getNbOfOrders(specs[1]));
+		assertFalse(queue.getSpecifications().contains(specs[0]));
+	}
+
+	@Test
+	public void testRandomOperations_matchSortedList() {
+		Random random = new Random(17);
+		List<StandardOrder> pending = new ArrayList<StandardOrder>();
+		for (int i = 0; i < 2000; i++) {
+			int operation = random.nextInt(4);
+			if (operation < 2 || pending.isEmpty()) {
+				StandardOrder order = newOrder(random.nextInt(specs.length), i);
+				queue.add(order);
+				pending.add(order);
+			} else if (operation == 2) {
+				StandardOrder order = pending.remove(random.nextInt(pending.size()));
+				assertTrue(queue.remove(order));
+			} else {
+				int spec = random.nextInt(specs.length + 1);
+				queue.setBatchSpecification(spec == specs.length
+						? Optional.<Specification> absent() : Optional.of(specs[spec]));
+			}
+
+			List<StandardOrder> expected = new ArrayList<StandardOrder>(pending);
+			Optional<Specification> batch = queue.getBatchSpecification();
+			Collections.sort(expected, batch.isPresent()
+					? new BatchComparator(batch.get()) : new FifoComparator());
+			assertEquals(expected, queue);
+			if (i % 50 == 0) {
+				for (int j = 0; j < expected.size(); j++) {
+					assertEquals(expected.get(j), queue.get(j));
+					assertEquals(j, queue.indexOf(expected.get(j)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testStrategyAddTo_keepsOrdering() {
+		BatchStrategy<StandardOrder> strategy = new BatchStrategy<StandardOrder>(specs[1]);
+		queue.setBatchSpecification(strategy.getBatchSpecification());
+		StandardOrder a = newOrder(0, 0);
+		StandardOrder b = newOrder(1, 1);
+		StandardOrder c = newOrder(1, 2);
+		strategy.addTo(a, queue);
+		strategy.addTo(c, queue);
+		strategy.addTo(b, queue);
+		assertEquals(Arrays.asList(b, c, a), queue);
+		assertTrue(strategy.removeFrom(b, queue));
+		assertEquals(Arrays.asList(c, a), queue);
+	}
+}
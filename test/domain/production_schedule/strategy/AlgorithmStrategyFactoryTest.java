@@ -43,6 +43,8 @@ public class AlgorithmStrategyFactoryTest {
 		List<SchedulingStrategyView> strats = factory.getAlgorithmViews();
 		assertEquals(FifoStrategy.class, strats.get(0).getClass());
 		assertEquals(BatchStrategy.class, strats.get(1).getClass());
+		assertEquals(AutoBatchStrategy.class, strats.get(2).getClass());
+		assertEquals(3, strats.size());
 	}
 	
 	@Test
@@ -51,6 +53,12 @@ public class AlgorithmStrategyFactoryTest {
 		assertEquals(FifoStrategy.class, strat.getClass());
 	}
 	
+	@Test
+	public void getAutoBatchStrategyTest() {
+		SchedulingStrategy<StandardOrder> strat = factory.getAutoBatchStrategy();
+		assertEquals(AutoBatchStrategy.class, strat.getClass());
+	}
+	
 	@Test
 	public void getBatchStrategyTest() {
 		Option option = new Option(TaskType.BODY, "john", "doe");
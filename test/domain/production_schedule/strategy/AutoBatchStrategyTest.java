@@ -0,0 +1,243 @@
+package domain.production_schedule.strategy;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.TaskType;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Model;
+import domain.car.Specification;
+import domain.order.StandardOrder;
+
+public class AutoBatchStrategyTest {
+
+	@Rule public ExpectedException expected = ExpectedException.none();
+
+	@Mock Model car;
+	@Mock Model truck;
+	@Mock Specification red;
+	@Mock Specification blue;
+
+	AutoBatchStrategy<StandardOrder> strat;
+	Set<Model> models;
+	List<StandardOrder> queue;
+
+	StandardOrder red1;
+	StandardOrder blue1;
+	StandardOrder red2;
+	StandardOrder blue2;
+	StandardOrder red3;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		Mockito.when(car.getMinsOnWorkPostOfType(TaskType.BODY)).thenReturn(50);
+		Mockito.when(truck.getMinsOnWorkPostOfType(TaskType.BODY)).thenReturn(60);
+
+		strat = new AutoBatchStrategy<StandardOrder>();
+		models = new HashSet<Model>(Arrays.asList(car, truck));
+		queue = new ArrayList<StandardOrder>();
+
+		red1 = new StandardOrder(car, red, 0, new DateTime(0, 8, 0));
+		blue1 = new StandardOrder(car, blue, 1, new DateTime(0, 9, 0));
+		red2 = new StandardOrder(car, red, 2, new DateTime(0, 10, 0));
+		blue2 = new StandardOrder(car, blue, 3, new DateTime(0, 11, 0));
+		red3 = new StandardOrder(car, red, 4, new DateTime(0, 12, 0));
+	}
+
+	private void addAll(StandardOrder... orders) {
+		for (StandardOrder order : orders) {
+			strat.addTo(order, queue);
+		}
+	}
+
+	private StandardOrder pop() {
+		StandardOrder result = strat.selectNext(queue, models,
+				Optional.<VirtualAssemblyLine> absent()).get();
+		assertTrue(strat.removeFrom(result, queue));
+		strat.takeOrder(result);
+		return result;
+	}
+
+	private StandardOrder selectNext() {
+		return strat.selectNext(queue, models, Optional.<VirtualAssemblyLine> absent()).get();
+	}
+
+	@Test
+	public void constructor_illegalMaxBatchSize() {
+		expected.expect(IllegalArgumentException.class);
+		new AutoBatchStrategy<StandardOrder>(0);
+	}
+
+	@Test
+	public void getNameTest() {
+		assertEquals("Automatic batch strategy", strat.getName());
+	}
+
+	@Test
+	public void isDoneTest() {
+		assertFalse(strat.isDone(queue));
+	}
+
+	@Test
+	public void addToTest() {
+		addAll(red2, blue1, red1);
+		assertEquals(Arrays.asList(red1, blue1, red2), queue);
+		assertEquals(2, strat.getNbOfBatches());
+	}
+
+	@Test
+	public void selectNext_firstOrder() {
+		addAll(red1, blue1, red2);
+		assertEquals(red1, strat.selectNext(queue, models,
+				Optional.<VirtualAssemblyLine> absent()).get());
+		// Selecting does not change the selection.
+		assertEquals(red1, strat.selectNext(queue, models,
+				Optional.<VirtualAssemblyLine> absent()).get());
+	}
+
+	@Test
+	public void selectNext_continuesBatch() {
+		addAll(red1, blue1, red2, blue2, red3);
+		assertEquals(red1, pop());
+		assertEquals(red2, pop());
+		assertEquals(red3, pop());
+		assertEquals(blue1, pop());
+		assertEquals(blue2, pop());
+		assertTrue(queue.isEmpty());
+		assertEquals(0, strat.getNbOfBatches());
+	}
+
+	@Test
+	public void selectNext_maxBatchSize() {
+		strat = new AutoBatchStrategy<StandardOrder>(2);
+		addAll(red1, blue1, red2, blue2, red3);
+		assertEquals(red1, pop());
+		assertEquals(red2, pop());
+		assertEquals(blue1, pop());
+		assertEquals(blue2, pop());
+		assertEquals(red3, pop());
+	}
+
+	@Test
+	public void selectNext_profileSplitsBatch() {
+		StandardOrder redTruck = new StandardOrder(truck, red, 5, new DateTime(0, 9, 30));
+		addAll(red1, blue1, redTruck, red2);
+		assertEquals(3, strat.getNbOfBatches());
+		assertEquals(red1, pop());
+		assertEquals(red2, pop());
+		assertEquals(blue1, pop());
+		assertEquals(redTruck, pop());
+	}
+
+	@Test
+	public void selectNext_acceptedModels() {
+		StandardOrder redTruck = new StandardOrder(truck, red, 5, new DateTime(0, 7, 0));
+		addAll(redTruck, red1);
+		models = new HashSet<Model>(Arrays.asList(car));
+		assertEquals(red1, strat.selectNext(queue, models,
+				Optional.<VirtualAssemblyLine> absent()).get());
+		models = new HashSet<Model>();
+		assertFalse(strat.selectNext(queue, models,
+				Optional.<VirtualAssemblyLine> absent()).isPresent());
+	}
+
+	@Test
+	public void selectNext_batchOfTwoModels() {
+		Model van = Mockito.mock(Model.class);
+		Mockito.when(van.getMinsOnWorkPostOfType(TaskType.BODY)).thenReturn(50);
+		StandardOrder redVan = new StandardOrder(van, red, 5, new DateTime(0, 7, 0));
+		StandardOrder blueOld = new StandardOrder(car, blue, 6, new DateTime(0, 7, 30));
+		addAll(red1, blueOld, redVan);
+		assertEquals(2, strat.getNbOfBatches());
+		// The batch of the oldest pending order is started, with its oldest
+		// accepted order.
+		models = new HashSet<Model>(Arrays.asList(car));
+		assertEquals(red1, pop());
+		models = new HashSet<Model>(Arrays.asList(car, van));
+		assertEquals(redVan, pop());
+		assertEquals(blueOld, pop());
+		assertEquals(0, strat.getNbOfBatches());
+	}
+
+	@Test
+	public void removeFrom_unknownOrder() {
+		addAll(red1);
+		assertFalse(strat.removeFrom(blue1, queue));
+		assertEquals(1, strat.getNbOfBatches());
+	}
+
+	@Test
+	public void removeFrom_notTaken_noCurrentBatch() {
+		addAll(red1, blue1, red2);
+		assertTrue(strat.removeFrom(red1, queue));
+		assertEquals(blue1, selectNext());
+	}
+
+	@Test
+	public void removeFrom_notTaken_runNotAdvanced() {
+		strat = new AutoBatchStrategy<StandardOrder>(2);
+		addAll(red1, blue1, red2, blue2, red3);
+		assertEquals(red1, pop());
+		assertTrue(strat.removeFrom(red2, queue));
+		assertEquals(red3, pop());
+		assertEquals(blue1, pop());
+	}
+
+	@Test
+	public void removeFrom_evictsKeys() {
+		StandardOrder redTruck = new StandardOrder(truck, red, 5, new DateTime(0, 9, 30));
+		addAll(red1, blue1, red2, redTruck);
+		assertEquals(3, strat.getNbOfKeys());
+		assertEquals(red1, pop());
+		assertEquals(3, strat.getNbOfKeys());
+		assertEquals(red2, pop());
+		assertEquals(2, strat.getNbOfKeys());
+		assertTrue(strat.removeFrom(blue1, queue));
+		assertTrue(strat.removeFrom(redTruck, queue));
+		assertEquals(0, strat.getNbOfKeys());
+	}
+
+	@Test
+	public void sortTest() {
+		queue.addAll(Arrays.asList(red2, blue1, red1));
+		strat.sort(queue);
+		assertEquals(Arrays.asList(red1, blue1, red2), queue);
+		assertEquals(2, strat.getNbOfBatches());
+		assertEquals(red1, pop());
+		assertEquals(red2, pop());
+	}
+
+	@Test
+	public void adoptTest() {
+		queue.addAll(Arrays.asList(red1, blue1, red2));
+		strat.adopt(queue);
+		assertEquals(Arrays.asList(red1, blue1, red2), queue);
+		assertEquals(2, strat.getNbOfBatches());
+		assertFalse(strat.getBatchSpecification().isPresent());
+	}
+
+	@Test
+	public void adopt_resetsCurrentBatch() {
+		addAll(red1, blue1, red2);
+		assertEquals(red1, pop());
+		strat.adopt(queue);
+		assertEquals(blue1, selectNext());
+	}
+}
@@ -130,5 +130,15 @@ public class BatchStrategyTest {
 		List<Order> orderQueue = new ArrayList<Order>(Arrays.asList(order1, order1));
 		assertFalse(strat.isDone(orderQueue));
 	}
+	
+	@Test
+	public void isDoneTest_empty() {
+		assertTrue(strat.isDone(new ArrayList<Order>()));
+	}
+
+	@Test
+	public void getBatchSpecificationTest() {
+		assertEquals(spec, strat.getBatchSpecification().get());
+	}
 
 }
@@ -0,0 +1,165 @@
+package domain.production_schedule.strategy;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.base.Optional;
+
+import domain.DateTime;
+import domain.assembly_line.TaskType;
+import domain.assembly_line.virtual.VirtualAssemblyLine;
+import domain.car.Model;
+import domain.car.Specification;
+import domain.order.Order;
+import domain.order.StandardOrder;
+
+public class LookaheadStrategyTest {
+	
+	@Rule public ExpectedException expected = ExpectedException.none();
+	
+	private static final TaskType[] POSTS = { TaskType.BODY, TaskType.DRIVETRAIN, TaskType.ACCESSORIES };
+	
+	@Mock Model car;
+	@Mock Model truck;
+	@Mock Model other;
+	@Mock Specification spec;
+	
+	LookaheadStrategy<StandardOrder> strat;
+	VirtualAssemblyLine emptyLine;
+	Set<Model> models;
+	
+	StandardOrder truck1;
+	StandardOrder car1;
+	StandardOrder truck2;
+	StandardOrder car2;
+	List<StandardOrder> queue;
+	
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		stubMinutes(car, 50, 50, 50);
+		stubMinutes(truck, 60, 90, 30);
+		
+		strat = new LookaheadStrategy<StandardOrder>();
+		List<Optional<Order>> state = new ArrayList<>();
+		for (int i = 0; i < POSTS.length; i++) {
+			state.add(Optional.<Order> absent());
+		}
+		emptyLine = new VirtualAssemblyLine(POSTS, state);
+		models = new HashSet<Model>(Arrays.asList(car, truck));
+		
+		truck1 = new StandardOrder(truck, spec, 0, new DateTime(0, 8, 0));
+		car1 = new StandardOrder(car, spec, 1, new DateTime(0, 9, 0));
+		truck2 = new StandardOrder(truck, spec, 2, new DateTime(0, 10, 0));
+		car2 = new StandardOrder(car, spec, 3, new DateTime(0, 11, 0));
+		queue = new ArrayList<StandardOrder>(Arrays.asList(truck1, car1, truck2, car2));
+		strat.adopt(queue);
+	}
+	
+	private static void stubMinutes(Model model, int... minutes) {
+		for (int i = 0; i < POSTS.length; i++) {
+			Mockito.when(model.getMinsOnWorkPostOfType(POSTS[i])).thenReturn(minutes[i]);
+		}
+	}
+	
+	@Test
+	public void constructor_illegalDepth() {
+		expected.expect(IllegalArgumentException.class);
+		new LookaheadStrategy<StandardOrder>(0, 4, 60);
+	}
+	
+	@Test
+	public void constructor_illegalBeamWidth() {
+		expected.expect(IllegalArgumentException.class);
+		new LookaheadStrategy<StandardOrder>(4, 0, 60);
+	}
+	
+	@Test
+	public void constructor_illegalOvertake() {
+		expected.expect(IllegalArgumentException.class);
+		new LookaheadStrategy<StandardOrder>(4, 4, -1);
+	}
+	
+	@Test
+	public void selectNext_interleavesModels() {
+		// Putting a car first lets the line finish all four orders 30 minutes sooner.
+		assertEquals(car1, strat.selectNext(queue, models, Optional.of(emptyLine)).get());
+		assertEquals(370, emptyLine.timeToFinish(Arrays.<Order> asList(truck1, truck2, car2, car1)).getInMinutes());
+		assertEquals(400, emptyLine.timeToFinish(Arrays.<Order> asList(car2, truck2, car1, truck1)).getInMinutes());
+	}
+	
+	@Test
+	public void selectNext_noLine_firstAccepted() {
+		assertEquals(truck1, strat.selectNext(queue, models, Optional.<VirtualAssemblyLine> absent()).get());
+	}
+	
+	@Test
+	public void selectNext_onlyAcceptedModels() {
+		Set<Model> trucks = new HashSet<Model>(Arrays.asList(truck));
+		assertEquals(truck1, strat.selectNext(queue, trucks, Optional.of(emptyLine)).get());
+		
+		Set<Model> none = new HashSet<Model>(Arrays.asList(other));
+		assertFalse(strat.selectNext(queue, none, Optional.of(emptyLine)).isPresent());
+	}
+	
+	@Test
+	public void selectNext_overtakeWindow() {
+		// car1 was submitted an hour after truck1 and cannot overtake it.
+		LookaheadStrategy<StandardOrder> strict = new LookaheadStrategy<StandardOrder>(4, 4, 30);
+		strict.adopt(queue);
+		assertEquals(truck1, strict.selectNext(queue, models, Optional.of(emptyLine)).get());
+	}
+	
+	@Test
+	public void selectNext_tieKeepsFifo() {
+		List<StandardOrder> cars = new ArrayList<StandardOrder>(Arrays.asList(car1, car2));
+		strat.adopt(cars);
+		assertEquals(car1, strat.selectNext(cars, models, Optional.of(emptyLine)).get());
+	}
+	
+	@Test
+	public void selectNext_onlyFirstOrdersOfModel() {
+		// The candidates are the first orders of every accepted Model.
+		LookaheadStrategy<StandardOrder> shallow = new LookaheadStrategy<StandardOrder>(1, 4, 24 * 60);
+		List<StandardOrder> orders = new ArrayList<StandardOrder>();
+		for (int i = 0; i < 100; i++) {
+			shallow.addTo(new StandardOrder(car, spec, 10 + i, new DateTime(0, 7, 0)), orders);
+		}
+		shallow.addTo(truck1, orders);
+		Set<Model> trucks = new HashSet<Model>(Arrays.asList(truck));
+		assertEquals(truck1, shallow.selectNext(orders, trucks, Optional.of(emptyLine)).get());
+	}
+	
+	@Test
+	public void removeFrom_updatesIndex() {
+		assertTrue(strat.removeFrom(truck1, queue));
+		assertFalse(strat.removeFrom(truck1, queue));
+		assertEquals(car1, strat.selectNext(queue, models, Optional.<VirtualAssemblyLine> absent()).get());
+		assertTrue(strat.removeFrom(car1, queue));
+		assertTrue(strat.removeFrom(car2, queue));
+		Set<Model> cars = new HashSet<Model>(Arrays.asList(car));
+		assertFalse(strat.selectNext(queue, cars, Optional.of(emptyLine)).isPresent());
+	}
+	
+	@Test
+	public void sort_fifo() {
+		List<StandardOrder> reversed = new ArrayList<StandardOrder>(Arrays.asList(car2, truck2, car1, truck1));
+		strat.sort(reversed);
+		assertEquals(queue, reversed);
+		assertFalse(strat.isDone(queue));
+		assertEquals("Lookahead strategy", strat.getName());
+	}
+}
@@ -6,10 +6,12 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ AlgorithmStrategyFactoryTest.class,
+				AutoBatchStrategyTest.class,
 				BatchComparatorTest.class,
 				BatchStrategyTest.class,
 				FifoComparatorTest.class,
-				FifoStrategyTest.class })
+				FifoStrategyTest.class,
+				LookaheadStrategyTest.class })
 public class StrategyTestSuite {
 
 }
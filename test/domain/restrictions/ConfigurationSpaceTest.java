@@ -0,0 +1,117 @@
+package domain.restrictions;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import domain.assembly_line.TaskType;
+import domain.car.CarModel;
+import domain.car.Model;
+import domain.car.Option;
+import domain.car.OptionCategory;
+
+public class ConfigurationSpaceTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	Option option1a;
+	Option option1b;
+	Option option2a;
+	Option option2b;
+	Option option2c;
+	Option solitary;
+	Model model;
+	OptionRestrictionManager manager;
+
+	@Before
+	public void setUp() throws Exception {
+		option1a = new Option(TaskType.BODY, "1a", "1a desc");
+		option1b = new Option(TaskType.BODY, "1b", "1b desc");
+		option2a = new Option(TaskType.DRIVETRAIN, "2a", "2a desc");
+		option2b = new Option(TaskType.DRIVETRAIN, "2b", "2b desc");
+		option2c = new Option(TaskType.DRIVETRAIN, "2c", "2c desc");
+		solitary = new Option(TaskType.ACCESSORIES, "s", "s desc");
+
+		List<OptionCategory> categories = new ArrayList<OptionCategory>();
+		categories.add(new OptionCategory(Arrays.asList(option1a, option1b), "Body"));
+		categories.add(new OptionCategory(Arrays.asList(option2a, option2b, option2c), "Engine"));
+		categories.add(new OptionCategory(Arrays.asList(solitary), "Spoiler"));
+		model = new CarModel("Car", categories, 60);
+
+		// Valid: (1a, 2a), (1b, 2a), (1b, 2b).
+		List<Restriction> restrictions = new ArrayList<Restriction>();
+		restrictions.add(new OptionRequiresOtherSetRestriction(option1a,
+				new HashSet<Option>(Arrays.asList(option2a))));
+		restrictions.add(new OptionProhibitsOtherSetRestriction(solitary,
+				new HashSet<Option>(Arrays.asList(option2c))));
+		manager = new OptionRestrictionManager(restrictions);
+	}
+
+	@Test
+	public void testConstructorNullModel() {
+		exception.expect(IllegalArgumentException.class);
+		new ConfigurationSpace(null, manager);
+	}
+
+	@Test
+	public void testConstructorNullRestrictions() {
+		exception.expect(IllegalArgumentException.class);
+		new ConfigurationSpace(model, null);
+	}
+
+	@Test
+	public void testEnumeratesValidConfigurations() {
+		ConfigurationSpace space = new ConfigurationSpace(model, manager);
+		assertTrue(space.getModel() == model);
+		assertTrue(space.isExhaustive());
+		assertEquals(3, space.getNbOfConfigurations());
+	}
+
+	@Test
+	public void testChoosable() {
+		ConfigurationSpace space = new ConfigurationSpace(model, manager);
+		assertTrue(space.isChoosable(option1a));
+		assertTrue(space.isChoosable(option2c));
+		assertFalse(space.isChoosable(solitary));
+		assertFalse(space.isChoosable(new Option(TaskType.BODY, "other", "other desc")));
+	}
+
+	@Test
+	public void testNarrow() {
+		ConfigurationSpace space = new ConfigurationSpace(model, manager);
+		BitSet configurations = space.getAllConfigurations();
+		assertFalse(space.intersects(configurations, option2c));
+		assertTrue(space.intersects(configurations, option2b));
+
+		space.narrow(configurations, option1a);
+		assertEquals(1, configurations.cardinality());
+		assertTrue(space.intersects(configurations, option2a));
+		assertFalse(space.intersects(configurations, option2b));
+		// The space itself is left unchanged.
+		assertEquals(3, space.getNbOfConfigurations());
+	}
+
+	@Test
+	public void testNotExhaustive() {
+		List<OptionCategory> categories = new ArrayList<OptionCategory>();
+		int nbOfCategories = 0;
+		for (long size = 1; size <= ConfigurationSpace.MAX_CONFIGURATIONS; size *= 2) {
+			categories.add(new OptionCategory(Arrays.asList(
+					new Option(TaskType.BODY, "a" + nbOfCategories, "a"),
+					new Option(TaskType.BODY, "b" + nbOfCategories, "b")), "Category"));
+			nbOfCategories++;
+		}
+		ConfigurationSpace space = new ConfigurationSpace(
+				new CarModel("Big", categories, 60), manager);
+		assertFalse(space.isExhaustive());
+		assertEquals(0, space.getNbOfConfigurations());
+	}
+}
@@ -0,0 +1,107 @@
+package domain.restrictions;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import domain.assembly_line.TaskType;
+import domain.car.CarModel;
+import domain.car.Option;
+import domain.car.OptionCategory;
+import exceptions.OptionRestrictionException;
+
+public class OptionConfiguratorTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	Option option1a;
+	Option option1b;
+	Option option2a;
+	Option option2b;
+	Option option2c;
+	OptionCategory body;
+	OptionCategory engine;
+	OptionConfigurator configurator;
+
+	@Before
+	public void setUp() throws Exception {
+		option1a = new Option(TaskType.BODY, "1a", "1a desc");
+		option1b = new Option(TaskType.BODY, "1b", "1b desc");
+		option2a = new Option(TaskType.DRIVETRAIN, "2a", "2a desc");
+		option2b = new Option(TaskType.DRIVETRAIN, "2b", "2b desc");
+		option2c = new Option(TaskType.DRIVETRAIN, "2c", "2c desc");
+		body = new OptionCategory(Arrays.asList(option1a, option1b), "Body");
+		engine = new OptionCategory(Arrays.asList(option2a, option2b, option2c), "Engine");
+
+		List<OptionCategory> categories = new ArrayList<OptionCategory>();
+		categories.add(body);
+		categories.add(engine);
+
+		// Valid: (1a, 2a), (1b, 2a), (1b, 2b).
+		List<Restriction> restrictions = new ArrayList<Restriction>();
+		restrictions.add(new OptionRequiresOtherSetRestriction(option1a,
+				new HashSet<Option>(Arrays.asList(option2a))));
+		restrictions.add(new RequiredOptionSetRestriction(
+				new HashSet<Option>(Arrays.asList(option2a, option2b))));
+
+		configurator = new OptionConfigurator(new ConfigurationSpace(
+				new CarModel("Car", categories, 60), new OptionRestrictionManager(restrictions)));
+	}
+
+	@Test
+	public void testConstructorNull() {
+		exception.expect(IllegalArgumentException.class);
+		new OptionConfigurator(null);
+	}
+
+	@Test
+	public void testSelectableOptionsInitially() {
+		assertEquals(Arrays.asList(option1a, option1b), configurator.getSelectableOptions(body));
+		assertEquals(Arrays.asList(option2a, option2b), configurator.getSelectableOptions(engine));
+	}
+
+	@Test
+	public void testSelectPrunesOtherCategories() {
+		configurator.select(option1a);
+		assertEquals(Arrays.asList(option2a), configurator.getSelectableOptions(engine));
+	}
+
+	@Test
+	public void testSelectInOtherOrder() {
+		configurator.select(option2b);
+		assertEquals(Arrays.asList(option1b), configurator.getSelectableOptions(body));
+		assertFalse(configurator.isSelectable(option2a));
+	}
+
+	@Test
+	public void testSelectUnselectable() {
+		configurator.select(option1a);
+		exception.expect(OptionRestrictionException.class);
+		configurator.select(option2b);
+	}
+
+	@Test
+	public void testSelectOptionOfOtherModel() {
+		exception.expect(OptionRestrictionException.class);
+		configurator.select(new Option(TaskType.BODY, "other", "other desc"));
+	}
+
+	@Test
+	public void testSelectNull() {
+		exception.expect(IllegalArgumentException.class);
+		configurator.select(null);
+	}
+
+	@Test
+	public void testGetSelectableOptionsNull() {
+		exception.expect(IllegalArgumentException.class);
+		configurator.getSelectableOptions(null);
+	}
+}
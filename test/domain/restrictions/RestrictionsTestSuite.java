@@ -5,7 +5,9 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ OptionProhibitsOtherSetRestrictionTest.class,
+@SuiteClasses({ ConfigurationSpaceTest.class,
+				OptionConfiguratorTest.class,
+				OptionProhibitsOtherSetRestrictionTest.class,
 				OptionRequiresOtherSetRestrictionTest.class,
 				OptionRestrictionManagerTest.class,
 				RequiredOptionSetRestrictionTest.class,
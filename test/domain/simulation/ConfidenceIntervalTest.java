@@ -0,0 +1,50 @@
+package domain.simulation;
+
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ConfidenceIntervalTest {
+	
+	@Rule public ExpectedException expected = ExpectedException.none();
+	
+	private static final double EPSILON = 1e-3;
+
+	@Test
+	public void constructor_null() {
+		expected.expect(IllegalArgumentException.class);
+		new ConfidenceInterval(null);
+	}
+	
+	@Test
+	public void constructor_empty() {
+		expected.expect(IllegalArgumentException.class);
+		new ConfidenceInterval(new double[0]);
+	}
+	
+	@Test
+	public void constructor_singleSample() {
+		ConfidenceInterval interval = new ConfidenceInterval(new double[] { 4 });
+		assertEquals(4, interval.getMean(), EPSILON);
+		assertEquals(0, interval.getHalfWidth(), EPSILON);
+		assertEquals(1, interval.getNbOfSamples());
+	}
+	
+	@Test
+	public void constructor_samples() {
+		ConfidenceInterval interval = new ConfidenceInterval(new double[] { 2, 4, 6, 8 });
+		assertEquals(5, interval.getMean(), EPSILON);
+		assertEquals(2.582, interval.getStandardDeviation(), EPSILON);
+		// t(3) = 3.182
+		assertEquals(3.182 * 2.582 / 2, interval.getHalfWidth(), EPSILON);
+		assertEquals(interval.getMean() - interval.getHalfWidth(), interval.getLowerBound(), EPSILON);
+		assertEquals(interval.getMean() + interval.getHalfWidth(), interval.getUpperBound(), EPSILON);
+	}
+	
+	@Test
+	public void getCriticalValue_largeSample() {
+		assertEquals(1.960, ConfidenceInterval.getCriticalValue(100), EPSILON);
+	}
+}
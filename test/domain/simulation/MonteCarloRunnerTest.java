@@ -0,0 +1,81 @@
+package domain.simulation;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import domain.handlers.InitialisationHandler;
+import domain.simulation.ScenarioConfiguration.Algorithm;
+
+public class MonteCarloRunnerTest {
+	
+	@Rule public ExpectedException expected = ExpectedException.none();
+	
+	ScenarioConfiguration fifo;
+	ScenarioConfiguration batch;
+
+	@Before
+	public void setUp() throws Exception {
+		fifo = new ScenarioConfiguration("fifo", 17, Algorithm.FIFO, 
+				InitialisationHandler.getDefaultLineLayout(), 2, 6, 40);
+		batch = new ScenarioConfiguration("batch", 17, Algorithm.BATCH, 
+				InitialisationHandler.getDefaultLineLayout(), 2, 6, 40);
+	}
+
+	@Test
+	public void constructor_illegalThreads() {
+		expected.expect(IllegalArgumentException.class);
+		new MonteCarloRunner(0);
+	}
+	
+	@Test
+	public void replicate_seeds() {
+		List<ScenarioConfiguration> replications = MonteCarloRunner.replicate(fifo, 3);
+		assertEquals(3, replications.size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(17 + i, replications.get(i).getSeed());
+			assertEquals("fifo", replications.get(i).getName());
+		}
+	}
+	
+	@Test
+	public void run_completesAllOrders() throws Exception {
+		List<ScenarioResult> results = new MonteCarloRunner(2).run(
+				MonteCarloRunner.replicate(fifo, 2));
+		assertEquals(2, results.size());
+		for (ScenarioResult result : results) {
+			assertEquals(12, result.getCompletedOrders());
+			assertEquals(0, result.getPendingOrders());
+		}
+	}
+	
+	@Test
+	public void run_reproducible() throws Exception {
+		List<ScenarioConfiguration> configurations = new ArrayList<>();
+		configurations.add(fifo);
+		configurations.add(fifo);
+		List<ScenarioResult> results = new MonteCarloRunner(2).run(configurations);
+		assertEquals(results.get(0).getAverageDelay(), results.get(1).getAverageDelay(), 0);
+		assertEquals(results.get(0).getAverageCarsPerDay(), results.get(1).getAverageCarsPerDay(), 0);
+	}
+	
+	@Test
+	public void runAndSummarise_groupsByName() throws Exception {
+		List<ScenarioConfiguration> configurations = new ArrayList<>();
+		configurations.addAll(MonteCarloRunner.replicate(fifo, 2));
+		configurations.addAll(MonteCarloRunner.replicate(batch, 3));
+		List<ScenarioSummary> summaries = new MonteCarloRunner(2).runAndSummarise(configurations);
+		
+		assertEquals(2, summaries.size());
+		assertEquals("fifo", summaries.get(0).getName());
+		assertEquals(2, summaries.get(0).getCompletedOrders().getNbOfSamples());
+		assertEquals("batch", summaries.get(1).getName());
+		assertEquals(3, summaries.get(1).getCompletedOrders().getNbOfSamples());
+	}
+}
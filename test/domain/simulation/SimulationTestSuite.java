@@ -0,0 +1,12 @@
+package domain.simulation;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses({ ConfidenceIntervalTest.class,
+				MonteCarloRunnerTest.class })
+public class SimulationTestSuite {
+
+}
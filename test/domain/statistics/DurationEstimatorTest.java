@@ -0,0 +1,130 @@
+package domain.statistics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import domain.car.Model;
+import domain.car.Specification;
+
+public class DurationEstimatorTest {
+	@Rule public ExpectedException exception = ExpectedException.none();
+
+	static final double DELTA = 1e-9;
+
+	@Mock Model model;
+	@Mock Model otherModel;
+	@Mock Specification spec;
+	@Mock Specification otherSpec;
+
+	DurationEstimator estimator;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		estimator = new DurationEstimator(1);
+	}
+
+	@Test
+	public void testConstructorInvalidDecay() {
+		exception.expect(IllegalArgumentException.class);
+		new DurationEstimator(0);
+	}
+
+	@Test
+	public void testNoEstimate() {
+		assertFalse(estimator.getEstimate(model).isPresent());
+		assertFalse(estimator.getEstimate(model, spec).isPresent());
+		assertFalse(estimator.getBestEstimate(model, spec, 1).isPresent());
+	}
+
+	@Test
+	public void testRecordNull() {
+		exception.expect(IllegalArgumentException.class);
+		estimator.record(model, null, 10);
+	}
+
+	@Test
+	public void testRecordNegative() {
+		exception.expect(IllegalArgumentException.class);
+		estimator.record(model, spec, -1);
+	}
+
+	@Test
+	public void testSingleDuration() {
+		estimator.record(model, spec, 60);
+		DurationEstimate estimate = estimator.getEstimate(model).get();
+		assertEquals(1, estimate.getCount());
+		assertEquals(60, estimate.getMean(), DELTA);
+		assertEquals(0, estimate.getVariance(), DELTA);
+		assertEquals(60, estimate.getLowerBound(DurationEstimate.Z_95), DELTA);
+	}
+
+	@Test
+	public void testUndecayed_meanAndSampleVariance() {
+		estimator.record(model, spec, 2);
+		estimator.record(model, spec, 4);
+		estimator.record(model, spec, 9);
+		DurationEstimate estimate = estimator.getEstimate(model, spec).get();
+		assertEquals(3, estimate.getCount());
+		assertEquals(5, estimate.getMean(), DELTA);
+		assertEquals(13, estimate.getVariance(), DELTA);
+		assertEquals(3, estimate.getEffectiveCount(), DELTA);
+		assertEquals(Math.sqrt(13.0 / 3), estimate.getStandardError(), DELTA);
+		assertEquals(5 + 2 * Math.sqrt(13.0 / 3), estimate.getUpperBound(2), DELTA);
+	}
+
+	@Test
+	public void testDecayed_weighsRecentDurations() {
+		DurationEstimator decayed = new DurationEstimator(0.5);
+		decayed.record(model, spec, 0);
+		decayed.record(model, spec, 30);
+		// Weights 0.5 and 1.
+		DurationEstimate estimate = decayed.getEstimate(model).get();
+		assertEquals(20, estimate.getMean(), DELTA);
+		assertEquals(2, estimate.getCount());
+		assertEquals(1.5 * 1.5 / 1.25, estimate.getEffectiveCount(), DELTA);
+	}
+
+	@Test
+	public void testLevels() {
+		estimator.record(model, spec, 10);
+		estimator.record(model, spec, 20);
+		estimator.record(model, otherSpec, 60);
+		estimator.record(otherModel, spec, 100);
+
+		assertEquals(30, estimator.getEstimate(model).get().getMean(), DELTA);
+		assertEquals(15, estimator.getEstimate(model, spec).get().getMean(), DELTA);
+		assertEquals(60, estimator.getEstimate(model, otherSpec).get().getMean(), DELTA);
+		assertFalse(estimator.getEstimate(otherModel, otherSpec).isPresent());
+		assertEquals(100, estimator.getEstimate(otherModel).get().getMean(), DELTA);
+	}
+
+	@Test
+	public void testBestEstimate() {
+		estimator.record(model, spec, 10);
+		estimator.record(model, otherSpec, 50);
+		estimator.record(model, otherSpec, 50);
+
+		assertEquals(110.0 / 3, estimator.getBestEstimate(model, spec, 2).get().getMean(), DELTA);
+		assertEquals(50, estimator.getBestEstimate(model, otherSpec, 2).get().getMean(), DELTA);
+	}
+
+	@Test
+	public void testManyKeys_growsSlots() {
+		Model[] models = new Model[40];
+		for (int i = 0; i < models.length; i++) {
+			models[i] = Mockito.mock(Model.class);
+			estimator.record(models[i], spec, i);
+		}
+		for (int i = 0; i < models.length; i++) {
+			assertEquals(i, estimator.getEstimate(models[i], spec).get().getMean(), DELTA);
+		}
+	}
+}
@@ -7,6 +7,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({ CarsProducedRegistrarTest.class,
 				DelayRegistrarTest.class,
+				DurationEstimatorTest.class,
 				MedianSelectorTest.class,
 				ProcedureStatisticsTest.class,
 				StatisticsLoggerTest.class,
@@ -62,8 +62,8 @@ public class NewOrderSessionScenario {
 			//6. The user completes the ordering form.
 			List<Option> options = new ArrayList<Option>();
 			while(orderHandler.hasUnfilledOptions()){
-				OptionCategory optCat = orderHandler.getNextOptionCategory();
-				Option opt = optCat.getOption(rand.nextInt(optCat.getAmountOfOptions()));
+				List<Option> selectable = orderHandler.getSelectableOptions();
+				Option opt = selectable.get(rand.nextInt(selectable.size()));
 				options.add(opt);
 				orderHandler.selectOption(opt);
 			}
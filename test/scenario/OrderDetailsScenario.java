@@ -14,6 +14,7 @@ import domain.handlers.CheckOrderDetailsHandler;
 import domain.handlers.DomainFacade;
 import domain.handlers.InitialisationHandler;
 import domain.order.Order;
+import domain.order.OrderStatus;
 import domain.order.OrderView;
 
 /**
@@ -90,6 +91,17 @@ public class OrderDetailsScenario {
 		//4. The user indicates he is finished viewing the details. ==HAPPENS IN UI==
 	}
 
+	@Test
+	public void normalFlow_selectByOrderNumber() {
+		List<OrderView> assembling = orderDetailsHandler.getOrdersContainers(OrderStatus.ASSEMBLING, 0, 1);
+		assertEquals(1, assembling.size());
+
+		orderDetailsHandler.selectOrder(assembling.get(0).getOrderNumber());
+		assertEquals(OrderStatus.ASSEMBLING, orderDetailsHandler.getCurrentOrderStatus());
+		assertFalse(orderDetailsHandler.currentOrderIsComplete());
+		assertTrue(orderDetailsHandler.getCurrentOrderEstimatedCompletionTime() != null);
+	}
+
 	@Test
 	public void normalFlowInitial_completedOrder() {
 